@@ -0,0 +1,91 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.javagil.columbo.internal.BytecodeUtil;
+
+/**
+ * Measures the resolution of descriptors and members, which happens for each instruction referring to a member.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytecodeUtilBenchmark {
+
+	private static final String METHOD_DESC = "(Ljava/lang/String;I[Ljava/lang/Object;)Ljava/lang/StringBuilder;";
+	private static final Class<?>[] APPEND_PARAMS = new Class<?>[] { String.class };
+	private static final Class<?>[] NO_PARAMS = new Class<?>[0];
+
+	@Benchmark
+	public Class<?>[] determineParameterTypes() {
+		return BytecodeUtil.determineParameterTypes(METHOD_DESC);
+	}
+
+	@Benchmark
+	public Method findPublicMethod() {
+		return BytecodeUtil.findMethod(StringBuilder.class, "append", APPEND_PARAMS);
+	}
+
+	@Benchmark
+	public Method findInheritedMethod() {
+		return BytecodeUtil.findMethod(StringBuilder.class, "wait", NO_PARAMS);
+	}
+
+	@Benchmark
+	public Method findNonExistingMethod() {
+		return BytecodeUtil.findMethod(String.class, "doesNotExist", NO_PARAMS);
+	}
+
+	@Benchmark
+	public Field findPublicField() {
+		return BytecodeUtil.findField(Integer.class, "MAX_VALUE");
+	}
+
+	@Benchmark
+	public Field findPrivateField() {
+		return BytecodeUtil.findField(String.class, "hash");
+	}
+}
@@ -0,0 +1,86 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.javagil.columbo.api.VisitorContext;
+import de.javagil.columbo.internal.ClassVisitor;
+import de.javagil.columbo.internal.SymbolTable;
+import de.javagil.columbo.internal.Util;
+
+/**
+ * Measures the inspection of a single class, the symbol table is shared like during a real inspection.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassVisitorBenchmark {
+
+	@Param({ "org.objectweb.asm.ClassReader", "de.javagil.columbo.internal.MethodVisitor" })
+	private String className;
+
+	private SymbolTable symbolTable;
+	private CountingReferenceVisitor referenceVisitor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		symbolTable = new SymbolTable();
+		referenceVisitor = new CountingReferenceVisitor();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Util.close(symbolTable);
+	}
+
+	@Benchmark
+	public long inspectClass() {
+		new ClassVisitor(new VisitorContext(), referenceVisitor, symbolTable).inspect(Collections.singleton(className));
+		return referenceVisitor.getCount();
+	}
+}
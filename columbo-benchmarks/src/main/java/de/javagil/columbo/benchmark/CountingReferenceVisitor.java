@@ -0,0 +1,96 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.api.ThreadSafeReferenceVisitor;
+
+/**
+ * Just counts the callbacks, so that the benchmarks measure columbo and not the visitor.
+ * Never throws, thus missing classes or members don't abort a benchmark.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class CountingReferenceVisitor implements ThreadSafeReferenceVisitor {
+
+	private final LongAdder count = new LongAdder();
+
+	long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		count.increment();
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		count.increment();
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		count.increment();
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		count.increment();
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name, 
+			final Class<?>[] paramTypes) {
+		count.increment();
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		count.increment();
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		count.increment();
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field field) {
+		count.increment();
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String name) {
+		count.increment();
+	}
+}
@@ -0,0 +1,160 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.javagil.columbo.internal.SymbolTable;
+
+/**
+ * Base class for the built-in checkers which collect {@link Violation}s while the bytecode is inspected.
+ * <p>
+ * The referenced elements are looked up in the bytecode via a {@link SymbolTable} owned by the checker,
+ * thus use one instance per scan and close it afterwards.
+ * All callbacks are empty, incomplete CLASSPATHs are not the concern of the checkers.
+ * Subclasses have to be thread safe, they are called concurrently by
+ * {@link BytecodeInspector#inspectInParallel(ReferenceVisitor)}.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public abstract class AbstractChecker implements SelectiveReferenceVisitor, ThreadSafeReferenceVisitor, Closeable {
+
+	private final SymbolTable symbolTable;
+	// the same violation can be found multiple times, e.g. a class referenced by several instructions in a line
+	private final Set<Violation> violations = Collections.synchronizedSet(new LinkedHashSet<Violation>());
+
+	/**
+	 * Creates a checker which reads the bytecode via the context class loader.
+	 */
+	protected AbstractChecker() {
+		this.symbolTable = new SymbolTable();
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode of the referenced classes, the classes are NOT loaded by it
+	 */
+	protected AbstractChecker(final ClassLoader classLoader) {
+		this.symbolTable = new SymbolTable(classLoader);
+	}
+
+	/**
+	 * @return the declarations of the referenced classes, read from their bytecode
+	 */
+	protected final SymbolTable getSymbolTable() {
+		return symbolTable;
+	}
+
+	/**
+	 * @param violation gets added to the violations found so far, unless an equal one was already found
+	 */
+	protected final void addViolation(final Violation violation) {
+		violations.add(violation);
+	}
+
+	/**
+	 * @return the distinct violations found so far, in the order they were found
+	 */
+	public final List<Violation> getViolations() {
+		synchronized (violations) {
+			return new ArrayList<Violation>(violations);
+		}
+	}
+
+	// CHECKSTYLE:OFF DesignForExtension empty callbacks are meant to be overridden as needed
+
+	@Override
+	public Collection<String> getTargetNames() {
+		return null;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+	}
+
+	// CHECKSTYLE:ON
+
+	/**
+	 * Releases the jar files opened to read the bytecode.
+	 */
+	@Override
+	public final void close() throws IOException {
+		symbolTable.close();
+	}
+
+	/**
+	 * @param declaringClass the class which declares the member
+	 * @param memberName name of the member
+	 * @return e.g. "YourClass#yourMethod"
+	 */
+	protected static String memberNameOf(final Class<?> declaringClass, final String memberName) {
+		return Violation.simpleNameOf(declaringClass.getName()) + "#" + memberName;
+	}
+}
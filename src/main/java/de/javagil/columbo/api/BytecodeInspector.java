@@ -26,11 +26,29 @@
 
 package de.javagil.columbo.api;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import de.javagil.columbo.internal.BatchingReferenceVisitor;
+import de.javagil.columbo.internal.CallGraph;
+import de.javagil.columbo.internal.ClassHierarchy;
 import de.javagil.columbo.internal.ClassVisitor;
+import de.javagil.columbo.internal.ConstantPoolFilter;
+import de.javagil.columbo.internal.ParallelInspection;
+import de.javagil.columbo.internal.ReferenceIndex;
+import de.javagil.columbo.internal.ReferenceSpliterator;
+import de.javagil.columbo.internal.SymbolTable;
+import de.javagil.columbo.internal.Util;
 
 /**
  * Scans the classpath for usages of classes of a given package and collects a filtered list. 
@@ -38,13 +56,18 @@ import de.javagil.columbo.internal.ClassVisitor;
  * which determines that a deprecation test should actually fail. Or we could test whether 
  * classes, annotated with @Internal are only used local to their own package hierarchy 
  * (however you define the local). 
+ * <p>
+ * Instances are immutable, the configuring methods like {@link #skipClassesNotReferencing(String...)} 
+ * return a configured copy. Thus an instance can be shared by concurrent inspections.
+ * </p>
  * 
  * @author michael.hoennig@javagil.de 
  */
 public class BytecodeInspector {
 
 	private final Set<String> classNamesToInspect;
-	private final VisitorContext context = new VisitorContext();
+	private final Set<String> targetNames;
+	private final File referenceIndexFile;
 	
 	/**
      * Creates an instance which searches for all elements within the given package name.
@@ -53,7 +76,7 @@ public class BytecodeInspector {
      * @param classNamesToInspect set of qualified class names to load and inspect
      */
     public BytecodeInspector(final Set<String> classNamesToInspect) {
-    	this.classNamesToInspect = classNamesToInspect;
+    	this(classNamesToInspect, null, null);
 	}
 
     /**
@@ -66,15 +89,230 @@ public class BytecodeInspector {
     	this(new HashSet<String>(Arrays.asList(classNamesToInspect)));
 	}
 
+    private BytecodeInspector(final Set<String> classNamesToInspect, final Set<String> targetNames, 
+    		final File referenceIndexFile) {
+    	this.classNamesToInspect = Collections.unmodifiableSet(new HashSet<String>(classNamesToInspect));
+    	this.targetNames = targetNames;
+    	this.referenceIndexFile = referenceIndexFile;
+    }
+
+	/**
+     * Restricts the inspection to classes which might reference any of the given target classes or packages.
+     * <p>
+     * Just the constant pool of each class is looked at to decide whether it needs to be inspected at all, 
+     * which is much faster than a full inspection. The references found in the inspected classes are NOT filtered,
+     * thus the {@link ReferenceVisitor} still has to check whether a reference is relevant.
+     * </p>
+     * 
+     * @param qualifiedTargetNames qualified names of classes (e.g. "java.util.Date") or packages (e.g. "de.javagil.api"),
+     * 			including their nested classes and subpackages
+     * @return a copy of this instance with the restriction, this instance is not changed
+     */
+    public final BytecodeInspector skipClassesNotReferencing(final String... qualifiedTargetNames) {
+    	return new BytecodeInspector(classNamesToInspect, 
+    			Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(qualifiedTargetNames))), referenceIndexFile);
+    }
+
+	/**
+     * Persists the references found in each class into the given file and, on the next run,
+     * visits only the classes whose bytecode or the bytecode of any class they refer to 
+     * (including the supertypes of these) has changed. The references of unchanged classes
+     * are replayed from the file to the {@link ReferenceVisitor}.
+     * <p>
+     * The index gets saved only after a successful inspection. 
+     * Classes which refer to missing classes are always visited again.
+     * </p>
+     * <p>
+     * As each inspection reads the index before and saves it after visiting the classes, inspections using 
+     * the same index file are serialized within this JVM. Other processes must not use the same index file
+     * at the same time, otherwise the updates of all but the last inspection get lost.
+     * </p>
+     * 
+     * @param indexFile the file to read the index from and to save it to, gets created if it does not exist
+     * @return a copy of this instance using the index, this instance is not changed
+     */
+    public final BytecodeInspector useReferenceIndex(final File indexFile) {
+    	return new BytecodeInspector(classNamesToInspect, targetNames, indexFile);
+    }
+
 	/**
      * Searches the classpath for elements belonging classes of the package specified in the constructor 
      * which match the given {@link ReferenceVisitor}. 
+     * <p>
+     * All state of an inspection is kept local to the call, thus this method is reentrant and multiple
+     * inspections can run concurrently on the same instance, each with its own {@link ReferenceVisitor}.
+     * Just inspections using the same reference index file are serialized, see {@link #useReferenceIndex(File)}.
+     * </p>
      * 
      * @param referenceVisitor callback interface to determine which elements to be included in the result
      * @throws InspectionException on classloading or bytecode reading problems
      */
     public final void inspect(final ReferenceVisitor referenceVisitor) throws InspectionException {
-		new ClassVisitor(context, referenceVisitor).inspect(classNamesToInspect);        
+    	inspectUsingReferenceIndex(new IndexedInspection() {
+			@Override
+			public void run(final ReferenceIndex referenceIndex) {
+		    	final SymbolTable symbolTable = new SymbolTable();
+		    	final ConstantPoolFilter constantPoolFilter = targetNames != null 
+		    			? new ConstantPoolFilter(targetNames, symbolTable) : null;
+		    	try {
+		    		new ClassVisitor(new VisitorContext(), referenceVisitor, symbolTable, constantPoolFilter, referenceIndex)
+		    				.inspect(classNamesToInspect);
+		    	} finally {
+		    		Util.close(symbolTable);
+		    	}
+			}
+		});
+    }
+
+	/**
+     * Like {@link #inspect(ReferenceVisitor)}, but the references are delivered in batches 
+     * of {@link BatchingReferenceVisitor#DEFAULT_BATCH_SIZE}.
+     * The name differs from {@code inspect}, as a visitor might implement both visitor interfaces.
+     * 
+     * @param batchVisitor receives the batches of found references
+     * @throws InspectionException on classloading or bytecode reading problems
+     */
+    public final void inspectInBatches(final BatchReferenceVisitor batchVisitor) throws InspectionException {
+    	final BatchingReferenceVisitor batchingVisitor = 
+    			new BatchingReferenceVisitor(batchVisitor, BatchingReferenceVisitor.DEFAULT_BATCH_SIZE);
+    	inspect(batchingVisitor);
+    	batchingVisitor.flush();
+    }
+
+	/**
+     * Returns the references found in the classes specified in the constructor as a lazily evaluated stream.
+     * <p>
+     * The classes are inspected one at a time while the stream is consumed, thus short-circuiting operations 
+     * like {@code anyMatch} stop the inspection as soon as the result is known. 
+     * The stream can be turned into a parallel stream, the classes get inspected concurrently then.
+     * A reference index set via {@link #useReferenceIndex(java.io.File)} is not used.
+     * </p>
+     * <p>
+     * The stream should be closed after use (e.g. with try-with-resources) to release the opened jar files.
+     * </p>
+     * 
+     * @return the stream of references, classes in alphabetic order
+     * @throws InspectionException while the stream is consumed, on classloading or bytecode reading problems 
+     * 			or if a referenced class could not be found
+     */
+    public final Stream<Reference> references() {
+    	final SymbolTable symbolTable = new SymbolTable();
+    	final ConstantPoolFilter constantPoolFilter = targetNames != null 
+    			? new ConstantPoolFilter(targetNames, symbolTable) : null;
+    	final ReferenceSpliterator spliterator = new ReferenceSpliterator(
+    			new ArrayList<String>(new TreeSet<String>(classNamesToInspect)), symbolTable, constantPoolFilter);
+    	return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+			@Override
+			public void run() {
+				Util.close(symbolTable);
+			}
+		});
+    }
+
+	/**
+     * Reads the supertypes of the classes to inspect from their bytecode, e.g. to find all implementations 
+     * of an interface among them. Only the class headers are used, no class gets loaded.
+     * 
+     * @return the hierarchy of the classes to inspect and all their transitive supertypes
+     * @throws InspectionException on bytecode reading problems
+     */
+    public final TypeHierarchy buildClassHierarchy() throws InspectionException {
+    	final SymbolTable symbolTable = new SymbolTable();
+    	try {
+    		return new TypeHierarchy(ClassHierarchy.build(symbolTable, new TreeSet<String>(classNamesToInspect)));
+    	} finally {
+    		Util.close(symbolTable);
+    	}
+    }
+
+	/**
+     * Reads the method calls of the classes to inspect from their bytecode. Virtual calls get expanded
+     * to all implementations among the classes to inspect, see {@link MethodCallGraph}. No class gets loaded.
+     * 
+     * @return the possible calls between the methods of the classes to inspect and to the methods they use
+     * @throws InspectionException on bytecode reading problems
+     */
+    public final MethodCallGraph buildCallGraph() throws InspectionException {
+    	final SymbolTable symbolTable = new SymbolTable();
+    	try {
+    		return new MethodCallGraph(CallGraph.build(symbolTable, new TreeSet<String>(classNamesToInspect)));
+    	} finally {
+    		Util.close(symbolTable);
+    	}
+    }
+
+	/**
+     * Like {@link #inspect(ReferenceVisitor)}, but uses all available processors of the common fork-join pool.
+     * 
+     * @param referenceVisitor callback interface to determine which elements to be included in the result,
+     * 			calls are serialized unless it's a {@link ThreadSafeReferenceVisitor}
+     * @throws InspectionException on classloading or bytecode reading problems
+     */
+    public final void inspectInParallel(final ReferenceVisitor referenceVisitor) throws InspectionException {
+    	inspectInParallel(referenceVisitor, ForkJoinPool.commonPool());
+    }
+
+	/**
+     * Like {@link #inspect(ReferenceVisitor)}, but the classes are inspected by multiple workers of the given executor.
+     * Each worker inspects classes of whole packages with its own {@link VisitorContext}.
+     * 
+     * @param referenceVisitor callback interface to determine which elements to be included in the result,
+     * 			calls are serialized unless it's a {@link ThreadSafeReferenceVisitor}
+     * @param executor runs the workers, it's not shut down after the inspection
+     * @throws InspectionException on classloading or bytecode reading problems
+     */
+    public final void inspectInParallel(final ReferenceVisitor referenceVisitor, final ExecutorService executor) 
+    		throws InspectionException {
+    	inspectUsingReferenceIndex(new IndexedInspection() {
+			@Override
+			public void run(final ReferenceIndex referenceIndex) {
+		    	new ParallelInspection(referenceVisitor, executor).inspect(classNamesToInspect, targetNames, referenceIndex);
+			}
+		});
+    }
+
+	/**
+     * Like {@link #inspectInParallel(ReferenceVisitor, ExecutorService)}, but the references are delivered in batches.
+     * Each worker collects its own batches, thus the batch visitor just gets locked once per batch.
+     * 
+     * @param batchVisitor receives the batches of found references, one batch at a time
+     * @param executor runs the workers, it's not shut down after the inspection
+     * @throws InspectionException on classloading or bytecode reading problems
+     */
+    public final void inspectInBatchesInParallel(final BatchReferenceVisitor batchVisitor, 
+    		final ExecutorService executor) throws InspectionException {
+    	inspectUsingReferenceIndex(new IndexedInspection() {
+			@Override
+			public void run(final ReferenceIndex referenceIndex) {
+		    	new ParallelInspection(batchVisitor, BatchingReferenceVisitor.DEFAULT_BATCH_SIZE, executor)
+		    			.inspect(classNamesToInspect, targetNames, referenceIndex);
+			}
+		});
+    }
+
+    // loads the index before and saves it after the inspection, holding the lock of the index file meanwhile
+    private void inspectUsingReferenceIndex(final IndexedInspection inspection) {
+    	if (referenceIndexFile == null) {
+    		inspection.run(null);
+    		return;
+    	}
+    	final Lock indexFileLock = ReferenceIndex.lockFor(referenceIndexFile);
+    	indexFileLock.lock();
+    	try {
+	    	final ReferenceIndex referenceIndex = ReferenceIndex.load(referenceIndexFile);
+	    	inspection.run(referenceIndex);
+    		referenceIndex.retainAll(classNamesToInspect);
+    		referenceIndex.save(referenceIndexFile);
+    	} finally {
+    		indexFileLock.unlock();
+    	}
+    }
+
+    /**
+     * An inspection which might use a reference index.
+     */
+    private interface IndexedInspection {
+    	void run(ReferenceIndex referenceIndex);
     }
 
 }
\ No newline at end of file
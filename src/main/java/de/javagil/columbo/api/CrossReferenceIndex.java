@@ -0,0 +1,234 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Answers "who refers to X?" and "what does X refer to?" from an index file written by {@link CrossReferenceIndexWriter}.
+ * <p>
+ * The file is memory mapped, only the parts needed for a query are read, thus even large indexes
+ * are not loaded onto the heap. Instances are thread safe.
+ * </p>
+ * <p>
+ * Layout of the file, all ints big endian:
+ * </p>
+ * <pre>
+ * header:           magic, version, stringCount, elementCount,
+ *                   stringAreaLength, referencesFromAreaLength, referrersOfAreaLength
+ * stringOffsets:    int[stringCount], relative to the string area
+ * elements:         int[3 * elementCount], string ids of class name, method name and descriptor (-1 for none),
+ *                   sorted by {@link #ELEMENT_ORDER}
+ * referencesFrom:   int[elementCount + 1], offsets of the posting lists relative to their area
+ * referrersOf:      int[elementCount + 1], offsets of the posting lists relative to their area
+ * string area:      per string the varint length of its UTF-8 bytes followed by these bytes
+ * posting areas:    per element the varint deltas of the sorted ids of the referenced/referring elements
+ * </pre>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class CrossReferenceIndex {
+
+	/**
+	 * The order of the elements in the index: by class name, method name and descriptor, null first.
+	 */
+	static final Comparator<JavaElement> ELEMENT_ORDER = new Comparator<JavaElement>() {
+		@Override
+		public int compare(final JavaElement left, final JavaElement right) {
+			int result = left.className.compareTo(right.className);
+			if (result == 0) {
+				result = compareNullFirst(left.methodName, right.methodName);
+			}
+			if (result == 0) {
+				result = compareNullFirst(left.methodDesc, right.methodDesc);
+			}
+			return result;
+		}
+	};
+
+	private static final int HEADER_SIZE = 7 * 4;
+
+	private final ByteBuffer buffer;
+	private final int elementCount;
+	private final int stringOffsetsStart;
+	private final int elementsStart;
+	private final int referencesFromOffsetsStart;
+	private final int referrersOfOffsetsStart;
+	private final int stringAreaStart;
+	private final int referencesFromAreaStart;
+	private final int referrersOfAreaStart;
+
+	private CrossReferenceIndex(final ByteBuffer buffer) {
+		this.buffer = buffer;
+		if (buffer.getInt(0) != CrossReferenceIndexWriter.MAGIC
+				|| buffer.getInt(4) != CrossReferenceIndexWriter.VERSION) {
+			throw new InspectionException("not a cross reference index of this version");
+		}
+		final int stringCount = buffer.getInt(8);
+		this.elementCount = buffer.getInt(12);
+		this.stringOffsetsStart = HEADER_SIZE;
+		this.elementsStart = stringOffsetsStart + 4 * stringCount;
+		this.referencesFromOffsetsStart = elementsStart + 12 * elementCount;
+		this.referrersOfOffsetsStart = referencesFromOffsetsStart + 4 * (elementCount + 1);
+		this.stringAreaStart = referrersOfOffsetsStart + 4 * (elementCount + 1);
+		this.referencesFromAreaStart = stringAreaStart + buffer.getInt(16);
+		this.referrersOfAreaStart = referencesFromAreaStart + buffer.getInt(20);
+		if (referrersOfAreaStart + buffer.getInt(24) != buffer.limit()) {
+			throw new InspectionException("truncated or corrupt cross reference index");
+		}
+	}
+
+	/**
+	 * Maps the given index file into memory.
+	 *
+	 * @param file an index file written by {@link CrossReferenceIndexWriter}
+	 * @return the index
+	 * @throws InspectionException if the file could not be read or is not an index
+	 */
+	public static CrossReferenceIndex open(final File file) {
+		try {
+			final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			try {
+				final FileChannel channel = randomAccessFile.getChannel();
+				// the mapping stays valid after the channel is closed
+				return new CrossReferenceIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			} finally {
+				randomAccessFile.close();
+			}
+		} catch (IOException exc) {
+			throw new InspectionException("could not read cross reference index " + file, exc);
+		}
+	}
+
+	/**
+	 * @return the number of distinct Java elements in this index
+	 */
+	public int size() {
+		return elementCount;
+	}
+
+	/**
+	 * @param referenced a class (without method name), method, constructor ("&lt;init&gt;") or field
+	 * 			(with the descriptor of its type)
+	 * @return the elements which refer to the given element, sorted by {@link #ELEMENT_ORDER}, empty if none
+	 */
+	public List<JavaElement> findReferrersOf(final JavaElement referenced) {
+		return readPostingList(referrersOfOffsetsStart, referrersOfAreaStart, indexOf(referenced));
+	}
+
+	/**
+	 * @param referrer a class (references at class level) or method
+	 * @return the elements referred to by the given element, sorted by {@link #ELEMENT_ORDER}, empty if none
+	 */
+	public List<JavaElement> findReferencesFrom(final JavaElement referrer) {
+		return readPostingList(referencesFromOffsetsStart, referencesFromAreaStart, indexOf(referrer));
+	}
+
+	private List<JavaElement> readPostingList(final int offsetsStart, final int areaStart, final int elementIndex) {
+		if (elementIndex < 0) {
+			return Collections.emptyList();
+		}
+		int pos = areaStart + buffer.getInt(offsetsStart + 4 * elementIndex);
+		final int end = areaStart + buffer.getInt(offsetsStart + 4 * (elementIndex + 1));
+		final List<JavaElement> result = new ArrayList<JavaElement>();
+		int id = 0;
+		while (pos < end) {
+			int delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = buffer.get(pos++);
+				delta |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			id += delta;
+			result.add(readElement(id));
+		}
+		return result;
+	}
+
+	// binary search, only the strings of the probed elements get decoded
+	private int indexOf(final JavaElement element) {
+		int low = 0;
+		int high = elementCount - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int result = ELEMENT_ORDER.compare(readElement(middle), element);
+			if (result < 0) {
+				low = middle + 1;
+			} else if (result > 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	private JavaElement readElement(final int elementIndex) {
+		final int pos = elementsStart + 12 * elementIndex;
+		final String className = readString(buffer.getInt(pos));
+		return new JavaElement(className.replace('.', '/'), readString(buffer.getInt(pos + 4)),
+				readString(buffer.getInt(pos + 8)));
+	}
+
+	private String readString(final int stringId) {
+		if (stringId == CrossReferenceIndexWriter.NONE) {
+			return null;
+		}
+		int pos = stringAreaStart + buffer.getInt(stringOffsetsStart + 4 * stringId);
+		int length = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buffer.get(pos++);
+			length |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		final byte[] utf8 = new byte[length];
+		for (int n = 0; n < length; ++n) {
+			utf8[n] = buffer.get(pos + n);
+		}
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	private static int compareNullFirst(final String left, final String right) {
+		if (left == null) {
+			return right == null ? 0 : -1;
+		}
+		return right == null ? 1 : left.compareTo(right);
+	}
+}
@@ -0,0 +1,267 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.Type;
+
+/**
+ * Collects all references between Java elements and writes them into a compact binary file
+ * which can be queried via {@link CrossReferenceIndex} without inspecting the bytecode again.
+ * <p>
+ * Each pair of referring and referenced element is stored just once, line numbers and resources are not stored.
+ * Referenced methods and constructors are identified by their internal descriptor,
+ * fields by the descriptor of their type and classes by their name only.
+ * Missing classes and members are reported like by {@link ReferenceVisitorAdapter}.
+ * </p>
+ * <p>
+ * The file contains a table of all strings, a table of all elements sorted by class name, method name
+ * and descriptor, and for each element the sorted ids of the elements it refers to and of those which
+ * refer to it, encoded as variable length deltas. See {@link CrossReferenceIndex} for the exact layout.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class CrossReferenceIndexWriter extends ReferenceVisitorAdapter {
+
+	static final int MAGIC = 0x434F4C58;
+	static final int VERSION = 1;
+	static final int NONE = -1;
+
+	private final Map<JavaElement, Integer> elementIds = new HashMap<JavaElement, Integer>();
+	private final List<JavaElement> elements = new ArrayList<JavaElement>();
+	private final Set<Long> edges = new HashSet<Long>();
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		Class<?> clazz = referencedClass;
+		while (clazz.isArray()) {
+			clazz = clazz.getComponentType();
+		}
+		if (!clazz.isPrimitive()) {
+			addEdge(referrer, new JavaElement(internalNameOf(clazz), null, null));
+		}
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		onMethodCall(referrer, referencedMethod);
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		addEdge(referrer, new JavaElement(internalNameOf(referencedMethod.getDeclaringClass()),
+				referencedMethod.getName(), Type.getMethodDescriptor(referencedMethod)));
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		addEdge(referrer, new JavaElement(internalNameOf(constructor.getDeclaringClass()),
+				"<init>", Type.getConstructorDescriptor(constructor)));
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		addEdge(referrer, new JavaElement(internalNameOf(referencedField.getDeclaringClass()),
+				referencedField.getName(), Type.getDescriptor(referencedField.getType())));
+	}
+
+	/**
+	 * @return the number of distinct references collected so far
+	 */
+	public int getReferenceCount() {
+		return edges.size();
+	}
+
+	/**
+	 * Writes all references collected so far.
+	 *
+	 * @param file the index file, gets overwritten if it exists
+	 * @throws InspectionException if the file could not be written
+	 */
+	public void write(final File file) {
+		try {
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			try {
+				write(out);
+			} finally {
+				out.close();
+			}
+		} catch (IOException exc) {
+			throw new InspectionException("could not write cross reference index " + file, exc);
+		}
+	}
+
+	private void write(final DataOutputStream out) throws IOException {
+		// ids get assigned in sort order, thus the reader can find elements by binary search
+		final JavaElement[] sortedElements = elements.toArray(new JavaElement[elements.size()]);
+		Arrays.sort(sortedElements, CrossReferenceIndex.ELEMENT_ORDER);
+		final int[] newIds = new int[sortedElements.length];
+		for (int n = 0; n < sortedElements.length; ++n) {
+			newIds[elementIds.get(sortedElements[n])] = n;
+		}
+
+		final List<String> strings = new ArrayList<String>();
+		final Map<String, Integer> stringIds = new HashMap<String, Integer>();
+		final int[] elementTable = new int[3 * sortedElements.length];
+		for (int n = 0; n < sortedElements.length; ++n) {
+			elementTable[3 * n] = intern(strings, stringIds, sortedElements[n].className);
+			elementTable[3 * n + 1] = intern(strings, stringIds, sortedElements[n].methodName);
+			elementTable[3 * n + 2] = intern(strings, stringIds, sortedElements[n].methodDesc);
+		}
+
+		final List<List<Integer>> referencesFrom = newPostingLists(sortedElements.length);
+		final List<List<Integer>> referrersOf = newPostingLists(sortedElements.length);
+		for (long edge: edges) {
+			final int from = newIds[(int) (edge >>> 32)];
+			final int to = newIds[(int) edge];
+			referencesFrom.get(from).add(to);
+			referrersOf.get(to).add(from);
+		}
+
+		final ByteArrayOutputStream stringArea = new ByteArrayOutputStream();
+		final int[] stringOffsets = new int[strings.size()];
+		for (int n = 0; n < strings.size(); ++n) {
+			stringOffsets[n] = stringArea.size();
+			final byte[] utf8 = strings.get(n).getBytes(StandardCharsets.UTF_8);
+			writeVarInt(stringArea, utf8.length);
+			stringArea.write(utf8, 0, utf8.length);
+		}
+		final ByteArrayOutputStream referencesFromArea = new ByteArrayOutputStream();
+		final int[] referencesFromOffsets = writePostingLists(referencesFromArea, referencesFrom);
+		final ByteArrayOutputStream referrersOfArea = new ByteArrayOutputStream();
+		final int[] referrersOfOffsets = writePostingLists(referrersOfArea, referrersOf);
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(strings.size());
+		out.writeInt(sortedElements.length);
+		out.writeInt(stringArea.size());
+		out.writeInt(referencesFromArea.size());
+		out.writeInt(referrersOfArea.size());
+		writeInts(out, stringOffsets);
+		writeInts(out, elementTable);
+		writeInts(out, referencesFromOffsets);
+		writeInts(out, referrersOfOffsets);
+		stringArea.writeTo(out);
+		referencesFromArea.writeTo(out);
+		referrersOfArea.writeTo(out);
+	}
+
+	private void addEdge(final Referrer referrer, final JavaElement referenced) {
+		final long from = idOf(referrer.getJavaElement());
+		final long to = idOf(referenced);
+		if (from != to) {
+			edges.add(from << 32 | to);
+		}
+	}
+
+	private int idOf(final JavaElement element) {
+		Integer id = elementIds.get(element);
+		if (id == null) {
+			id = elements.size();
+			elementIds.put(element, id);
+			elements.add(element);
+		}
+		return id;
+	}
+
+	private static String internalNameOf(final Class<?> clazz) {
+		return clazz.getName().replace('.', '/');
+	}
+
+	private static int intern(final List<String> strings, final Map<String, Integer> stringIds, final String string) {
+		if (string == null) {
+			return NONE;
+		}
+		Integer id = stringIds.get(string);
+		if (id == null) {
+			id = strings.size();
+			stringIds.put(string, id);
+			strings.add(string);
+		}
+		return id;
+	}
+
+	private static List<List<Integer>> newPostingLists(final int count) {
+		final List<List<Integer>> postingLists = new ArrayList<List<Integer>>(count);
+		for (int n = 0; n < count; ++n) {
+			postingLists.add(new ArrayList<Integer>());
+		}
+		return postingLists;
+	}
+
+	// the offsets array has one more entry than lists, thus the length of each list is known
+	private static int[] writePostingLists(final ByteArrayOutputStream area, final List<List<Integer>> postingLists) {
+		final int[] offsets = new int[postingLists.size() + 1];
+		for (int n = 0; n < postingLists.size(); ++n) {
+			offsets[n] = area.size();
+			final List<Integer> postingList = postingLists.get(n);
+			Collections.sort(postingList);
+			int previous = 0;
+			for (int id: postingList) {
+				writeVarInt(area, id - previous);
+				previous = id;
+			}
+		}
+		offsets[postingLists.size()] = area.size();
+		return offsets;
+	}
+
+	private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			out.write((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.write(remaining);
+	}
+
+	private static void writeInts(final DataOutputStream out, final int[] values) throws IOException {
+		for (int value: values) {
+			out.writeInt(value);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.objectweb.asm.Type;
+
+import de.javagil.columbo.api.Violation.Severity;
+import de.javagil.columbo.internal.AnnotationIndex;
+import de.javagil.columbo.internal.AnnotationSymbol;
+
+/**
+ * Finds uses of deprecated classes, methods, constructors and fields, e.g.:
+ * <pre>
+ * WARNING: SomeClient.java:45 SomeClient#someMethod uses &#64;Deprecated class YourDeprecatedClass which will be removed with release 3.0
+ * </pre>
+ * <p>
+ * Deprecated elements are those annotated with {@link Deprecated} or having a Deprecated attribute in their bytecode.
+ * Optionally, the release in which an element will be removed is taken from a release annotation
+ * on the element or its declaring class, e.g. <code>&#64;YourDeprecationRelease(hard = "3.0")</code>.
+ * Uses of elements which get removed up to a given release can be reported as ERROR instead of WARNING.
+ * </p>
+ * <p>
+ * The annotations are read from the bytecode into {@link AnnotationIndex}es once per referenced class,
+ * thus checking a reference is just a hash lookup. Uses within the top level class which declares
+ * the deprecated element are not reported, like javac does.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * final DeprecationChecker checker = new DeprecationChecker()
+ *         .withReleaseAnnotation("com.example.YourDeprecationRelease", "hard")
+ *         .reportAsErrorUpToRelease("3.0");
+ * </pre>
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class DeprecationChecker extends AbstractChecker {
+
+	private static final Set<ReferenceKind> REFERENCE_KINDS = Collections.unmodifiableSet(EnumSet.of(
+			ReferenceKind.CLASS_REFERENCE, ReferenceKind.METHOD_OVERRIDE, ReferenceKind.METHOD_CALL,
+			ReferenceKind.CONSTRUCTOR_CALL, ReferenceKind.FIELD_ACCESS));
+
+	private final AnnotationIndex deprecatedElements = new AnnotationIndex(getSymbolTable(), Deprecated.class);
+
+	private AnnotationIndex releaseAnnotations;
+	private String removalElementName;
+	private String errorRelease;
+
+	/**
+	 * Creates a checker which reads the annotations via the context class loader.
+	 */
+	public DeprecationChecker() {
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode of the referenced classes
+	 */
+	public DeprecationChecker(final ClassLoader classLoader) {
+		super(classLoader);
+	}
+
+	/**
+	 * Reads the release in which a deprecated element will be removed from the given annotation.
+	 * The annotation is never loaded, thus it does not need to be in the CLASSPATH of the checker.
+	 *
+	 * @param qualifiedAnnotationName e.g. "com.example.YourDeprecationRelease", must have runtime retention
+	 * @param removalElementName name of the String annotation element specifying the removal release, e.g. "hard"
+	 * @return this checker, to be configured before the inspection starts
+	 */
+	public DeprecationChecker withReleaseAnnotation(final String qualifiedAnnotationName,
+			final String removalElementName) {
+		this.releaseAnnotations = new AnnotationIndex(getSymbolTable(),
+				"L" + qualifiedAnnotationName.replace('.', '/') + ";");
+		this.removalElementName = removalElementName;
+		return this;
+	}
+
+	/**
+	 * @param release uses of elements to be removed in this or an earlier release are reported as ERROR,
+	 * 			releases are compared numerically by their dot separated parts, e.g. "2.9" &lt; "2.10"
+	 * @return this checker, to be configured before the inspection starts
+	 */
+	public DeprecationChecker reportAsErrorUpToRelease(final String release) {
+		this.errorRelease = release;
+		return this;
+	}
+
+	@Override
+	public Set<ReferenceKind> getReferenceKinds() {
+		return REFERENCE_KINDS;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		Class<?> elementClass = referencedClass;
+		while (elementClass.isArray()) {
+			elementClass = elementClass.getComponentType();
+		}
+		if (elementClass.isPrimitive()) {
+			return;
+		}
+		final String internalClassName = Type.getInternalName(elementClass);
+		if (deprecatedElements.getClassAnnotation(internalClassName) != null) {
+			report(referrer, elementClass, removalReleaseOf(internalClassName, null),
+					"uses @Deprecated class " + Violation.simpleNameOf(elementClass.getName()));
+		}
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		checkMethod(referrer, referencedMethod, "overrides");
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		checkMethod(referrer, referencedMethod, "uses");
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		final Class<?> declaringClass = constructor.getDeclaringClass();
+		final String internalClassName = Type.getInternalName(declaringClass);
+		final String desc = Type.getConstructorDescriptor(constructor);
+		if (deprecatedElements.getMethodAnnotation(internalClassName, "<init>", desc) != null) {
+			report(referrer, declaringClass,
+					removalReleaseOf(internalClassName, releaseAnnotationOfMethod(internalClassName, "<init>", desc)),
+					"uses @Deprecated constructor " + Violation.simpleNameOf(declaringClass.getName()));
+		}
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		final Class<?> declaringClass = referencedField.getDeclaringClass();
+		final String internalClassName = Type.getInternalName(declaringClass);
+		final String name = referencedField.getName();
+		if (deprecatedElements.getFieldAnnotation(internalClassName, name) != null) {
+			final AnnotationSymbol fieldRelease = releaseAnnotations != null
+					? releaseAnnotations.getFieldAnnotation(internalClassName, name) : null;
+			report(referrer, declaringClass, removalReleaseOf(internalClassName, fieldRelease),
+					"uses @Deprecated field " + memberNameOf(declaringClass, name));
+		}
+	}
+
+	private void checkMethod(final Referrer referrer, final Method method, final String verb) {
+		final Class<?> declaringClass = method.getDeclaringClass();
+		final String internalClassName = Type.getInternalName(declaringClass);
+		final String desc = Type.getMethodDescriptor(method);
+		if (deprecatedElements.getMethodAnnotation(internalClassName, method.getName(), desc) != null) {
+			report(referrer, declaringClass, removalReleaseOf(internalClassName,
+						releaseAnnotationOfMethod(internalClassName, method.getName(), desc)),
+					verb + " @Deprecated method " + memberNameOf(declaringClass, method.getName()));
+		}
+	}
+
+	private AnnotationSymbol releaseAnnotationOfMethod(final String internalClassName, final String name,
+			final String desc) {
+		return releaseAnnotations != null ? releaseAnnotations.getMethodAnnotation(internalClassName, name, desc) : null;
+	}
+
+	// a release annotation on the member takes precedence over one on its declaring class
+	private String removalReleaseOf(final String internalClassName, final AnnotationSymbol memberRelease) {
+		if (releaseAnnotations == null) {
+			return null;
+		}
+		final AnnotationSymbol release = memberRelease != null ? memberRelease
+				: releaseAnnotations.getClassAnnotation(internalClassName);
+		return release != null ? release.getStringValue(removalElementName, null) : null;
+	}
+
+	private void report(final Referrer referrer, final Class<?> declaringClass, final String removalRelease,
+			final String description) {
+		if (topLevelClassOf(referrer.getJavaElement().className).equals(topLevelClassOf(declaringClass.getName()))) {
+			return;
+		}
+		final Severity severity = errorRelease != null && removalRelease != null
+				&& compareReleases(removalRelease, errorRelease) <= 0 ? Severity.ERROR : Severity.WARNING;
+		addViolation(new Violation(severity, referrer, description
+				+ (removalRelease != null ? " which will be removed with release " + removalRelease : "")));
+	}
+
+	private static String topLevelClassOf(final String qualifiedClassName) {
+		final int dollar = qualifiedClassName.indexOf('$');
+		return dollar != -1 ? qualifiedClassName.substring(0, dollar) : qualifiedClassName;
+	}
+
+	/**
+	 * @return negative if release1 is earlier than release2, 0 if equal, positive if later
+	 */
+	static int compareReleases(final String release1, final String release2) {
+		final String[] parts1 = release1.split("\\.");
+		final String[] parts2 = release2.split("\\.");
+		for (int n = 0; n < Math.max(parts1.length, parts2.length); ++n) {
+			final String part1 = n < parts1.length ? parts1[n] : "0";
+			final String part2 = n < parts2.length ? parts2[n] : "0";
+			final int result = isNumber(part1) && isNumber(part2)
+					? Long.valueOf(part1).compareTo(Long.valueOf(part2)) : part1.compareTo(part2);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	private static boolean isNumber(final String part) {
+		return !part.isEmpty() && part.length() < 19 && part.matches("[0-9]+");
+	}
+}
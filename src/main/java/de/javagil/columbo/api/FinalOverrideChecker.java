@@ -0,0 +1,95 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.javagil.columbo.api.Violation.Severity;
+import de.javagil.columbo.internal.InheritedAnnotationIndex;
+import de.javagil.columbo.internal.MemberSymbol;
+
+/**
+ * Finds methods which override a method annotated with {@link Final}, e.g.:
+ * <pre>
+ * ERROR: SomeClient.java:46 SomeClient#someMethod overrides &#64;Final method YourClass#someMethod
+ * </pre>
+ * <p>
+ * Overrides are detected transitively: a method overriding a method which itself overrides a &#64;Final method
+ * is reported as well. The &#64;Final methods inherited by each class are read from the bytecode into an
+ * {@link InheritedAnnotationIndex} once per class in the hierarchy, thus checking a method is just a hash lookup.
+ * Use one instance per scan and close it afterwards.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class FinalOverrideChecker extends AbstractChecker {
+
+	private static final Set<ReferenceKind> REFERENCE_KINDS =
+			Collections.unmodifiableSet(EnumSet.of(ReferenceKind.METHOD_OVERRIDE));
+
+	private final InheritedAnnotationIndex finalMethods = new InheritedAnnotationIndex(getSymbolTable(), Final.class);
+
+	// a method overriding methods of multiple supertypes is reported once per supertype, but checked only once
+	private final Set<JavaElement> checkedMethods =
+			Collections.newSetFromMap(new ConcurrentHashMap<JavaElement, Boolean>());
+
+	/**
+	 * Creates a checker which reads the annotations via the context class loader.
+	 */
+	public FinalOverrideChecker() {
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode of the inspected classes and their supertypes
+	 */
+	public FinalOverrideChecker(final ClassLoader classLoader) {
+		super(classLoader);
+	}
+
+	@Override
+	public Set<ReferenceKind> getReferenceKinds() {
+		return REFERENCE_KINDS;
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		final JavaElement overridingMethod = referrer.getJavaElement();
+		if (!checkedMethods.add(overridingMethod)) {
+			return;
+		}
+		for (MemberSymbol finalMethod: finalMethods.findOverriddenAnnotatedMethods(
+				overridingMethod.className.replace('.', '/'), overridingMethod.methodName, overridingMethod.methodDesc)) {
+			addViolation(new Violation(Severity.ERROR, referrer, "overrides @Final method "
+					+ Violation.simpleNameOf(finalMethod.getOwner().getName().replace('/', '.'))
+					+ "#" + finalMethod.getName()));
+		}
+	}
+}
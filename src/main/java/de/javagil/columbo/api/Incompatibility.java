@@ -0,0 +1,91 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+/**
+ * A binary incompatible difference between two releases of a library,
+ * which can cause linkage errors in clients compiled against the previous release.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class Incompatibility {
+
+	/**
+	 * How the element was affected.
+	 */
+	public enum Kind {
+		/** the class or member is not available anymore */
+		REMOVED,
+		/** the class or member is still available, but changed incompatibly */
+		CHANGED
+	}
+
+	private final Kind kind;
+	private final String element;
+	private final String description;
+
+	/**
+	 * @param kind how the element was affected
+	 * @param element the affected element of the previous release, e.g. "de.example.Foo#bar(I)V"
+	 * @param description what was changed, e.g. "is no longer public", null for removed elements
+	 */
+	public Incompatibility(final Kind kind, final String element, final String description) {
+		this.kind = kind;
+		this.element = element;
+		this.description = description;
+	}
+
+	/**
+	 * @return how the element was affected
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the affected element of the previous release, a qualified class name (e.g. "de.example.Foo")
+	 * 			or a member with its internal descriptor (e.g. "de.example.Foo#bar(I)V" or "de.example.Foo#baz")
+	 */
+	public String getElement() {
+		return element;
+	}
+
+	/**
+	 * @return what was changed, e.g. "is no longer public", null for removed elements
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * @return the incompatibility as a report line, e.g. "CHANGED: de.example.Foo#bar(I)V became static"
+	 */
+	@Override
+	public String toString() {
+		return kind + ": " + element + (description != null ? " " + description : "");
+	}
+}
@@ -67,6 +67,18 @@ public class InspectionException extends RuntimeException {
 		super(message, exc);
 	}
 
+	/**
+	 * Creates an instance which can be reported for many references, e.g. to the same missing class.
+	 * Without a stack trace and suppressed exceptions such an instance is immutable, thus it can be shared.
+	 * 
+	 * @param message describes the exception
+	 * @param exc the original exception
+	 * @param writableStackTrace false to create the instance without a stack trace, which is much cheaper
+	 */
+	public InspectionException(final String message, final Throwable exc, final boolean writableStackTrace) {
+		super(message, exc, false, writableStackTrace);
+	}
+
 	/**
 	 * Wraps checked exceptions into a BytecodeInspectionException.
 	 * 
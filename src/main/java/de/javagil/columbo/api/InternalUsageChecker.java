@@ -0,0 +1,166 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.objectweb.asm.Type;
+
+import de.javagil.columbo.api.Violation.Severity;
+import de.javagil.columbo.internal.AnnotationIndex;
+import de.javagil.columbo.internal.AnnotationSymbol;
+
+/**
+ * Finds uses of elements annotated with {@link Internal} from outside of the package (hierarchy)
+ * they are internal to, e.g.:
+ * <pre>
+ * ERROR: SomeClient.java:46 SomeClient#someMethod uses &#64;Internal method YourClass#yourInternalMethod
+ * </pre>
+ * <p>
+ * The annotations are read from the bytecode into an {@link AnnotationIndex} once per referenced class,
+ * thus checking a reference is just a hash lookup instead of reflective annotation access.
+ * Use one instance per scan and close it afterwards.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * final InternalUsageChecker checker = new InternalUsageChecker();
+ * try {
+ *     new BytecodeInspector(classNames).inspect(checker);
+ * } finally {
+ *     checker.close();
+ * }
+ * for (Violation violation: checker.getViolations()) {
+ *     System.err.println(violation);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class InternalUsageChecker extends AbstractChecker {
+
+	private static final Set<ReferenceKind> REFERENCE_KINDS = Collections.unmodifiableSet(EnumSet.of(
+			ReferenceKind.CLASS_REFERENCE, ReferenceKind.METHOD_OVERRIDE, ReferenceKind.METHOD_CALL,
+			ReferenceKind.CONSTRUCTOR_CALL, ReferenceKind.FIELD_ACCESS));
+
+	private final AnnotationIndex internalElements = new AnnotationIndex(getSymbolTable(), Internal.class);
+
+	/**
+	 * Creates a checker which reads the annotations via the context class loader.
+	 */
+	public InternalUsageChecker() {
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode of the referenced classes
+	 */
+	public InternalUsageChecker(final ClassLoader classLoader) {
+		super(classLoader);
+	}
+
+	@Override
+	public Set<ReferenceKind> getReferenceKinds() {
+		return REFERENCE_KINDS;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		Class<?> elementClass = referencedClass;
+		while (elementClass.isArray()) {
+			elementClass = elementClass.getComponentType();
+		}
+		if (!elementClass.isPrimitive()) {
+			check(referrer, internalElements.getClassAnnotation(Type.getInternalName(elementClass)), elementClass,
+					"uses @Internal class " + Violation.simpleNameOf(elementClass.getName()));
+		}
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		checkMethod(referrer, referencedMethod, "overrides");
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		checkMethod(referrer, referencedMethod, "uses");
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		final Class<?> declaringClass = constructor.getDeclaringClass();
+		check(referrer, internalElements.getMethodAnnotation(Type.getInternalName(declaringClass), "<init>",
+						Type.getConstructorDescriptor(constructor)), declaringClass,
+				"uses @Internal constructor " + Violation.simpleNameOf(declaringClass.getName()));
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		final Class<?> declaringClass = referencedField.getDeclaringClass();
+		check(referrer, internalElements.getFieldAnnotation(Type.getInternalName(declaringClass),
+						referencedField.getName()), declaringClass,
+				"uses @Internal field " + memberNameOf(declaringClass, referencedField.getName()));
+	}
+
+	private void checkMethod(final Referrer referrer, final Method method, final String verb) {
+		final Class<?> declaringClass = method.getDeclaringClass();
+		check(referrer, internalElements.getMethodAnnotation(Type.getInternalName(declaringClass), method.getName(),
+						Type.getMethodDescriptor(method)), declaringClass,
+				verb + " @Internal method " + memberNameOf(declaringClass, method.getName()));
+	}
+
+	private void check(final Referrer referrer, final AnnotationSymbol internal, final Class<?> declaringClass,
+			final String description) {
+		if (internal != null && !isWithinScope(referrer, internal, declaringClass)) {
+			addViolation(new Violation(Severity.ERROR, referrer, description));
+		}
+	}
+
+	/**
+	 * @return true if the referrer is in the package hierarchy given by {@link Internal#value()}
+	 * 			or, if none is given, in the same package as the declaring class of the internal element
+	 */
+	private static boolean isWithinScope(final Referrer referrer, final AnnotationSymbol internal,
+			final Class<?> declaringClass) {
+		final String referrerPackage = packageOf(referrer.getJavaElement().className);
+		final String scope = internal.getStringValue("value", "");
+		if (scope.isEmpty()) {
+			return referrerPackage.equals(packageOf(declaringClass.getName()));
+		}
+		return referrerPackage.equals(scope) || referrerPackage.startsWith(scope + ".");
+	}
+
+	private static String packageOf(final String qualifiedClassName) {
+		final int lastDot = qualifiedClassName.lastIndexOf('.');
+		return lastDot != -1 ? qualifiedClassName.substring(0, lastDot) : "";
+	}
+}
@@ -0,0 +1,114 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import de.javagil.columbo.internal.ApiComparison;
+import de.javagil.columbo.internal.ClasspathWalker;
+import de.javagil.columbo.internal.SymbolTable;
+import de.javagil.columbo.internal.Util;
+
+/**
+ * Determines whether a new release of a Java library is binary compatible to the previous release,
+ * which means that clients compiled against the previous release still link against the new one.
+ * <p>
+ * Both releases are read directly from their jar files or directories, the classes are never loaded.
+ * Classes and members of the previous release which are public or protected are compared to the new release,
+ * e.g. removed classes and methods, reduced visibility or methods which became static are reported.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * for (Incompatibility incompatibility: new LibraryCompatibilityChecker(oldJar, newJar).check()) {
+ *     System.err.println(incompatibility);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class LibraryCompatibilityChecker {
+
+	private final File oldLibrary;
+	private final File newLibrary;
+
+	/**
+	 * @param oldLibrary jar file or class directory of the previous release
+	 * @param newLibrary jar file or class directory of the new release
+	 */
+	public LibraryCompatibilityChecker(final File oldLibrary, final File newLibrary) {
+		this.oldLibrary = oldLibrary;
+		this.newLibrary = newLibrary;
+	}
+
+	/**
+	 * Compares the releases using all available processors of the common fork-join pool.
+	 *
+	 * @return the binary incompatible changes, sorted by the affected element, empty if compatible
+	 * @throws InspectionException if the libraries could not be read
+	 */
+	public List<Incompatibility> check() throws InspectionException {
+		return check(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param executor runs the comparison, it's not shut down afterwards
+	 * @return the binary incompatible changes, sorted by the affected element, empty if compatible
+	 * @throws InspectionException if the libraries could not be read
+	 */
+	public List<Incompatibility> check(final ExecutorService executor) throws InspectionException {
+		final Set<String> oldClassNames = ClasspathWalker.findClassNames(oldLibrary);
+		final Set<String> newClassNames = ClasspathWalker.findClassNames(newLibrary);
+
+		// the JDK is still found via the bootstrap class loader, e.g. for members inherited from java.lang.Object
+		final URLClassLoader oldClassLoader = new URLClassLoader(new URL[] { Util.toURL(oldLibrary) }, null);
+		final URLClassLoader newClassLoader = new URLClassLoader(new URL[] { Util.toURL(newLibrary) }, null);
+		final SymbolTable oldApi = new SymbolTable(oldClassLoader);
+		final SymbolTable newApi = new SymbolTable(newClassLoader);
+		try {
+			return new ApiComparison(oldApi, newApi, newClassNames).compare(oldClassNames, executor);
+		} finally {
+			close(oldApi, oldClassLoader);
+			close(newApi, newClassLoader);
+		}
+	}
+
+	private static void close(final SymbolTable symbolTable, final URLClassLoader classLoader) {
+		try {
+			Util.close(symbolTable);
+		} finally {
+			Util.close(classLoader);
+		}
+	}
+}
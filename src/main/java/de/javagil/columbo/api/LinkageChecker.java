@@ -0,0 +1,123 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import de.javagil.columbo.internal.LinkageVerification;
+import de.javagil.columbo.internal.SymbolTable;
+import de.javagil.columbo.internal.Util;
+
+/**
+ * Checks whether client code compiled against some release of a library still links against another release,
+ * e.g. to make sure that no customer jar breaks with a new release.
+ * <p>
+ * All clients are checked concurrently, directly from their bytecode, no class gets loaded.
+ * The declarations of the library (and the JDK) are read only once and shared by the checks of all clients.
+ * Each class, method, constructor and field referenced by a client class must be found in the client itself,
+ * the library, the classpath of the clients or the JDK and must be accessible and used as declared
+ * (e.g. a static method called as static), otherwise a {@link LinkageProblem} is reported.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * for (LinkageProblem problem: new LinkageChecker(newLibraryJar).check(clientJars)) {
+ *     System.err.println(problem);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class LinkageChecker {
+
+	private final File library;
+	private final List<File> clientClasspath;
+
+	/**
+	 * @param library jar file or class directory of the library release to check against
+	 */
+	public LinkageChecker(final File library) {
+		this(library, Collections.<File>emptyList());
+	}
+
+	/**
+	 * @param library jar file or class directory of the library release to check against
+	 * @param clientClasspath jar files or class directories of further libraries the clients depend on,
+	 * 			shared by the checks of all clients, the checked library shadows classes with the same name
+	 */
+	public LinkageChecker(final File library, final Collection<File> clientClasspath) {
+		this.library = library;
+		this.clientClasspath = new ArrayList<File>(clientClasspath);
+	}
+
+	/**
+	 * Checks the clients using all available processors of the common fork-join pool.
+	 *
+	 * @param clients jar files or class directories of the clients
+	 * @return the references which can't be linked, sorted by client, empty if all clients link
+	 * @throws InspectionException if the bytecode could not be read
+	 */
+	public List<LinkageProblem> check(final Collection<File> clients) throws InspectionException {
+		return check(clients, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param clients jar files or class directories of the clients
+	 * @param executor runs one check per client, it's not shut down afterwards
+	 * @return the references which can't be linked, sorted by client, empty if all clients link
+	 * @throws InspectionException if the bytecode could not be read
+	 */
+	public List<LinkageProblem> check(final Collection<File> clients, final ExecutorService executor)
+			throws InspectionException {
+		// the JDK is still found via the bootstrap class loader
+		final List<URL> urls = new ArrayList<URL>();
+		urls.add(Util.toURL(library));
+		for (File dependency: clientClasspath) {
+			urls.add(Util.toURL(dependency));
+		}
+		final URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), null);
+		final SymbolTable symbolTable = new SymbolTable(classLoader);
+		try {
+			return new LinkageVerification(symbolTable).verify(clients, executor);
+		} finally {
+			try {
+				Util.close(symbolTable);
+			} finally {
+				Util.close(classLoader);
+			}
+		}
+	}
+}
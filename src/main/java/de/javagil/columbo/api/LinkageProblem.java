@@ -0,0 +1,111 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.io.File;
+
+/**
+ * A symbolic reference of a client class which can't be resolved or used as compiled, thus would cause
+ * a {@link LinkageError} (e.g. a {@link NoSuchMethodError}) when the client runs with the checked library.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class LinkageProblem {
+
+	/**
+	 * What could not be resolved or why the resolved element can't be used.
+	 */
+	public enum Kind {
+		CLASS_NOT_FOUND, METHOD_NOT_FOUND, CONSTRUCTOR_NOT_FOUND, FIELD_NOT_FOUND,
+
+		/**
+		 * The element is not accessible from the client class, causes an {@link IllegalAccessError}.
+		 */
+		ILLEGAL_ACCESS,
+
+		/**
+		 * The element became static or an instance member, or its class became an interface or vice versa,
+		 * causes an {@link IncompatibleClassChangeError}.
+		 */
+		INCOMPATIBLE_CLASS_CHANGE
+	}
+
+	private final Kind kind;
+	private final File client;
+	private final String className;
+	private final String element;
+
+	/**
+	 * @param kind what could not be resolved
+	 * @param client jar file or class directory of the client
+	 * @param className qualified name of the client class which contains the reference
+	 * @param element the affected element, e.g. "de.example.Foo" or "de.example.Foo#bar(I)V"
+	 */
+	public LinkageProblem(final Kind kind, final File client, final String className, final String element) {
+		this.kind = kind;
+		this.client = client;
+		this.className = className;
+		this.element = element;
+	}
+
+	/**
+	 * @return what could not be resolved
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return jar file or class directory of the client
+	 */
+	public File getClient() {
+		return client;
+	}
+
+	/**
+	 * @return qualified name of the client class which contains the reference
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the affected element, a qualified class name (e.g. "de.example.Foo")
+	 * 			or a member with its internal descriptor (e.g. "de.example.Foo#bar(I)V" or "de.example.Foo#baz")
+	 */
+	public String getElement() {
+		return element;
+	}
+
+	/**
+	 * @return the problem as a report line, e.g. "METHOD_NOT_FOUND: client.jar de.client.Foo -> de.example.Bar#baz()V"
+	 */
+	@Override
+	public String toString() {
+		return kind + ": " + client.getName() + " " + className + " -> " + element;
+	}
+}
@@ -0,0 +1,120 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.javagil.columbo.internal.CallGraph;
+
+/**
+ * The possible method to method calls of the classes inspected by {@link BytecodeInspector#buildCallGraph()}.
+ * <p>
+ * Methods are identified like "java.lang.String#length()I": the qualified name of the declaring class,
+ * the method name and its internal descriptor. Virtual calls lead to all implementations among the
+ * inspected classes, see {@link CallGraph} for the details. Instances are immutable and thus thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class MethodCallGraph {
+
+	private final CallGraph callGraph;
+
+	MethodCallGraph(final CallGraph callGraph) {
+		this.callGraph = callGraph;
+	}
+
+	/**
+	 * @return the number of methods, calling and called ones
+	 */
+	public int getMethodCount() {
+		return callGraph.getMethodCount();
+	}
+
+	/**
+	 * @return the number of distinct caller to callee edges
+	 */
+	public int getEdgeCount() {
+		return callGraph.getEdgeCount();
+	}
+
+	/**
+	 * @param method e.g. "java.lang.String#length()I"
+	 * @return true if the method calls or is called by any method of the graph
+	 */
+	public boolean contains(final String method) {
+		return callGraph.contains(toInternalMethod(method));
+	}
+
+	/**
+	 * @param method e.g. "de.example.Foo#bar(I)V"
+	 * @return the methods which might get called by the given method, empty if none or not part of the graph
+	 */
+	public List<String> getCallees(final String method) {
+		return toQualifiedMethods(callGraph.getCallees(toInternalMethod(method)));
+	}
+
+	/**
+	 * As only the callees are indexed, this has to check all edges, use it for single queries only.
+	 *
+	 * @param method e.g. "java.lang.String#length()I"
+	 * @return the methods which might call the given method, empty if none or not part of the graph
+	 */
+	public List<String> getCallers(final String method) {
+		return toQualifiedMethods(callGraph.getCallers(toInternalMethod(method)));
+	}
+
+	/**
+	 * @param entryMethods e.g. "de.example.Main#main([Ljava/lang/String;)V", methods not in the graph are ignored
+	 * @return the entry methods and all methods transitively called by them
+	 */
+	public List<String> getReachableMethods(final Collection<String> entryMethods) {
+		final List<String> internalEntryMethods = new ArrayList<String>(entryMethods.size());
+		for (String entryMethod: entryMethods) {
+			internalEntryMethods.add(toInternalMethod(entryMethod));
+		}
+		return toQualifiedMethods(callGraph.getReachableMethods(internalEntryMethods));
+	}
+
+	// just the class name is converted, the descriptor is internal anyway
+	private static String toInternalMethod(final String method) {
+		final int separator = method.indexOf('#');
+		return separator < 0 ? method : method.substring(0, separator).replace('.', '/') + method.substring(separator);
+	}
+
+	private static List<String> toQualifiedMethods(final List<String> internalMethods) {
+		final List<String> qualifiedMethods = new ArrayList<String>(internalMethods.size());
+		for (String internalMethod: internalMethods) {
+			final int separator = internalMethod.indexOf('#');
+			qualifiedMethods.add(internalMethod.substring(0, separator).replace('/', '.')
+					+ internalMethod.substring(separator));
+		}
+		return qualifiedMethods;
+	}
+}
@@ -0,0 +1,93 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class, method, constructor or field which is referenced by the inspected code,
+ * but could not be found in the CLASSPATH, together with all its referrers.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class MissingSymbol {
+
+	/**
+	 * What could not be found.
+	 */
+	public enum Kind {
+		CLASS, METHOD, CONSTRUCTOR, FIELD
+	}
+
+	private final Kind kind;
+	private final String symbol;
+	private final List<Referrer> referrers;
+
+	/**
+	 * @param kind what could not be found
+	 * @param symbol the missing element, e.g. "de.example.Foo" or "de.example.Foo#bar(int, java.lang.String)"
+	 * @param referrers the distinct locations which refer to the missing element
+	 */
+	public MissingSymbol(final Kind kind, final String symbol, final List<Referrer> referrers) {
+		this.kind = kind;
+		this.symbol = symbol;
+		this.referrers = Collections.unmodifiableList(new ArrayList<Referrer>(referrers));
+	}
+
+	/**
+	 * @return what could not be found
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the missing element, a qualified class name (e.g. "de.example.Foo"),
+	 * 			a constructor (e.g. "de.example.Foo(int)"), a method (e.g. "de.example.Foo#bar(int)")
+	 * 			or a field (e.g. "de.example.Foo#baz")
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * @return the distinct locations which refer to the missing element, in the order they were found
+	 */
+	public List<Referrer> getReferrers() {
+		return referrers;
+	}
+
+	/**
+	 * @return the missing element as a report line, e.g. "METHOD: de.example.Foo#bar(int) referred 3 times"
+	 */
+	@Override
+	public String toString() {
+		return kind + ": " + symbol + " referred " + referrers.size() + (referrers.size() == 1 ? " time" : " times");
+	}
+}
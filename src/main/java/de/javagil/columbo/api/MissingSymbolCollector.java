@@ -0,0 +1,227 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import de.javagil.columbo.api.MissingSymbol.Kind;
+import de.javagil.columbo.internal.BytecodeUtil;
+
+/**
+ * Collects all classes, methods, constructors and fields which are referenced by the inspected code,
+ * but can't be found in the CLASSPATH, instead of aborting the inspection on the first one, e.g.:
+ * <pre>
+ * METHOD: de.example.Foo#bar(int) referred 2 times
+ * 	de.client.SomeClient#someMethod:46
+ * 	de.client.OtherClient#otherMethod:12
+ * </pre>
+ * <p>
+ * Each missing element is recorded once with all its distinct referrers, no exception is created per reference.
+ * Classes already known to be missing are not searched again by the inspection.
+ * This is meant to diagnose an inconsistent CLASSPATH in a single run.
+ * </p>
+ * <p>
+ * Usage:
+ * <pre>
+ * final MissingSymbolCollector collector = new MissingSymbolCollector();
+ * new BytecodeInspector(classNames).inspectInParallel(collector);
+ * System.err.print(collector.getReport());
+ * </pre>
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class MissingSymbolCollector implements SelectiveReferenceVisitor, ThreadSafeReferenceVisitor {
+
+	private static final Set<ReferenceKind> REFERENCE_KINDS =
+			Collections.unmodifiableSet(EnumSet.of(ReferenceKind.NOT_FOUND));
+
+	// per kind the missing elements, each with its distinct referrers in the order they were found
+	private final Map<Kind, ConcurrentMap<String, Set<Referrer>>> referrersBySymbol =
+			new EnumMap<Kind, ConcurrentMap<String, Set<Referrer>>>(Kind.class);
+
+	/**
+	 * Creates an empty collector, use one instance per scan.
+	 */
+	public MissingSymbolCollector() {
+		for (Kind kind: Kind.values()) {
+			referrersBySymbol.put(kind, new ConcurrentHashMap<String, Set<Referrer>>());
+		}
+	}
+
+	@Override
+	public Set<ReferenceKind> getReferenceKinds() {
+		return REFERENCE_KINDS;
+	}
+
+	@Override
+	public Collection<String> getTargetNames() {
+		return null;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		record(Kind.CLASS, missingClassNameOf(cause), referrer);
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+		record(Kind.METHOD, clazz.getName() + "#" + name + asString(paramTypes), referrer);
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		record(Kind.CONSTRUCTOR, clazz.getName() + asString(paramTypes), referrer);
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+		record(Kind.FIELD, clazz.getName() + "#" + referencedField, referrer);
+	}
+
+	/**
+	 * @return true if any referenced element could not be found so far
+	 */
+	public boolean hasMissingSymbols() {
+		for (Map<String, Set<Referrer>> symbols: referrersBySymbol.values()) {
+			if (!symbols.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the elements which could not be found so far, ordered by kind and name
+	 */
+	public List<MissingSymbol> getMissingSymbols() {
+		final List<MissingSymbol> missingSymbols = new ArrayList<MissingSymbol>();
+		for (Map.Entry<Kind, ConcurrentMap<String, Set<Referrer>>> symbolsOfKind: referrersBySymbol.entrySet()) {
+			for (Map.Entry<String, Set<Referrer>> symbol: symbolsOfKind.getValue().entrySet()) {
+				synchronized (symbol.getValue()) {
+					missingSymbols.add(new MissingSymbol(symbolsOfKind.getKey(), symbol.getKey(),
+							new ArrayList<Referrer>(symbol.getValue())));
+				}
+			}
+		}
+		Collections.sort(missingSymbols, new Comparator<MissingSymbol>() {
+			@Override
+			public int compare(final MissingSymbol first, final MissingSymbol second) {
+				final int byKind = first.getKind().compareTo(second.getKind());
+				return byKind != 0 ? byKind : first.getSymbol().compareTo(second.getSymbol());
+			}
+		});
+		return missingSymbols;
+	}
+
+	/**
+	 * @return one line per missing element, each followed by one indented line per referrer, empty if none
+	 */
+	public String getReport() {
+		final StringBuilder report = new StringBuilder();
+		for (MissingSymbol missingSymbol: getMissingSymbols()) {
+			report.append(missingSymbol).append('\n');
+			for (Referrer referrer: missingSymbol.getReferrers()) {
+				report.append('\t').append(referrer.toContentString()).append('\n');
+			}
+		}
+		return report.toString();
+	}
+
+	private void record(final Kind kind, final String symbol, final Referrer referrer) {
+		final ConcurrentMap<String, Set<Referrer>> symbols = referrersBySymbol.get(kind);
+		Set<Referrer> referrers = symbols.get(symbol);
+		if (referrers == null) {
+			referrers = Collections.synchronizedSet(new LinkedHashSet<Referrer>());
+			final Set<Referrer> concurrentlyAdded = symbols.putIfAbsent(symbol, referrers);
+			if (concurrentlyAdded != null) {
+				referrers = concurrentlyAdded;
+			}
+		}
+		referrers.add(referrer);
+	}
+
+	/**
+	 * @param cause as reported to {@link #onClassNotFound(Referrer, Throwable)}, might wrap the original error
+	 * @return the qualified name of the missing class, e.g. "de.example.Foo"
+	 */
+	static String missingClassNameOf(final Throwable cause) {
+		for (Throwable exc = cause; exc != null; exc = exc.getCause()) {
+			if ((exc instanceof ClassNotFoundException || exc instanceof NoClassDefFoundError)
+					&& exc.getMessage() != null) {
+				return exc.getMessage().replace('/', '.');
+			}
+		}
+		return String.valueOf(cause.getMessage());
+	}
+
+	private static String asString(final Class<?>[] paramTypes) {
+		final StringBuilder asString = new StringBuilder("(");
+		for (Class<?> paramType: paramTypes) {
+			if (asString.length() > 1) {
+				asString.append(", ");
+			}
+			asString.append(BytecodeUtil.getJavaClassName(paramType));
+		}
+		return asString.append(')').toString();
+	}
+}
@@ -0,0 +1,222 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+/**
+ * Immutable record of a single reference, as delivered to a {@link BatchReferenceVisitor}.
+ * Each reference corresponds to one callback of {@link ReferenceVisitor}, 
+ * except {@link ReferenceVisitor#onClassNotFound(Referrer, Throwable)} which is never batched.
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public final class Reference {
+
+	private final ReferenceKind kind;
+	private final Referrer referrer;
+	private final Class<?> referencedClass;
+	private final Member member;
+	private final String memberName;
+	private final Class<?>[] parameterTypes;
+
+	private Reference(final ReferenceKind kind, final Referrer referrer, final Class<?> referencedClass, 
+			final Member member, final String memberName, final Class<?>[] parameterTypes) {
+		this.kind = kind;
+		this.referrer = referrer;
+		this.referencedClass = referencedClass;
+		this.member = member;
+		this.memberName = memberName;
+		this.parameterTypes = parameterTypes;
+	}
+
+	/**
+	 * @param referrer where the reference was found
+	 * @param referencedClass the referenced class
+	 * @return a reference corresponding to {@link ReferenceVisitor#onClassReference(Referrer, Class)}
+	 */
+	public static Reference classReference(final Referrer referrer, final Class<?> referencedClass) {
+		return new Reference(ReferenceKind.CLASS_REFERENCE, referrer, referencedClass, null, null, null);
+	}
+
+	/**
+	 * @param referrer where the overriding method was found
+	 * @param method the overridden method
+	 * @return a reference corresponding to {@link ReferenceVisitor#onMethodOverride(Referrer, Method)}
+	 */
+	public static Reference methodOverride(final Referrer referrer, final Method method) {
+		return new Reference(ReferenceKind.METHOD_OVERRIDE, referrer, method.getDeclaringClass(), method, method.getName(), null);
+	}
+
+	/**
+	 * @param referrer where the call was found
+	 * @param method the called method
+	 * @return a reference corresponding to {@link ReferenceVisitor#onMethodCall(Referrer, Method)}
+	 */
+	public static Reference methodCall(final Referrer referrer, final Method method) {
+		return new Reference(ReferenceKind.METHOD_CALL, referrer, method.getDeclaringClass(), method, method.getName(), null);
+	}
+
+	/**
+	 * @param referrer where the call was found
+	 * @param constructor the called constructor
+	 * @return a reference corresponding to {@link ReferenceVisitor#onConstructorCall(Referrer, Constructor)}
+	 */
+	public static Reference constructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		return new Reference(ReferenceKind.CONSTRUCTOR_CALL, referrer, constructor.getDeclaringClass(), constructor, 
+				"<init>", null);
+	}
+
+	/**
+	 * @param referrer where the access was found
+	 * @param field the accessed field
+	 * @return a reference corresponding to {@link ReferenceVisitor#onFieldAccess(Referrer, Field)}
+	 */
+	public static Reference fieldAccess(final Referrer referrer, final Field field) {
+		return new Reference(ReferenceKind.FIELD_ACCESS, referrer, field.getDeclaringClass(), field, field.getName(), null);
+	}
+
+	/**
+	 * @param referrer where the call was found
+	 * @param clazz the class in which the method was searched
+	 * @param name the name of the method not found
+	 * @param paramTypes the parameter types of the method not found, not null
+	 * @return a reference corresponding to {@link ReferenceVisitor#onMethodNotFound(Referrer, Class, String, Class[])}
+	 */
+	public static Reference methodNotFound(final Referrer referrer, final Class<?> clazz, final String name, 
+			final Class<?>[] paramTypes) {
+		return new Reference(ReferenceKind.NOT_FOUND, referrer, clazz, null, name, paramTypes);
+	}
+
+	/**
+	 * @param referrer where the call was found
+	 * @param clazz the class in which the constructor was searched
+	 * @param paramTypes the parameter types of the constructor not found, not null
+	 * @return a reference corresponding to {@link ReferenceVisitor#onConstructorNotFound(Referrer, Class, Class[])}
+	 */
+	public static Reference constructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		return new Reference(ReferenceKind.NOT_FOUND, referrer, clazz, null, "<init>", paramTypes);
+	}
+
+	/**
+	 * @param referrer where the access was found
+	 * @param clazz the class in which the field was searched
+	 * @param name the name of the field not found
+	 * @return a reference corresponding to {@link ReferenceVisitor#onFieldNotFound(Referrer, Class, String)}
+	 */
+	public static Reference fieldNotFound(final Referrer referrer, final Class<?> clazz, final String name) {
+		return new Reference(ReferenceKind.NOT_FOUND, referrer, clazz, null, name, null);
+	}
+
+	/**
+	 * @return the kind of this reference
+	 */
+	public ReferenceKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return where the reference was found
+	 */
+	public Referrer getReferrer() {
+		return referrer;
+	}
+
+	/**
+	 * @return the referenced class, for members the declaring class, for members not found the class searched in 
+	 */
+	public Class<?> getReferencedClass() {
+		return referencedClass;
+	}
+
+	/**
+	 * @return the referenced {@link Method}, {@link Constructor} or {@link Field}, null for class references 
+	 * 			and members not found
+	 */
+	public Member getMember() {
+		return member;
+	}
+
+	/**
+	 * @return the name of the referenced member, "&lt;init&gt;" for constructors, null for class references
+	 */
+	public String getMemberName() {
+		return memberName;
+	}
+
+	/**
+	 * @return the parameter types of a method or constructor not found, null for all other references
+	 */
+	public Class<?>[] getParameterTypes() {
+		return parameterTypes != null ? parameterTypes.clone() : null;
+	}
+
+	/**
+	 * Calls the callback of the given visitor which corresponds to this reference.
+	 * 
+	 * @param referenceVisitor the visitor to call
+	 */
+	public void dispatchTo(final ReferenceVisitor referenceVisitor) {
+		switch (kind) {
+		case CLASS_REFERENCE:
+			referenceVisitor.onClassReference(referrer, referencedClass);
+			break;
+		case METHOD_OVERRIDE:
+			referenceVisitor.onMethodOverride(referrer, (Method) member);
+			break;
+		case METHOD_CALL:
+			referenceVisitor.onMethodCall(referrer, (Method) member);
+			break;
+		case CONSTRUCTOR_CALL:
+			referenceVisitor.onConstructorCall(referrer, (Constructor<?>) member);
+			break;
+		case FIELD_ACCESS:
+			referenceVisitor.onFieldAccess(referrer, (Field) member);
+			break;
+		case NOT_FOUND:
+			if (parameterTypes == null) {
+				referenceVisitor.onFieldNotFound(referrer, referencedClass, memberName);
+			} else if ("<init>".equals(memberName)) {
+				referenceVisitor.onConstructorNotFound(referrer, referencedClass, parameterTypes);
+			} else {
+				referenceVisitor.onMethodNotFound(referrer, referencedClass, memberName, parameterTypes);
+			}
+			break;
+		default:
+			throw new IllegalStateException("unknown kind of reference " + kind);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return kind + " " + referrer.toContentString() + " -> " + referencedClass.getName() 
+				+ (memberName != null ? "#" + memberName : "");
+	}
+}
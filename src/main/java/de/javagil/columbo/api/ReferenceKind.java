@@ -0,0 +1,58 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+/**
+ * The kinds of references a {@link SelectiveReferenceVisitor} can be interested in.
+ * Each kind corresponds to one or more callbacks of {@link ReferenceVisitor}.
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public enum ReferenceKind {
+
+	/** {@link ReferenceVisitor#onClassReference(Referrer, Class)} */
+	CLASS_REFERENCE,
+
+	/** {@link ReferenceVisitor#onMethodOverride(Referrer, java.lang.reflect.Method)} */
+	METHOD_OVERRIDE,
+
+	/** {@link ReferenceVisitor#onMethodCall(Referrer, java.lang.reflect.Method)} */
+	METHOD_CALL,
+
+	/** {@link ReferenceVisitor#onConstructorCall(Referrer, java.lang.reflect.Constructor)} */
+	CONSTRUCTOR_CALL,
+
+	/** {@link ReferenceVisitor#onFieldAccess(Referrer, java.lang.reflect.Field)} */
+	FIELD_ACCESS,
+
+	/** 
+	 * {@link ReferenceVisitor#onMethodNotFound(Referrer, Class, String, Class[])}, 
+	 * {@link ReferenceVisitor#onConstructorNotFound(Referrer, Class, Class[])} and
+	 * {@link ReferenceVisitor#onFieldNotFound(Referrer, Class, String)} 
+	 */
+	NOT_FOUND
+}
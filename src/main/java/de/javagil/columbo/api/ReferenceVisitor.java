@@ -33,6 +33,10 @@ import java.lang.reflect.Method;
 
 /**
  *  Callback interface which is called when a reference to a Java class or method was found in the inspected code. 
+ *  <p>
+ *  The reflection objects passed to the callbacks are cached and shared by all visitors and threads, 
+ *  thus they must not be modified, e.g. by {@code setAccessible(true)}.
+ *  </p>
  */
 public interface ReferenceVisitor {
 
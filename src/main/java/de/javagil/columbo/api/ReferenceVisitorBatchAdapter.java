@@ -0,0 +1,56 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+/**
+ * Passes batched references to a {@link ReferenceVisitor}, one callback per reference.
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public class ReferenceVisitorBatchAdapter implements BatchReferenceVisitor {
+
+	private final ReferenceVisitor referenceVisitor;
+
+	/**
+	 * @param referenceVisitor gets called for each reference of each batch
+	 */
+	public ReferenceVisitorBatchAdapter(final ReferenceVisitor referenceVisitor) {
+		this.referenceVisitor = referenceVisitor;
+	}
+
+	@Override
+	public void onReferences(final Reference[] references) {
+		for (Reference reference: references) {
+			reference.dispatchTo(referenceVisitor);
+		}
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		referenceVisitor.onClassNotFound(referrer, cause);
+	}
+}
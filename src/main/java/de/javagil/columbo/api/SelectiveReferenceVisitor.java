@@ -0,0 +1,60 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A {@link ReferenceVisitor} which declares the references it is interested in.
+ * <p>
+ * The inspection skips resolving descriptors and reflection objects for references nobody listens to,
+ * which makes scans for a single kind of reference much faster. Callbacks for other kinds or targets
+ * are never called, except {@link ReferenceVisitor#onClassNotFound(Referrer, Throwable)},
+ * which is always reported as it indicates an incomplete CLASSPATH.
+ * </p>
+ * <p>
+ * The target of a class reference is the referenced class (the element class for arrays),
+ * the target of a member reference is the class which declares the member
+ * and the target of a not-found reference is the class in which the member was searched.
+ * </p>
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public interface SelectiveReferenceVisitor extends ReferenceVisitor {
+
+	/**
+	 * @return the kinds of references to report, the result must not change during an inspection
+	 */
+	Set<ReferenceKind> getReferenceKinds();
+
+	/**
+	 * @return qualified names of classes (e.g. "java.util.Date") or packages (e.g. "de.javagil.api"),
+	 * 			including their nested classes and subpackages, null to report references to all classes
+	 */
+	Collection<String> getTargetNames();
+}
@@ -0,0 +1,48 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+/**
+ * A {@link ReferenceVisitor} which can stop the inspection early, e.g. after the first violation of a rule was found.
+ * <p>
+ * The inspection polls {@link #isStopRequested()} before each class, method and instruction. Once it returns true,
+ * no further classes are read, parsed or resolved by any worker of a parallel inspection, just the callbacks
+ * for the current instruction get completed. The inspection then returns normally.
+ * </p>
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public interface StoppableReferenceVisitor extends ReferenceVisitor {
+
+	/**
+	 * Gets called very often, possibly from multiple threads, thus it has to be cheap and thread safe,
+	 * e.g. just read a volatile field.
+	 * 
+	 * @return true if the inspection should stop
+	 */
+	boolean isStopRequested();
+}
@@ -0,0 +1,140 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.internal.ClassHierarchy;
+
+/**
+ * The supertypes and subtypes of the classes inspected by {@link BytecodeInspector#buildClassHierarchy()},
+ * all classes are named by their qualified names, e.g. "java.util.Map$Entry".
+ * <p>
+ * Classes which are just known as a supertype, e.g. because their bytecode was not found,
+ * are part of the hierarchy, but not resolved. Instances are immutable and thus thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class TypeHierarchy {
+
+	private final ClassHierarchy hierarchy;
+
+	TypeHierarchy(final ClassHierarchy hierarchy) {
+		this.hierarchy = hierarchy;
+	}
+
+	/**
+	 * @return the number of classes in this hierarchy
+	 */
+	public int size() {
+		return hierarchy.size();
+	}
+
+	/**
+	 * @param className e.g. "java.lang.String"
+	 * @return true if the class is part of this hierarchy
+	 */
+	public boolean contains(final String className) {
+		return hierarchy.contains(toInternalName(className));
+	}
+
+	/**
+	 * @param className e.g. "java.lang.String"
+	 * @return true if the bytecode of the class was found, false if it's not part of this hierarchy
+	 * 			or only known as the name of a supertype
+	 */
+	public boolean isResolved(final String className) {
+		return hierarchy.isResolved(toInternalName(className));
+	}
+
+	/**
+	 * @param className e.g. "java.util.List"
+	 * @return true if the class is a resolved interface
+	 */
+	public boolean isInterface(final String className) {
+		return (hierarchy.getAccess(toInternalName(className)) & Opcodes.ACC_INTERFACE) != 0;
+	}
+
+	/**
+	 * @param className e.g. "java.util.AbstractList"
+	 * @return true if the class is a resolved abstract class or an interface
+	 */
+	public boolean isAbstract(final String className) {
+		return (hierarchy.getAccess(toInternalName(className)) & Opcodes.ACC_ABSTRACT) != 0;
+	}
+
+	/**
+	 * Like {@link Class#isAssignableFrom(Class)}, but for the classes of this hierarchy only.
+	 *
+	 * @param subtypeName e.g. "java.lang.String"
+	 * @param supertypeName e.g. "java.lang.CharSequence"
+	 * @return true if the first class is the same as or a transitive subtype of the second class
+	 */
+	public boolean isSubtypeOf(final String subtypeName, final String supertypeName) {
+		return hierarchy.isSubtypeOf(toInternalName(subtypeName), toInternalName(supertypeName));
+	}
+
+	/**
+	 * @param className e.g. "java.lang.String"
+	 * @return the names of all transitive superclasses and interfaces, empty if the class is unknown
+	 */
+	public List<String> getSupertypes(final String className) {
+		return toQualifiedNames(hierarchy.getSupertypes(toInternalName(className)));
+	}
+
+	/**
+	 * @param className e.g. "java.lang.Number"
+	 * @return the names of the classes and interfaces which directly extend or implement the given class
+	 */
+	public List<String> getDirectSubtypes(final String className) {
+		return toQualifiedNames(hierarchy.getDirectSubtypes(toInternalName(className)));
+	}
+
+	/**
+	 * @param className e.g. "java.lang.Number"
+	 * @return the names of all transitive subtypes within this hierarchy, empty if the class is unknown
+	 */
+	public List<String> getSubtypes(final String className) {
+		return toQualifiedNames(hierarchy.getSubtypes(toInternalName(className)));
+	}
+
+	private static String toInternalName(final String className) {
+		return className.replace('.', '/');
+	}
+
+	private static List<String> toQualifiedNames(final List<String> internalNames) {
+		final List<String> qualifiedNames = new ArrayList<String>(internalNames.size());
+		for (String internalName: internalNames) {
+			qualifiedNames.add(internalName.replace('/', '.'));
+		}
+		return qualifiedNames;
+	}
+}
@@ -0,0 +1,121 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+/**
+ * A finding of one of the built-in checkers, e.g. the use of an element outside of its intended scope.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class Violation {
+
+	/**
+	 * How serious a violation is, also used as the prefix of the report line.
+	 */
+	public enum Severity {
+		WARNING, ERROR
+	}
+
+	private final Severity severity;
+	private final Referrer referrer;
+	private final String description;
+
+	/**
+	 * @param severity how serious the violation is
+	 * @param referrer where the violation was found
+	 * @param description what was found, e.g. "uses @Internal method YourClass#yourInternalMethod"
+	 */
+	public Violation(final Severity severity, final Referrer referrer, final String description) {
+		this.severity = severity;
+		this.referrer = referrer;
+		this.description = description;
+	}
+
+	/**
+	 * @return how serious the violation is
+	 */
+	public Severity getSeverity() {
+		return severity;
+	}
+
+	/**
+	 * @return where the violation was found
+	 */
+	public Referrer getReferrer() {
+		return referrer;
+	}
+
+	/**
+	 * @return what was found, without the location
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + severity.hashCode();
+		result = prime * result + referrer.hashCode();
+		result = prime * result + description.hashCode();
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final Violation other = (Violation) obj;
+		return severity == other.severity && referrer.equals(other.referrer) && description.equals(other.description);
+	}
+
+	/**
+	 * @return the violation as a report line, e.g.
+	 * 		"ERROR: SomeClient.java:46 SomeClient#someMethod uses @Internal method YourClass#yourInternalMethod"
+	 */
+	@Override
+	public String toString() {
+		final JavaElement javaElement = referrer.getJavaElement();
+		return severity + ": " + (referrer.getSourceFile() != null ? referrer.getSourceFile() : "<unknown source>")
+				+ (referrer.getLineNo() != null ? ":" + referrer.getLineNo() : "") + " "
+				+ simpleNameOf(javaElement.className)
+				+ (javaElement.methodName != null ? "#" + javaElement.methodName : "") + " " + description;
+	}
+
+	/**
+	 * @param qualifiedClassName e.g. "java.util.Map$Entry"
+	 * @return the class name without package, e.g. "Map$Entry"
+	 */
+	static String simpleNameOf(final String qualifiedClassName) {
+		return qualifiedClassName.substring(qualifiedClassName.lastIndexOf('.') + 1);
+	}
+}
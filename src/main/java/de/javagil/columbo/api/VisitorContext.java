@@ -29,9 +29,16 @@ package de.javagil.columbo.api;
 import java.net.URL;
 
 import de.javagil.columbo.internal.ReferrerImpl;
+import de.javagil.columbo.internal.Util;
 
 /**
  * Keeps track of the current context (source/class/method/line) the visitors are scanning. 
+ * <p>
+ * An instance is a cursor for a single scan task and must not be shared between concurrent tasks,
+ * thus each inspection (and each worker of a parallel inspection) creates its own instance. 
+ * The {@link Referrer}s created by {@link #toReferrer()} are immutable snapshots, 
+ * they can safely be kept and passed to other threads.
+ * </p>
  * 
  * @author  michael.hoennig@javagil.de
  */
@@ -43,6 +50,10 @@ public final class VisitorContext {
 	private String currentMethodDesc;
 	private Integer currentLineNumber;
 
+	// shared for all references found at the same location, reset whenever the location changes
+	private JavaElement currentJavaElement;
+	private Referrer currentReferrer;
+
 	URL getCurrentResource() {
 		return currentResource;
 	}
@@ -75,12 +86,14 @@ public final class VisitorContext {
 		currentMethodName = null;
 		currentMethodDesc = null;
 		currentLineNumber = null;
+		resetJavaElement();
 	}
 
 	public void enteringSource(final String sourceToVisit) {
 		assert currentInternalClassName != null : "enteringSource without preceeding enteringClass";
 		
 		currentSource = sourceToVisit;
+		currentReferrer = null;
 		// do not null the other fields as enteringSource is called AFTER enteringClass
 	}
 	
@@ -91,10 +104,14 @@ public final class VisitorContext {
         currentMethodName = name;
         currentMethodDesc = desc;
         currentLineNumber = null;
+        resetJavaElement();
 	}
 
 	public void inspectingLineNumber(final Integer lineNo) {
-		currentLineNumber = lineNo;
+		if (!Util.areEqual(currentLineNumber, lineNo)) {
+			currentLineNumber = lineNo;
+			currentReferrer = null;
+		}
 	}
 
 	public void leavingMethod() {
@@ -103,28 +120,48 @@ public final class VisitorContext {
 		currentMethodName = null;
 		currentMethodDesc = null;
 		currentLineNumber = null;
+		resetJavaElement();
 	}
 
 	public void leavingClass() {
 		assert currentInternalClassName != null : "leavingClass while not inside of a class";
 		
 		currentInternalClassName = null;
+		resetJavaElement();
 	}
 
 	public void enteringResource(final URL resource) {
 		assert currentResource == null : "enteringResource while already inside of some resource";
 		
 		currentResource = resource;
+		currentReferrer = null;
 	}
 
 	public void leavingResource() {
 		assert currentResource != null : "leavingResource while not inside a resource";
 		
 		currentResource = null;
+		currentReferrer = null;
 	}
 
+	/**
+	 * The returned referrer is immutable and gets reused as long as the location does not change,
+	 * thus no objects are allocated for multiple references found at the same location.
+	 * 
+	 * @return the referrer describing the current location
+	 */
 	public Referrer toReferrer() {
-		return new ReferrerImpl(new JavaElement(currentInternalClassName, currentMethodName, currentMethodDesc), 
-				currentResource, currentSource, currentLineNumber);
+		if (currentReferrer == null) {
+			if (currentJavaElement == null) {
+				currentJavaElement = new JavaElement(currentInternalClassName, currentMethodName, currentMethodDesc);
+			}
+			currentReferrer = new ReferrerImpl(currentJavaElement, currentResource, currentSource, currentLineNumber);
+		}
+		return currentReferrer;
+	}
+
+	private void resetJavaElement() {
+		currentJavaElement = null;
+		currentReferrer = null;
 	}
 }
\ No newline at end of file
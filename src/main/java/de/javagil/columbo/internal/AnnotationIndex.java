@@ -0,0 +1,162 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.objectweb.asm.Type;
+
+/**
+ * Index of the classes, methods, constructors and fields which carry a specific annotation,
+ * read from the runtime visible annotations in the bytecode instead of via reflection.
+ * <p>
+ * The annotated members of a class are collected once, when the class is looked up the first time.
+ * All further lookups are plain hash lookups, for the vast majority of classes without
+ * the annotation on any member no lookup key has to be built at all.
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class AnnotationIndex {
+
+	// placeholder for classes which neither are annotated nor have annotated members or could not be found
+	private static final Entry NOT_ANNOTATED = new Entry(null, Collections.<String, AnnotationSymbol>emptyMap());
+
+	private final SymbolTable symbolTable;
+	private final String annotationDesc;
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * @param symbolTable provides the declarations of the classes, usually shared with other users
+	 * @param annotationType the annotation to index, must have runtime retention
+	 */
+	public AnnotationIndex(final SymbolTable symbolTable, final Class<? extends Annotation> annotationType) {
+		this(symbolTable, Type.getDescriptor(annotationType));
+	}
+
+	/**
+	 * @param symbolTable provides the declarations of the classes, usually shared with other users
+	 * @param annotationDesc descriptor of the annotation to index, e.g. "Ljava/lang/Deprecated;"
+	 */
+	public AnnotationIndex(final SymbolTable symbolTable, final String annotationDesc) {
+		this.symbolTable = symbolTable;
+		this.annotationDesc = annotationDesc;
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/util/Date"
+	 * @return the annotation on the class itself or null if the class is not annotated
+	 */
+	public AnnotationSymbol getClassAnnotation(final String internalClassName) {
+		return entryOf(internalClassName).classAnnotation;
+	}
+
+	/**
+	 * @param internalClassName the class which declares the method
+	 * @param methodName name of the method, "&lt;init&gt;" for constructors
+	 * @param methodDesc the full internal descriptor of the method
+	 * @return the annotation on the method or null if the method is not annotated
+	 */
+	public AnnotationSymbol getMethodAnnotation(final String internalClassName, final String methodName,
+			final String methodDesc) {
+		final Entry entry = entryOf(internalClassName);
+		return entry.memberAnnotations.isEmpty() ? null : entry.memberAnnotations.get(methodName + methodDesc);
+	}
+
+	/**
+	 * @param internalClassName the class which declares the field
+	 * @param fieldName name of the field
+	 * @return the annotation on the field or null if the field is not annotated
+	 */
+	public AnnotationSymbol getFieldAnnotation(final String internalClassName, final String fieldName) {
+		final Entry entry = entryOf(internalClassName);
+		// method keys always contain the descriptor, thus can't be mistaken for a field name
+		return entry.memberAnnotations.isEmpty() ? null : entry.memberAnnotations.get(fieldName);
+	}
+
+	private Entry entryOf(final String internalClassName) {
+		Entry entry = entries.get(internalClassName);
+		if (entry == null) {
+			entry = createEntry(symbolTable.getClassSymbol(internalClassName));
+			entries.putIfAbsent(internalClassName, entry);
+		}
+		return entry;
+	}
+
+	private Entry createEntry(final ClassSymbol symbol) {
+		if (symbol == null) {
+			return NOT_ANNOTATED;
+		}
+		Map<String, AnnotationSymbol> memberAnnotations = null;
+		for (MemberSymbol method: symbol.getDeclaredMethods()) {
+			memberAnnotations = putIfAnnotated(memberAnnotations, method.getName() + method.getDesc(), method);
+		}
+		for (MemberSymbol field: symbol.getDeclaredFields()) {
+			memberAnnotations = putIfAnnotated(memberAnnotations, field.getName(), field);
+		}
+		final AnnotationSymbol classAnnotation = symbol.getAnnotation(annotationDesc);
+		if (classAnnotation == null && memberAnnotations == null) {
+			return NOT_ANNOTATED;
+		}
+		return new Entry(classAnnotation, memberAnnotations != null ? memberAnnotations
+				: Collections.<String, AnnotationSymbol>emptyMap());
+	}
+
+	private Map<String, AnnotationSymbol> putIfAnnotated(final Map<String, AnnotationSymbol> memberAnnotations,
+			final String key, final MemberSymbol member) {
+		final AnnotationSymbol annotation = member.getAnnotation(annotationDesc);
+		if (annotation == null) {
+			return memberAnnotations;
+		}
+		final Map<String, AnnotationSymbol> map = memberAnnotations != null ? memberAnnotations
+				: new HashMap<String, AnnotationSymbol>();
+		map.put(key, annotation);
+		return map;
+	}
+
+	/**
+	 * The annotations found in a single class, immutable once created.
+	 */
+	private static final class Entry {
+
+		private final AnnotationSymbol classAnnotation;
+
+		// methods keyed by name + full descriptor, fields keyed by name
+		private final Map<String, AnnotationSymbol> memberAnnotations;
+
+		Entry(final AnnotationSymbol classAnnotation, final Map<String, AnnotationSymbol> memberAnnotations) {
+			this.classAnnotation = classAnnotation;
+			this.memberAnnotations = memberAnnotations;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Describes an annotation as found in the bytecode of the annotated class, method or field,
+ * without the need to load the annotation type or the annotated class into the JVM.
+ * <p>
+ * Element values are kept as found in the bytecode, default values declared by the annotation type
+ * are not available, as the annotation type itself is never read.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class AnnotationSymbol {
+
+	static final AnnotationSymbol[] NO_ANNOTATIONS = new AnnotationSymbol[0];
+
+	private final String desc;
+	private final Map<String, Object> values;
+
+	AnnotationSymbol(final String desc, final Map<String, Object> values) {
+		this.desc = desc;
+		this.values = values;
+	}
+
+	/**
+	 * @return the descriptor of the annotation type, e.g. "Ljava/lang/Deprecated;"
+	 */
+	public String getDesc() {
+		return desc;
+	}
+
+	/**
+	 * @param elementName name of the annotation element, e.g. "value"
+	 * @return the explicitly specified value: a boxed primitive, a String, the name of an enum constant,
+	 * 			the descriptor of a class, a nested AnnotationSymbol or an Object[] for arrays;
+	 * 			null if the default value applies
+	 */
+	public Object getValue(final String elementName) {
+		return values.get(elementName);
+	}
+
+	/**
+	 * @param elementName name of the annotation element, e.g. "value"
+	 * @param defaultValue returned if the element was not explicitly specified
+	 * @return the explicitly specified String value or the given default
+	 */
+	public String getStringValue(final String elementName, final String defaultValue) {
+		final Object value = values.get(elementName);
+		return value != null ? value.toString() : defaultValue;
+	}
+
+	/**
+	 * @return all explicitly specified element values
+	 */
+	public Map<String, Object> getValues() {
+		return Collections.unmodifiableMap(values);
+	}
+
+	static AnnotationSymbol find(final AnnotationSymbol[] annotations, final String annotationDesc) {
+		for (AnnotationSymbol annotation: annotations) {
+			if (annotation.desc.equals(annotationDesc)) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "@" + desc + values;
+	}
+}
@@ -0,0 +1,274 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.api.Incompatibility;
+import de.javagil.columbo.api.Incompatibility.Kind;
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Compares the public and protected API of two releases of a library, as declared in their bytecode,
+ * and finds the binary incompatible changes according to the Java Language Specification, chapter 13.
+ * <p>
+ * Each exported class of the previous release is compared on its own, thus the classes can be compared
+ * in parallel. Members are looked up by name and descriptor in the hashed member tables of the
+ * {@link ClassSymbol}s, members moved to a supertype are found via the {@link SymbolTable} of the new release.
+ * Additions are always compatible and thus not reported.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ApiComparison {
+
+	private static final int PARTITIONS_PER_WORKER = 4;
+	private static final String CLASS_INITIALIZER = "<clinit>";
+	private static final String CONSTRUCTOR = "<init>";
+
+	private static final Comparator<Incompatibility> ELEMENT_ORDER = new Comparator<Incompatibility>() {
+		@Override
+		public int compare(final Incompatibility incompatibility1, final Incompatibility incompatibility2) {
+			final int result = incompatibility1.getElement().compareTo(incompatibility2.getElement());
+			return result != 0 ? result : incompatibility1.toString().compareTo(incompatibility2.toString());
+		}
+	};
+
+	private final SymbolTable oldApi;
+	private final SymbolTable newApi;
+	private final Set<String> newClassNames;
+
+	/**
+	 * @param oldApi reads the previous release of the library
+	 * @param newApi reads the new release of the library
+	 * @param newClassNames binary names of the classes in the new release, classes from elsewhere
+	 * 			(e.g. the JDK) count as removed, but are still used to look up inherited members
+	 */
+	public ApiComparison(final SymbolTable oldApi, final SymbolTable newApi, final Collection<String> newClassNames) {
+		this.oldApi = oldApi;
+		this.newApi = newApi;
+		this.newClassNames = new HashSet<String>(newClassNames);
+	}
+
+	/**
+	 * @param oldClassNames binary names of the classes in the previous release, non-public ones are skipped
+	 * @param executor runs the comparison, the number of partitions depends on its parallelism,
+	 * 			it's not shut down afterwards
+	 * @return the incompatibilities, sorted by the affected element
+	 * @throws InspectionException if the bytecode could not be read
+	 */
+	public List<Incompatibility> compare(final Collection<String> oldClassNames, final ExecutorService executor) {
+		final List<Callable<List<Incompatibility>>> tasks = new ArrayList<Callable<List<Incompatibility>>>();
+		for (final List<String> partition: ParallelInspection.partition(oldClassNames,
+				Util.parallelismOf(executor) * PARTITIONS_PER_WORKER)) {
+			tasks.add(new Callable<List<Incompatibility>>() {
+				@Override
+				public List<Incompatibility> call() {
+					final List<Incompatibility> found = new ArrayList<Incompatibility>();
+					for (String className: partition) {
+						compareClass(className, found);
+					}
+					return found;
+				}
+			});
+		}
+		final List<Incompatibility> incompatibilities = new ArrayList<Incompatibility>();
+		for (List<Incompatibility> found: Util.runAll(executor, tasks)) {
+			incompatibilities.addAll(found);
+		}
+		Collections.sort(incompatibilities, ELEMENT_ORDER);
+		return incompatibilities;
+	}
+
+	/**
+	 * @param className binary name of a class in the previous release
+	 * @param incompatibilities receives the incompatibilities of the class and its members, nothing if not exported
+	 */
+	void compareClass(final String className, final List<Incompatibility> incompatibilities) {
+		final String internalName = className.replace('.', '/');
+		final ClassSymbol oldClass = oldApi.getClassSymbol(internalName);
+		if (oldClass == null || !isExported(oldClass.getAccess())) {
+			return;
+		}
+		final ClassSymbol newClass = newClassNames.contains(className) ? newApi.getClassSymbol(internalName) : null;
+		if (newClass == null) {
+			incompatibilities.add(new Incompatibility(Kind.REMOVED, className, null));
+			return;
+		}
+		if (!isExported(newClass.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, className, "is no longer public"));
+			return;
+		}
+		compareClassDeclaration(className, oldClass, newClass, incompatibilities);
+
+		final boolean finalClass = (oldClass.getAccess() & Opcodes.ACC_FINAL) != 0;
+		for (MemberSymbol oldMethod: oldClass.getDeclaredMethods()) {
+			if (isExported(oldMethod.getAccess()) && !CLASS_INITIALIZER.equals(oldMethod.getName())) {
+				compareMethod(className, finalClass, oldMethod, findMethod(newClass, oldMethod), incompatibilities);
+			}
+		}
+		for (MemberSymbol oldField: oldClass.getDeclaredFields()) {
+			if (isExported(oldField.getAccess())) {
+				compareField(className, oldField, newApi.findField(internalName, oldField.getName()), incompatibilities);
+			}
+		}
+	}
+
+	private void compareClassDeclaration(final String className, final ClassSymbol oldClass, final ClassSymbol newClass,
+			final List<Incompatibility> incompatibilities) {
+		if (oldClass.isInterface() != newClass.isInterface()) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, className,
+					newClass.isInterface() ? "became an interface" : "is no longer an interface"));
+			return;
+		}
+		if (becameSet(Opcodes.ACC_FINAL, oldClass.getAccess(), newClass.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, className, "became final"));
+		}
+		if (!oldClass.isInterface() && becameSet(Opcodes.ACC_ABSTRACT, oldClass.getAccess(), newClass.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, className, "became abstract"));
+		}
+		final Set<String> newSupertypes = supertypesOf(newApi, newClass);
+		for (String oldSupertype: supertypesOf(oldApi, oldClass)) {
+			if (!newSupertypes.contains(oldSupertype)) {
+				incompatibilities.add(new Incompatibility(Kind.CHANGED, className,
+						"is no longer a subtype of " + oldSupertype.replace('/', '.')));
+			}
+		}
+	}
+
+	private MemberSymbol findMethod(final ClassSymbol newClass, final MemberSymbol oldMethod) {
+		final MemberSymbol declared = newClass.getDeclaredMethod(oldMethod.getName(), oldMethod.getDesc());
+		if (declared != null || CONSTRUCTOR.equals(oldMethod.getName())) {
+			return declared;
+		}
+		// the method might have been moved to a supertype, which is compatible
+		return newApi.findMethod(newClass.getName(), oldMethod.getName(), oldMethod.getDesc());
+	}
+
+	private static void compareMethod(final String className, final boolean finalClass, final MemberSymbol oldMethod,
+			final MemberSymbol newMethod, final List<Incompatibility> incompatibilities) {
+		final String element = className + "#" + oldMethod.getName() + oldMethod.getDesc();
+		if (newMethod == null) {
+			incompatibilities.add(new Incompatibility(Kind.REMOVED, element, null));
+			return;
+		}
+		compareMemberAccess(element, oldMethod, newMethod, incompatibilities);
+		// JLS 13.4.17: just breaks overriding methods, static methods and methods of final classes can't be overridden
+		if (!finalClass && !oldMethod.isStatic()
+				&& becameSet(Opcodes.ACC_FINAL, oldMethod.getAccess(), newMethod.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element, "became final"));
+		}
+		if (becameSet(Opcodes.ACC_ABSTRACT, oldMethod.getAccess(), newMethod.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element, "became abstract"));
+		}
+	}
+
+	private static void compareField(final String className, final MemberSymbol oldField, final MemberSymbol newField,
+			final List<Incompatibility> incompatibilities) {
+		final String element = className + "#" + oldField.getName();
+		if (newField == null) {
+			incompatibilities.add(new Incompatibility(Kind.REMOVED, element, null));
+			return;
+		}
+		if (!oldField.getDesc().equals(newField.getDesc())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element,
+					"changed its type from " + oldField.getDesc() + " to " + newField.getDesc()));
+		}
+		compareMemberAccess(element, oldField, newField, incompatibilities);
+		if (becameSet(Opcodes.ACC_FINAL, oldField.getAccess(), newField.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element, "became final"));
+		}
+	}
+
+	private static void compareMemberAccess(final String element, final MemberSymbol oldMember,
+			final MemberSymbol newMember, final List<Incompatibility> incompatibilities) {
+		if (accessLevelOf(newMember.getAccess()) < accessLevelOf(oldMember.getAccess())) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element,
+					"is no longer " + accessNameOf(oldMember.getAccess())));
+		}
+		if (oldMember.isStatic() != newMember.isStatic()) {
+			incompatibilities.add(new Incompatibility(Kind.CHANGED, element,
+					newMember.isStatic() ? "became static" : "is no longer static"));
+		}
+	}
+
+	private static Set<String> supertypesOf(final SymbolTable symbolTable, final ClassSymbol symbol) {
+		final Set<String> supertypes = new HashSet<String>();
+		addSupertypes(symbolTable, symbol, supertypes);
+		return supertypes;
+	}
+
+	// supertypes which can't be found are kept, but not followed
+	private static void addSupertypes(final SymbolTable symbolTable, final ClassSymbol symbol,
+			final Set<String> supertypes) {
+		final List<String> direct = new ArrayList<String>();
+		if (symbol.getSuperName() != null) {
+			direct.add(symbol.getSuperName());
+		}
+		Collections.addAll(direct, symbol.getInterfaces());
+		for (String supertype: direct) {
+			if (supertypes.add(supertype)) {
+				final ClassSymbol supertypeSymbol = symbolTable.getClassSymbol(supertype);
+				if (supertypeSymbol != null) {
+					addSupertypes(symbolTable, supertypeSymbol, supertypes);
+				}
+			}
+		}
+	}
+
+	private static boolean isExported(final int access) {
+		return (access & (Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED)) != 0 && (access & Opcodes.ACC_SYNTHETIC) == 0;
+	}
+
+	private static boolean becameSet(final int flag, final int oldAccess, final int newAccess) {
+		return (oldAccess & flag) == 0 && (newAccess & flag) != 0;
+	}
+
+	private static int accessLevelOf(final int access) {
+		if ((access & Opcodes.ACC_PUBLIC) != 0) {
+			return 3;
+		}
+		if ((access & Opcodes.ACC_PROTECTED) != 0) {
+			return 2;
+		}
+		return (access & Opcodes.ACC_PRIVATE) != 0 ? 0 : 1;
+	}
+
+	private static String accessNameOf(final int access) {
+		return (access & Opcodes.ACC_PUBLIC) != 0 ? "public" : "protected";
+	}
+}
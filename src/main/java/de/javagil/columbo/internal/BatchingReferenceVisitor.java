@@ -0,0 +1,139 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.Flushable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * Collects the callbacks as {@link Reference}s and passes them in batches to a {@link BatchReferenceVisitor}.
+ * <p>
+ * Instances are not thread safe, each worker of a parallel inspection uses its own instance.
+ * {@link #flush()} has to be called at the end of the inspection to deliver the last batch.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class BatchingReferenceVisitor implements ReferenceVisitor, Flushable {
+
+	/**
+	 * Large enough to amortize the overhead per batch, small enough to keep the batches in the CPU cache.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private final BatchReferenceVisitor batchVisitor;
+	private final Reference[] batch;
+	private int size;
+
+	/**
+	 * @param batchVisitor receives the batches
+	 * @param batchSize maximum number of references per batch
+	 */
+	public BatchingReferenceVisitor(final BatchReferenceVisitor batchVisitor, final int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size must be positive, but is " + batchSize);
+		}
+		this.batchVisitor = batchVisitor;
+		this.batch = new Reference[batchSize];
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		add(Reference.classReference(referrer, referencedClass));
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		// keeps the order of the reported references
+		flush();
+		batchVisitor.onClassNotFound(referrer, cause);
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		add(Reference.methodOverride(referrer, referencedMethod));
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		add(Reference.methodCall(referrer, referencedMethod));
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+		add(Reference.methodNotFound(referrer, clazz, name, paramTypes));
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		add(Reference.constructorCall(referrer, constructor));
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		add(Reference.constructorNotFound(referrer, clazz, paramTypes));
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		add(Reference.fieldAccess(referrer, referencedField));
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+		add(Reference.fieldNotFound(referrer, clazz, referencedField));
+	}
+
+	/**
+	 * Delivers the collected references, if any.
+	 */
+	@Override
+	public void flush() {
+		if (size > 0) {
+			final Reference[] references = Arrays.copyOf(batch, size);
+			Arrays.fill(batch, 0, size, null);
+			size = 0;
+			batchVisitor.onReferences(references);
+		}
+	}
+
+	private void add(final Reference reference) {
+		batch[size++] = reference;
+		if (size == batch.length) {
+			flush();
+		}
+	}
+}
@@ -51,6 +51,12 @@ public final class BytecodeUtil {
 	// maps B, I, S, ... to boolean.class, int.class, short.class ...
 	private static final Map<Character, Class<?>> PRIMITIVE_SYMBOLS = new HashMap<Character, Class<?>>();
 	
+	// memoizes the reflective member lookups
+	private static final MemberLookupCache MEMBER_LOOKUP_CACHE = new MemberLookupCache();
+
+	// memoizes the parameter types of method descriptors
+	private static final DescriptorCache DESCRIPTOR_CACHE = new DescriptorCache();
+
 	static {
 		definePrimitive(boolean.class);
 		definePrimitive(char.class);
@@ -90,6 +96,18 @@ public final class BytecodeUtil {
 		return "/" + clazz.getName().replace('.', '/') + ".class";
 	}
 
+	/**
+	 * @param paramTypes the parameter types of a method
+	 * @return the internal descriptor of the arguments, e.g. "(ILjava/lang/String;)"
+	 */
+	public static String getArgumentsDescriptor(final Class<?>[] paramTypes) {
+		StringBuilder desc = new StringBuilder("(");
+		for (Class<?> paramType: paramTypes) {
+			desc.append(Type.getDescriptor(paramType));
+		}
+		return desc.append(')').toString();
+	}
+
 	/**
 	 * @param symbol the internal representation of the primitive type, e.g. 'I' for int. 
 	 * @return the class instance of the primitive type, e.g. int.class or null if unknown
@@ -100,10 +118,23 @@ public final class BytecodeUtil {
 	
     
 	/**
+	 * The result is cached, see {@link #getDescriptorCache()}.
+	 * 
 	 * @param parameterDesc the method parameter description
 	 * @return an array containing the parameter classes for a method
 	 */
 	public static Class<?>[] determineParameterTypes(final String parameterDesc) {
+		return DESCRIPTOR_CACHE.getParameterTypes(parameterDesc);
+	}
+
+	/**
+	 * @return the cache used by {@link #determineParameterTypes(String)}
+	 */
+	public static DescriptorCache getDescriptorCache() {
+		return DESCRIPTOR_CACHE;
+	}
+
+	static Class<?>[] resolveParameterTypes(final String parameterDesc) {
 		Type[] argTypes = Type.getArgumentTypes(parameterDesc);
 		
 		List<Class<?>> paramTypeList = new ArrayList<Class<?>>();
@@ -184,8 +215,17 @@ public final class BytecodeUtil {
 		PRIMITIVE_SYMBOLS.put(Type.getDescriptor(primitive).charAt(0), primitive);
 	}
 	
+	/**
+	 * @return the cache used by {@link #findMethod(Class, String, Class[])}, 
+	 * 			{@link #findConstructor(Class, Class[])} and {@link #findField(Class, String)} 
+	 */
+	public static MemberLookupCache getMemberLookupCache() {
+		return MEMBER_LOOKUP_CACHE;
+	}
+
 	/**
 	 * Finds the method which would be called by given specification.
+	 * The result is cached and shared, it must not be modified, see {@link #getMemberLookupCache()}.
 	 * 
 	 * @param clazz the target class of call
 	 * @param name name of the method
@@ -193,6 +233,10 @@ public final class BytecodeUtil {
 	 * @return the method which would be called by the given specification or null if none found
 	 */
 	public static Method findMethod(final Class<?> clazz, final String name, final Class<?>[] paramTypes) {
+		return MEMBER_LOOKUP_CACHE.findMethod(clazz, name, paramTypes);
+	}
+
+	static Method lookupMethod(final Class<?> clazz, final String name, final Class<?>[] paramTypes) {
     	try {
     		// a public method could be found directly
     		return clazz.getMethod(name, paramTypes);
@@ -202,7 +246,7 @@ public final class BytecodeUtil {
     			return clazz.getDeclaredMethod(name, paramTypes);
     		} catch (NoSuchMethodException exc2) {
     			if (clazz.getSuperclass() != null) {
-    				return findMethod(clazz.getSuperclass(), name, paramTypes);
+    				return lookupMethod(clazz.getSuperclass(), name, paramTypes);
     			}
     			return null;
     		}
@@ -211,12 +255,17 @@ public final class BytecodeUtil {
 
 	/**
 	 * Finds the constructor which would be called by given specification.
+	 * The result is cached and shared, it must not be modified, see {@link #getMemberLookupCache()}.
 	 * 
 	 * @param clazz the target class of call
 	 * @param paramTypes parameter types
 	 * @return the constructor which would be called by the given specification or null if none found
 	 */
 	public static Constructor<?> findConstructor(final Class<?> clazz, final Class<?>[] paramTypes) {
+		return MEMBER_LOOKUP_CACHE.findConstructor(clazz, paramTypes);
+	}
+
+	static Constructor<?> lookupConstructor(final Class<?> clazz, final Class<?>[] paramTypes) {
 		try {
     		return clazz.getDeclaredConstructor(paramTypes);
     	} catch (NoSuchMethodException exc) {
@@ -226,12 +275,17 @@ public final class BytecodeUtil {
 
 	/**
 	 * Finds the field which would be accessed by given specification.
+	 * The result is cached and shared, it must not be modified, see {@link #getMemberLookupCache()}.
 	 * 
 	 * @param clazz the target class of call
 	 * @param name name of the field
 	 * @return the field which would be accessed by the given specification or null if none found
 	 */
-	public static Field findField(Class<?> clazz, String name) {
+	public static Field findField(final Class<?> clazz, final String name) {
+		return MEMBER_LOOKUP_CACHE.findField(clazz, name);
+	}
+
+	static Field lookupField(final Class<?> clazz, final String name) {
 		try {
     		// a public field could be found directly
     		return clazz.getField(name);
@@ -241,7 +295,7 @@ public final class BytecodeUtil {
     			return clazz.getDeclaredField(name);
     		} catch (NoSuchFieldException notDeclaredFieldExc) {
     			if (clazz.getSuperclass() != null) {
-    				return findField(clazz.getSuperclass(), name);
+    				return lookupField(clazz.getSuperclass(), name);
     			}
     			
     			return null;
@@ -0,0 +1,189 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The possible method to method calls of a set of classes, read from their bytecode.
+ * <p>
+ * Calls via INVOKEVIRTUAL and INVOKEINTERFACE are expanded by class hierarchy analysis:
+ * the edges lead to each non-abstract implementation which could be called via any subtype
+ * of the named class within the {@link ClassHierarchy} of the inspected classes.
+ * All other calls lead to the method which gets resolved by the JVM for the named class.
+ * Calls which can't be resolved lead to the named method itself.
+ * The method handles used by invokedynamic count as calls as well, thus a method creating a lambda
+ * calls the bootstrap method (e.g. the LambdaMetafactory) and the synthetic method implementing the lambda.
+ * </p>
+ * <p>
+ * Methods are identified like "java/lang/String#length()I", named by the declaring class.
+ * Methods without a body, e.g. abstract ones, are just part of the graph if they get called.
+ * Each method gets an int id, the ids of its distinct callees are stored in a single int array,
+ * thus an edge takes 4 bytes of heap. Instances are immutable and thus thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class CallGraph {
+
+	private static final int NO_METHOD = -1;
+
+	private final String[] methodNames;
+	private final Map<String, Integer> methodIds;
+
+	// the callees of method i are callees[calleeStart[i]] until callees[calleeEnd[i] - 1], sorted by id
+	private final int[] calleeStart;
+	private final int[] calleeEnd;
+	private final int[] callees;
+
+	CallGraph(final String[] methodNames, final Map<String, Integer> methodIds, final int[] calleeStart,
+			final int[] calleeEnd, final int[] callees) {
+		this.methodNames = methodNames;
+		this.methodIds = methodIds;
+		this.calleeStart = calleeStart;
+		this.calleeEnd = calleeEnd;
+		this.callees = callees;
+	}
+
+	/**
+	 * Reads the method bodies of the given classes and expands the virtual calls over their class hierarchy.
+	 *
+	 * @param symbolTable provides the bytecode of the classes and resolves the called methods
+	 * @param classNames qualified (e.g. "java.lang.String") or internal (e.g. "java/lang/String") class names
+	 * @return the call graph of all methods with a body declared in the given classes
+	 * @throws de.javagil.columbo.api.InspectionException if the bytecode of a class could not be found or read
+	 */
+	public static CallGraph build(final SymbolTable symbolTable, final Collection<String> classNames) {
+		return new CallGraphBuilder(symbolTable).build(classNames);
+	}
+
+	/**
+	 * @return the number of methods, calling and called ones
+	 */
+	public int getMethodCount() {
+		return methodNames.length;
+	}
+
+	/**
+	 * @return the number of distinct caller to callee edges
+	 */
+	public int getEdgeCount() {
+		return callees.length;
+	}
+
+	/**
+	 * @param method e.g. "java/lang/String#length()I"
+	 * @return true if the method calls or is called by any method of the graph
+	 */
+	public boolean contains(final String method) {
+		return methodIds.containsKey(method);
+	}
+
+	/**
+	 * @param method e.g. "de/example/Foo#bar(I)V"
+	 * @return the methods which might get called by the given method, empty if none or not part of the graph
+	 */
+	public List<String> getCallees(final String method) {
+		final int id = idOf(method);
+		if (id == NO_METHOD) {
+			return Collections.emptyList();
+		}
+		final List<String> result = new ArrayList<String>(calleeEnd[id] - calleeStart[id]);
+		for (int n = calleeStart[id]; n < calleeEnd[id]; ++n) {
+			result.add(methodNames[callees[n]]);
+		}
+		return result;
+	}
+
+	/**
+	 * As only the callees are indexed, this has to check all edges, use it for single queries only.
+	 *
+	 * @param method e.g. "java/lang/String#length()I"
+	 * @return the methods which might call the given method, empty if none or not part of the graph
+	 */
+	public List<String> getCallers(final String method) {
+		final int id = idOf(method);
+		if (id == NO_METHOD) {
+			return Collections.emptyList();
+		}
+		final List<String> result = new ArrayList<String>();
+		for (int caller = 0; caller < methodNames.length; ++caller) {
+			for (int n = calleeStart[caller]; n < calleeEnd[caller]; ++n) {
+				if (callees[n] == id) {
+					result.add(methodNames[caller]);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param entryMethods e.g. "de/example/Main#main([Ljava/lang/String;)V", methods not in the graph are ignored
+	 * @return the entry methods and all methods transitively called by them
+	 */
+	public List<String> getReachableMethods(final Collection<String> entryMethods) {
+		final BitSet reached = new BitSet(methodNames.length);
+		int[] pending = new int[entryMethods.size()];
+		int pendingCount = 0;
+		for (String entryMethod: entryMethods) {
+			final int id = idOf(entryMethod);
+			if (id != NO_METHOD && !reached.get(id)) {
+				reached.set(id);
+				pending[pendingCount++] = id;
+			}
+		}
+		while (pendingCount > 0) {
+			final int caller = pending[--pendingCount];
+			for (int n = calleeStart[caller]; n < calleeEnd[caller]; ++n) {
+				if (!reached.get(callees[n])) {
+					reached.set(callees[n]);
+					if (pendingCount == pending.length) {
+						pending = Arrays.copyOf(pending, pending.length * 2 + 1);
+					}
+					pending[pendingCount++] = callees[n];
+				}
+			}
+		}
+		final List<String> result = new ArrayList<String>(reached.cardinality());
+		for (int id = reached.nextSetBit(0); id >= 0; id = reached.nextSetBit(id + 1)) {
+			result.add(methodNames[id]);
+		}
+		return result;
+	}
+
+	private int idOf(final String method) {
+		final Integer id = methodIds.get(method);
+		return id != null ? id : NO_METHOD;
+	}
+}
@@ -0,0 +1,259 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Builds a {@link CallGraph} in two passes: first the distinct call sites of each method are collected
+ * from the bytecode via {@link ClassFileParser#readCode(byte[], CodeReferenceVisitor)}, then each distinct
+ * called method is resolved once and expanded over the {@link ClassHierarchy} of the inspected classes.
+ * Not thread safe, use one instance per graph.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class CallGraphBuilder {
+
+	private static final String CONSTRUCTOR = "<init>";
+	private static final int[] NO_TARGETS = new int[0];
+
+	private final SymbolTable symbolTable;
+
+	private final Map<String, Integer> methodIds = new HashMap<String, Integer>();
+	private final List<String> methodNames = new ArrayList<String>();
+
+	// the called methods as named in the bytecode, the class might just inherit the method
+	private final Map<String, Integer> calledIds = new HashMap<String, Integer>();
+	private final List<String[]> calledMethods = new ArrayList<String[]>();
+
+	// the call sites in the order they were found, thus the sites of each caller are contiguous
+	private final IntList siteCallers = new IntList();
+	private final IntList siteCalled = new IntList();
+	private final BitSet virtualSites = new BitSet();
+
+	// the resolved targets per called method, virtual calls at odd indexes
+	private final Map<Integer, int[]> resolvedTargets = new HashMap<Integer, int[]>();
+
+	CallGraphBuilder(final SymbolTable symbolTable) {
+		this.symbolTable = symbolTable;
+	}
+
+	CallGraph build(final Collection<String> classNames) {
+		for (String className: classNames) {
+			collectCallSites(className);
+		}
+		final ClassHierarchy hierarchy = ClassHierarchy.build(symbolTable, classNames);
+
+		final IntList callees = new IntList();
+		final IntList callers = new IntList();
+		final IntList starts = new IntList();
+		final IntList ends = new IntList();
+		int site = 0;
+		while (site < siteCallers.size()) {
+			final int caller = siteCallers.get(site);
+			final IntList targets = new IntList();
+			for (; site < siteCallers.size() && siteCallers.get(site) == caller; ++site) {
+				targets.addAll(resolveTargets(hierarchy, siteCalled.get(site), virtualSites.get(site)));
+			}
+			callers.add(caller);
+			starts.add(callees.size());
+			callees.addAll(targets.toSortedDistinctArray());
+			ends.add(callees.size());
+		}
+
+		final int methodCount = methodNames.size();
+		final int[] calleeStart = new int[methodCount];
+		final int[] calleeEnd = new int[methodCount];
+		for (int n = 0; n < callers.size(); ++n) {
+			calleeStart[callers.get(n)] = starts.get(n);
+			calleeEnd[callers.get(n)] = ends.get(n);
+		}
+		return new CallGraph(methodNames.toArray(new String[methodCount]), methodIds, calleeStart, calleeEnd,
+				callees.toArray());
+	}
+
+	private void collectCallSites(final String className) {
+		final byte[] bytecode = symbolTable.getClassBytesSource().readBytes(className);
+		if (bytecode == null) {
+			throw new InspectionException(new ClassNotFoundException(className));
+		}
+		ClassFileParser.readCode(bytecode, new CodeReferenceVisitor() {
+			private int caller;
+
+			// a method calling another method many times gets a single call site
+			private final Set<Integer> calledBefore = new HashSet<Integer>();
+
+			@Override
+			public void visitMethod(final String callerClassName, final String name, final String desc) {
+				caller = methodId(callerClassName + "#" + name + desc);
+				calledBefore.clear();
+			}
+
+			@Override
+			public void visitMemberInsn(final int opcode, final SymbolicReference reference) {
+				if (reference.isField()) {
+					return;
+				}
+				final boolean virtual = opcode == Opcodes.INVOKEVIRTUAL || opcode == Opcodes.INVOKEINTERFACE;
+				final int called = calledId(reference.getOwner(), reference.getName(), reference.getDesc());
+				if (calledBefore.add(virtual ? -called - 1 : called)) {
+					if (virtual) {
+						virtualSites.set(siteCallers.size());
+					}
+					siteCallers.add(caller);
+					siteCalled.add(called);
+				}
+			}
+		});
+	}
+
+	private int[] resolveTargets(final ClassHierarchy hierarchy, final int called, final boolean virtual) {
+		final Integer key = called * 2 + (virtual ? 1 : 0);
+		int[] targets = resolvedTargets.get(key);
+		if (targets == null) {
+			final String[] calledMethod = calledMethods.get(called);
+			targets = resolveTargets(hierarchy, calledMethod[0], calledMethod[1], calledMethod[2], virtual);
+			resolvedTargets.put(key, targets);
+		}
+		return targets;
+	}
+
+	private int[] resolveTargets(final ClassHierarchy hierarchy, final String owner, final String name,
+			final String desc, final boolean virtual) {
+		final MemberSymbol declared = symbolTable.findMethod(owner, name, desc);
+		if (declared == null) {
+			return new int[] {methodId(owner + "#" + name + desc)};
+		}
+		if (!virtual || declared.isPrivate() || declared.isStatic() || CONSTRUCTOR.equals(name)) {
+			return new int[] {methodId(declared.toString())};
+		}
+
+		final IntList targets = new IntList();
+		if (!isAbstract(declared)) {
+			targets.add(methodId(declared.toString()));
+		}
+		final int ownerId = hierarchy.idOf(owner);
+		final int[] subtypeIds = ownerId != ClassHierarchy.NO_CLASS ? hierarchy.subtypeIdsOf(ownerId) : NO_TARGETS;
+		for (int subtypeId: subtypeIds) {
+			if (hierarchy.isInterface(subtypeId) || hierarchy.isAbstract(subtypeId)) {
+				continue;
+			}
+			// the implementation might be inherited from a class which is not a subtype of the owner
+			final MemberSymbol implementation = symbolTable.findMethod(hierarchy.nameOf(subtypeId), name, desc);
+			if (implementation != null && !isAbstract(implementation)) {
+				targets.add(methodId(implementation.toString()));
+			}
+		}
+		if (targets.size() == 0) {
+			// no implementation among the inspected classes, e.g. a JDK interface
+			targets.add(methodId(declared.toString()));
+		}
+		return targets.toSortedDistinctArray();
+	}
+
+	private static boolean isAbstract(final MemberSymbol method) {
+		return (method.getAccess() & Opcodes.ACC_ABSTRACT) != 0;
+	}
+
+	private int methodId(final String method) {
+		Integer id = methodIds.get(method);
+		if (id == null) {
+			id = methodNames.size();
+			methodIds.put(method, id);
+			methodNames.add(method);
+		}
+		return id;
+	}
+
+	private int calledId(final String owner, final String name, final String desc) {
+		final String key = owner + "#" + name + desc;
+		Integer id = calledIds.get(key);
+		if (id == null) {
+			id = calledMethods.size();
+			calledIds.put(key, id);
+			calledMethods.add(new String[] {owner, name, desc});
+		}
+		return id;
+	}
+
+	/**
+	 * A growable int array, to avoid boxing each element.
+	 */
+	private static final class IntList {
+		private int[] values = new int[16];
+		private int size;
+
+		void add(final int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void addAll(final int[] valuesToAdd) {
+			for (int value: valuesToAdd) {
+				add(value);
+			}
+		}
+
+		int get(final int index) {
+			return values[index];
+		}
+
+		int size() {
+			return size;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+		int[] toSortedDistinctArray() {
+			final int[] sorted = toArray();
+			Arrays.sort(sorted);
+			int count = 0;
+			for (int n = 0; n < sorted.length; ++n) {
+				if (count == 0 || sorted[n] != sorted[count - 1]) {
+					sorted[count++] = sorted[n];
+				}
+			}
+			return Arrays.copyOf(sorted, count);
+		}
+	}
+}
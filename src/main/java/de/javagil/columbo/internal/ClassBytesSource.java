@@ -0,0 +1,243 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Reads the bytecode of classes directly from the jar files and directories of the classpath.
+ * <p>
+ * The classes are never loaded for this purpose, the class loader is only asked for the resource URL.
+ * Jar files are mapped into memory only once (see {@link MappedJarFile}) and kept open until {@link #close()} 
+ * is called. Jar files which can't be mapped are read via {@link JarFile}.
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ClassBytesSource implements Closeable {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String JAR_SEPARATOR = "!/";
+	private static final int BUFFER_SIZE = 8192;
+
+	private final ClassLoader classLoader;
+
+	// open jar files by their location, e.g. "file:/some/path/some.jar"
+	private final ConcurrentMap<String, MappedJarFile> mappedJarFiles = new ConcurrentHashMap<String, MappedJarFile>();
+	private final ConcurrentMap<String, JarFile> jarFiles = new ConcurrentHashMap<String, JarFile>();
+
+	/**
+	 * Creates a source for the classpath of the context class loader.
+	 */
+	public ClassBytesSource() {
+		this(defaultClassLoader());
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode resources, the classes are NOT loaded by it
+	 */
+	public ClassBytesSource(final ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * @param className binary name (e.g. "java.lang.String") or internal name (e.g. "java/lang/String") of the class
+	 * @return URL of the bytecode resource of the class or null if not found
+	 */
+	public URL getResourceURL(final String className) {
+		return classLoader.getResource(className.replace('.', '/') + CLASS_SUFFIX);
+	}
+
+	/**
+	 * @param className binary name (e.g. "java.lang.String") or internal name (e.g. "java/lang/String") of the class
+	 * @return the complete bytecode of the class or null if not found
+	 * @throws InspectionException if the bytecode could not be read
+	 */
+	public byte[] readBytes(final String className) {
+		final URL resource = getResourceURL(className);
+		return resource != null ? readBytes(resource) : null;
+	}
+
+	/**
+	 * @param resource URL of a bytecode resource, as returned by {@link #getResourceURL(String)}
+	 * @return the complete content of the resource
+	 * @throws InspectionException if the resource could not be read
+	 */
+	public byte[] readBytes(final URL resource) {
+		try {
+			if ("jar".equals(resource.getProtocol())) {
+				final String path = resource.getPath();
+				final int separator = path.indexOf(JAR_SEPARATOR);
+				final String entryName = path.substring(separator + JAR_SEPARATOR.length());
+				// nested jars and jars which are not local files are left to the URL handler
+				if (separator > 0 && !entryName.contains(JAR_SEPARATOR) && isLocalFile(path.substring(0, separator))) {
+					return readJarEntry(path.substring(0, separator), entryName);
+				}
+			}
+			return readFully(openStream(resource));
+		} catch (IOException exc) {
+			throw new InspectionException("could not read bytecode from " + resource, exc);
+		}
+	}
+
+	/**
+	 * Closes all jar files opened by this instance.
+	 */
+	@Override
+	public void close() throws IOException {
+		final List<Closeable> openFiles = new ArrayList<Closeable>();
+		for (String location: mappedJarFiles.keySet()) {
+			addIfNotNull(openFiles, mappedJarFiles.remove(location));
+		}
+		for (String location: jarFiles.keySet()) {
+			addIfNotNull(openFiles, jarFiles.remove(location));
+		}
+
+		IOException firstException = null;
+		for (Closeable openFile: openFiles) {
+			try {
+				openFile.close();
+			} catch (IOException exc) {
+				firstException = firstException != null ? firstException : exc;
+			}
+		}
+		if (firstException != null) {
+			throw firstException;
+		}
+	}
+
+	private byte[] readJarEntry(final String location, final String entryName) throws IOException {
+		final MappedJarFile mappedJarFile = getMappedJarFile(location);
+		if (mappedJarFile != null) {
+			final byte[] bytes = mappedJarFile.readEntry(entryName);
+			if (bytes == null) {
+				throw new IOException("no entry " + entryName + " in " + mappedJarFile.getFile());
+			}
+			return bytes;
+		}
+
+		final JarFile jarFile = jarFiles.get(location);
+		final ZipEntry entry = jarFile.getEntry(entryName);
+		if (entry == null) {
+			throw new IOException("no entry " + entryName + " in " + jarFile.getName());
+		}
+		return readFully(jarFile.getInputStream(entry));
+	}
+
+	// returns null if the jar file can't be mapped, it's then available in jarFiles instead
+	private MappedJarFile getMappedJarFile(final String location) throws IOException {
+		MappedJarFile mappedJarFile = mappedJarFiles.get(location);
+		if (mappedJarFile == null && !jarFiles.containsKey(location)) {
+			try {
+				mappedJarFile = MappedJarFile.open(toFile(location));
+			} catch (IOException exc) {
+				openJarFile(location);
+				return null;
+			}
+			final MappedJarFile concurrentlyOpened = mappedJarFiles.putIfAbsent(location, mappedJarFile);
+			if (concurrentlyOpened != null) {
+				mappedJarFile.close();
+				mappedJarFile = concurrentlyOpened;
+			}
+		}
+		return mappedJarFile;
+	}
+
+	private void openJarFile(final String location) throws IOException {
+		final JarFile jarFile = new JarFile(toFile(location));
+		if (jarFiles.putIfAbsent(location, jarFile) != null) {
+			jarFile.close();
+		}
+	}
+
+	private static InputStream openStream(final URL resource) throws IOException {
+		if (isLocalFile(resource.toString())) {
+			return new FileInputStream(toFile(resource.toString()));
+		}
+		return resource.openStream();
+	}
+
+	private static byte[] readFully(final InputStream stream) throws IOException {
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			for (int count = stream.read(buffer); count != -1; count = stream.read(buffer)) {
+				bytes.write(buffer, 0, count);
+			}
+			return bytes.toByteArray();
+		} finally {
+			stream.close();
+		}
+	}
+
+	private static void addIfNotNull(final List<Closeable> list, final Closeable closeable) {
+		if (closeable != null) {
+			list.add(closeable);
+		}
+	}
+
+	// e.g. UNC paths like "file://server/share/x.jar" or remote locations can't be converted to a File
+	private static boolean isLocalFile(final String url) {
+		try {
+			final URI uri = new URI(url);
+			return "file".equalsIgnoreCase(uri.getScheme()) && !uri.isOpaque() && uri.getAuthority() == null
+					&& uri.getQuery() == null && uri.getFragment() == null;
+		} catch (URISyntaxException exc) {
+			return false;
+		}
+	}
+
+	private static File toFile(final String fileUrl) {
+		try {
+			return new File(new URI(fileUrl));
+		} catch (URISyntaxException exc) {
+			throw new InspectionException("invalid bytecode location " + fileUrl, exc);
+		}
+	}
+
+	private static ClassLoader defaultClassLoader() {
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return contextClassLoader != null ? contextClassLoader : ClassBytesSource.class.getClassLoader();
+	}
+}
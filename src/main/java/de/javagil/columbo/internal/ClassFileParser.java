@@ -0,0 +1,567 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Reads the declarations (header, fields and methods) from the bytecode of a class into a {@link ClassSymbol},
+ * just the names and descriptors from its constant pool or the member references from its method bodies.
+ * <p>
+ * Method bodies are only looked at by {@link #readCode(byte[], CodeReferenceVisitor)},
+ * of all the other attributes only the runtime visible annotations and the bootstrap methods are read.
+ * An element with a Deprecated attribute (e.g. from a javadoc deprecated tag only) is treated as if
+ * it was annotated with &#64;Deprecated. In contrast to ASM 3 this parser knows all constant pool
+ * entry types up to current Java versions (e.g. the entries used for invokedynamic),
+ * which is necessary to read the declarations of arbitrary JDK classes.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class ClassFileParser {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+	private static final String CODE = "Code";
+	private static final String BOOTSTRAP_METHODS = "BootstrapMethods";
+	private static final String DEPRECATED = "Deprecated";
+	private static final String DEPRECATED_DESC = "Ljava/lang/Deprecated;";
+
+	private static final int TABLESWITCH = 170;
+	private static final int LOOKUPSWITCH = 171;
+	private static final int INVOKEDYNAMIC = 186;
+	private static final int WIDE = 196;
+	private static final int IINC = 132;
+
+	// the opcode corresponding to each kind of method handle, e.g. REF_invokeStatic (6) to INVOKESTATIC
+	private static final int[] METHOD_HANDLE_OPCODES = {0, Opcodes.GETFIELD, Opcodes.GETSTATIC, Opcodes.PUTFIELD,
+		Opcodes.PUTSTATIC, Opcodes.INVOKEVIRTUAL, Opcodes.INVOKESTATIC, Opcodes.INVOKESPECIAL, Opcodes.INVOKESPECIAL,
+		Opcodes.INVOKEINTERFACE};
+
+	// the length of each instruction including its opcode, 0 for the variable length switch instructions
+	private static final byte[] INSTRUCTION_LENGTHS = new byte[256];
+
+	static {
+		Arrays.fill(INSTRUCTION_LENGTHS, (byte) 1);
+		setInstructionLength(2, 16, 18, 21, 22, 23, 24, 25, 54, 55, 56, 57, 58, 169, 188);
+		setInstructionLength(3, 17, 19, 20, 132, 178, 179, 180, 181, 182, 183, 184, 187, 189, 192, 193, 198, 199);
+		for (int opcode = 153; opcode <= 168; ++opcode) {
+			setInstructionLength(3, opcode);
+		}
+		setInstructionLength(4, 197);
+		setInstructionLength(5, 185, 186, 200, 201);
+		setInstructionLength(0, TABLESWITCH, LOOKUPSWITCH);
+	}
+
+	private final byte[] bytes;
+
+	// offsets of the constant pool entries (pointing to the byte after the tag), indexed by constant pool index
+	private final int[] constantOffsets;
+	private final String[] utf8Cache;
+
+	private int pos;
+
+	private ClassFileParser(final byte[] bytes) {
+		this.bytes = bytes;
+		if (readInt(0) != MAGIC) {
+			throw new InspectionException("not a class file (wrong magic number)");
+		}
+		final int constantPoolCount = readUnsignedShort(8);
+		this.constantOffsets = new int[constantPoolCount];
+		this.utf8Cache = new String[constantPoolCount];
+		this.pos = 10;
+	}
+
+	/**
+	 * @param bytes the complete bytecode of a class
+	 * @return the declarations of the class
+	 * @throws InspectionException if the bytes are not a valid class file
+	 */
+	static ClassSymbol parse(final byte[] bytes) {
+		try {
+			return new ClassFileParser(bytes).parse();
+		} catch (ArrayIndexOutOfBoundsException exc) {
+			throw new InspectionException("truncated or corrupt class file", exc);
+		}
+	}
+
+	/**
+	 * Reads just the constant pool of a class, the rest of the bytecode is not looked at.
+	 *
+	 * @param bytes the complete bytecode of a class
+	 * @param classNames receives the internal names of all classes in class constants,
+	 * 			for arrays the descriptor (e.g. "[Ljava/lang/String;")
+	 * @param utf8Constants receives all UTF8 constants, which includes names, descriptors, signatures and string literals
+	 * @throws InspectionException if the bytes are not a valid class file
+	 */
+	static void readConstants(final byte[] bytes, final Collection<String> classNames,
+			final Collection<String> utf8Constants) {
+		try {
+			new ClassFileParser(bytes).readConstants(classNames, utf8Constants);
+		} catch (ArrayIndexOutOfBoundsException exc) {
+			throw new InspectionException("truncated or corrupt class file", exc);
+		}
+	}
+
+	/**
+	 * Reads the symbolic references of a class from its constant pool, the rest of the bytecode is not looked at.
+	 * These are exactly the classes, methods and fields the JVM has to resolve when linking the class.
+	 *
+	 * @param bytes the complete bytecode of a class
+	 * @param classNames receives the internal names of all classes in class constants,
+	 * 			for arrays the descriptor (e.g. "[Ljava/lang/String;")
+	 * @param memberReferences receives all field, method and interface method references
+	 * @throws InspectionException if the bytes are not a valid class file
+	 */
+	static void readReferences(final byte[] bytes, final Collection<String> classNames,
+			final Collection<SymbolicReference> memberReferences) {
+		try {
+			new ClassFileParser(bytes).readReferences(classNames, memberReferences);
+		} catch (ArrayIndexOutOfBoundsException exc) {
+			throw new InspectionException("truncated or corrupt class file", exc);
+		}
+	}
+
+	/**
+	 * Reads the field and method references from the method bodies of a class.
+	 * In contrast to ASM 3 this knows the instructions of current Java versions (e.g. invokedynamic).
+	 *
+	 * @param bytes the complete bytecode of a class
+	 * @param visitor receives the references, method by method in the order of the instructions
+	 * @throws InspectionException if the bytes are not a valid class file
+	 */
+	static void readCode(final byte[] bytes, final CodeReferenceVisitor visitor) {
+		try {
+			new ClassFileParser(bytes).readCode(visitor);
+		} catch (ArrayIndexOutOfBoundsException exc) {
+			throw new InspectionException("truncated or corrupt class file", exc);
+		}
+	}
+
+	private static void setInstructionLength(final int length, final int... opcodes) {
+		for (int opcode: opcodes) {
+			INSTRUCTION_LENGTHS[opcode] = (byte) length;
+		}
+	}
+
+	private void readReferences(final Collection<String> classNames,
+			final Collection<SymbolicReference> memberReferences) {
+		readConstantPool();
+		for (int index = 1; index < constantOffsets.length; ++index) {
+			final int offset = constantOffsets[index];
+			if (offset == 0) {
+				continue;
+			}
+			final int tag = bytes[offset - 1] & 0xFF;
+			if (tag == CONSTANT_CLASS) {
+				classNames.add(readClassConstant(index));
+			} else if (tag == CONSTANT_FIELDREF || tag == CONSTANT_METHODREF || tag == CONSTANT_INTERFACE_METHODREF) {
+				memberReferences.add(readMemberReference(index));
+			}
+		}
+	}
+
+	private void readCode(final CodeReferenceVisitor visitor) {
+		readConstantPool();
+		pos += 2;
+		final String className = readClassConstant(nextUnsignedShort());
+		pos += 2;
+		final int interfaceCount = nextUnsignedShort();
+		pos += 2 * interfaceCount;
+		skipMembers();
+		final int methodsStart = pos;
+		skipMembers();
+		final int[][] bootstrapMethods = readBootstrapMethods();
+
+		pos = methodsStart;
+		final int methodCount = nextUnsignedShort();
+		for (int n = 0; n < methodCount; ++n) {
+			pos += 2;
+			final String methodName = readUtf8Constant(nextUnsignedShort());
+			final String methodDesc = readUtf8Constant(nextUnsignedShort());
+			final int attributeCount = nextUnsignedShort();
+			for (int a = 0; a < attributeCount; ++a) {
+				final String attributeName = readUtf8Constant(nextUnsignedShort());
+				final int attributeEnd = pos + 4 + readInt(pos);
+				if (CODE.equals(attributeName)) {
+					// the code follows the attribute length, max_stack, max_locals and the code length
+					final int codeStart = pos + 4 + 4 + 4;
+					visitor.visitMethod(className, methodName, methodDesc);
+					readInstructions(codeStart, codeStart + readInt(pos + 4 + 4), bootstrapMethods, visitor);
+				}
+				pos = attributeEnd;
+			}
+		}
+	}
+
+	private void readInstructions(final int codeStart, final int codeEnd, final int[][] bootstrapMethods,
+			final CodeReferenceVisitor visitor) {
+		int offset = codeStart;
+		while (offset < codeEnd) {
+			final int opcode = bytes[offset] & 0xFF;
+			if (opcode >= Opcodes.GETSTATIC && opcode <= Opcodes.INVOKEINTERFACE) {
+				visitor.visitMemberInsn(opcode, readMemberReference(readUnsignedShort(offset + 1)));
+			} else if (opcode == INVOKEDYNAMIC) {
+				final int invokeDynamic = constantOffsets[readUnsignedShort(offset + 1)];
+				for (int constant: bootstrapMethods[readUnsignedShort(invokeDynamic)]) {
+					visitMethodHandle(constant, visitor);
+				}
+			}
+			offset += instructionLength(opcode, offset, codeStart);
+		}
+	}
+
+	private int instructionLength(final int opcode, final int offset, final int codeStart) {
+		if (opcode == WIDE) {
+			return (bytes[offset + 1] & 0xFF) == IINC ? 6 : 4;
+		}
+		if (opcode != TABLESWITCH && opcode != LOOKUPSWITCH) {
+			return INSTRUCTION_LENGTHS[opcode];
+		}
+		// the operands are aligned to a multiple of 4 bytes from the start of the code
+		final int operands = offset + 1 + (3 - (offset - codeStart) % 4);
+		if (opcode == TABLESWITCH) {
+			final int jumpCount = readInt(operands + 8) - readInt(operands + 4) + 1;
+			return operands - offset + 12 + 4 * jumpCount;
+		}
+		return operands - offset + 8 + 8 * readInt(operands + 4);
+	}
+
+	// the bootstrap method and its arguments can be method handles, other constants are ignored
+	private void visitMethodHandle(final int index, final CodeReferenceVisitor visitor) {
+		final int offset = constantOffsets[index];
+		if ((bytes[offset - 1] & 0xFF) == CONSTANT_METHOD_HANDLE) {
+			visitor.visitMemberInsn(METHOD_HANDLE_OPCODES[bytes[offset] & 0xFF],
+					readMemberReference(readUnsignedShort(offset + 1)));
+		}
+	}
+
+	/**
+	 * Reads the BootstrapMethods attribute from the class attributes at the current position.
+	 *
+	 * @return the constant pool indexes of each bootstrap method followed by its arguments
+	 */
+	private int[][] readBootstrapMethods() {
+		final int attributeCount = nextUnsignedShort();
+		for (int n = 0; n < attributeCount; ++n) {
+			final String attributeName = readUtf8Constant(nextUnsignedShort());
+			final int attributeEnd = pos + 4 + readInt(pos);
+			pos += 4;
+			if (BOOTSTRAP_METHODS.equals(attributeName)) {
+				final int[][] bootstrapMethods = new int[nextUnsignedShort()][];
+				for (int m = 0; m < bootstrapMethods.length; ++m) {
+					final int methodHandle = nextUnsignedShort();
+					bootstrapMethods[m] = new int[1 + nextUnsignedShort()];
+					bootstrapMethods[m][0] = methodHandle;
+					for (int a = 1; a < bootstrapMethods[m].length; ++a) {
+						bootstrapMethods[m][a] = nextUnsignedShort();
+					}
+				}
+				return bootstrapMethods;
+			}
+			pos = attributeEnd;
+		}
+		return new int[0][];
+	}
+
+	private void skipMembers() {
+		final int memberCount = nextUnsignedShort();
+		for (int n = 0; n < memberCount; ++n) {
+			pos += 6;
+			final int attributeCount = nextUnsignedShort();
+			for (int a = 0; a < attributeCount; ++a) {
+				pos += 2;
+				pos += 4 + readInt(pos);
+			}
+		}
+	}
+
+	private SymbolicReference readMemberReference(final int index) {
+		final int offset = constantOffsets[index];
+		final int tag = bytes[offset - 1] & 0xFF;
+		final int nameAndType = constantOffsets[readUnsignedShort(offset + 2)];
+		return new SymbolicReference(tag == CONSTANT_FIELDREF, tag == CONSTANT_INTERFACE_METHODREF,
+				readClassConstant(readUnsignedShort(offset)),
+				readUtf8Constant(readUnsignedShort(nameAndType)),
+				readUtf8Constant(readUnsignedShort(nameAndType + 2)));
+	}
+
+	private void readConstants(final Collection<String> classNames, final Collection<String> utf8Constants) {
+		readConstantPool();
+		for (int index = 1; index < constantOffsets.length; ++index) {
+			// the second slot of long and double constants has no offset
+			final int offset = constantOffsets[index];
+			if (offset != 0) {
+				final int tag = bytes[offset - 1] & 0xFF;
+				if (tag == CONSTANT_UTF8) {
+					utf8Constants.add(readUtf8Constant(index));
+				} else if (tag == CONSTANT_CLASS) {
+					classNames.add(readClassConstant(index));
+				}
+			}
+		}
+	}
+
+	private ClassSymbol parse() {
+		readConstantPool();
+
+		final int access = nextUnsignedShort();
+		final String name = readClassConstant(nextUnsignedShort());
+		final String superName = readClassConstant(nextUnsignedShort());
+		final String[] interfaces = new String[nextUnsignedShort()];
+		for (int n = 0; n < interfaces.length; ++n) {
+			interfaces[n] = readClassConstant(nextUnsignedShort());
+		}
+		final ClassSymbol symbol = new ClassSymbol(name, superName, interfaces, access);
+
+		final int fieldCount = nextUnsignedShort();
+		for (int n = 0; n < fieldCount; ++n) {
+			final int fieldAccess = nextUnsignedShort();
+			final String fieldName = readUtf8Constant(nextUnsignedShort());
+			final String fieldDesc = readUtf8Constant(nextUnsignedShort());
+			symbol.addField(fieldName, fieldDesc, fieldAccess, readAnnotationAttributes());
+		}
+
+		final int methodCount = nextUnsignedShort();
+		for (int n = 0; n < methodCount; ++n) {
+			final int methodAccess = nextUnsignedShort();
+			final String methodName = readUtf8Constant(nextUnsignedShort());
+			final String methodDesc = readUtf8Constant(nextUnsignedShort());
+			symbol.addMethod(methodName, methodDesc, methodAccess, readAnnotationAttributes());
+		}
+
+		symbol.setAnnotations(readAnnotationAttributes());
+		return symbol;
+	}
+
+	private void readConstantPool() {
+		for (int index = 1; index < constantOffsets.length; ++index) {
+			final int tag = bytes[pos] & 0xFF;
+			constantOffsets[index] = pos + 1;
+			switch (tag) {
+			case CONSTANT_UTF8:
+				pos += 3 + readUnsignedShort(pos + 1);
+				break;
+			case CONSTANT_CLASS:
+			case CONSTANT_STRING:
+			case CONSTANT_METHOD_TYPE:
+			case CONSTANT_MODULE:
+			case CONSTANT_PACKAGE:
+				pos += 3;
+				break;
+			case CONSTANT_METHOD_HANDLE:
+				pos += 4;
+				break;
+			case CONSTANT_INTEGER:
+			case CONSTANT_FLOAT:
+			case CONSTANT_FIELDREF:
+			case CONSTANT_METHODREF:
+			case CONSTANT_INTERFACE_METHODREF:
+			case CONSTANT_NAME_AND_TYPE:
+			case CONSTANT_DYNAMIC:
+			case CONSTANT_INVOKE_DYNAMIC:
+				pos += 5;
+				break;
+			case CONSTANT_LONG:
+			case CONSTANT_DOUBLE:
+				// these take two constant pool slots
+				pos += 9;
+				++index;
+				break;
+			default:
+				throw new InspectionException("unknown constant pool tag " + tag + " at offset " + pos);
+			}
+		}
+	}
+
+	/**
+	 * Reads the runtime visible annotations from the attributes at the current position, skips all other attributes.
+	 */
+	private AnnotationSymbol[] readAnnotationAttributes() {
+		AnnotationSymbol[] annotations = AnnotationSymbol.NO_ANNOTATIONS;
+		boolean deprecated = false;
+		final int attributeCount = nextUnsignedShort();
+		for (int n = 0; n < attributeCount; ++n) {
+			final String attributeName = readUtf8Constant(nextUnsignedShort());
+			final int attributeLength = readInt(pos);
+			pos += 4;
+			final int attributeEnd = pos + attributeLength;
+			if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+				annotations = new AnnotationSymbol[nextUnsignedShort()];
+				for (int a = 0; a < annotations.length; ++a) {
+					annotations[a] = readAnnotation();
+				}
+			} else if (DEPRECATED.equals(attributeName)) {
+				deprecated = true;
+			}
+			pos = attributeEnd;
+		}
+		if (deprecated && AnnotationSymbol.find(annotations, DEPRECATED_DESC) == null) {
+			annotations = Arrays.copyOf(annotations, annotations.length + 1);
+			annotations[annotations.length - 1] =
+					new AnnotationSymbol(DEPRECATED_DESC, Collections.<String, Object>emptyMap());
+		}
+		return annotations;
+	}
+
+	private AnnotationSymbol readAnnotation() {
+		final String desc = readUtf8Constant(nextUnsignedShort());
+		final int valueCount = nextUnsignedShort();
+		Map<String, Object> values = Collections.emptyMap();
+		if (valueCount > 0) {
+			values = new LinkedHashMap<String, Object>();
+			for (int n = 0; n < valueCount; ++n) {
+				final String elementName = readUtf8Constant(nextUnsignedShort());
+				values.put(elementName, readElementValue());
+			}
+		}
+		return new AnnotationSymbol(desc, values);
+	}
+
+	private Object readElementValue() {
+		final int tag = bytes[pos++] & 0xFF;
+		switch (tag) {
+		case 'B':
+			return (byte) readInt(constantOffsets[nextUnsignedShort()]);
+		case 'C':
+			return (char) readInt(constantOffsets[nextUnsignedShort()]);
+		case 'S':
+			return (short) readInt(constantOffsets[nextUnsignedShort()]);
+		case 'Z':
+			return readInt(constantOffsets[nextUnsignedShort()]) != 0;
+		case 'I':
+			return readInt(constantOffsets[nextUnsignedShort()]);
+		case 'F':
+			return Float.intBitsToFloat(readInt(constantOffsets[nextUnsignedShort()]));
+		case 'J':
+			return readLong(constantOffsets[nextUnsignedShort()]);
+		case 'D':
+			return Double.longBitsToDouble(readLong(constantOffsets[nextUnsignedShort()]));
+		case 's':
+		case 'c':
+			return readUtf8Constant(nextUnsignedShort());
+		case 'e':
+			// the enum type is implied by the annotation element, only the constant name is kept
+			pos += 2;
+			return readUtf8Constant(nextUnsignedShort());
+		case '@':
+			return readAnnotation();
+		case '[':
+			final int length = nextUnsignedShort();
+			final List<Object> elements = new ArrayList<Object>(length);
+			for (int n = 0; n < length; ++n) {
+				elements.add(readElementValue());
+			}
+			return elements.toArray();
+		default:
+			throw new InspectionException("unknown annotation element tag " + tag + " at offset " + (pos - 1));
+		}
+	}
+
+	private String readClassConstant(final int index) {
+		if (index == 0) {
+			return null;
+		}
+		return readUtf8Constant(readUnsignedShort(constantOffsets[index]));
+	}
+
+	private String readUtf8Constant(final int index) {
+		String utf8 = utf8Cache[index];
+		if (utf8 == null) {
+			final int offset = constantOffsets[index];
+			utf8 = decodeModifiedUtf8(offset + 2, readUnsignedShort(offset));
+			utf8Cache[index] = utf8;
+		}
+		return utf8;
+	}
+
+	private String decodeModifiedUtf8(final int offset, final int length) {
+		final char[] chars = new char[length];
+		int charCount = 0;
+		int index = offset;
+		final int end = offset + length;
+		while (index < end) {
+			final int b = bytes[index++] & 0xFF;
+			if (b < 0x80) {
+				chars[charCount++] = (char) b;
+			} else if (b < 0xE0) {
+				chars[charCount++] = (char) (((b & 0x1F) << 6) | (bytes[index++] & 0x3F));
+			} else {
+				chars[charCount++] = (char) (((b & 0x0F) << 12) | ((bytes[index++] & 0x3F) << 6) | (bytes[index++] & 0x3F));
+			}
+		}
+		return new String(chars, 0, charCount);
+	}
+
+	private int nextUnsignedShort() {
+		final int value = readUnsignedShort(pos);
+		pos += 2;
+		return value;
+	}
+
+	private int readUnsignedShort(final int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	private int readInt(final int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+				| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
+	private long readLong(final int offset) {
+		return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xFFFFFFFFL);
+	}
+}
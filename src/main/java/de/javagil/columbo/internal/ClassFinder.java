@@ -25,19 +25,7 @@
 */
 package de.javagil.columbo.internal;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
-import java.net.URL;
-import java.net.MalformedURLException;
-
-import org.reflections.Reflections;
-import org.reflections.scanners.ResourcesScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 /**
  * Searches classpath for all classes by specific criteria.
@@ -46,8 +34,7 @@ import org.reflections.util.FilterBuilder;
  */
 public class ClassFinder {
 
-	private static final boolean INCLUDE_JAVA_LANG_OBJECT = false; // means do not exclude!
-	private final Reflections reflections;
+	private final String packageName;
 
 	/**
 	 * Creates a new instance which finds classes recursively within a given package.
@@ -55,56 +42,17 @@ public class ClassFinder {
 	 * @param packageName the name of the package (subpackages will be included)
 	 */
 	public ClassFinder(final String packageName) {
-		
-		reflections = new Reflections(new ConfigurationBuilder()
-		    .setUrls(getURLs(packageName))
-		    .setScanners(new SubTypesScanner(INCLUDE_JAVA_LANG_OBJECT), new ResourcesScanner())
-		    .filterInputsBy(new FilterBuilder().include(FilterBuilder.prefix(packageName))));
+		this.packageName = packageName;
 	}
 
-	private static Set<URL> getURLs(final String packageName) {
-		final Set<URL> urls = new HashSet<URL>();
-		final String packagePath = packageName.replace('.', '/');
-		final int packageLen = packagePath.length();
-		final Set<URL> foundUrls = ClasspathHelper.forPackage(packageName);
-		for (URL url : foundUrls) {
-		    final String urlStr = url.toString();
-		    if (urlStr.endsWith(packagePath)) {
-			try {
-			    final URL newUrl = new URL(urlStr.substring(0, urlStr.length() - packageLen));
-			    urls.add(newUrl);
-			} catch (final MalformedURLException ex) {
-			    throw new RuntimeException(ex);
-			}
-		    } else {
-		    	urls.add(url);
-		    }
-		}
-		List<ClassLoader> classLoadersList = new LinkedList<ClassLoader>();
-		classLoadersList.add(ClasspathHelper.contextClassLoader());
-		classLoadersList.add(ClasspathHelper.staticClassLoader());
-		//classLoadersList.add(getClass().getClassLoader());
-		urls.addAll(ClasspathHelper.forClassLoader(classLoadersList.toArray(new ClassLoader[0])));
-		
-		return urls;
-	    }
-	
 	/**
 	 * Searches the classpath for all classes names within the given package hierarchy.
+	 * No class gets loaded for this purpose.
 	 * 
 	 * @return all classes names as specified
 	 */
 	public final Set<String> findAllClassNames() {
-	    Set<String> names = new HashSet<String>();
-	    
-		for (Class<? extends Object> clazz: reflections.getSubTypesOf(java.lang.Object.class)) {
-			String clazzName = clazz.getName();
-			if (clazzName != null) {
-				names.add(clazzName);
-			} 
-		}
-
-	    return names;
+		return new ClasspathWalker().findClassNames(packageName);
 	}
 
 }
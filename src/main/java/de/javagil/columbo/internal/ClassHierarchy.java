@@ -0,0 +1,366 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Opcodes;
+
+/**
+ * The supertype/subtype relations of a set of classes and all their supertypes, read from the class headers
+ * in the bytecode (super name, interfaces and access flags), without loading any class into the JVM.
+ * <p>
+ * Each class gets an int id, all relations are stored in flat int arrays indexed by these ids:
+ * per class the sorted ids of all its transitive supertypes and the ids of its direct subtypes.
+ * Thus {@link #isSubtypeOf(String, String)} is a binary search in a short array
+ * and {@link #getSubtypes(String)} visits only the subtypes themselves.
+ * Instances are immutable and thus thread safe.
+ * </p>
+ * <p>
+ * Supertypes which could not be found in the CLASSPATH are still part of the hierarchy,
+ * but without access flags and supertypes of their own, see {@link #isResolved(String)}.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ClassHierarchy {
+
+	/** Id of classes which are not part of the hierarchy. */
+	static final int NO_CLASS = -1;
+
+	private static final int[] NO_IDS = new int[0];
+
+	private final String[] names;
+	private final Map<String, Integer> ids;
+	private final int[] access;
+	private final BitSet resolved;
+
+	// the ids of the direct supertypes of class i are superIds[superStart[i]] until superIds[superStart[i + 1] - 1],
+	// the superclass first, if any
+	private final int[] superStart;
+	private final int[] superIds;
+
+	// the same layout for the sorted ids of all transitive supertypes, excluding the class itself
+	private final int[] ancestorStart;
+	private final int[] ancestorIds;
+
+	// the same layout for the ids of the direct subtypes
+	private final int[] subStart;
+	private final int[] subIds;
+
+	private ClassHierarchy(final List<ClassSymbol> symbols, final Map<String, Integer> ids, final BitSet resolved) {
+		final int size = symbols.size();
+		this.names = new String[size];
+		this.ids = ids;
+		this.access = new int[size];
+		this.resolved = resolved;
+
+		this.superStart = new int[size + 1];
+		final int[] subCount = new int[size];
+		int superCount = 0;
+		for (int id = 0; id < size; ++id) {
+			final ClassSymbol symbol = symbols.get(id);
+			names[id] = symbol.getName();
+			access[id] = symbol.getAccess();
+			superCount += symbol.getSuperName() != null ? 1 : 0;
+			superCount += symbol.getInterfaces().length;
+		}
+		this.superIds = new int[superCount];
+		int next = 0;
+		for (int id = 0; id < size; ++id) {
+			superStart[id] = next;
+			final ClassSymbol symbol = symbols.get(id);
+			if (symbol.getSuperName() != null) {
+				superIds[next++] = ids.get(symbol.getSuperName());
+			}
+			for (String implementedInterface: symbol.getInterfaces()) {
+				superIds[next++] = ids.get(implementedInterface);
+			}
+			for (int n = superStart[id]; n < next; ++n) {
+				++subCount[superIds[n]];
+			}
+		}
+		superStart[size] = next;
+
+		this.subStart = new int[size + 1];
+		for (int id = 0; id < size; ++id) {
+			subStart[id + 1] = subStart[id] + subCount[id];
+		}
+		this.subIds = new int[superCount];
+		final int[] subNext = Arrays.copyOf(subStart, size);
+		for (int id = 0; id < size; ++id) {
+			for (int n = superStart[id]; n < superStart[id + 1]; ++n) {
+				subIds[subNext[superIds[n]]++] = id;
+			}
+		}
+
+		final int[][] ancestors = determineAncestors(size);
+		this.ancestorStart = new int[size + 1];
+		for (int id = 0; id < size; ++id) {
+			ancestorStart[id + 1] = ancestorStart[id] + ancestors[id].length;
+		}
+		this.ancestorIds = new int[ancestorStart[size]];
+		for (int id = 0; id < size; ++id) {
+			System.arraycopy(ancestors[id], 0, ancestorIds, ancestorStart[id], ancestors[id].length);
+		}
+	}
+
+	/**
+	 * Reads the class headers of the given classes and, transitively, of all their supertypes.
+	 *
+	 * @param symbolTable resolves the classes from their bytecode
+	 * @param classNames qualified (e.g. "java.lang.String") or internal (e.g. "java/lang/String") class names
+	 * @return the hierarchy of the given classes and their supertypes
+	 */
+	public static ClassHierarchy build(final SymbolTable symbolTable, final Collection<String> classNames) {
+		final List<ClassSymbol> symbols = new ArrayList<ClassSymbol>();
+		final Map<String, Integer> ids = new HashMap<String, Integer>();
+		final BitSet resolved = new BitSet();
+		final Deque<String> pending = new ArrayDeque<String>();
+		for (String className: classNames) {
+			pending.add(className.replace('.', '/'));
+		}
+		while (!pending.isEmpty()) {
+			final String name = pending.poll();
+			if (ids.containsKey(name)) {
+				continue;
+			}
+			ClassSymbol symbol = symbolTable.getClassSymbol(name);
+			if (symbol != null && symbol.getName().equals(name)) {
+				resolved.set(symbols.size());
+				if (symbol.getSuperName() != null) {
+					pending.add(symbol.getSuperName());
+				}
+				pending.addAll(Arrays.asList(symbol.getInterfaces()));
+			} else {
+				// not found (or an array), a leaf without supertypes of its own
+				symbol = new ClassSymbol(name, null, null, 0);
+			}
+			ids.put(name, symbols.size());
+			symbols.add(symbol);
+		}
+		return new ClassHierarchy(symbols, ids, resolved);
+	}
+
+	/**
+	 * @return the number of classes in this hierarchy
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/String"
+	 * @return true if the class is part of this hierarchy
+	 */
+	public boolean contains(final String internalClassName) {
+		return ids.containsKey(internalClassName);
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/String"
+	 * @return true if the bytecode of the class was found, false if it's not part of this hierarchy
+	 * 			or only known as the name of a supertype
+	 */
+	public boolean isResolved(final String internalClassName) {
+		final int id = idOf(internalClassName);
+		return id != NO_CLASS && resolved.get(id);
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/String"
+	 * @return the access flags as specified in {@link Opcodes}, 0 if the class is unknown or not resolved
+	 */
+	public int getAccess(final String internalClassName) {
+		final int id = idOf(internalClassName);
+		return id != NO_CLASS ? access[id] : 0;
+	}
+
+	/**
+	 * Like {@link Class#isAssignableFrom(Class)}, but for the classes of this hierarchy only.
+	 *
+	 * @param internalSubtypeName e.g. "java/lang/String"
+	 * @param internalSupertypeName e.g. "java/lang/CharSequence"
+	 * @return true if the first class is the same as or a transitive subtype of the second class
+	 */
+	public boolean isSubtypeOf(final String internalSubtypeName, final String internalSupertypeName) {
+		final int subId = idOf(internalSubtypeName);
+		final int superId = idOf(internalSupertypeName);
+		return subId != NO_CLASS && superId != NO_CLASS && isSubtypeOf(subId, superId);
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/String"
+	 * @return the internal names of all transitive superclasses and interfaces, empty if the class is unknown
+	 */
+	public List<String> getSupertypes(final String internalClassName) {
+		final int id = idOf(internalClassName);
+		return id != NO_CLASS ? namesOf(ancestorIds, ancestorStart[id], ancestorStart[id + 1])
+				: Collections.<String>emptyList();
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/Number"
+	 * @return the internal names of the classes and interfaces which directly extend or implement the given class
+	 */
+	public List<String> getDirectSubtypes(final String internalClassName) {
+		final int id = idOf(internalClassName);
+		return id != NO_CLASS ? namesOf(subIds, subStart[id], subStart[id + 1]) : Collections.<String>emptyList();
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/Number"
+	 * @return the internal names of all transitive subtypes within this hierarchy, empty if the class is unknown
+	 */
+	public List<String> getSubtypes(final String internalClassName) {
+		final int id = idOf(internalClassName);
+		if (id == NO_CLASS) {
+			return Collections.emptyList();
+		}
+		final int[] subtypeIds = subtypeIdsOf(id);
+		return namesOf(subtypeIds, 0, subtypeIds.length);
+	}
+
+	// --- id based access for other indexes on top of this hierarchy ---
+
+	int idOf(final String internalClassName) {
+		final Integer id = ids.get(internalClassName);
+		return id != null ? id : NO_CLASS;
+	}
+
+	String nameOf(final int id) {
+		return names[id];
+	}
+
+	boolean isInterface(final int id) {
+		return (access[id] & Opcodes.ACC_INTERFACE) != 0;
+	}
+
+	boolean isAbstract(final int id) {
+		return (access[id] & Opcodes.ACC_ABSTRACT) != 0;
+	}
+
+	/**
+	 * @return the direct supertypes, the superclass first
+	 */
+	int[] superIdsOf(final int id) {
+		return Arrays.copyOfRange(superIds, superStart[id], superStart[id + 1]);
+	}
+
+	boolean isSubtypeOf(final int subId, final int superId) {
+		return subId == superId
+				|| Arrays.binarySearch(ancestorIds, ancestorStart[subId], ancestorStart[subId + 1], superId) >= 0;
+	}
+
+	/**
+	 * @return the ids of all transitive subtypes, excluding the class itself, in breadth first order
+	 */
+	int[] subtypeIdsOf(final int id) {
+		if (subStart[id] == subStart[id + 1]) {
+			return NO_IDS;
+		}
+		final BitSet visited = new BitSet(names.length);
+		int[] found = new int[subStart[id + 1] - subStart[id]];
+		int count = 0;
+		visited.set(id);
+		for (int n = subStart[id]; n < subStart[id + 1]; ++n) {
+			visited.set(subIds[n]);
+			found[count++] = subIds[n];
+		}
+		for (int next = 0; next < count; ++next) {
+			final int subId = found[next];
+			for (int n = subStart[subId]; n < subStart[subId + 1]; ++n) {
+				if (!visited.get(subIds[n])) {
+					visited.set(subIds[n]);
+					if (count == found.length) {
+						found = Arrays.copyOf(found, count * 2);
+					}
+					found[count++] = subIds[n];
+				}
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	// supertypes are determined before their subtypes, valid bytecode can't contain cycles
+	private int[][] determineAncestors(final int size) {
+		final int[][] ancestors = new int[size][];
+		for (int id = 0; id < size; ++id) {
+			determineAncestors(id, ancestors);
+		}
+		return ancestors;
+	}
+
+	private int[] determineAncestors(final int id, final int[][] ancestors) {
+		if (ancestors[id] != null) {
+			return ancestors[id];
+		}
+		// marks the class as in progress, thus a cycle in invalid bytecode ends here
+		ancestors[id] = NO_IDS;
+		int[] merged = NO_IDS;
+		for (int n = superStart[id]; n < superStart[id + 1]; ++n) {
+			final int[] ancestorsOfSuper = determineAncestors(superIds[n], ancestors);
+			final int offset = merged.length;
+			merged = Arrays.copyOf(merged, offset + ancestorsOfSuper.length + 1);
+			System.arraycopy(ancestorsOfSuper, 0, merged, offset, ancestorsOfSuper.length);
+			merged[merged.length - 1] = superIds[n];
+		}
+		ancestors[id] = sortedDistinct(merged);
+		return ancestors[id];
+	}
+
+	private static int[] sortedDistinct(final int[] values) {
+		if (values.length == 0) {
+			return NO_IDS;
+		}
+		Arrays.sort(values);
+		int count = 1;
+		for (int n = 1; n < values.length; ++n) {
+			if (values[n] != values[count - 1]) {
+				values[count++] = values[n];
+			}
+		}
+		return Arrays.copyOf(values, count);
+	}
+
+	private List<String> namesOf(final int[] idArray, final int from, final int to) {
+		final List<String> result = new ArrayList<String>(to - from);
+		for (int n = from; n < to; ++n) {
+			result.add(names[idArray[n]]);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,185 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Describes a class as declared in its bytecode (name, access, supertypes and members),
+ * without the need to load the class into the JVM.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ClassSymbol {
+
+	private static final String[] NO_INTERFACES = new String[0];
+
+	private final String name;
+	private final String superName;
+	private final String[] interfaces;
+	private final int access;
+
+	// keyed by name + full descriptor
+	private final Map<String, MemberSymbol> methods = new HashMap<String, MemberSymbol>();
+
+	// keyed by name + descriptor of the arguments only, like Java reflection ignores the return type
+	private final Map<String, MemberSymbol> methodsByArguments = new HashMap<String, MemberSymbol>();
+
+	// keyed by name
+	private final Map<String, MemberSymbol> fields = new HashMap<String, MemberSymbol>();
+
+	private AnnotationSymbol[] annotations = AnnotationSymbol.NO_ANNOTATIONS;
+
+	ClassSymbol(final String name, final String superName, final String[] interfaces, final int access) {
+		this.name = name;
+		this.superName = superName;
+		this.interfaces = interfaces != null ? interfaces : NO_INTERFACES;
+		this.access = access;
+	}
+
+	/**
+	 * @return the internal name of the class, e.g. "java/lang/String"
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the internal name of the superclass, null for java.lang.Object
+	 */
+	public String getSuperName() {
+		return superName;
+	}
+
+	/**
+	 * @return the internal names of the directly implemented interfaces
+	 */
+	public String[] getInterfaces() {
+		return interfaces.clone();
+	}
+
+	/**
+	 * @return the access flags as specified in {@link Opcodes}
+	 */
+	public int getAccess() {
+		return access;
+	}
+
+	/**
+	 * @return true if this symbol describes an interface (or an annotation)
+	 */
+	public boolean isInterface() {
+		return (access & Opcodes.ACC_INTERFACE) != 0;
+	}
+
+	/**
+	 * @param annotationDesc descriptor of the annotation type, e.g. "Ljava/lang/Deprecated;"
+	 * @return the runtime visible annotation of the given type on this class or null if not annotated
+	 */
+	public AnnotationSymbol getAnnotation(final String annotationDesc) {
+		return AnnotationSymbol.find(annotations, annotationDesc);
+	}
+
+	/**
+	 * @param methodName name of the method, "&lt;init&gt;" for constructors
+	 * @param methodDesc the full internal descriptor of the method
+	 * @return the method declared in this class or null if there is none
+	 */
+	public MemberSymbol getDeclaredMethod(final String methodName, final String methodDesc) {
+		return methods.get(methodName + methodDesc);
+	}
+
+	/**
+	 * Like {@link #getDeclaredMethod(String, String)}, but ignores the return type.
+	 *
+	 * @param methodName name of the method
+	 * @param argumentsDesc the internal descriptor of the arguments, e.g. "(ILjava/lang/String;)",
+	 * 			anything after the closing bracket is ignored
+	 * @return the method declared in this class or null if there is none
+	 */
+	public MemberSymbol getDeclaredMethodByArguments(final String methodName, final String argumentsDesc) {
+		return methodsByArguments.get(methodName + argumentsOf(argumentsDesc));
+	}
+
+	/**
+	 * @return all methods and constructors declared in this class
+	 */
+	public Collection<MemberSymbol> getDeclaredMethods() {
+		return Collections.unmodifiableCollection(methods.values());
+	}
+
+	/**
+	 * @param fieldName name of the field
+	 * @return the field declared in this class or null if there is none
+	 */
+	public MemberSymbol getDeclaredField(final String fieldName) {
+		return fields.get(fieldName);
+	}
+
+	/**
+	 * @return all fields declared in this class
+	 */
+	public Collection<MemberSymbol> getDeclaredFields() {
+		return Collections.unmodifiableCollection(fields.values());
+	}
+
+	void addMethod(final String methodName, final String methodDesc, final int methodAccess,
+			final AnnotationSymbol[] methodAnnotations) {
+		final MemberSymbol method = new MemberSymbol(this, methodName, methodDesc, methodAccess, methodAnnotations);
+		methods.put(methodName + methodDesc, method);
+		if (!methodsByArguments.containsKey(methodName + argumentsOf(methodDesc)) || !isBridge(methodAccess)) {
+			methodsByArguments.put(methodName + argumentsOf(methodDesc), method);
+		}
+	}
+
+	void addField(final String fieldName, final String fieldDesc, final int fieldAccess,
+			final AnnotationSymbol[] fieldAnnotations) {
+		fields.put(fieldName, new MemberSymbol(this, fieldName, fieldDesc, fieldAccess, fieldAnnotations));
+	}
+
+	void setAnnotations(final AnnotationSymbol[] classAnnotations) {
+		this.annotations = classAnnotations;
+	}
+
+	private static boolean isBridge(final int methodAccess) {
+		return (methodAccess & Opcodes.ACC_BRIDGE) != 0;
+	}
+
+	static String argumentsOf(final String methodDesc) {
+		return methodDesc.substring(0, methodDesc.indexOf(')') + 1);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + name + "]";
+	}
+}
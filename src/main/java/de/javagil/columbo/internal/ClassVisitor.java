@@ -26,17 +26,21 @@
 
 package de.javagil.columbo.internal;
 
-import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Set;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.objectweb.asm.ClassAdapter;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.EmptyVisitor;
 
 import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.ReferenceKind;
 import de.javagil.columbo.api.ReferenceVisitor;
 import de.javagil.columbo.api.Referrer;
 import de.javagil.columbo.api.VisitorContext;
@@ -53,11 +57,56 @@ public class ClassVisitor extends ClassAdapter {
 
 	private final VisitorContext context;
 	private final ReferenceVisitor referenceVisitor;
+	private final SymbolTable symbolTable;
+	private final ConstantPoolFilter constantPoolFilter;
+	private final ReferenceIndex referenceIndex;
+	private final RecordingReferenceVisitor recordingVisitor;
+	private final ReferenceInterest interest;
+	private final StopCondition stopCondition;
+	private final TypeResolver typeResolver = new TypeResolver();
 
 	public ClassVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor) {
+        this(context, referenceVisitor, new SymbolTable());
+    }
+
+	public ClassVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor, final SymbolTable symbolTable) {
+        this(context, referenceVisitor, symbolTable, null);
+    }
+
+	/**
+	 * @param context keeps track of the currently visited location
+	 * @param referenceVisitor gets called for all found references
+	 * @param symbolTable resolves classes and members from bytecode
+	 * @param constantPoolFilter classes rejected by this filter are skipped, null to visit all classes
+	 */
+	public ClassVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor, final SymbolTable symbolTable,
+			final ConstantPoolFilter constantPoolFilter) {
+        this(context, referenceVisitor, symbolTable, constantPoolFilter, null);
+    }
+
+	/**
+	 * @param context keeps track of the currently visited location
+	 * @param referenceVisitor gets called for all found references
+	 * @param symbolTable resolves classes and members from bytecode
+	 * @param constantPoolFilter classes rejected by this filter are skipped, null to visit all classes
+	 * @param referenceIndex unchanged classes are replayed from this index, changed classes are updated in it,
+	 * 			null to visit all classes
+	 */
+	public ClassVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor, final SymbolTable symbolTable,
+			final ConstantPoolFilter constantPoolFilter, final ReferenceIndex referenceIndex) {
         super(new EmptyVisitor());
         this.context = context;
-        this.referenceVisitor = referenceVisitor;
+        this.stopCondition = StopCondition.of(referenceVisitor);
+        final ReferenceInterest declaredInterest = ReferenceInterest.of(referenceVisitor, symbolTable);
+        final ReferenceVisitor filteringVisitor = declaredInterest.isAll() 
+        		? referenceVisitor : new FilteringReferenceVisitor(referenceVisitor, declaredInterest);
+        // the index has to record all references, as it might get replayed to a visitor with another interest
+        this.interest = referenceIndex != null ? ReferenceInterest.ALL : declaredInterest;
+        this.recordingVisitor = referenceIndex != null ? new RecordingReferenceVisitor(filteringVisitor) : null;
+        this.referenceVisitor = recordingVisitor != null ? recordingVisitor : filteringVisitor;
+        this.symbolTable = symbolTable;
+        this.constantPoolFilter = constantPoolFilter;
+        this.referenceIndex = referenceIndex;
     }
     
     @Override
@@ -66,10 +115,18 @@ public class ClassVisitor extends ClassAdapter {
     		           final String signature, final String superName, final String[] interfaces) {
         context.enteringClass(name);
         
-        Referrer referrer = context.toReferrer();
-        Class<?> enteredClass = BytecodeUtil.taggedTypeNameToClass(name);
-        scanAnnotations(referrer, enteredClass);
-        scanSuperclassAndImplementedInterfaces(referrer, enteredClass);
+        final boolean reportClasses = interest.accepts(ReferenceKind.CLASS_REFERENCE);
+        if (reportClasses || interest.accepts(ReferenceKind.NOT_FOUND)) {
+	        Referrer referrer = context.toReferrer();
+	        // the supertypes are resolved by name, thus a missing one is reported instead of the entered class
+	        final boolean supertypesFound = scanSupertypes(referrer, access, superName, interfaces, reportClasses);
+	        if (reportClasses && supertypesFound) {
+		        Class<?> enteredClass = typeResolver.resolve(referenceVisitor, referrer, name);
+		        if (enteredClass != null) {
+		        	scanAnnotations(referrer, enteredClass);
+		        }
+	        }
+        }
     }
 	//CHECKSTYLE:ON ParameterNumber
     
@@ -80,10 +137,15 @@ public class ClassVisitor extends ClassAdapter {
     	context.leavingClass();
         context.enteringClass(name);
         
-        Referrer referrer = context.toReferrer();
-        Class<?> enteredClass = BytecodeUtil.taggedTypeNameToClass(name);
-        scanAnnotations(referrer, enteredClass);
-        scanSuperclassAndImplementedInterfaces(referrer, enteredClass);
+        final boolean reportClasses = interest.accepts(ReferenceKind.CLASS_REFERENCE);
+        if (reportClasses || interest.accepts(ReferenceKind.NOT_FOUND)) {
+	        Referrer referrer = context.toReferrer();
+	        Class<?> enteredClass = typeResolver.resolve(referenceVisitor, referrer, name);
+	        if (enteredClass != null && reportClasses) {
+		        scanAnnotations(referrer, enteredClass);
+		        scanSuperclassAndImplementedInterfaces(referrer, enteredClass);
+	        }
+        }
         
         context.leavingClass();
         context.enteringClass(outerClassName);        
@@ -97,26 +159,37 @@ public class ClassVisitor extends ClassAdapter {
     @Override
     public MethodVisitor visitMethod(final int access, final String name, final String desc, 
     								  final String signature, final String[] exceptions) {
+    	stopCondition.checkNotStopped();
     	context.enteringMethod(name, desc);
     	Referrer referrer = context.toReferrer();
 
     	try {
-			Class<?>[] paramTypes = BytecodeUtil.determineParameterTypes(desc);
-			for (Class<?> paramType: paramTypes) {
-				referenceVisitor.onClassReference(referrer, paramType);
-			}
-			
-			Method method = referrer.getJavaElement().getJavaMethod();
-			if ( method != null ) {
-				if ( method.getDeclaringClass().getSuperclass() != null ) {
-					checkMethodOverride(referrer, method.getDeclaringClass().getSuperclass(), method);
+    		final boolean reportParamTypes = interest.acceptsAnyClassIn(desc);
+    		final boolean reportOverrides = interest.accepts(ReferenceKind.METHOD_OVERRIDE);
+    		final boolean reportNotFound = interest.accepts(ReferenceKind.NOT_FOUND);
+    		if (reportParamTypes || reportOverrides || reportNotFound) {
+    			// a missing parameter type gets reported, but the method body is visited nevertheless
+				Class<?>[] paramTypes = typeResolver.resolveParameterTypes(referenceVisitor, referrer, desc);
+				if (reportParamTypes && paramTypes != null) {
+					for (Class<?> paramType: paramTypes) {
+						referenceVisitor.onClassReference(referrer, paramType);
+					}
 				}
-				for ( Class<?> implementedInterface: method.getDeclaringClass().getInterfaces() ) {
-					checkMethodOverride(referrer, implementedInterface, method);
+				if (reportOverrides && paramTypes != null) {
+					checkMethodOverrides(referrer, name, paramTypes);
 				}
-			}
+    		}
+    		if (reportNotFound) {
+    			resolveReturnType(referrer, desc);
+    		}
 	        
-	        return new MethodVisitor(context, referenceVisitor);
+    		if (interest.acceptsAnyOf(ReferenceKind.CLASS_REFERENCE, ReferenceKind.METHOD_CALL, 
+    				ReferenceKind.CONSTRUCTOR_CALL, ReferenceKind.FIELD_ACCESS, ReferenceKind.NOT_FOUND)) {
+    			return new MethodVisitor(context, referenceVisitor, typeResolver, interest, stopCondition);
+    		}
+    		// nobody is interested in the method body, thus ASM can skip it 
+    		context.leavingMethod();
+    		return null;
     	} catch ( InspectionException exc ) {
     		referenceVisitor.onClassNotFound(referrer, exc);
     	}
@@ -129,41 +202,135 @@ public class ClassVisitor extends ClassAdapter {
     	context.leavingClass();
     }
     
-    private void checkMethodOverride(Referrer referrer, Class<?> declaringClass, Method method) {
-		Method overriddenMethod = BytecodeUtil.findMethod(declaringClass, method.getName(), method.getParameterTypes());
-		if ( overriddenMethod != null && !Modifier.isPrivate(overriddenMethod.getModifiers()) ) {
-			referenceVisitor.onMethodOverride(referrer, overriddenMethod);
+    // the overridden methods are determined from bytecode, only those found get resolved via reflection
+    private void checkMethodOverrides(final Referrer referrer, final String name, final Class<?>[] paramTypes) {
+    	final String argumentsDesc = BytecodeUtil.getArgumentsDescriptor(paramTypes);
+		for ( MemberSymbol overridden: symbolTable.findOverriddenMethods(context.getCurrentClassName(), name, argumentsDesc) ) {
+			if ( !interest.accepts(ReferenceKind.METHOD_OVERRIDE, overridden.getOwner().getName()) ) {
+				continue;
+			}
+			Class<?> declaringClass = typeResolver.resolve(referenceVisitor, referrer, overridden.getOwner().getName());
+			if ( declaringClass == null ) {
+				continue;
+			}
+			Method overriddenMethod = BytecodeUtil.findMethod(declaringClass, name, paramTypes);
+			if ( overriddenMethod != null ) {
+				referenceVisitor.onMethodOverride(referrer, overriddenMethod);
+			}
 		}
 	}
 
-	public final void inspect(final Set<String> classNamesToInspect) {
-        for (String className: classNamesToInspect) {
-     		getReferersOfClassName(className);
-        }
+	public final void inspect(final Collection<String> classNamesToInspect) {
+		try {
+	        for (String className: classNamesToInspect) {
+	        	if (stopCondition.isStopRequested()) {
+	        		return;
+	        	}
+	     		getReferersOfClassName(className);
+	        }
+		} catch (StopCondition.InspectionStopped exc) {
+			// requested by the visitor, the partially visited class is not stored in the reference index
+			return;
+		}
 	}
 	
 	private void getReferersOfClassName(final String className) {
+		final ClassBytesSource classBytesSource = symbolTable.getClassBytesSource();
+		final URL resource = classBytesSource.getResourceURL(className);
+		if (resource == null) {
+			throw new InspectionException(new ClassNotFoundException(className));
+		}
+		final byte[] bytecode = classBytesSource.readBytes(resource);
+		if (constantPoolFilter != null && !constantPoolFilter.mayReferenceTarget(bytecode)) {
+			return;
+		}
+		final long fingerprint = referenceIndex != null ? ReferenceIndex.fingerprint(bytecode, symbolTable) : 0;
+		if (referenceIndex != null && replayFromIndex(className, fingerprint, resource)) {
+			return;
+		}
+		
+		context.enteringResource(resource);
 		try {
-			BufferedClassInputStream stream = new BufferedClassInputStream(className);
-	        context.enteringResource(stream.getResourceURL());
-	        ClassReader reader = new ClassReader(stream);
+			if (recordingVisitor != null) {
+				recordingVisitor.startRecording();
+			}
+	        ClassReader reader = new ClassReader(bytecode);
  	        reader.accept(this, 0);
-	        stream.close();
-		} catch (ClassNotFoundException exc) {
-			throw new InspectionException(exc);
-		} catch (IOException exc) {
-			throw new InspectionException(exc);
+			if (recordingVisitor != null) {
+				storeInIndex(className, fingerprint, recordingVisitor.stopRecording());
+			}
 		} finally {
 			context.leavingResource();
 		}
 	}
 
+	// all references are resolved before the first one is replayed, thus nothing gets reported twice on a fallback
+	private boolean replayFromIndex(final String className, final long fingerprint, final URL resource) {
+		final List<RecordedReference> recorded = referenceIndex.get(className, fingerprint);
+		if (recorded == null) {
+			return false;
+		}
+		final List<RecordedReference.Replayable> resolved = new ArrayList<RecordedReference.Replayable>(recorded.size());
+		try {
+			for (RecordedReference reference: recorded) {
+				resolved.add(reference.resolve(resource));
+			}
+		} catch (InspectionException exc) {
+			return false;
+		} catch (LinkageError exc) {
+			return false;
+		}
+		for (RecordedReference.Replayable reference: resolved) {
+			reference.replay(referenceVisitor);
+		}
+		return true;
+	}
+
+	private void storeInIndex(final String className, final long fingerprint, final List<RecordedReference> recorded) {
+		if (recorded != null) {
+			referenceIndex.put(className, fingerprint, recorded);
+		} else {
+			// classes which could not be resolved completely are visited again next time
+			referenceIndex.remove(className);
+		}
+	}
+
     private void scanAnnotations(final Referrer referrer, final Class<?> clazz) {
 		for ( Annotation annotation: clazz.getAnnotations() ) {
 			referenceVisitor.onClassReference(referrer, annotation.annotationType());
 		}
 	}
 
+    private void resolveReturnType(final Referrer referrer, final String desc) {
+    	final Type returnType = Type.getReturnType(desc);
+    	if (returnType.getSort() == Type.OBJECT || returnType.getSort() == Type.ARRAY) {
+    		typeResolver.resolve(referenceVisitor, referrer, returnType.getDescriptor());
+    	}
+    }
+
+    // like Class.getSuperclass() this skips the superclass of interfaces, returns false if any supertype is missing
+    private boolean scanSupertypes(final Referrer referrer, final int access, final String superName,
+    		final String[] interfaces, final boolean reportClasses) {
+    	boolean found = true;
+    	if (superName != null && (access & Opcodes.ACC_INTERFACE) == 0) {
+    		found &= scanSupertype(referrer, superName, reportClasses);
+    	}
+    	if (interfaces != null) {
+    		for (String implementedInterface: interfaces) {
+    			found &= scanSupertype(referrer, implementedInterface, reportClasses);
+    		}
+    	}
+    	return found;
+    }
+
+    private boolean scanSupertype(final Referrer referrer, final String supertypeName, final boolean reportClasses) {
+    	final Class<?> supertype = typeResolver.resolve(referenceVisitor, referrer, supertypeName);
+    	if (supertype != null && reportClasses) {
+    		referenceVisitor.onClassReference(referrer, supertype);
+    	}
+    	return supertype != null;
+    }
+
 	private void scanSuperclassAndImplementedInterfaces(final Referrer referrer, final Class<?> clazz) {
 		if ( clazz.getSuperclass() != null ) {
 			referenceVisitor.onClassReference(referrer, clazz.getSuperclass());
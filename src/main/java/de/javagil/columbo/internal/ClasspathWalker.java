@@ -0,0 +1,185 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Lists the names of all classes below a package directly from the classpath directories and jar files.
+ * <p>
+ * Only the classpath roots which actually contain the package are looked at,
+ * of jar files only the central directory is read. No class gets loaded.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ClasspathWalker {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String PACKAGE_INFO = "package-info" + CLASS_SUFFIX;
+	private static final String MODULE_INFO = "module-info" + CLASS_SUFFIX;
+	private static final String JAR_SEPARATOR = "!/";
+
+	private final ClassLoader classLoader;
+
+	/**
+	 * Creates a walker for the classpath of the context class loader.
+	 */
+	public ClasspathWalker() {
+		this(defaultClassLoader());
+	}
+
+	/**
+	 * @param classLoader determines the classpath roots which contain the packages
+	 */
+	public ClasspathWalker(final ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Finds the names of all classes within the given package and its subpackages.
+	 * <p>
+	 * Jar files are only found if they contain directory entries for the package,
+	 * which is the case for all jar files created by the usual tools.
+	 * </p>
+	 *
+	 * @param packageName e.g. "de.javagil.columbo"
+	 * @return the binary names of the classes (e.g. "de.javagil.columbo.Some$Nested"), sorted
+	 * @throws InspectionException if the classpath could not be read
+	 */
+	public Set<String> findClassNames(final String packageName) {
+		final String packagePath = packageName.replace('.', '/');
+		final Set<String> classNames = new TreeSet<String>();
+		try {
+			final Enumeration<URL> roots = classLoader.getResources(packagePath);
+			while (roots.hasMoreElements()) {
+				addClassNames(classNames, roots.nextElement(), packagePath);
+			}
+		} catch (IOException exc) {
+			throw new InspectionException("could not read classpath for package " + packageName, exc);
+		}
+		return classNames;
+	}
+
+	/**
+	 * Finds the names of all classes in a single jar file or directory, which does not need to be in the classpath.
+	 *
+	 * @param jarOrDirectory a jar file or the root directory of a class hierarchy, e.g. a library
+	 * @return the binary names of the classes (e.g. "de.javagil.columbo.Some$Nested"), sorted
+	 * @throws InspectionException if the jar file or directory could not be read
+	 */
+	public static Set<String> findClassNames(final File jarOrDirectory) {
+		final Set<String> classNames = new TreeSet<String>();
+		if (jarOrDirectory.isDirectory()) {
+			addClassNamesFromDirectory(classNames, jarOrDirectory, "");
+		} else {
+			try {
+				addClassNamesFromJar(classNames, jarOrDirectory, "");
+			} catch (IOException exc) {
+				throw new InspectionException("could not read jar file " + jarOrDirectory, exc);
+			}
+		}
+		return classNames;
+	}
+
+	private static void addClassNames(final Set<String> classNames, final URL packageUrl, final String packagePath)
+			throws IOException {
+		if ("file".equals(packageUrl.getProtocol())) {
+			addClassNamesFromDirectory(classNames, toFile(packageUrl.toString()), packagePath);
+		} else if ("jar".equals(packageUrl.getProtocol())) {
+			final String jarUrl = packageUrl.getPath();
+			addClassNamesFromJar(classNames, toFile(jarUrl.substring(0, jarUrl.indexOf(JAR_SEPARATOR))), packagePath);
+		} else {
+			throw new InspectionException("unsupported classpath location " + packageUrl);
+		}
+	}
+
+	private static void addClassNamesFromDirectory(final Set<String> classNames, final File directory,
+			final String packagePath) {
+		final File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		final String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+		for (File file: files) {
+			if (file.isDirectory()) {
+				addClassNamesFromDirectory(classNames, file, prefix + file.getName());
+			} else if (isClassFile(file.getName())) {
+				classNames.add(toClassName(prefix + file.getName()));
+			}
+		}
+	}
+
+	private static void addClassNamesFromJar(final Set<String> classNames, final File jar, final String packagePath)
+			throws IOException {
+		final String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+		final ZipFile zipFile = new ZipFile(jar);
+		try {
+			final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				final String entryName = entries.nextElement().getName();
+				if (entryName.startsWith(prefix) && isClassFile(entryName)) {
+					classNames.add(toClassName(entryName));
+				}
+			}
+		} finally {
+			zipFile.close();
+		}
+	}
+
+	private static boolean isClassFile(final String path) {
+		return path.endsWith(CLASS_SUFFIX) && !path.endsWith(PACKAGE_INFO) && !path.endsWith(MODULE_INFO);
+	}
+
+	private static String toClassName(final String classFilePath) {
+		return classFilePath.substring(0, classFilePath.length() - CLASS_SUFFIX.length()).replace('/', '.');
+	}
+
+	private static File toFile(final String fileUrl) {
+		try {
+			return new File(new URI(fileUrl));
+		} catch (URISyntaxException exc) {
+			throw new InspectionException("invalid classpath location " + fileUrl, exc);
+		}
+	}
+
+	private static ClassLoader defaultClassLoader() {
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return contextClassLoader != null ? contextClassLoader : ClasspathWalker.class.getClassLoader();
+	}
+}
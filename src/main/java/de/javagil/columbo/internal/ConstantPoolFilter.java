@@ -0,0 +1,145 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides by just looking at the constant pool of a class whether it can reference any of the target classes.
+ * <p>
+ * Classes which can't reference any target don't need to be visited at all. The filter is conservative,
+ * it might accept classes which don't actually reference a target, but it never rejects a class
+ * which references a target class, one of its members or one of its subclasses (as inherited members
+ * get reported with their declaring class).
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ConstantPoolFilter {
+
+	// internal names, e.g. "java/util/Date" or "de/javagil/columbo"
+	private final List<String> targets = new ArrayList<String>();
+	private final SymbolTable symbolTable;
+
+	// whether a class or any of its supertypes is a target, by internal class name
+	private final ConcurrentMap<String, Boolean> matchingClasses = new ConcurrentHashMap<String, Boolean>();
+
+	/**
+	 * @param targetNames qualified names of classes or packages (e.g. "java.util.Date" or "de.javagil.columbo"),
+	 * 			including their nested classes and subpackages
+	 * @param symbolTable used to determine the supertypes of the referenced classes
+	 */
+	public ConstantPoolFilter(final Collection<String> targetNames, final SymbolTable symbolTable) {
+		for (String targetName: targetNames) {
+			targets.add(targetName.replace('.', '/'));
+		}
+		this.symbolTable = symbolTable;
+	}
+
+	/**
+	 * @param bytecode the complete bytecode of a class
+	 * @return false if the class can't reference any target, true if it might
+	 */
+	public boolean mayReferenceTarget(final byte[] bytecode) {
+		final Set<String> classNames = new HashSet<String>();
+		final List<String> utf8Constants = new ArrayList<String>();
+		ClassFileParser.readConstants(bytecode, classNames, utf8Constants);
+
+		// descriptors and signatures contain the types of parameters, return values and fields
+		for (String utf8Constant: utf8Constants) {
+			for (String target: targets) {
+				if (utf8Constant.contains(target)) {
+					return true;
+				}
+			}
+		}
+		// the owners of members might inherit from a target, this includes the inspected class itself
+		for (String className: classNames) {
+			if (isOrExtendsTarget(elementTypeOf(className))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean isOrExtendsTarget(final String internalClassName) {
+		if (internalClassName == null) {
+			return false;
+		}
+		Boolean matching = matchingClasses.get(internalClassName);
+		if (matching == null) {
+			matching = isTarget(internalClassName) || supertypeIsOrExtendsTarget(internalClassName);
+			matchingClasses.put(internalClassName, matching);
+		}
+		return matching;
+	}
+
+	private boolean supertypeIsOrExtendsTarget(final String internalClassName) {
+		final ClassSymbol symbol = symbolTable.getClassSymbol(internalClassName);
+		if (symbol == null) {
+			// unknown classes get reported as not found, thus the class needs to be visited
+			return true;
+		}
+		if (isOrExtendsTarget(symbol.getSuperName())) {
+			return true;
+		}
+		for (String implementedInterface: symbol.getInterfaces()) {
+			if (isOrExtendsTarget(implementedInterface)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	boolean isTarget(final String internalClassName) {
+		for (String target: targets) {
+			if (internalClassName.startsWith(target)
+					&& (internalClassName.length() == target.length()
+						|| internalClassName.charAt(target.length()) == '/'
+						|| internalClassName.charAt(target.length()) == '$')) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// for array descriptors the element class or null if it's a primitive array
+	private static String elementTypeOf(final String className) {
+		if (!className.startsWith("[")) {
+			return className;
+		}
+		final int start = className.indexOf('L');
+		return start < 0 ? null : className.substring(start + 1, className.length() - 1);
+	}
+}
@@ -0,0 +1,96 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache which maps method descriptors to their resolved parameter types.
+ * <p>
+ * The same descriptors occur over and over again in a codebase, this way each of them
+ * gets parsed and its classes get resolved only once.
+ * If the maximum size is reached, the cache is simply emptied, which is cheap and
+ * good enough as the frequently used descriptors get cached again immediately.
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class DescriptorCache {
+
+	/**
+	 * Default maximum number of descriptors to cache.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final int maxSize;
+	private final ConcurrentMap<String, Class<?>[]> parameterTypes = new ConcurrentHashMap<String, Class<?>[]>();
+
+	/**
+	 * Creates a cache with {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public DescriptorCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize maximum number of descriptors to cache
+	 */
+	public DescriptorCache(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive, but is " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Cached version of {@link BytecodeUtil#resolveParameterTypes(String)}.
+	 *
+	 * @param methodDesc the method descriptor, e.g. "(ILjava/lang/String;)V"
+	 * @return a new array containing the parameter classes for the method
+	 */
+	public Class<?>[] getParameterTypes(final String methodDesc) {
+		Class<?>[] types = parameterTypes.get(methodDesc);
+		if (types == null) {
+			types = BytecodeUtil.resolveParameterTypes(methodDesc);
+			if (parameterTypes.size() >= maxSize) {
+				parameterTypes.clear();
+			}
+			parameterTypes.put(methodDesc, types);
+		}
+		// the cached array is shared, thus the caller gets a copy
+		return types.clone();
+	}
+
+	/**
+	 * @return the number of currently cached descriptors
+	 */
+	public int size() {
+		return parameterTypes.size();
+	}
+}
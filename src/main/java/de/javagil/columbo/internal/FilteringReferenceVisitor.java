@@ -0,0 +1,118 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.api.SelectiveReferenceVisitor;
+
+/**
+ * Forwards just those callbacks to a {@link SelectiveReferenceVisitor} which it is interested in.
+ * <p>
+ * The inspection already skips most of the references nobody listens to before resolving them,
+ * this visitor drops the rest, e.g. the types of parameters of a called method which are not a target.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class FilteringReferenceVisitor implements ReferenceVisitor {
+
+	private final ReferenceVisitor delegate;
+	private final ReferenceInterest interest;
+
+	FilteringReferenceVisitor(final ReferenceVisitor delegate, final ReferenceInterest interest) {
+		this.delegate = delegate;
+		this.interest = interest;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		if (interest.accepts(ReferenceKind.CLASS_REFERENCE, referencedClass)) {
+			delegate.onClassReference(referrer, referencedClass);
+		}
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		delegate.onClassNotFound(referrer, cause);
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		if (interest.accepts(ReferenceKind.METHOD_OVERRIDE, referencedMethod.getDeclaringClass())) {
+			delegate.onMethodOverride(referrer, referencedMethod);
+		}
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		if (interest.accepts(ReferenceKind.METHOD_CALL, referencedMethod.getDeclaringClass())) {
+			delegate.onMethodCall(referrer, referencedMethod);
+		}
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+		if (interest.accepts(ReferenceKind.NOT_FOUND, clazz)) {
+			delegate.onMethodNotFound(referrer, clazz, name, paramTypes);
+		}
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		if (interest.accepts(ReferenceKind.CONSTRUCTOR_CALL, constructor.getDeclaringClass())) {
+			delegate.onConstructorCall(referrer, constructor);
+		}
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		if (interest.accepts(ReferenceKind.NOT_FOUND, clazz)) {
+			delegate.onConstructorNotFound(referrer, clazz, paramTypes);
+		}
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		if (interest.accepts(ReferenceKind.FIELD_ACCESS, referencedField.getDeclaringClass())) {
+			delegate.onFieldAccess(referrer, referencedField);
+		}
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+		if (interest.accepts(ReferenceKind.NOT_FOUND, clazz)) {
+			delegate.onFieldNotFound(referrer, clazz, referencedField);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.objectweb.asm.Type;
+
+/**
+ * Index of the overridable methods carrying a specific annotation which a class inherits
+ * from any of its direct or indirect supertypes, read from the bytecode instead of via reflection.
+ * <p>
+ * The annotated methods of a class are the union of its own ones and those of its direct supertypes,
+ * thus each class in the hierarchy is read and merged only once, no matter how many subclasses
+ * get looked up. After that, finding the annotated methods overridden by a method is a single hash lookup.
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class InheritedAnnotationIndex {
+
+	private static final Map<String, List<MemberSymbol>> NONE = Collections.emptyMap();
+	private static final String CONSTRUCTOR = "<init>";
+	private static final String CLASS_INITIALIZER = "<clinit>";
+
+	private final SymbolTable symbolTable;
+	private final String annotationDesc;
+
+	// per class: annotated methods declared in the class or its supertypes, keyed by name + argument descriptor
+	private final ConcurrentMap<String, Map<String, List<MemberSymbol>>> annotatedMethods =
+			new ConcurrentHashMap<String, Map<String, List<MemberSymbol>>>();
+
+	/**
+	 * @param symbolTable provides the declarations of the classes, usually shared with other users
+	 * @param annotationType the method annotation to index, must have runtime retention
+	 */
+	public InheritedAnnotationIndex(final SymbolTable symbolTable, final Class<? extends Annotation> annotationType) {
+		this.symbolTable = symbolTable;
+		this.annotationDesc = Type.getDescriptor(annotationType);
+	}
+
+	/**
+	 * @param internalClassName the class which declares the overriding method
+	 * @param methodName name of the overriding method
+	 * @param methodDesc internal descriptor of the overriding method, only the arguments are relevant
+	 * @return the annotated methods in any of the supertypes which get overridden, nearest first, empty if none
+	 */
+	public List<MemberSymbol> findOverriddenAnnotatedMethods(final String internalClassName, final String methodName,
+			final String methodDesc) {
+		final ClassSymbol symbol = symbolTable.getClassSymbol(internalClassName);
+		if (symbol == null) {
+			return Collections.emptyList();
+		}
+		final Map<String, List<MemberSymbol>> inherited = mergeSupertypesOf(symbol);
+		if (inherited.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<MemberSymbol> found = inherited.get(methodName + ClassSymbol.argumentsOf(methodDesc));
+		return found != null ? found : Collections.<MemberSymbol>emptyList();
+	}
+
+	private Map<String, List<MemberSymbol>> annotatedMethodsOf(final String internalClassName) {
+		Map<String, List<MemberSymbol>> methods = annotatedMethods.get(internalClassName);
+		if (methods == null) {
+			final ClassSymbol symbol = symbolTable.getClassSymbol(internalClassName);
+			methods = symbol != null ? collectAnnotatedMethods(symbol) : NONE;
+			annotatedMethods.putIfAbsent(internalClassName, methods);
+		}
+		return methods;
+	}
+
+	private Map<String, List<MemberSymbol>> collectAnnotatedMethods(final ClassSymbol symbol) {
+		Map<String, List<MemberSymbol>> methods = null;
+		for (MemberSymbol method: symbol.getDeclaredMethods()) {
+			if (isOverridable(method) && method.getAnnotation(annotationDesc) != null) {
+				if (methods == null) {
+					methods = new HashMap<String, List<MemberSymbol>>();
+				}
+				add(methods, method.getName() + ClassSymbol.argumentsOf(method.getDesc()), method);
+			}
+		}
+		final Map<String, List<MemberSymbol>> inherited = mergeSupertypesOf(symbol);
+		if (methods == null) {
+			return inherited;
+		}
+		for (Map.Entry<String, List<MemberSymbol>> entry: inherited.entrySet()) {
+			for (MemberSymbol method: entry.getValue()) {
+				add(methods, entry.getKey(), method);
+			}
+		}
+		return methods;
+	}
+
+	// shares the map of a single supertype with annotated methods, which is the common case
+	private Map<String, List<MemberSymbol>> mergeSupertypesOf(final ClassSymbol symbol) {
+		Map<String, List<MemberSymbol>> merged = NONE;
+		boolean shared = false;
+		final List<String> supertypes = new ArrayList<String>();
+		if (symbol.getSuperName() != null) {
+			supertypes.add(symbol.getSuperName());
+		}
+		Collections.addAll(supertypes, symbol.getInterfaces());
+		for (String supertype: supertypes) {
+			final Map<String, List<MemberSymbol>> methods = annotatedMethodsOf(supertype);
+			if (methods.isEmpty()) {
+				continue;
+			}
+			if (merged.isEmpty()) {
+				merged = methods;
+				shared = true;
+				continue;
+			}
+			if (shared) {
+				merged = copyOf(merged);
+				shared = false;
+			}
+			for (Map.Entry<String, List<MemberSymbol>> entry: methods.entrySet()) {
+				for (MemberSymbol method: entry.getValue()) {
+					add(merged, entry.getKey(), method);
+				}
+			}
+		}
+		return merged;
+	}
+
+	private static Map<String, List<MemberSymbol>> copyOf(final Map<String, List<MemberSymbol>> methods) {
+		final Map<String, List<MemberSymbol>> copy = new HashMap<String, List<MemberSymbol>>();
+		for (Map.Entry<String, List<MemberSymbol>> entry: methods.entrySet()) {
+			copy.put(entry.getKey(), new ArrayList<MemberSymbol>(entry.getValue()));
+		}
+		return copy;
+	}
+
+	// the same method can be inherited along multiple paths, e.g. via two interfaces
+	private static void add(final Map<String, List<MemberSymbol>> methods, final String key, final MemberSymbol method) {
+		List<MemberSymbol> list = methods.get(key);
+		if (list == null) {
+			list = new ArrayList<MemberSymbol>(1);
+			methods.put(key, list);
+		}
+		if (!list.contains(method)) {
+			list.add(method);
+		}
+	}
+
+	private static boolean isOverridable(final MemberSymbol method) {
+		return !method.isPrivate() && !method.isStatic()
+				&& !CONSTRUCTOR.equals(method.getName()) && !CLASS_INITIALIZER.equals(method.getName());
+	}
+}
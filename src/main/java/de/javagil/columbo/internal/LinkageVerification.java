@@ -0,0 +1,302 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.LinkageProblem;
+import de.javagil.columbo.api.LinkageProblem.Kind;
+
+/**
+ * Verifies that all symbolic references of client classes can be resolved against a library
+ * and used as compiled, just like the JVM does when linking the client classes.
+ * <p>
+ * The references are taken from the constant pools of the client classes. Resolved members are checked for
+ * accessibility from the client class and whether the instructions of the method bodies still match them
+ * (e.g. a getfield of a field which became static). No class gets loaded. Each client is verified by its own task with its own {@link SymbolTable},
+ * which has the {@link SymbolTable} of the library as its parent. Thus the library and the JDK classes
+ * are read only once, no matter how many clients get verified.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class LinkageVerification {
+
+	private static final String CONSTRUCTOR = "<init>";
+
+	private static final Comparator<LinkageProblem> CLIENT_ORDER = new Comparator<LinkageProblem>() {
+		@Override
+		public int compare(final LinkageProblem problem1, final LinkageProblem problem2) {
+			int result = problem1.getClient().compareTo(problem2.getClient());
+			if (result == 0) {
+				result = problem1.getClassName().compareTo(problem2.getClassName());
+			}
+			return result != 0 ? result : problem1.getElement().compareTo(problem2.getElement());
+		}
+	};
+
+	private final SymbolTable library;
+
+	/**
+	 * @param library resolves the classes of the library, the classpath of the clients and the JDK,
+	 * 			shared by the verification of all clients
+	 */
+	public LinkageVerification(final SymbolTable library) {
+		this.library = library;
+	}
+
+	/**
+	 * @param clients jar files or class directories, each verified on its own,
+	 * 			a client class with the same name as a library class is shadowed by the library class
+	 * @param executor runs the verification, it's not shut down afterwards
+	 * @return the problems sorted by client, client class and affected element, empty if all references link
+	 * @throws InspectionException if the bytecode could not be read
+	 */
+	public List<LinkageProblem> verify(final Collection<File> clients, final ExecutorService executor) {
+		final List<Callable<List<LinkageProblem>>> tasks = new ArrayList<Callable<List<LinkageProblem>>>();
+		for (final File client: clients) {
+			tasks.add(new Callable<List<LinkageProblem>>() {
+				@Override
+				public List<LinkageProblem> call() {
+					return verify(client);
+				}
+			});
+		}
+		final List<LinkageProblem> problems = new ArrayList<LinkageProblem>();
+		for (List<LinkageProblem> found: Util.runAll(executor, tasks)) {
+			problems.addAll(found);
+		}
+		Collections.sort(problems, CLIENT_ORDER);
+		return problems;
+	}
+
+	private List<LinkageProblem> verify(final File client) {
+		final List<LinkageProblem> problems = new ArrayList<LinkageProblem>();
+		final URLClassLoader classLoader = new URLClassLoader(new URL[] { Util.toURL(client) }, null);
+		final SymbolTable symbolTable = new SymbolTable(new ClassBytesSource(classLoader), library);
+		try {
+			for (String className: ClasspathWalker.findClassNames(client)) {
+				verifyClass(symbolTable, client, className, problems);
+			}
+		} finally {
+			try {
+				Util.close(symbolTable);
+			} finally {
+				Util.close(classLoader);
+			}
+		}
+		return problems;
+	}
+
+	/**
+	 * @param symbolTable resolves the classes of the client and, via its parent, of the library
+	 * @param client jar file or class directory of the client
+	 * @param className binary name of the client class to verify
+	 * @param problems receives the references of the class which can't be resolved or used as compiled
+	 */
+	static void verifyClass(final SymbolTable symbolTable, final File client, final String className,
+			final Collection<LinkageProblem> problems) {
+		final byte[] bytes = symbolTable.getClassBytesSource().readBytes(className);
+		if (bytes == null) {
+			return;
+		}
+		final String internalName = className.replace('.', '/');
+		final List<String> classNames = new ArrayList<String>();
+		final List<SymbolicReference> memberReferences = new ArrayList<SymbolicReference>();
+		ClassFileParser.readReferences(bytes, classNames, memberReferences);
+
+		for (String referencedClass: classNames) {
+			final String elementClass = elementClassOf(referencedClass);
+			if (elementClass == null) {
+				continue;
+			}
+			final ClassSymbol symbol = symbolTable.getClassSymbol(elementClass);
+			if (symbol == null) {
+				problems.add(new LinkageProblem(Kind.CLASS_NOT_FOUND, client, className, elementClass.replace('/', '.')));
+			} else if (!isAccessible(symbol, internalName)) {
+				problems.add(new LinkageProblem(Kind.ILLEGAL_ACCESS, client, className, elementClass.replace('/', '.')));
+			}
+		}
+
+		// the resolved members, to check how they are used by the instructions
+		final Map<String, MemberSymbol> resolvedMembers = new HashMap<String, MemberSymbol>();
+		for (SymbolicReference reference: memberReferences) {
+			// members of missing classes are already reported via the class constant of their owner
+			if (reference.getOwner().startsWith("[") || symbolTable.getClassSymbol(reference.getOwner()) == null) {
+				continue;
+			}
+			final MemberSymbol member = resolve(symbolTable, reference);
+			final Kind kind = member != null ? checkResolved(symbolTable, internalName, reference, member)
+					: notFoundKindOf(reference);
+			if (kind != null) {
+				problems.add(new LinkageProblem(kind, client, className, elementOf(reference)));
+			} else if (member != null) {
+				resolvedMembers.put(reference.toString(), member);
+			}
+		}
+		verifyInstructions(bytes, client, className, resolvedMembers, problems);
+	}
+
+	// reports resolved members which became static or an instance member, each at most once
+	private static void verifyInstructions(final byte[] bytes, final File client, final String className,
+			final Map<String, MemberSymbol> resolvedMembers, final Collection<LinkageProblem> problems) {
+		final Set<String> reported = new HashSet<String>();
+		ClassFileParser.readCode(bytes, new CodeReferenceVisitor() {
+			@Override
+			public void visitMethod(final String visitedClassName, final String name, final String desc) {
+			}
+
+			@Override
+			public void visitMemberInsn(final int opcode, final SymbolicReference reference) {
+				final MemberSymbol member = resolvedMembers.get(reference.toString());
+				if (member != null && member.isStatic() != isStaticAccess(opcode) && reported.add(reference.toString())) {
+					problems.add(new LinkageProblem(Kind.INCOMPATIBLE_CLASS_CHANGE, client, className,
+							elementOf(reference)));
+				}
+			}
+		});
+	}
+
+	// returns the resolved member, null if it can't be resolved or is signature polymorphic
+	private static MemberSymbol resolve(final SymbolTable symbolTable, final SymbolicReference reference) {
+		if (reference.isField()) {
+			final MemberSymbol field = symbolTable.findField(reference.getOwner(), reference.getName());
+			return field != null && field.getDesc().equals(reference.getDesc()) ? field : null;
+		}
+		if (CONSTRUCTOR.equals(reference.getName())) {
+			return symbolTable.findConstructor(reference.getOwner(), reference.getDesc());
+		}
+		return symbolTable.findMethod(reference.getOwner(), reference.getName(), reference.getDesc());
+	}
+
+	// returns the kind of problem for a reference which can't be resolved, null if that's allowed
+	private static Kind notFoundKindOf(final SymbolicReference reference) {
+		if (reference.isField()) {
+			return Kind.FIELD_NOT_FOUND;
+		}
+		if (CONSTRUCTOR.equals(reference.getName())) {
+			return Kind.CONSTRUCTOR_NOT_FOUND;
+		}
+		return isSignaturePolymorphic(reference) ? null : Kind.METHOD_NOT_FOUND;
+	}
+
+	// returns the kind of problem if the resolved member can't be used by the client class, otherwise null
+	private static Kind checkResolved(final SymbolTable symbolTable, final String clientClass,
+			final SymbolicReference reference, final MemberSymbol member) {
+		if (!reference.isField()
+				&& reference.isInterfaceMethod() != symbolTable.getClassSymbol(reference.getOwner()).isInterface()) {
+			return Kind.INCOMPATIBLE_CLASS_CHANGE;
+		}
+		return isAccessible(symbolTable, member, clientClass) ? null : Kind.ILLEGAL_ACCESS;
+	}
+
+	private static boolean isAccessible(final ClassSymbol symbol, final String clientClass) {
+		return (symbol.getAccess() & Opcodes.ACC_PUBLIC) != 0 || isSamePackage(symbol.getName(), clientClass);
+	}
+
+	// like JVMS 5.4.4, but the runtime package just by name and protected members without checking the instance
+	private static boolean isAccessible(final SymbolTable symbolTable, final MemberSymbol member,
+			final String clientClass) {
+		final int access = member.getAccess();
+		final String declaringClass = member.getOwner().getName();
+		if ((access & Opcodes.ACC_PUBLIC) != 0) {
+			return true;
+		}
+		if ((access & Opcodes.ACC_PRIVATE) != 0) {
+			// nestmates (Java 11) are approximated by their top level class
+			return topLevelClassOf(declaringClass).equals(topLevelClassOf(clientClass));
+		}
+		if (isSamePackage(declaringClass, clientClass)) {
+			return true;
+		}
+		return (access & Opcodes.ACC_PROTECTED) != 0 && isSubclassOf(symbolTable, clientClass, declaringClass);
+	}
+
+	private static boolean isSubclassOf(final SymbolTable symbolTable, final String subclass, final String superclass) {
+		for (ClassSymbol symbol = symbolTable.getClassSymbol(subclass); symbol != null;
+				symbol = symbol.getSuperName() != null ? symbolTable.getClassSymbol(symbol.getSuperName()) : null) {
+			if (symbol.getName().equals(superclass)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSamePackage(final String internalClassName1, final String internalClassName2) {
+		return packageOf(internalClassName1).equals(packageOf(internalClassName2));
+	}
+
+	private static String packageOf(final String internalClassName) {
+		final int lastSlash = internalClassName.lastIndexOf('/');
+		return lastSlash < 0 ? "" : internalClassName.substring(0, lastSlash);
+	}
+
+	private static String topLevelClassOf(final String internalClassName) {
+		final int firstDollar = internalClassName.indexOf('$', internalClassName.lastIndexOf('/') + 1);
+		return firstDollar < 0 ? internalClassName : internalClassName.substring(0, firstDollar);
+	}
+
+	private static boolean isStaticAccess(final int opcode) {
+		return opcode == Opcodes.GETSTATIC || opcode == Opcodes.PUTSTATIC || opcode == Opcodes.INVOKESTATIC;
+	}
+
+	private static String elementOf(final SymbolicReference reference) {
+		return reference.getOwner().replace('/', '.') + "#" + reference.getName()
+				+ (reference.isField() ? "" : reference.getDesc());
+	}
+
+	// e.g. MethodHandle.invokeExact, which is declared with (Object[])Object but called with the actual signature
+	private static boolean isSignaturePolymorphic(final SymbolicReference reference) {
+		return "java/lang/invoke/MethodHandle".equals(reference.getOwner())
+				|| "java/lang/invoke/VarHandle".equals(reference.getOwner());
+	}
+
+	// returns null for primitive arrays
+	private static String elementClassOf(final String classConstant) {
+		if (!classConstant.startsWith("[")) {
+			return classConstant;
+		}
+		final String elementDesc = classConstant.substring(classConstant.lastIndexOf('[') + 1);
+		return elementDesc.startsWith("L") ? elementDesc.substring(1, elementDesc.length() - 1) : null;
+	}
+}
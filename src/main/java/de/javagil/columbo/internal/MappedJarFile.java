@@ -0,0 +1,273 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads entries of a jar (or zip) file which is mapped into memory once.
+ * <p>
+ * The central directory is parsed by this class itself, stored entries are returned
+ * as slices of the mapped file without copying, only deflated entries get inflated.
+ * Jar files which can't be handled this way (e.g. ZIP64 or larger than 2 GB) are rejected
+ * by {@link #open(File)} with an {@link IOException}, thus the caller can fall back to {@link java.util.jar.JarFile}.
+ * Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class MappedJarFile implements Closeable {
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+	private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int ZIP64_MARKER = 0xFFFFFFFF;
+
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final File file;
+	private final RandomAccessFile randomAccessFile;
+	private final MappedByteBuffer mapped;
+
+	// offset of the central directory header of each entry by the entry name
+	private final Map<String, Integer> entries = new HashMap<String, Integer>();
+
+	private MappedJarFile(final File file, final RandomAccessFile randomAccessFile, final MappedByteBuffer mapped) {
+		this.file = file;
+		this.randomAccessFile = randomAccessFile;
+		this.mapped = mapped;
+		mapped.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * @param file the jar file to map into memory
+	 * @return the mapped jar file with its parsed central directory
+	 * @throws IOException if the file can't be read or is not supported (e.g. ZIP64 format or too large)
+	 */
+	static MappedJarFile open(final File file) throws IOException {
+		final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("too large to be mapped: " + file);
+			}
+			final MappedJarFile jarFile = new MappedJarFile(file, randomAccessFile,
+					channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			jarFile.readCentralDirectory();
+			return jarFile;
+		} catch (IOException exc) {
+			randomAccessFile.close();
+			throw exc;
+		} catch (RuntimeException exc) {
+			// e.g. IndexOutOfBoundsException on a corrupt file
+			randomAccessFile.close();
+			throw new IOException("corrupt jar file " + file, exc);
+		}
+	}
+
+	/**
+	 * @return the mapped file
+	 */
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * @param entryName full name of the entry, e.g. "java/lang/String.class"
+	 * @return true if there is such an entry
+	 */
+	boolean hasEntry(final String entryName) {
+		return entries.containsKey(entryName);
+	}
+
+	/**
+	 * @param entryName full name of the entry, e.g. "java/lang/String.class"
+	 * @return the uncompressed content of the entry, a read-only slice of the mapped file for stored entries,
+	 * 			null if there is no such entry
+	 * @throws IOException if the entry can't be inflated or uses an unsupported compression method
+	 */
+	ByteBuffer getEntry(final String entryName) throws IOException {
+		final Integer header = entries.get(entryName);
+		if (header == null) {
+			return null;
+		}
+		final int method = unsignedShort(header + 10);
+		final int compressedSize = mapped.getInt(header + 20);
+		final int size = mapped.getInt(header + 24);
+		final int localHeader = mapped.getInt(header + 42);
+		if (mapped.getInt(localHeader) != LOCAL_HEADER_SIGNATURE) {
+			throw new IOException("invalid local header of entry " + entryName + " in " + file);
+		}
+		final int dataOffset = localHeader + LOCAL_HEADER_SIZE + unsignedShort(localHeader + 26)
+				+ unsignedShort(localHeader + 28);
+
+		switch (method) {
+		case STORED:
+			return slice(dataOffset, size);
+		case DEFLATED:
+			return ByteBuffer.wrap(inflate(entryName, dataOffset, compressedSize, size));
+		default:
+			throw new IOException("unsupported compression method " + method + " of entry " + entryName + " in " + file);
+		}
+	}
+
+	/**
+	 * @param entryName full name of the entry, e.g. "java/lang/String.class"
+	 * @return the uncompressed content of the entry as a new array, null if there is no such entry
+	 * @throws IOException if the entry can't be inflated or uses an unsupported compression method
+	 */
+	byte[] readEntry(final String entryName) throws IOException {
+		final ByteBuffer entry = getEntry(entryName);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.hasArray() && entry.arrayOffset() == 0 && entry.array().length == entry.remaining()) {
+			// freshly inflated, no need to copy again
+			return entry.array();
+		}
+		final byte[] bytes = new byte[entry.remaining()];
+		entry.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Closes the file, the mapping itself gets released by the garbage collector.
+	 */
+	@Override
+	public void close() throws IOException {
+		randomAccessFile.close();
+	}
+
+	private void readCentralDirectory() throws IOException {
+		final int endOfCentralDirectory = findEndOfCentralDirectory();
+		final int entryCount = unsignedShort(endOfCentralDirectory + 10);
+		final int centralDirectorySize = mapped.getInt(endOfCentralDirectory + 12);
+		final int centralDirectoryOffset = mapped.getInt(endOfCentralDirectory + 16);
+		if (entryCount == 0xFFFF || centralDirectorySize == ZIP64_MARKER || centralDirectoryOffset == ZIP64_MARKER) {
+			throw new IOException("ZIP64 format not supported: " + file);
+		}
+
+		int header = centralDirectoryOffset;
+		for (int n = 0; n < entryCount; ++n) {
+			if (mapped.getInt(header) != CENTRAL_DIRECTORY_SIGNATURE) {
+				throw new IOException("invalid central directory in " + file);
+			}
+			if (mapped.getInt(header + 20) == ZIP64_MARKER || mapped.getInt(header + 24) == ZIP64_MARKER
+					|| mapped.getInt(header + 42) == ZIP64_MARKER) {
+				throw new IOException("ZIP64 format not supported: " + file);
+			}
+			final int nameLength = unsignedShort(header + 28);
+			final int extraLength = unsignedShort(header + 30);
+			final int commentLength = unsignedShort(header + 32);
+			entries.put(decodeName(header + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength), header);
+			header += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+	}
+
+	private int findEndOfCentralDirectory() throws IOException {
+		final int lastPossible = mapped.capacity() - END_OF_CENTRAL_DIRECTORY_SIZE;
+		final int firstPossible = Math.max(0, lastPossible - MAX_COMMENT_SIZE);
+		for (int offset = lastPossible; offset >= firstPossible; --offset) {
+			if (mapped.getInt(offset) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+				return offset;
+			}
+		}
+		throw new IOException("not a jar file: " + file);
+	}
+
+	private byte[] inflate(final String entryName, final int offset, final int compressedSize, final int size)
+			throws IOException {
+		// without zlib header the inflater needs an extra dummy byte at the end
+		final byte[] compressed = new byte[compressedSize + 1];
+		slice(offset, compressedSize).get(compressed, 0, compressedSize);
+
+		final byte[] bytes = new byte[size];
+		final Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(compressed);
+			int inflated = 0;
+			while (inflated < size && !inflater.finished()) {
+				final int count = inflater.inflate(bytes, inflated, size - inflated);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+			if (inflated != size) {
+				throw new IOException("entry " + entryName + " in " + file + " has " + inflated
+						+ " bytes instead of " + size);
+			}
+			return bytes;
+		} catch (DataFormatException exc) {
+			throw new IOException("could not inflate entry " + entryName + " in " + file, exc);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private ByteBuffer slice(final int offset, final int length) {
+		// the duplicate keeps the position of the shared buffer untouched, thus it's thread safe
+		final ByteBuffer duplicate = mapped.duplicate();
+		duplicate.position(offset);
+		duplicate.limit(offset + length);
+		return duplicate.slice().asReadOnlyBuffer();
+	}
+
+	private String decodeName(final int offset, final int length) {
+		final byte[] name = new byte[length];
+		slice(offset, length).get(name);
+		return new String(name, UTF_8);
+	}
+
+	private int unsignedShort(final int offset) {
+		return mapped.getShort(offset) & 0xFFFF;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + file + "]";
+	}
+}
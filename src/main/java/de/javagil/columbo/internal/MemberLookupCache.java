@@ -0,0 +1,156 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoizes the results of the reflective member lookups in {@link BytecodeUtil},
+ * including negative results (member not found).
+ * <p>
+ * The lookups via reflection are driven by exceptions and copy the reflection objects,
+ * thus it's much cheaper to look up each member of a class only once.
+ * The cache is attached to the owner class via {@link ClassValue}, thus it does not
+ * prevent classes and their class loaders from being garbage collected.
+ * Instances are thread safe.
+ * </p>
+ * <p>
+ * ATTENTION: The same {@link Method}, {@link Constructor} and {@link Field} instance is returned to all callers 
+ * on all threads, thus it must not be modified, e.g. by {@code setAccessible(true)}. 
+ * Use {@code getDeclaringClass().getDeclaredMethod(...)} etc. to get an own copy if needed.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class MemberLookupCache {
+
+	// placeholder for members which could not be found, as ConcurrentHashMap can't store null
+	private static final Object NOT_FOUND = new Object();
+
+	private static final String CONSTRUCTOR = "<init>";
+	private static final char FIELD_PREFIX = '.';
+
+	private final ClassValue<ConcurrentMap<String, Object>> members = new ClassValue<ConcurrentMap<String, Object>>() {
+		@Override
+		protected ConcurrentMap<String, Object> computeValue(final Class<?> clazz) {
+			return new ConcurrentHashMap<String, Object>();
+		}
+	};
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Cached version of {@link BytecodeUtil#lookupMethod(Class, String, Class[])}.
+	 *
+	 * @param clazz the target class of call
+	 * @param name name of the method
+	 * @param paramTypes parameter types
+	 * @return the method which would be called by the given specification or null if none found
+	 */
+	public Method findMethod(final Class<?> clazz, final String name, final Class<?>[] paramTypes) {
+		final String key = name + BytecodeUtil.getArgumentsDescriptor(paramTypes);
+		final ConcurrentMap<String, Object> classMembers = members.get(clazz);
+		Object method = classMembers.get(key);
+		if (method == null) {
+			method = remember(classMembers, key, BytecodeUtil.lookupMethod(clazz, name, paramTypes));
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return method != NOT_FOUND ? (Method) method : null;
+	}
+
+	/**
+	 * Cached version of {@link BytecodeUtil#lookupConstructor(Class, Class[])}.
+	 *
+	 * @param clazz the target class of call
+	 * @param paramTypes parameter types
+	 * @return the constructor which would be called by the given specification or null if none found
+	 */
+	public Constructor<?> findConstructor(final Class<?> clazz, final Class<?>[] paramTypes) {
+		final String key = CONSTRUCTOR + BytecodeUtil.getArgumentsDescriptor(paramTypes);
+		final ConcurrentMap<String, Object> classMembers = members.get(clazz);
+		Object constructor = classMembers.get(key);
+		if (constructor == null) {
+			constructor = remember(classMembers, key, BytecodeUtil.lookupConstructor(clazz, paramTypes));
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return constructor != NOT_FOUND ? (Constructor<?>) constructor : null;
+	}
+
+	/**
+	 * Cached version of {@link BytecodeUtil#lookupField(Class, String)}.
+	 *
+	 * @param clazz the target class of call
+	 * @param name name of the field
+	 * @return the field which would be accessed by the given specification or null if none found
+	 */
+	public Field findField(final Class<?> clazz, final String name) {
+		// the prefix separates the field names from the method keys
+		final String key = FIELD_PREFIX + name;
+		final ConcurrentMap<String, Object> classMembers = members.get(clazz);
+		Object field = classMembers.get(key);
+		if (field == null) {
+			field = remember(classMembers, key, BytecodeUtil.lookupField(clazz, name));
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return field != NOT_FOUND ? (Field) field : null;
+	}
+
+	/**
+	 * @return number of lookups which were answered from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return number of lookups which needed reflection
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private Object remember(final ConcurrentMap<String, Object> classMembers, final String key, final Object member) {
+		missCount.incrementAndGet();
+		final Object value = member != null ? member : NOT_FOUND;
+		final Object concurrentlyFound = classMembers.putIfAbsent(key, value);
+		return concurrentlyFound != null ? concurrentlyFound : value;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+	}
+}
@@ -0,0 +1,108 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Describes a method, constructor or field as declared in the bytecode of its class,
+ * without the need to load the class into the JVM.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class MemberSymbol {
+
+	private final ClassSymbol owner;
+	private final String name;
+	private final String desc;
+	private final int access;
+	private final AnnotationSymbol[] annotations;
+
+	MemberSymbol(final ClassSymbol owner, final String name, final String desc, final int access,
+			final AnnotationSymbol[] annotations) {
+		this.owner = owner;
+		this.name = name;
+		this.desc = desc;
+		this.access = access;
+		this.annotations = annotations;
+	}
+
+	/**
+	 * @return the class which declares this member
+	 */
+	public ClassSymbol getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return the name of the member, "&lt;init&gt;" for constructors
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the internal descriptor of the member, e.g. "(I)Ljava/lang/String;" or "Ljava/lang/String;"
+	 */
+	public String getDesc() {
+		return desc;
+	}
+
+	/**
+	 * @return the access flags as specified in {@link Opcodes}
+	 */
+	public int getAccess() {
+		return access;
+	}
+
+	/**
+	 * @return true if the member is private
+	 */
+	public boolean isPrivate() {
+		return (access & Opcodes.ACC_PRIVATE) != 0;
+	}
+
+	/**
+	 * @return true if the member is static
+	 */
+	public boolean isStatic() {
+		return (access & Opcodes.ACC_STATIC) != 0;
+	}
+
+	/**
+	 * @param annotationDesc descriptor of the annotation type, e.g. "Ljava/lang/Deprecated;"
+	 * @return the runtime visible annotation of the given type on this member or null if not annotated
+	 */
+	public AnnotationSymbol getAnnotation(final String annotationDesc) {
+		return AnnotationSymbol.find(annotations, annotationDesc);
+	}
+
+	@Override
+	public String toString() {
+		return owner.getName() + "#" + name + desc;
+	}
+}
@@ -36,6 +36,7 @@ import org.objectweb.asm.MethodAdapter;
 import org.objectweb.asm.commons.EmptyVisitor;
 
 import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.ReferenceKind;
 import de.javagil.columbo.api.ReferenceVisitor;
 import de.javagil.columbo.api.Referrer;
 import de.javagil.columbo.api.VisitorContext;
@@ -52,24 +53,49 @@ class MethodVisitor extends MethodAdapter {
 
 	private final ReferenceVisitor referenceVisitor;
     private final VisitorContext context;
+    private final ReferenceInterest interest;
+    private final StopCondition stopCondition;
+    private final TypeResolver typeResolver;
 
 	MethodVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor) {
+        this(context, referenceVisitor, new TypeResolver(), ReferenceInterest.ALL, StopCondition.NEVER);
+    }
+
+	MethodVisitor(final VisitorContext context, final ReferenceVisitor referenceVisitor, final TypeResolver typeResolver,
+			final ReferenceInterest interest, final StopCondition stopCondition) {
         super(new EmptyVisitor());
         this.referenceVisitor = referenceVisitor;
         this.context = context;
+        this.interest = interest;
+        this.stopCondition = stopCondition;
+        this.typeResolver = typeResolver;
     }
 
 	@Override
     public void visitMethodInsn(final int opcode, final String owner, final String name, final String desc) {
+		stopCondition.checkNotStopped();
+		final boolean constructorCall = opcode == Opcode.INVOKESPECIAL && isConstructor(name);
+		final boolean reportOwner = interest.accepts(ReferenceKind.CLASS_REFERENCE, owner);
+		final boolean reportCall = 
+				interest.mayAcceptMemberOf(constructorCall ? ReferenceKind.CONSTRUCTOR_CALL : ReferenceKind.METHOD_CALL, owner)
+				|| interest.accepts(ReferenceKind.NOT_FOUND, owner) || interest.acceptsAnyClassIn(desc);
+		if ( !reportOwner && !reportCall ) {
+			return;
+		}
     	Referrer referrer = context.toReferrer();
     	
-    	Class<?> clazz = BytecodeUtil.taggedTypeNameToClass(owner);
-		if ( clazz.isPrimitive() ) {
+    	Class<?> clazz = resolveClass(referrer, owner);
+		if ( clazz == null || clazz.isPrimitive() ) {
+			return;
+		}
+		if ( reportOwner ) {
+			referenceVisitor.onClassReference(referrer, BytecodeUtil.rawType(clazz));
+		}
+		if ( !reportCall ) {
 			return;
 		}
-    	referenceVisitor.onClassReference(referrer, BytecodeUtil.rawType(clazz));
 
-        if (opcode == Opcode.INVOKESPECIAL && isConstructor(name)) {
+        if (constructorCall) {
         	onConstructorCall(referrer, clazz, name, desc);
         } else if (opcode == Opcode.INVOKESPECIAL || 
         		   opcode == Opcode.INVOKEINTERFACE || 
@@ -81,10 +107,25 @@ class MethodVisitor extends MethodAdapter {
 	
 	@Override
 	public void visitFieldInsn(final int opcode, final String owner, final String name, final String desc) {
+		stopCondition.checkNotStopped();
+		final boolean reportOwner = interest.accepts(ReferenceKind.CLASS_REFERENCE, owner);
+		final boolean reportField = interest.mayAcceptMemberOf(ReferenceKind.FIELD_ACCESS, owner)
+				|| interest.accepts(ReferenceKind.NOT_FOUND, owner) || interest.acceptsAnyClassIn(desc);
+		if ( !reportOwner && !reportField ) {
+			return;
+		}
 		Referrer referrer = context.toReferrer();
     	
-    	Class<?> clazz = BytecodeUtil.taggedTypeNameToClass(owner);
-    	referenceVisitor.onClassReference(referrer, BytecodeUtil.rawType(clazz));
+    	Class<?> clazz = resolveClass(referrer, owner);
+		if ( clazz == null ) {
+			return;
+		}
+		if ( reportOwner ) {
+			referenceVisitor.onClassReference(referrer, BytecodeUtil.rawType(clazz));
+		}
+		if ( !reportField ) {
+			return;
+		}
 
         if (opcode == Opcode.GETSTATIC || opcode == Opcode.PUTSTATIC || opcode == Opcode.GETFIELD || opcode == Opcode.PUTFIELD) {
             onFieldAccess(referrer, clazz, name);            
@@ -93,6 +134,14 @@ class MethodVisitor extends MethodAdapter {
         }
 	}
 
+	/**
+	 * Classes which can't be resolved are reported to {@link ReferenceVisitor#onClassNotFound(Referrer, Throwable)},
+	 * for classes already known to be missing neither the class loader is asked again nor any exception is created.
+	 */
+	private Class<?> resolveClass(final Referrer referrer, final String taggedTypeName) {
+		return typeResolver.resolve(referenceVisitor, referrer, taggedTypeName);
+	}
+
 	private boolean isConstructor(final String name) {
 		return "<init>".equals(name);
 	}
@@ -130,7 +179,10 @@ class MethodVisitor extends MethodAdapter {
 
     Constructor<?> findConstructor(final Referrer referrer, final Class<?> clazz, final String desc) {
     	try { 
-			final Class<?>[] paramTypes = BytecodeUtil.determineParameterTypes(desc);
+			final Class<?>[] paramTypes = resolveParameterTypes(referrer, desc);
+			if (paramTypes == null) {
+				return null;
+			}
 			final Constructor<?> constructor = BytecodeUtil.findConstructor(clazz, paramTypes);
 			if (constructor == null) {
 				// might throw {@link InspectorException}, but not necessarily
@@ -159,7 +211,10 @@ class MethodVisitor extends MethodAdapter {
 
 	Method findMethod(final Referrer referrer, final Class<?> clazz, final String name, final String desc) {
 		try {
-			final Class<?>[] paramTypes = BytecodeUtil.determineParameterTypes(desc);
+			final Class<?>[] paramTypes = resolveParameterTypes(referrer, desc);
+			if (paramTypes == null) {
+				return null;
+			}
 			final Method method = BytecodeUtil.findMethod(clazz, name, paramTypes);
 			if (method == null) {
 				// might throw {@link InspectorException}, but not necessarily
@@ -171,12 +226,27 @@ class MethodVisitor extends MethodAdapter {
 		}
 		return null;
 	}
+
+	// parameter types which can't be resolved are reported like the owner class, see resolveClass(...)
+	private Class<?>[] resolveParameterTypes(final Referrer referrer, final String desc) {
+		return typeResolver.resolveParameterTypes(referenceVisitor, referrer, desc);
+	}
 	
 	@Override
 	public void visitTypeInsn(final int opcode, final String type) {
-		if (opcode == Opcode.NEW || opcode == Opcode.INSTANCEOF) {
-			Class<?> clazz = BytecodeUtil.taggedTypeNameToClass(type);
-			referenceVisitor.onClassReference(context.toReferrer(), clazz);
+		stopCondition.checkNotStopped();
+		final boolean reportClass = (opcode == Opcode.NEW || opcode == Opcode.INSTANCEOF)
+				&& interest.accepts(ReferenceKind.CLASS_REFERENCE, type);
+		// missing classes are reported for all instructions which make the JVM resolve the class
+		final boolean reportNotFound = (opcode == Opcode.NEW || opcode == Opcode.INSTANCEOF
+				|| opcode == Opcode.CHECKCAST || opcode == Opcode.ANEWARRAY)
+				&& interest.accepts(ReferenceKind.NOT_FOUND, type);
+		if (reportClass || reportNotFound) {
+			final Referrer referrer = context.toReferrer();
+			final Class<?> clazz = resolveClass(referrer, type);
+			if (clazz != null && reportClass) {
+				referenceVisitor.onClassReference(referrer, clazz);
+			}
 		}
     	super.visitTypeInsn(opcode, type);
     }
@@ -0,0 +1,206 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.ThreadSafeReferenceVisitor;
+import de.javagil.columbo.api.VisitorContext;
+
+/**
+ * Inspects classes concurrently using multiple workers of an {@link ExecutorService}.
+ * <p>
+ * The classes are partitioned by package, each partition gets inspected by its own {@link ClassVisitor}
+ * with its own {@link VisitorContext}. Thus classes from the same package (and most likely from the same jar)
+ * are read by the same worker.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ParallelInspection {
+
+	// more partitions than workers, so that a few large packages do not leave other workers idle
+	private static final int PARTITIONS_PER_WORKER = 4;
+
+	private final ReferenceVisitor referenceVisitor;
+	private final BatchReferenceVisitor batchVisitor;
+	private final int batchSize;
+	private final ExecutorService executor;
+	private final int parallelism;
+
+	/**
+	 * @param referenceVisitor gets called for all found references,
+	 * 			serialized unless it's a {@link ThreadSafeReferenceVisitor}
+	 * @param executor the executor which runs the workers, the number of partitions depends on its parallelism
+	 */
+	public ParallelInspection(final ReferenceVisitor referenceVisitor, final ExecutorService executor) {
+		this(referenceVisitor, executor, Util.parallelismOf(executor));
+	}
+
+	/**
+	 * @param referenceVisitor gets called for all found references,
+	 * 			serialized unless it's a {@link ThreadSafeReferenceVisitor}
+	 * @param executor the executor which runs the workers
+	 * @param parallelism the number of workers the executor runs at the same time
+	 */
+	public ParallelInspection(final ReferenceVisitor referenceVisitor, final ExecutorService executor, 
+			final int parallelism) {
+		this.referenceVisitor = referenceVisitor instanceof ThreadSafeReferenceVisitor
+				? referenceVisitor : new SynchronizedReferenceVisitor(referenceVisitor);
+		this.batchVisitor = null;
+		this.batchSize = 0;
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param batchVisitor gets called with batches of found references, each worker collects its own batches,
+	 * 			the batches are delivered one at a time
+	 * @param batchSize maximum number of references per batch
+	 * @param executor the executor which runs the workers, the number of partitions depends on its parallelism
+	 */
+	public ParallelInspection(final BatchReferenceVisitor batchVisitor, final int batchSize, 
+			final ExecutorService executor) {
+		this(batchVisitor, batchSize, executor, Util.parallelismOf(executor));
+	}
+
+	/**
+	 * @param batchVisitor gets called with batches of found references, each worker collects its own batches,
+	 * 			the batches are delivered one at a time
+	 * @param batchSize maximum number of references per batch
+	 * @param executor the executor which runs the workers
+	 * @param parallelism the number of workers the executor runs at the same time
+	 */
+	public ParallelInspection(final BatchReferenceVisitor batchVisitor, final int batchSize, 
+			final ExecutorService executor, final int parallelism) {
+		this.referenceVisitor = null;
+		this.batchVisitor = new SynchronizedBatchReferenceVisitor(batchVisitor);
+		this.batchSize = batchSize;
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Inspects the given classes and waits until all workers are done.
+	 *
+	 * @param classNamesToInspect qualified names of the classes to inspect
+	 * @throws InspectionException on classloading or bytecode reading problems
+	 */
+	public void inspect(final Collection<String> classNamesToInspect) {
+		inspect(classNamesToInspect, null);
+	}
+
+	/**
+	 * Like {@link #inspect(Collection)}, but skips the classes which can't reference any of the target classes.
+	 *
+	 * @param classNamesToInspect qualified names of the classes to inspect
+	 * @param targetNames qualified names of classes or packages, see {@link ConstantPoolFilter}, null to inspect all classes
+	 * @throws InspectionException on classloading or bytecode reading problems
+	 */
+	public void inspect(final Collection<String> classNamesToInspect, final Collection<String> targetNames) {
+		inspect(classNamesToInspect, targetNames, null);
+	}
+
+	/**
+	 * Like {@link #inspect(Collection, Collection)}, but replays the references of unchanged classes from the given index.
+	 *
+	 * @param classNamesToInspect qualified names of the classes to inspect
+	 * @param targetNames qualified names of classes or packages, see {@link ConstantPoolFilter}, null to inspect all classes
+	 * @param referenceIndex shared by all workers and updated for changed classes, null to visit all classes
+	 * @throws InspectionException on classloading or bytecode reading problems
+	 */
+	public void inspect(final Collection<String> classNamesToInspect, final Collection<String> targetNames,
+			final ReferenceIndex referenceIndex) {
+		final SymbolTable symbolTable = new SymbolTable();
+		final ConstantPoolFilter constantPoolFilter = targetNames != null 
+				? new ConstantPoolFilter(targetNames, symbolTable) : null;
+		final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (final List<String> partition: partition(classNamesToInspect, parallelism * PARTITIONS_PER_WORKER)) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					final BatchingReferenceVisitor batchingVisitor = batchVisitor != null 
+							? new BatchingReferenceVisitor(batchVisitor, batchSize) : null;
+					new ClassVisitor(new VisitorContext(), batchingVisitor != null ? batchingVisitor : referenceVisitor,
+							symbolTable, constantPoolFilter, referenceIndex).inspect(partition);
+					if (batchingVisitor != null) {
+						batchingVisitor.flush();
+					}
+					return null;
+				}
+			});
+		}
+		try {
+			Util.runAll(executor, tasks);
+		} finally {
+			Util.close(symbolTable);
+		}
+	}
+
+	/**
+	 * Splits the class names into about the given number of partitions,
+	 * preferably at package boundaries.
+	 *
+	 * @param classNames qualified class names
+	 * @param numberOfPartitions the desired number of partitions
+	 * @return the partitions, none of them empty
+	 */
+	static List<List<String>> partition(final Collection<String> classNames, final int numberOfPartitions) {
+		final int partitionSize = Math.max(1, (classNames.size() + numberOfPartitions - 1) / numberOfPartitions);
+
+		final List<List<String>> partitions = new ArrayList<List<String>>();
+		List<String> partition = new ArrayList<String>();
+		String currentPackage = null;
+		for (String className: new TreeSet<String>(classNames)) {
+			final String packageName = packageOf(className);
+			final boolean packageChanged = !packageName.equals(currentPackage);
+			if (partition.size() >= 2 * partitionSize || (partition.size() >= partitionSize && packageChanged)) {
+				partitions.add(partition);
+				partition = new ArrayList<String>();
+			}
+			partition.add(className);
+			currentPackage = packageName;
+		}
+		if (!partition.isEmpty()) {
+			partitions.add(partition);
+		}
+		return partitions;
+	}
+
+	private static String packageOf(final String className) {
+		final int lastDot = className.lastIndexOf('.');
+		return lastDot < 0 ? "" : className.substring(0, lastDot);
+	}
+}
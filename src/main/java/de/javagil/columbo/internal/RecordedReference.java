@@ -0,0 +1,288 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.JavaElement;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * A single {@link ReferenceVisitor} callback in symbolic form, thus it can be stored in a {@link ReferenceIndex}
+ * and replayed later, without visiting the bytecode again.
+ * <p>
+ * The referenced members are recorded with their declaring class as resolved when the bytecode was visited.
+ * This stays valid as long as the {@link ReferenceIndex#fingerprint(byte[], SymbolTable)} of the referring class
+ * is unchanged, as it includes all classes it refers to and their supertypes.
+ * On replay, the referenced elements are resolved again via reflection.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class RecordedReference {
+
+	/**
+	 * The callbacks of {@link ReferenceVisitor} which can be recorded.
+	 */
+	enum Kind {
+		CLASS_REFERENCE, METHOD_OVERRIDE, METHOD_CALL, METHOD_NOT_FOUND,
+		CONSTRUCTOR_CALL, CONSTRUCTOR_NOT_FOUND, FIELD_ACCESS, FIELD_NOT_FOUND
+	}
+
+	private static final Kind[] KINDS = Kind.values();
+
+	private final Kind kind;
+
+	// the referrer, without the resource URL which might change
+	private final String internalClassName;
+	private final String methodName;
+	private final String methodDesc;
+	private final String sourceFile;
+	private final Integer line;
+
+	// the referenced element, class names as returned by Class.getName()
+	private final String targetClassName;
+	private final String targetName;
+	private final String[] targetParameterTypes;
+
+	//CHECKSTYLE:OFF ParameterNumber it's just a record
+	private RecordedReference(final Kind kind, final String internalClassName, final String methodName,
+			final String methodDesc, final String sourceFile, final Integer line,
+			final String targetClassName, final String targetName, final String[] targetParameterTypes) {
+		this.kind = kind;
+		this.internalClassName = internalClassName;
+		this.methodName = methodName;
+		this.methodDesc = methodDesc;
+		this.sourceFile = sourceFile;
+		this.line = line;
+		this.targetClassName = targetClassName;
+		this.targetName = targetName;
+		this.targetParameterTypes = targetParameterTypes;
+	}
+	//CHECKSTYLE:ON ParameterNumber
+
+	static RecordedReference of(final Kind kind, final Referrer referrer, final Class<?> targetClass,
+			final String targetName, final Class<?>[] targetParameterTypes) {
+		final JavaElement javaElement = referrer.getJavaElement();
+		return new RecordedReference(kind, javaElement.className.replace('.', '/'), javaElement.methodName,
+				javaElement.methodDesc, referrer.getSourceFile(), referrer.getLineNo(),
+				targetClass.getName(), targetName, namesOf(targetParameterTypes));
+	}
+
+	static RecordedReference of(final Kind kind, final Referrer referrer, final Member member,
+			final Class<?>[] parameterTypes) {
+		return of(kind, referrer, member.getDeclaringClass(), member.getName(), parameterTypes);
+	}
+
+	Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Resolves the referenced element via reflection.
+	 *
+	 * @param resource the current resource of the referring class
+	 * @return the reference which can be replayed
+	 * @throws InspectionException if a class could not be resolved
+	 */
+	Replayable resolve(final URL resource) {
+		final Referrer referrer = new ReferrerImpl(new JavaElement(internalClassName, methodName, methodDesc),
+				resource, sourceFile, line);
+		final Class<?> targetClass = BytecodeUtil.classNameToClass(targetClassName);
+		final Class<?>[] parameterTypes = classesOf(targetParameterTypes);
+		switch (kind) {
+		case METHOD_OVERRIDE:
+		case METHOD_CALL:
+			final Method method = BytecodeUtil.findMethod(targetClass, targetName, parameterTypes);
+			return method != null ? new Replayable(kind, referrer, method)
+					: new Replayable(Kind.METHOD_NOT_FOUND, referrer, targetClass, targetName, parameterTypes);
+		case CONSTRUCTOR_CALL:
+			final Constructor<?> constructor = BytecodeUtil.findConstructor(targetClass, parameterTypes);
+			return constructor != null ? new Replayable(kind, referrer, constructor)
+					: new Replayable(Kind.CONSTRUCTOR_NOT_FOUND, referrer, targetClass, targetName, parameterTypes);
+		case FIELD_ACCESS:
+			final Field field = BytecodeUtil.findField(targetClass, targetName);
+			return field != null ? new Replayable(kind, referrer, field)
+					: new Replayable(Kind.FIELD_NOT_FOUND, referrer, targetClass, targetName, parameterTypes);
+		default:
+			return new Replayable(kind, referrer, targetClass, targetName, parameterTypes);
+		}
+	}
+
+	void write(final DataOutput out) throws IOException {
+		out.writeByte(kind.ordinal());
+		out.writeUTF(internalClassName);
+		writeNullable(out, methodName);
+		writeNullable(out, methodDesc);
+		writeNullable(out, sourceFile);
+		out.writeInt(line != null ? line : -1);
+		out.writeUTF(targetClassName);
+		writeNullable(out, targetName);
+		out.writeShort(targetParameterTypes != null ? targetParameterTypes.length : -1);
+		if (targetParameterTypes != null) {
+			for (String parameterType: targetParameterTypes) {
+				out.writeUTF(parameterType);
+			}
+		}
+	}
+
+	static RecordedReference read(final DataInput in) throws IOException {
+		final int ordinal = in.readByte();
+		if (ordinal < 0 || ordinal >= KINDS.length) {
+			throw new IOException("corrupt reference index, unknown kind of reference " + ordinal);
+		}
+		final Kind kind = KINDS[ordinal];
+		final String internalClassName = in.readUTF();
+		final String methodName = readNullable(in);
+		final String methodDesc = readNullable(in);
+		final String sourceFile = readNullable(in);
+		final int line = in.readInt();
+		final String targetClassName = in.readUTF();
+		final String targetName = readNullable(in);
+		final int parameterCount = in.readShort();
+		String[] targetParameterTypes = null;
+		if (parameterCount >= 0) {
+			targetParameterTypes = new String[parameterCount];
+			for (int n = 0; n < parameterCount; ++n) {
+				targetParameterTypes[n] = in.readUTF();
+			}
+		}
+		return new RecordedReference(kind, internalClassName, methodName, methodDesc, sourceFile,
+				line >= 0 ? Integer.valueOf(line) : null, targetClassName, targetName, targetParameterTypes);
+	}
+
+	private static void writeNullable(final DataOutput out, final String string) throws IOException {
+		out.writeBoolean(string != null);
+		if (string != null) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static String readNullable(final DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static String[] namesOf(final Class<?>[] classes) {
+		if (classes == null) {
+			return null;
+		}
+		final String[] names = new String[classes.length];
+		for (int n = 0; n < classes.length; ++n) {
+			names[n] = classes[n].getName();
+		}
+		return names;
+	}
+
+	private static Class<?>[] classesOf(final String[] names) {
+		if (names == null) {
+			return null;
+		}
+		final Class<?>[] classes = new Class<?>[names.length];
+		for (int n = 0; n < names.length; ++n) {
+			classes[n] = BytecodeUtil.classNameToClass(names[n]);
+		}
+		return classes;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + kind + " " + internalClassName + "#" + methodName
+				+ ":" + line + " -> " + targetClassName + (targetName != null ? "#" + targetName : "") + "]";
+	}
+
+	/**
+	 * A recorded reference with all elements resolved, ready to be passed to a {@link ReferenceVisitor}.
+	 */
+	static final class Replayable {
+
+		private final Kind kind;
+		private final Referrer referrer;
+		private final Member member;
+		private final Class<?> targetClass;
+		private final String targetName;
+		private final Class<?>[] parameterTypes;
+
+		private Replayable(final Kind kind, final Referrer referrer, final Member member) {
+			this.kind = kind;
+			this.referrer = referrer;
+			this.member = member;
+			this.targetClass = null;
+			this.targetName = null;
+			this.parameterTypes = null;
+		}
+
+		private Replayable(final Kind kind, final Referrer referrer, final Class<?> targetClass,
+				final String targetName, final Class<?>[] parameterTypes) {
+			this.kind = kind;
+			this.referrer = referrer;
+			this.member = null;
+			this.targetClass = targetClass;
+			this.targetName = targetName;
+			this.parameterTypes = parameterTypes;
+		}
+
+		void replay(final ReferenceVisitor referenceVisitor) {
+			switch (kind) {
+			case CLASS_REFERENCE:
+				referenceVisitor.onClassReference(referrer, targetClass);
+				break;
+			case METHOD_OVERRIDE:
+				referenceVisitor.onMethodOverride(referrer, (Method) member);
+				break;
+			case METHOD_CALL:
+				referenceVisitor.onMethodCall(referrer, (Method) member);
+				break;
+			case METHOD_NOT_FOUND:
+				referenceVisitor.onMethodNotFound(referrer, targetClass, targetName, parameterTypes);
+				break;
+			case CONSTRUCTOR_CALL:
+				referenceVisitor.onConstructorCall(referrer, (Constructor<?>) member);
+				break;
+			case CONSTRUCTOR_NOT_FOUND:
+				referenceVisitor.onConstructorNotFound(referrer, targetClass, parameterTypes);
+				break;
+			case FIELD_ACCESS:
+				referenceVisitor.onFieldAccess(referrer, (Field) member);
+				break;
+			case FIELD_NOT_FOUND:
+				referenceVisitor.onFieldNotFound(referrer, targetClass, targetName);
+				break;
+			default:
+				throw new IllegalStateException("unknown kind of reference " + kind);
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.internal.RecordedReference.Kind;
+
+/**
+ * Forwards all callbacks to another {@link ReferenceVisitor} and records them as {@link RecordedReference}s,
+ * thus they can be stored in a {@link ReferenceIndex}.
+ * <p>
+ * A recording which contains a class which could not be found is marked as incomplete,
+ * such classes have to be visited again on the next run.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class RecordingReferenceVisitor implements ReferenceVisitor {
+
+	private final ReferenceVisitor delegate;
+
+	private List<RecordedReference> recording;
+	private boolean complete;
+
+	RecordingReferenceVisitor(final ReferenceVisitor delegate) {
+		this.delegate = delegate;
+	}
+
+	void startRecording() {
+		recording = new ArrayList<RecordedReference>();
+		complete = true;
+	}
+
+	/**
+	 * @return the references recorded since {@link #startRecording()} or null if the recording is incomplete
+	 */
+	List<RecordedReference> stopRecording() {
+		final List<RecordedReference> recorded = complete ? recording : null;
+		recording = null;
+		return recorded;
+	}
+
+	@Override
+	public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		delegate.onClassReference(referrer, referencedClass);
+		record(RecordedReference.of(Kind.CLASS_REFERENCE, referrer, referencedClass, null, null));
+	}
+
+	@Override
+	public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		delegate.onClassNotFound(referrer, cause);
+		complete = false;
+	}
+
+	@Override
+	public void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		delegate.onMethodOverride(referrer, referencedMethod);
+		record(RecordedReference.of(Kind.METHOD_OVERRIDE, referrer, referencedMethod, referencedMethod.getParameterTypes()));
+	}
+
+	@Override
+	public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		delegate.onMethodCall(referrer, referencedMethod);
+		record(RecordedReference.of(Kind.METHOD_CALL, referrer, referencedMethod, referencedMethod.getParameterTypes()));
+	}
+
+	@Override
+	public void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+		delegate.onMethodNotFound(referrer, clazz, name, paramTypes);
+		record(RecordedReference.of(Kind.METHOD_NOT_FOUND, referrer, clazz, name, paramTypes));
+	}
+
+	@Override
+	public void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		delegate.onConstructorCall(referrer, constructor);
+		record(RecordedReference.of(Kind.CONSTRUCTOR_CALL, referrer, constructor, constructor.getParameterTypes()));
+	}
+
+	@Override
+	public void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		delegate.onConstructorNotFound(referrer, clazz, paramTypes);
+		record(RecordedReference.of(Kind.CONSTRUCTOR_NOT_FOUND, referrer, clazz, null, paramTypes));
+	}
+
+	@Override
+	public void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		delegate.onFieldAccess(referrer, referencedField);
+		record(RecordedReference.of(Kind.FIELD_ACCESS, referrer, referencedField, null));
+	}
+
+	@Override
+	public void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+		delegate.onFieldNotFound(referrer, clazz, referencedField);
+		record(RecordedReference.of(Kind.FIELD_NOT_FOUND, referrer, clazz, referencedField, null));
+	}
+
+	private void record(final RecordedReference reference) {
+		if (recording != null) {
+			recording.add(reference);
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Persists the references found in each inspected class, keyed by a fingerprint of its bytecode
+ * and of the bytecode of all classes it refers to.
+ * <p>
+ * On the next run, classes whose bytecode and whose dependencies did not change do not need to be visited again,
+ * their references are just replayed from this index. Instances are thread safe.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ReferenceIndex {
+
+	private static final int MAGIC = 0x434F4C49;
+	private static final int VERSION = 2;
+
+	// by absolute path of the index file
+	private static final ConcurrentMap<File, Lock> FILE_LOCKS = new ConcurrentHashMap<File, Lock>();
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * An inspection loads the index before and saves it after visiting the classes, 
+	 * thus inspections within this JVM using the same index file have to hold its lock meanwhile.
+	 *
+	 * @param file the index file
+	 * @return the lock for the given index file, the same instance for all calls with the same file
+	 */
+	public static Lock lockFor(final File file) {
+		final File key = file.getAbsoluteFile().toPath().normalize().toFile();
+		Lock lock = FILE_LOCKS.get(key);
+		if (lock == null) {
+			final Lock newLock = new ReentrantLock();
+			lock = FILE_LOCKS.putIfAbsent(key, newLock);
+			if (lock == null) {
+				lock = newLock;
+			}
+		}
+		return lock;
+	}
+
+	/**
+	 * Loads an index which was saved by a previous run.
+	 *
+	 * @param file the index file
+	 * @return the loaded index, empty if the file does not exist or was written by another version
+	 * @throws InspectionException if the file could not be read
+	 */
+	public static ReferenceIndex load(final File file) {
+		final ReferenceIndex index = new ReferenceIndex();
+		if (!file.isFile()) {
+			return index;
+		}
+		final DataInputStream in;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		} catch (IOException exc) {
+			throw new InspectionException("could not open reference index " + file, exc);
+		}
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return index;
+			}
+			final int entryCount = in.readInt();
+			for (int n = 0; n < entryCount; ++n) {
+				final String className = in.readUTF();
+				final long fingerprint = in.readLong();
+				final int referenceCount = in.readInt();
+				final List<RecordedReference> references = new ArrayList<RecordedReference>(referenceCount);
+				for (int r = 0; r < referenceCount; ++r) {
+					references.add(RecordedReference.read(in));
+				}
+				index.entries.put(className, new Entry(fingerprint, references));
+			}
+			return index;
+		} catch (IOException exc) {
+			throw new InspectionException("could not read reference index " + file, exc);
+		} finally {
+			Util.close(in);
+		}
+	}
+
+	/**
+	 * Saves this index, the file is replaced atomically where supported by the file system,
+	 * thus concurrent inspections using the same file do not corrupt it.
+	 *
+	 * @param file the index file
+	 * @throws InspectionException if the file could not be written
+	 */
+	public void save(final File file) {
+		File tempFile = null;
+		try {
+			tempFile = File.createTempFile(file.getName() + ".", null, file.getAbsoluteFile().getParentFile());
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				final Map<String, Entry> snapshot = new HashMap<String, Entry>(entries);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<String, Entry> entry: snapshot.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue().fingerprint);
+					out.writeInt(entry.getValue().references.size());
+					for (RecordedReference reference: entry.getValue().references) {
+						reference.write(out);
+					}
+				}
+			} finally {
+				out.close();
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exc) {
+			if (tempFile != null && !tempFile.delete()) {
+				tempFile.deleteOnExit();
+			}
+			throw new InspectionException("could not write reference index " + file, exc);
+		}
+	}
+
+	/**
+	 * The recorded references of a class depend on the classes it refers to: e.g. a called method might 
+	 * get moved to another class of the hierarchy or an overridable method might get added to a supertype. 
+	 * Thus the fingerprint includes all classes in the constant pool of the class, including itself,
+	 * and all their transitive supertypes.
+	 *
+	 * @param bytecode the complete bytecode of a class
+	 * @param symbolTable provides the bytecode of the referenced classes
+	 * @return a fingerprint which changes whenever the bytecode of the class or of any class it depends on changes
+	 * @throws InspectionException if the bytecode of a class could not be read
+	 */
+	public static long fingerprint(final byte[] bytecode, final SymbolTable symbolTable) {
+		final Collection<String> classNames = new TreeSet<String>();
+		ClassFileParser.readConstants(bytecode, classNames, new ArrayList<String>());
+
+		final CRC32 crc = new CRC32();
+		crc.update(bytecode, 0, bytecode.length);
+		for (String className: classNames) {
+			final byte[] name = className.getBytes(StandardCharsets.UTF_8);
+			crc.update(name, 0, name.length);
+			Util.updateChecksum(crc, symbolTable.getHierarchyFingerprint(className));
+		}
+		return (crc.getValue() << 32) | bytecode.length;
+	}
+
+	/**
+	 * @return the number of classes in this index
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Removes all classes which are not in the given collection, e.g. classes which do not exist anymore.
+	 *
+	 * @param classNames qualified names of the classes to keep
+	 */
+	public void retainAll(final Collection<String> classNames) {
+		entries.keySet().retainAll(classNames);
+	}
+
+	/**
+	 * @param className qualified name of the class
+	 * @param fingerprint the fingerprint of the current bytecode of the class
+	 * @return the recorded references or null if the class is not indexed or its bytecode has changed
+	 */
+	List<RecordedReference> get(final String className, final long fingerprint) {
+		final Entry entry = entries.get(className);
+		return entry != null && entry.fingerprint == fingerprint ? entry.references : null;
+	}
+
+	void put(final String className, final long fingerprint, final List<RecordedReference> references) {
+		entries.put(className, new Entry(fingerprint, Collections.unmodifiableList(references)));
+	}
+
+	void remove(final String className) {
+		entries.remove(className);
+	}
+
+	private static final class Entry {
+		private final long fingerprint;
+		private final List<RecordedReference> references;
+
+		Entry(final long fingerprint, final List<RecordedReference> references) {
+			this.fingerprint = fingerprint;
+			this.references = references;
+		}
+	}
+}
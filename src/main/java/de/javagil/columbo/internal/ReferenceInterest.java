@@ -0,0 +1,181 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.objectweb.asm.Type;
+
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.SelectiveReferenceVisitor;
+
+/**
+ * The kinds and targets of references a {@link ReferenceVisitor} is interested in, 
+ * see {@link SelectiveReferenceVisitor}.
+ * <p>
+ * All checks work on internal class names from the bytecode, thus they can be made 
+ * before anything gets resolved via reflection.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class ReferenceInterest {
+
+	/**
+	 * Interested in all references, as for any {@link ReferenceVisitor} which is not selective.
+	 */
+	static final ReferenceInterest ALL = new ReferenceInterest(EnumSet.allOf(ReferenceKind.class), null);
+
+	private final Set<ReferenceKind> kinds;
+	private final ConstantPoolFilter targets;
+
+	private ReferenceInterest(final Set<ReferenceKind> kinds, final ConstantPoolFilter targets) {
+		this.kinds = kinds;
+		this.targets = targets;
+	}
+
+	/**
+	 * @param referenceVisitor any visitor
+	 * @param symbolTable used to determine whether a member might be declared in a target class
+	 * @return the interest declared by the visitor if it's a {@link SelectiveReferenceVisitor}, otherwise {@link #ALL} 
+	 */
+	static ReferenceInterest of(final ReferenceVisitor referenceVisitor, final SymbolTable symbolTable) {
+		if (!(referenceVisitor instanceof SelectiveReferenceVisitor)) {
+			return ALL;
+		}
+		final SelectiveReferenceVisitor selectiveVisitor = (SelectiveReferenceVisitor) referenceVisitor;
+		final Set<ReferenceKind> kinds = selectiveVisitor.getReferenceKinds();
+		final Collection<String> targetNames = selectiveVisitor.getTargetNames();
+		return new ReferenceInterest(kinds.isEmpty() ? EnumSet.noneOf(ReferenceKind.class) : EnumSet.copyOf(kinds),
+				targetNames != null ? new ConstantPoolFilter(targetNames, symbolTable) : null);
+	}
+
+	/**
+	 * @return true if all references are of interest, thus nothing needs to be filtered
+	 */
+	boolean isAll() {
+		return targets == null && kinds.size() == ReferenceKind.values().length;
+	}
+
+	boolean accepts(final ReferenceKind kind) {
+		return kinds.contains(kind);
+	}
+
+	boolean acceptsAnyOf(final ReferenceKind... anyOfKinds) {
+		for (ReferenceKind kind: anyOfKinds) {
+			if (kinds.contains(kind)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param kind the kind of the reference
+	 * @param internalClassName the referenced class, an array descriptor or a field descriptor
+	 * @return true if a reference of this kind to this class is of interest
+	 */
+	boolean accepts(final ReferenceKind kind, final String internalClassName) {
+		return kinds.contains(kind) && isTarget(internalClassName);
+	}
+
+	/**
+	 * @param kind the kind of the reference
+	 * @param clazz the referenced class
+	 * @return true if a reference of this kind to this class is of interest
+	 */
+	boolean accepts(final ReferenceKind kind, final Class<?> clazz) {
+		return kinds.contains(kind) && (targets == null || isTarget(Type.getInternalName(elementTypeOf(clazz))));
+	}
+
+	/**
+	 * @param kind the kind of the member reference
+	 * @param ownerInternalName the class in which the member is searched, it might be declared in a supertype
+	 * @return true if a member reference of this kind could be of interest
+	 */
+	boolean mayAcceptMemberOf(final ReferenceKind kind, final String ownerInternalName) {
+		return kinds.contains(kind) && (targets == null || targets.isOrExtendsTarget(elementTypeOf(ownerInternalName)));
+	}
+
+	/**
+	 * @param desc a method or field descriptor
+	 * @return true if a class reference to any type in the descriptor is of interest
+	 */
+	boolean acceptsAnyClassIn(final String desc) {
+		if (!kinds.contains(ReferenceKind.CLASS_REFERENCE)) {
+			return false;
+		}
+		if (targets == null) {
+			return true;
+		}
+		if (desc.charAt(0) != '(') {
+			return isTarget(Type.getType(desc));
+		}
+		if (isTarget(Type.getReturnType(desc))) {
+			return true;
+		}
+		for (Type argumentType: Type.getArgumentTypes(desc)) {
+			if (isTarget(argumentType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// internal class names or, for arrays, descriptors as used in bytecode instructions
+	private boolean isTarget(final String internalClassName) {
+		if (targets == null) {
+			return true;
+		}
+		return internalClassName.startsWith("[") 
+				? isTarget(Type.getType(internalClassName)) : targets.isTarget(internalClassName);
+	}
+
+	private boolean isTarget(final Type type) {
+		final Type elementType = type.getSort() == Type.ARRAY ? type.getElementType() : type;
+		return elementType.getSort() == Type.OBJECT && targets.isTarget(elementType.getInternalName());
+	}
+
+	private static String elementTypeOf(final String internalClassName) {
+		if (!internalClassName.startsWith("[")) {
+			return internalClassName;
+		}
+		final Type elementType = Type.getType(internalClassName).getElementType();
+		return elementType.getSort() == Type.OBJECT ? elementType.getInternalName() : null;
+	}
+
+	private static Class<?> elementTypeOf(final Class<?> clazz) {
+		Class<?> elementType = clazz;
+		while (elementType.isArray()) {
+			elementType = elementType.getComponentType();
+		}
+		return elementType;
+	}
+}
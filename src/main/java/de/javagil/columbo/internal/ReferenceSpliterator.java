@@ -0,0 +1,141 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.api.VisitorContext;
+
+/**
+ * Inspects the classes lazily, one class at a time, while the references are consumed.
+ * <p>
+ * Thus a short-circuiting operation (like {@code anyMatch}) stops the inspection as soon as it has its result.
+ * Splitting divides the remaining classes, each part gets inspected with its own {@link ClassVisitor}
+ * and {@link VisitorContext}, sharing the thread safe {@link SymbolTable}.
+ * </p>
+ * <p>
+ * A class which could not be found aborts the inspection with an {@link InspectionException},
+ * members which could not be found are delivered as {@link de.javagil.columbo.api.ReferenceKind#NOT_FOUND} references.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class ReferenceSpliterator implements Spliterator<Reference> {
+
+	private final List<String> classNames;
+	private final SymbolTable symbolTable;
+	private final ConstantPoolFilter constantPoolFilter;
+
+	private final Deque<Reference> pendingReferences = new ArrayDeque<Reference>();
+	private final BatchingReferenceVisitor batchingVisitor;
+	private final ClassVisitor classVisitor;
+
+	private int nextClass;
+	private final int endClass;
+
+	/**
+	 * @param classNames qualified names of the classes to inspect, in the order of inspection 
+	 * @param symbolTable resolves classes and members from bytecode, not closed by this spliterator
+	 * @param constantPoolFilter classes rejected by this filter are skipped, null to inspect all classes
+	 */
+	public ReferenceSpliterator(final List<String> classNames, final SymbolTable symbolTable, 
+			final ConstantPoolFilter constantPoolFilter) {
+		this(classNames, 0, classNames.size(), symbolTable, constantPoolFilter);
+	}
+
+	private ReferenceSpliterator(final List<String> classNames, final int nextClass, final int endClass, 
+			final SymbolTable symbolTable, final ConstantPoolFilter constantPoolFilter) {
+		this.classNames = classNames;
+		this.nextClass = nextClass;
+		this.endClass = endClass;
+		this.symbolTable = symbolTable;
+		this.constantPoolFilter = constantPoolFilter;
+		this.batchingVisitor = new BatchingReferenceVisitor(new BatchReferenceVisitor() {
+			@Override
+			public void onReferences(final Reference[] references) {
+				Collections.addAll(pendingReferences, references);
+			}
+
+			@Override
+			public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+				throw InspectionException.createClassNotFoundException(referrer, cause);
+			}
+		}, BatchingReferenceVisitor.DEFAULT_BATCH_SIZE);
+		this.classVisitor = new ClassVisitor(new VisitorContext(), batchingVisitor, symbolTable, constantPoolFilter);
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super Reference> action) {
+		while (pendingReferences.isEmpty()) {
+			if (nextClass >= endClass) {
+				return false;
+			}
+			classVisitor.inspect(Collections.singletonList(classNames.get(nextClass++)));
+			batchingVisitor.flush();
+		}
+		action.accept(pendingReferences.poll());
+		return true;
+	}
+
+	@Override
+	public Spliterator<Reference> trySplit() {
+		final int remaining = endClass - nextClass;
+		if (remaining < 2) {
+			return null;
+		}
+		final int middle = nextClass + remaining / 2;
+		// the prefix is split off, thus the encounter order is kept
+		final ReferenceSpliterator prefix = new ReferenceSpliterator(classNames, nextClass, middle, 
+				symbolTable, constantPoolFilter);
+		prefix.pendingReferences.addAll(pendingReferences);
+		pendingReferences.clear();
+		nextClass = middle;
+		return prefix;
+	}
+
+	/**
+	 * @return the number of classes still to inspect, the number of references is not known in advance
+	 */
+	@Override
+	public long estimateSize() {
+		return endClass - nextClass + pendingReferences.size();
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+}
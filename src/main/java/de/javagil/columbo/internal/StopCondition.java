@@ -0,0 +1,82 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.StoppableReferenceVisitor;
+
+/**
+ * Checks whether a {@link StoppableReferenceVisitor} requested to stop the inspection.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class StopCondition {
+
+	/**
+	 * For visitors which can't stop the inspection.
+	 */
+	static final StopCondition NEVER = new StopCondition(null);
+
+	private final StoppableReferenceVisitor stoppableVisitor;
+
+	private StopCondition(final StoppableReferenceVisitor stoppableVisitor) {
+		this.stoppableVisitor = stoppableVisitor;
+	}
+
+	static StopCondition of(final ReferenceVisitor referenceVisitor) {
+		final ReferenceVisitor visitor = referenceVisitor instanceof SynchronizedReferenceVisitor
+				? ((SynchronizedReferenceVisitor) referenceVisitor).getDelegate() : referenceVisitor;
+		return visitor instanceof StoppableReferenceVisitor 
+				? new StopCondition((StoppableReferenceVisitor) visitor) : NEVER;
+	}
+
+	boolean isStopRequested() {
+		return stoppableVisitor != null && stoppableVisitor.isStopRequested();
+	}
+
+	/**
+	 * @throws InspectionStopped if the inspection should stop, to leave the ASM visitors immediately
+	 */
+	void checkNotStopped() {
+		if (isStopRequested()) {
+			throw InspectionStopped.INSTANCE;
+		}
+	}
+
+	/**
+	 * Thrown through ASM to abort the visit of a class, never leaves the {@link ClassVisitor}.
+	 */
+	static final class InspectionStopped extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private static final InspectionStopped INSTANCE = new InspectionStopped();
+
+		private InspectionStopped() {
+			super("inspection stopped", null, false, false);
+		}
+	}
+}
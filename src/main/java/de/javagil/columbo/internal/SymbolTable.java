@@ -0,0 +1,325 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Resolves classes, methods, fields and constructors directly from the bytecode of the classes.
+ * <p>
+ * In contrast to reflection, the classes are never loaded, linked or initialized by the JVM.
+ * Each class is read only once, its symbol is cached for further lookups.
+ * Instances are thread safe and should be closed after use to release the jar files.
+ * </p>
+ * <p>
+ * Like class loaders, symbol tables can be layered: a class is first looked up in the parent,
+ * which allows to share the symbols of a library among the symbol tables of many clients.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public final class SymbolTable implements Closeable {
+
+	private static final String JAVA_LANG_OBJECT = "java/lang/Object";
+	private static final String CONSTRUCTOR = "<init>";
+	private static final String CLASS_INITIALIZER = "<clinit>";
+
+	// placeholder for classes which could not be found, as ConcurrentHashMap can't store null
+	private static final ClassSymbol NOT_FOUND = new ClassSymbol("<not found>", null, null, 0);
+
+	private final ClassBytesSource classBytesSource;
+	private final SymbolTable parent;
+	private final ConcurrentMap<String, ClassSymbol> symbols = new ConcurrentHashMap<String, ClassSymbol>();
+	private final ConcurrentMap<String, Long> hierarchyFingerprints = new ConcurrentHashMap<String, Long>();
+
+	/**
+	 * Creates a symbol table which reads the bytecode via the context class loader.
+	 */
+	public SymbolTable() {
+		this(new ClassBytesSource());
+	}
+
+	/**
+	 * @param classLoader used to find the bytecode resources, the classes are NOT loaded by it
+	 */
+	public SymbolTable(final ClassLoader classLoader) {
+		this(new ClassBytesSource(classLoader));
+	}
+
+	/**
+	 * @param classBytesSource provides the bytecode of the classes, gets closed with this symbol table
+	 */
+	public SymbolTable(final ClassBytesSource classBytesSource) {
+		this(classBytesSource, null);
+	}
+
+	/**
+	 * @param classBytesSource provides the bytecode of the classes not found by the parent,
+	 * 			gets closed with this symbol table
+	 * @param parent is asked first for each class, it's not closed with this symbol table, null for none
+	 */
+	public SymbolTable(final ClassBytesSource classBytesSource, final SymbolTable parent) {
+		this.classBytesSource = classBytesSource;
+		this.parent = parent;
+	}
+
+	/**
+	 * @return the source of the bytecode, can be used to read further classes from the same jar files
+	 */
+	public ClassBytesSource getClassBytesSource() {
+		return classBytesSource;
+	}
+
+	/**
+	 * @param internalClassName e.g. "java/lang/String", array types are treated like java.lang.Object
+	 * @return the symbol of the class or null if there is no such class
+	 * @throws InspectionException if the bytecode of the class could not be read
+	 */
+	public ClassSymbol getClassSymbol(final String internalClassName) {
+		final String name = internalClassName.startsWith("[") ? JAVA_LANG_OBJECT : internalClassName;
+		if (parent != null) {
+			final ClassSymbol parentSymbol = parent.getClassSymbol(name);
+			if (parentSymbol != null) {
+				return parentSymbol;
+			}
+		}
+		ClassSymbol symbol = symbols.get(name);
+		if (symbol == null) {
+			symbol = readClassSymbol(name);
+			final ClassSymbol concurrentlyRead = symbols.putIfAbsent(name, symbol);
+			if (concurrentlyRead != null) {
+				symbol = concurrentlyRead;
+			}
+		}
+		return symbol != NOT_FOUND ? symbol : null;
+	}
+
+	/**
+	 * The bytecode of the class and its supertypes is read again, thus use this only where needed,
+	 * e.g. to decide whether references found in a client of this class are still valid.
+	 *
+	 * @param internalClassName e.g. "java/lang/String", array types are treated like java.lang.Object
+	 * @return a fingerprint which changes whenever the bytecode of the class or of any of its 
+	 * 			transitive supertypes changes, 0 if the class could not be found
+	 * @throws InspectionException if the bytecode of a class could not be read
+	 */
+	public long getHierarchyFingerprint(final String internalClassName) {
+		final String name = internalClassName.startsWith("[") ? JAVA_LANG_OBJECT : internalClassName;
+		if (parent != null && parent.getClassSymbol(name) != null) {
+			return parent.getHierarchyFingerprint(name);
+		}
+		Long fingerprint = hierarchyFingerprints.get(name);
+		if (fingerprint == null) {
+			fingerprint = computeHierarchyFingerprint(name);
+			hierarchyFingerprints.putIfAbsent(name, fingerprint);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Finds the method which would be called by the JVM for the given specification,
+	 * searching the class itself, its superclasses and then its interfaces.
+	 *
+	 * @param internalClassName the target class of the call
+	 * @param methodName name of the method
+	 * @param methodDesc the full internal descriptor of the method
+	 * @return the method or null if none found
+	 */
+	public MemberSymbol findMethod(final String internalClassName, final String methodName, final String methodDesc) {
+		for (ClassSymbol symbol = getClassSymbol(internalClassName); symbol != null; symbol = superclassOf(symbol)) {
+			final MemberSymbol method = symbol.getDeclaredMethod(methodName, methodDesc);
+			if (method != null) {
+				return method;
+			}
+		}
+		for (ClassSymbol symbol = getClassSymbol(internalClassName); symbol != null; symbol = superclassOf(symbol)) {
+			final MemberSymbol method = findInterfaceMethod(symbol, methodName, methodDesc);
+			if (method != null) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the constructor which would be called by the given specification.
+	 * Constructors are not inherited, thus only the class itself is searched.
+	 *
+	 * @param internalClassName the class to instantiate
+	 * @param constructorDesc the full internal descriptor of the constructor
+	 * @return the constructor or null if none found
+	 */
+	public MemberSymbol findConstructor(final String internalClassName, final String constructorDesc) {
+		final ClassSymbol symbol = getClassSymbol(internalClassName);
+		return symbol != null ? symbol.getDeclaredMethod(CONSTRUCTOR, constructorDesc) : null;
+	}
+
+	/**
+	 * Finds the field which would be accessed by the JVM for the given specification,
+	 * searching the class itself, its interfaces and then its superclasses.
+	 *
+	 * @param internalClassName the class whose field is accessed
+	 * @param fieldName name of the field
+	 * @return the field or null if none found
+	 */
+	public MemberSymbol findField(final String internalClassName, final String fieldName) {
+		final ClassSymbol symbol = getClassSymbol(internalClassName);
+		if (symbol == null) {
+			return null;
+		}
+		MemberSymbol field = symbol.getDeclaredField(fieldName);
+		if (field == null) {
+			for (String implementedInterface: symbol.getInterfaces()) {
+				field = findField(implementedInterface, fieldName);
+				if (field != null) {
+					return field;
+				}
+			}
+		}
+		if (field == null && symbol.getSuperName() != null) {
+			field = findField(symbol.getSuperName(), fieldName);
+		}
+		return field;
+	}
+
+	/**
+	 * Finds the methods which get overridden by the specified method, one per direct supertype.
+	 * Like with Java reflection, methods are matched by name and argument types, private methods are ignored.
+	 *
+	 * @param internalClassName the class which declares the overriding method
+	 * @param methodName name of the overriding method
+	 * @param methodDesc internal descriptor of the overriding method, only the arguments are relevant
+	 * @return the overridden methods, empty if none
+	 */
+	public List<MemberSymbol> findOverriddenMethods(final String internalClassName, final String methodName,
+			final String methodDesc) {
+		final ClassSymbol symbol = getClassSymbol(internalClassName);
+		if (symbol == null || CONSTRUCTOR.equals(methodName) || CLASS_INITIALIZER.equals(methodName)) {
+			return Collections.emptyList();
+		}
+
+		final List<MemberSymbol> overriddenMethods = new ArrayList<MemberSymbol>();
+		if (symbol.getSuperName() != null && !symbol.isInterface()) {
+			addIfNotNull(overriddenMethods, findInheritableMethod(symbol.getSuperName(), methodName, methodDesc));
+		}
+		for (String implementedInterface: symbol.getInterfaces()) {
+			addIfNotNull(overriddenMethods, findInheritableMethod(implementedInterface, methodName, methodDesc));
+		}
+		return overriddenMethods;
+	}
+
+	private MemberSymbol findInheritableMethod(final String internalClassName, final String methodName,
+			final String argumentsDesc) {
+		final ClassSymbol symbol = getClassSymbol(internalClassName);
+		if (symbol == null) {
+			return null;
+		}
+
+		MemberSymbol method = symbol.getDeclaredMethodByArguments(methodName, argumentsDesc);
+		if (method != null && !method.isPrivate()) {
+			return method;
+		}
+		if (symbol.getSuperName() != null && !symbol.isInterface()) {
+			method = findInheritableMethod(symbol.getSuperName(), methodName, argumentsDesc);
+			if (method != null) {
+				return method;
+			}
+		}
+		for (String implementedInterface: symbol.getInterfaces()) {
+			method = findInheritableMethod(implementedInterface, methodName, argumentsDesc);
+			if (method != null) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private MemberSymbol findInterfaceMethod(final ClassSymbol symbol, final String methodName, final String methodDesc) {
+		for (String implementedInterface: symbol.getInterfaces()) {
+			final ClassSymbol interfaceSymbol = getClassSymbol(implementedInterface);
+			if (interfaceSymbol != null) {
+				MemberSymbol method = interfaceSymbol.getDeclaredMethod(methodName, methodDesc);
+				if (method == null) {
+					method = findInterfaceMethod(interfaceSymbol, methodName, methodDesc);
+				}
+				if (method != null) {
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+	private ClassSymbol superclassOf(final ClassSymbol symbol) {
+		return symbol.getSuperName() != null ? getClassSymbol(symbol.getSuperName()) : null;
+	}
+
+	private static void addIfNotNull(final List<MemberSymbol> list, final MemberSymbol member) {
+		if (member != null) {
+			list.add(member);
+		}
+	}
+
+	private long computeHierarchyFingerprint(final String internalClassName) {
+		final ClassSymbol symbol = getClassSymbol(internalClassName);
+		final byte[] bytes = symbol != null ? classBytesSource.readBytes(internalClassName) : null;
+		if (bytes == null) {
+			return 0;
+		}
+		final CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		if (symbol.getSuperName() != null) {
+			Util.updateChecksum(crc, getHierarchyFingerprint(symbol.getSuperName()));
+		}
+		for (String implementedInterface: symbol.getInterfaces()) {
+			Util.updateChecksum(crc, getHierarchyFingerprint(implementedInterface));
+		}
+		return (crc.getValue() << 32) | bytes.length;
+	}
+
+	private ClassSymbol readClassSymbol(final String internalClassName) {
+		final byte[] bytes = classBytesSource.readBytes(internalClassName);
+		return bytes != null ? ClassFileParser.parse(bytes) : NOT_FOUND;
+	}
+
+	/**
+	 * Releases the jar files opened to read the bytecode, the parent is left open.
+	 */
+	@Override
+	public void close() throws IOException {
+		classBytesSource.close();
+	}
+}
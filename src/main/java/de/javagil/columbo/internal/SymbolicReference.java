@@ -0,0 +1,90 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+/**
+ * A field or method reference from the constant pool of a class, as it is resolved by the JVM when linking.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class SymbolicReference {
+
+	private final boolean field;
+	private final boolean interfaceMethod;
+	private final String owner;
+	private final String name;
+	private final String desc;
+
+	SymbolicReference(final boolean field, final boolean interfaceMethod, final String owner, final String name,
+			final String desc) {
+		this.field = field;
+		this.interfaceMethod = interfaceMethod;
+		this.owner = owner;
+		this.name = name;
+		this.desc = desc;
+	}
+
+	/**
+	 * @return true for a field reference, false for a method or constructor reference
+	 */
+	boolean isField() {
+		return field;
+	}
+
+	/**
+	 * @return true for an interface method reference, which must not be resolved in a class and vice versa
+	 */
+	boolean isInterfaceMethod() {
+		return interfaceMethod;
+	}
+
+	/**
+	 * @return the internal name of the class in which the member is searched, for arrays the descriptor
+	 */
+	String getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return the name of the member, "&lt;init&gt;" for constructors
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the internal descriptor of the member
+	 */
+	String getDesc() {
+		return desc;
+	}
+
+	@Override
+	public String toString() {
+		return owner + "#" + name + desc;
+	}
+}
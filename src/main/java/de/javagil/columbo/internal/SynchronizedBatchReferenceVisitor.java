@@ -0,0 +1,55 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * Serializes all callbacks to a {@link BatchReferenceVisitor}, the lock is taken once per batch.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class SynchronizedBatchReferenceVisitor implements BatchReferenceVisitor {
+
+	private final BatchReferenceVisitor delegate;
+
+	SynchronizedBatchReferenceVisitor(final BatchReferenceVisitor delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized void onReferences(final Reference[] references) {
+		delegate.onReferences(references);
+	}
+
+	@Override
+	public synchronized void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		delegate.onClassNotFound(referrer, cause);
+	}
+}
@@ -0,0 +1,115 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.api.SelectiveReferenceVisitor;
+
+/**
+ * Serializes all callbacks to a {@link ReferenceVisitor} which is not thread safe by itself.
+ * The interest of a {@link SelectiveReferenceVisitor} is passed through.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class SynchronizedReferenceVisitor implements SelectiveReferenceVisitor {
+
+	private final ReferenceVisitor delegate;
+
+	SynchronizedReferenceVisitor(final ReferenceVisitor delegate) {
+		this.delegate = delegate;
+	}
+
+	ReferenceVisitor getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public Set<ReferenceKind> getReferenceKinds() {
+		return delegate instanceof SelectiveReferenceVisitor 
+				? ((SelectiveReferenceVisitor) delegate).getReferenceKinds() : EnumSet.allOf(ReferenceKind.class);
+	}
+
+	@Override
+	public Collection<String> getTargetNames() {
+		return delegate instanceof SelectiveReferenceVisitor ? ((SelectiveReferenceVisitor) delegate).getTargetNames() : null;
+	}
+
+	@Override
+	public synchronized void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+		delegate.onClassReference(referrer, referencedClass);
+	}
+
+	@Override
+	public synchronized void onClassNotFound(final Referrer referrer, final Throwable cause) {
+		delegate.onClassNotFound(referrer, cause);
+	}
+
+	@Override
+	public synchronized void onMethodOverride(final Referrer referrer, final Method referencedMethod) {
+		delegate.onMethodOverride(referrer, referencedMethod);
+	}
+
+	@Override
+	public synchronized void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+		delegate.onMethodCall(referrer, referencedMethod);
+	}
+
+	@Override
+	public synchronized void onMethodNotFound(final Referrer referrer, final Class<?> clazz, final String name,
+			final Class<?>[] paramTypes) {
+		delegate.onMethodNotFound(referrer, clazz, name, paramTypes);
+	}
+
+	@Override
+	public synchronized void onConstructorCall(final Referrer referrer, final Constructor<?> constructor) {
+		delegate.onConstructorCall(referrer, constructor);
+	}
+
+	@Override
+	public synchronized void onConstructorNotFound(final Referrer referrer, final Class<?> clazz, final Class<?>[] paramTypes) {
+		delegate.onConstructorNotFound(referrer, clazz, paramTypes);
+	}
+
+	@Override
+	public synchronized void onFieldAccess(final Referrer referrer, final Field referencedField) {
+		delegate.onFieldAccess(referrer, referencedField);
+	}
+
+	@Override
+	public synchronized void onFieldNotFound(final Referrer referrer, final Class<?> clazz, final String referencedField) {
+		delegate.onFieldNotFound(referrer, clazz, referencedField);
+	}
+}
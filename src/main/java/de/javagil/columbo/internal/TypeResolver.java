@@ -0,0 +1,149 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * Resolves the types referenced by the inspected code to classes and remembers the types which can't be resolved,
+ * thus a missing type is searched only once by the same {@link ClassVisitor}.
+ * <p>
+ * Each unresolvable type gets a single failure without stack trace, which is reported for all references to it.
+ * Thus later references neither create nor throw any exception, if resolved via
+ * {@link #resolve(ReferenceVisitor, Referrer, String)}. Not thread safe, use one instance per worker.
+ * </p>
+ *
+ * @author michael.hoennig@javagil.de
+ */
+final class TypeResolver {
+
+	// the shared failures of the types or method descriptors which could not be resolved
+	private final Map<String, InspectionException> failures = new HashMap<String, InspectionException>();
+
+	/**
+	 * @param taggedTypeName e.g. "java/lang/String" or "[Ljava/lang/String;"
+	 * @return the class of the given type
+	 * @throws InspectionException the shared failure of the type, if it can't be resolved
+	 */
+	Class<?> toClass(final String taggedTypeName) {
+		throwIfKnownAsUnresolvable(taggedTypeName);
+		try {
+			return BytecodeUtil.taggedTypeNameToClass(taggedTypeName);
+		} catch (InspectionException exc) {
+			throw remember(taggedTypeName, exc);
+		}
+	}
+
+	/**
+	 * @param methodDesc internal descriptor of a method, e.g. "(Ljava/lang/String;I)V"
+	 * @return the classes of the parameter types
+	 * @throws InspectionException the shared failure of the descriptor, if a parameter type can't be resolved
+	 */
+	Class<?>[] toParameterTypes(final String methodDesc) {
+		throwIfKnownAsUnresolvable(methodDesc);
+		try {
+			return BytecodeUtil.determineParameterTypes(methodDesc);
+		} catch (InspectionException exc) {
+			throw remember(methodDesc, exc);
+		}
+	}
+
+	/**
+	 * Like {@link #toClass(String)}, but reports a type which can't be resolved to
+	 * {@link ReferenceVisitor#onClassNotFound(Referrer, Throwable)} instead of throwing its failure.
+	 *
+	 * @param visitor receives the failure
+	 * @param referrer the code referring to the type
+	 * @param taggedTypeName e.g. "java/lang/String" or "[Ljava/lang/String;"
+	 * @return the class of the given type, null if it can't be resolved
+	 */
+	Class<?> resolve(final ReferenceVisitor visitor, final Referrer referrer, final String taggedTypeName) {
+		final InspectionException knownFailure = failures.get(taggedTypeName);
+		if (knownFailure != null) {
+			visitor.onClassNotFound(referrer, knownFailure);
+			return null;
+		}
+		try {
+			return toClass(taggedTypeName);
+		} catch (InspectionException exc) {
+			visitor.onClassNotFound(referrer, exc);
+		}
+		return null;
+	}
+
+	/**
+	 * Like {@link #toParameterTypes(String)}, but reports a parameter type which can't be resolved to
+	 * {@link ReferenceVisitor#onClassNotFound(Referrer, Throwable)} instead of throwing its failure.
+	 *
+	 * @param visitor receives the failure
+	 * @param referrer the code referring to the method
+	 * @param methodDesc internal descriptor of a method, e.g. "(Ljava/lang/String;I)V"
+	 * @return the classes of the parameter types, null if any of them can't be resolved
+	 */
+	Class<?>[] resolveParameterTypes(final ReferenceVisitor visitor, final Referrer referrer, final String methodDesc) {
+		final InspectionException knownFailure = failures.get(methodDesc);
+		if (knownFailure != null) {
+			visitor.onClassNotFound(referrer, knownFailure);
+			return null;
+		}
+		try {
+			return toParameterTypes(methodDesc);
+		} catch (InspectionException exc) {
+			visitor.onClassNotFound(referrer, exc);
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether a type is already known to be unresolvable, without searching it again.
+	 *
+	 * @param taggedTypeName e.g. "java/lang/String" or "[Ljava/lang/String;"
+	 * @return the shared failure of the type, null if it's not known to be unresolvable
+	 */
+	InspectionException getFailure(final String taggedTypeName) {
+		return failures.get(taggedTypeName);
+	}
+
+	// the failure is created just once per type, without stack trace, the cause tells where it was searched
+	private InspectionException remember(final String typeOrMethodDesc, final InspectionException exc) {
+		final InspectionException failure = new InspectionException(exc.getMessage(), exc.getCause(), false);
+		failures.put(typeOrMethodDesc, failure);
+		return failure;
+	}
+
+	private void throwIfKnownAsUnresolvable(final String typeOrMethodDesc) {
+		final InspectionException failure = failures.get(typeOrMethodDesc);
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
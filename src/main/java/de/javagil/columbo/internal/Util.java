@@ -26,6 +26,24 @@
 
 package de.javagil.columbo.internal;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.Checksum;
+
+import de.javagil.columbo.api.InspectionException;
+
 /**
  * A bunch of convenience methods.
  * 
@@ -67,4 +85,112 @@ public final class Util {
 	public static String withDefault(final String string, final String defaultValue) {
 		return string == null || string.length() == 0 ? defaultValue : string;
 	}
+
+	/**
+	 * Closes the given resource, converting a checked exception.
+	 * 
+	 * @param closeable the resource to close, null is ignored
+	 * @throws InspectionException if closing failed
+	 */
+	public static void close(final Closeable closeable) {
+		if (closeable == null) {
+			return;
+		}
+		try {
+			closeable.close();
+		} catch (IOException exc) {
+			throw new InspectionException(exc);
+		}
+	}
+
+	/**
+	 * Updates the checksum with the 8 bytes of the given value, most significant byte first.
+	 * 
+	 * @param checksum the checksum to update
+	 * @param value the value to add to the checksum
+	 */
+	public static void updateChecksum(final Checksum checksum, final long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			checksum.update((int) (value >>> shift));
+		}
+	}
+
+	/**
+	 * Determines how many tasks the given executor can run at the same time.
+	 * 
+	 * @param executor the executor to run tasks
+	 * @return the parallelism of a {@link ForkJoinPool}, the pool size of a {@link ThreadPoolExecutor}
+	 * 			(limited to the available processors if it can grow unbounded), otherwise the available processors
+	 */
+	public static int parallelismOf(final ExecutorService executor) {
+		final int availableProcessors = Runtime.getRuntime().availableProcessors();
+		if (executor instanceof ForkJoinPool) {
+			return ((ForkJoinPool) executor).getParallelism();
+		}
+		if (executor instanceof ThreadPoolExecutor) {
+			final ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+			return Math.max(1, Math.min(threadPool.getMaximumPoolSize(), 
+					Math.max(threadPool.getCorePoolSize(), availableProcessors)));
+		}
+		return availableProcessors;
+	}
+
+	/**
+	 * Runs the given tasks via the executor and waits until all of them are done.
+	 * If a task fails, the remaining tasks get cancelled.
+	 * 
+	 * @param <T> type of the task results
+	 * @param executor runs the tasks, it's not shut down afterwards
+	 * @param tasks the tasks to run
+	 * @return the results of the tasks, in the order of the tasks
+	 * @throws InspectionException if interrupted or a task failed with a checked exception,
+	 * 			other exceptions thrown by a task are rethrown as they are
+	 */
+	public static <T> List<T> runAll(final ExecutorService executor, final Collection<? extends Callable<T>> tasks) {
+		final List<Future<T>> futures = new ArrayList<Future<T>>();
+		try {
+			for (Callable<T> task: tasks) {
+				futures.add(executor.submit(task));
+			}
+			final List<T> results = new ArrayList<T>(futures.size());
+			for (Future<T> future: futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new InspectionException(exc);
+		} catch (ExecutionException exc) {
+			throw asRuntimeException(exc.getCause());
+		} finally {
+			for (Future<T> future: futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static RuntimeException asRuntimeException(final Throwable cause) {
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		return new InspectionException(cause.getMessage(), cause);
+	}
+
+	/**
+	 * Converts a file into a URL, e.g. for a {@link java.net.URLClassLoader}.
+	 * 
+	 * @param location a jar file or a class directory
+	 * @return the URL of the given location
+	 * @throws InspectionException if the location can't be converted into a URL
+	 */
+	public static URL toURL(final File location) {
+		try {
+			return location.toURI().toURL();
+		} catch (MalformedURLException exc) {
+			throw new InspectionException("invalid location " + location, exc);
+		}
+	}
 }
@@ -26,14 +26,35 @@
 package de.javagil.columbo.api;
 
 import static de.javagil.columbo.internal.Util.areEqual;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import de.javagil.columbo.internal.ReferenceIndex;
 import de.javagil.columbo.internal.ReferrerImpl;
 import de.javagil.columbo.testbed.constructor.SomeClassCallingConstructors;
 import de.javagil.columbo.testbed.constructor.SomeClassWithContructor;
@@ -59,6 +80,9 @@ public class BytecodeInspectorTest {
 
 	private static final Referrer[] NO_REFERERS = new Referrer[0];
 	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private BytecodeInspector inspector;
 	private List<Referrer> foundReferrers = new ArrayList<Referrer>();
 
@@ -186,6 +210,311 @@ public class BytecodeInspectorTest {
     			referer(SomeClassCallingConstructors.class, "someMethod", 57));
     }
     
+    @Test
+    public final void constructorOfDateIsFoundInParallel() throws Exception {
+    	
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+
+    	inspector.inspectInParallel(new ReferenceVisitorAdapter() {
+			
+    		public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+    			if (referencedClass == java.util.Date.class) {
+    				// not synchronized: the callbacks are expected to get serialized
+    				foundReferrers.add(referrer);
+    			}
+    		}
+    	});
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void classesNotReferencingDateAreSkipped() throws Exception {
+    	final Set<String> visitedClassNames = new HashSet<String>();
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	inspector = inspector.skipClassesNotReferencing(java.util.Date.class.getName());
+
+    	whenFindCallingMethodsInClassPathUsingMatcher(new ReferenceVisitorAdapter() {
+			
+    		public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+    			visitedClassNames.add(referrer.getJavaElement().className);
+    			if (referencedClass == java.util.Date.class) {
+    				foundReferrers.add(referrer);
+    			}
+    		}
+    	});
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    	assertEquals(Collections.singleton(SomeClassUsingDateConstructor.class.getName()), visitedClassNames);
+    }
+    
+    @Test
+    public final void referencesOfUnchangedClassesAreReplayedFromIndex() throws Exception {
+    	final File indexFile = new File(temporaryFolder.getRoot(), "columbo.index");
+    	final ReferenceVisitor dateConstructorMatcher = new ReferenceVisitorAdapter() {
+			
+    		public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    			if (constructor.getDeclaringClass() == java.util.Date.class) {
+    				foundReferrers.add(referrer);
+    			}
+    		}
+    	};
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	inspector = inspector.useReferenceIndex(indexFile);
+    	whenFindCallingMethodsInClassPathUsingMatcher(dateConstructorMatcher);
+    	final List<Referrer> referrersOfFirstRun = new ArrayList<Referrer>(foundReferrers);
+    	foundReferrers.clear();
+
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	inspector = inspector.useReferenceIndex(indexFile);
+    	whenFindCallingMethodsInClassPathUsingMatcher(dateConstructorMatcher);
+
+    	assertEquals(BAD_TEST_CLASSES.length, ReferenceIndex.load(indexFile).size());
+    	assertEquals(referrersOfFirstRun, foundReferrers);
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void concurrentInspectionsWithSameInspector() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	final ExecutorService executor = Executors.newFixedThreadPool(4);
+    	try {
+    		final List<Future<List<Referrer>>> futures = new ArrayList<Future<List<Referrer>>>();
+    		for (int n = 0; n < 8; ++n) {
+    			futures.add(executor.submit(new Callable<List<Referrer>>() {
+    				@Override
+    				public List<Referrer> call() {
+    					final List<Referrer> referrers = new ArrayList<Referrer>();
+    					inspector.inspect(new ReferenceVisitorAdapter() {
+    						@Override
+    						public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    							referrers.add(referrer);
+    						}
+    					});
+    					return referrers;
+    				}
+    			}));
+    		}
+    		
+    		final List<Referrer> referrersOfFirstInspection = futures.get(0).get();
+    		for (Future<List<Referrer>> future: futures) {
+    			assertEquals(new HashSet<Referrer>(referrersOfFirstInspection), new HashSet<Referrer>(future.get()));
+    		}
+    	} finally {
+    		executor.shutdown();
+    	}
+    }
+    
+    @Test
+    public final void configuringMethodsReturnConfiguredCopy() throws Exception {
+    	final Set<String> visitedClassNames = new HashSet<String>();
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+
+    	final BytecodeInspector restrictedInspector = inspector.skipClassesNotReferencing(java.util.Date.class.getName())
+    			.useReferenceIndex(new File(temporaryFolder.getRoot(), "columbo.index"));
+    	whenFindCallingMethodsInClassPathUsingMatcher(new ReferenceVisitorAdapter() {
+    		public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+    			visitedClassNames.add(referrer.getJavaElement().className);
+    		}
+    	});
+
+    	assertNotSame(inspector, restrictedInspector);
+    	assertEquals(BAD_TEST_CLASSES.length, visitedClassNames.size());
+    	assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+    
+    @Test
+    public final void concurrentInspectionsUsingSameIndexFile() throws Exception {
+    	final File indexFile = new File(temporaryFolder.getRoot(), "columbo.index");
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	inspector = inspector.useReferenceIndex(indexFile);
+    	final ExecutorService executor = Executors.newFixedThreadPool(4);
+    	try {
+    		final List<Future<Set<Referrer>>> futures = new ArrayList<Future<Set<Referrer>>>();
+    		for (int n = 0; n < 8; ++n) {
+    			futures.add(executor.submit(new Callable<Set<Referrer>>() {
+    				@Override
+    				public Set<Referrer> call() {
+    					final Set<Referrer> referrers = new HashSet<Referrer>();
+    					inspector.inspect(new ReferenceVisitorAdapter() {
+    						@Override
+    						public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    							referrers.add(referrer);
+    						}
+    					});
+    					return referrers;
+    				}
+    			}));
+    		}
+
+    		final Set<Referrer> referrersOfFirstInspection = futures.get(0).get();
+    		for (Future<Set<Referrer>> future: futures) {
+    			assertEquals(referrersOfFirstInspection, future.get());
+    		}
+    		assertEquals(BAD_TEST_CLASSES.length, ReferenceIndex.load(indexFile).size());
+    	} finally {
+    		executor.shutdown();
+    	}
+    }
+    
+    @Test
+    public final void selectiveVisitorGetsOnlyDeclaredReferences() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+
+    	whenFindCallingMethodsInClassPathUsingMatcher(new SomeSelectiveReferenceVisitor() {
+
+    		public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+    			fail("class references not declared, but got " + referencedClass);
+    		}
+
+    		public void onMethodCall(final Referrer referrer, final Method referencedMethod) {
+    			fail("method calls not declared, but got " + referencedMethod);
+    		}
+
+    		public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    			assertEquals(java.util.Date.class, constructor.getDeclaringClass());
+    			foundReferrers.add(referrer);
+    		}
+    	});
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void batchedInspectionFindsSameReferences() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+
+    	inspector.inspectInBatches(new ReferenceVisitorBatchAdapter(new ReferenceVisitorAdapter() {
+			
+    		public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    			if (constructor.getDeclaringClass() == java.util.Date.class) {
+    				foundReferrers.add(referrer);
+    			}
+    		}
+    	}));
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void referencesStreamFindsSameReferences() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+
+    	final Stream<Reference> references = inspector.references();
+    	try {
+    		foundReferrers.addAll(references.parallel()
+    				.filter(new Predicate<Reference>() {
+    					@Override
+    					public boolean test(final Reference reference) {
+    						return reference.getKind() == ReferenceKind.CONSTRUCTOR_CALL 
+    								&& reference.getReferencedClass() == java.util.Date.class;
+    					}
+    				})
+    				.map(new Function<Reference, Referrer>() {
+    					@Override
+    					public Referrer apply(final Reference reference) {
+    						return reference.getReferrer();
+    					}
+    				})
+    				.collect(Collectors.<Referrer>toList()));
+    	} finally {
+    		references.close();
+    	}
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void batchedParallelInspectionFindsSameReferences() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    	try {
+    		inspector.inspectInBatchesInParallel(new ReferenceVisitorBatchAdapter(new ReferenceVisitorAdapter() {
+
+    			public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+    				if (constructor.getDeclaringClass() == java.util.Date.class) {
+    					foundReferrers.add(referrer);
+    				}
+    			}
+    		}), executor);
+    	} finally {
+    		executor.shutdown();
+    	}
+
+    	thenExpectToFind(
+    			referer(SomeClassUsingDateConstructor.class, "<clinit>", 40),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 43),
+    			referer(SomeClassUsingDateConstructor.class, "methodUsingDateConstructor", 44));
+    }
+    
+    @Test
+    public final void stoppableVisitorStopsInspectionAfterFirstFinding() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	final StoppingAtFirstDateConstructor visitor = new StoppingAtFirstDateConstructor();
+
+    	inspector.inspect(visitor);
+
+    	assertEquals(1, foundReferrers.size());
+    	assertEquals(Collections.<String>emptySet(), visitor.classesVisitedAfterStop);
+    }
+
+    @Test
+    public final void stoppableVisitorStopsParallelInspection() throws Exception {
+    	givenBytecodeInspectorForClasses(BAD_TEST_CLASSES);
+    	final StoppingAtFirstDateConstructor visitor = new StoppingAtFirstDateConstructor();
+    	final ExecutorService executor = Executors.newFixedThreadPool(4);
+    	try {
+    		inspector.inspectInParallel(visitor, executor);
+    	} finally {
+    		executor.shutdown();
+    	}
+
+    	assertEquals(1, foundReferrers.size());
+    }
+
+    @Test
+    public final void buildClassHierarchyContainsInspectedClassesAndTheirSupertypes() {
+    	givenBytecodeInspectorForClasses(GOOD_TEST_CLASSES);
+
+    	final TypeHierarchy hierarchy = inspector.buildClassHierarchy();
+
+    	assertEquals(Collections.singletonList("java.lang.Object"), 
+    			hierarchy.getSupertypes(SomeCleanClass.class.getName()));
+    	assertEquals(Collections.singletonList(SomeCleanClass.class.getName()), 
+    			hierarchy.getSubtypes("java.lang.Object"));
+    	assertTrue(hierarchy.isResolved(SomeCleanClass.class.getName()));
+    	assertFalse(hierarchy.isInterface(SomeCleanClass.class.getName()));
+    }
+
+    @Test
+    public final void buildCallGraphContainsCallsOfInspectedClasses() {
+    	givenBytecodeInspectorForClasses(GOOD_TEST_CLASSES);
+
+    	final MethodCallGraph callGraph = inspector.buildCallGraph();
+
+    	assertEquals(Collections.singletonList("java.lang.Object#clone()Ljava/lang/Object;"), 
+    			callGraph.getCallees(SomeCleanClass.class.getName() + "#setBytes([B)V"));
+    }
+    
     // --- test fixture -------------------------------------------------------------------------------------
 
 	private void givenBytecodeInspectorForClasses(final String... testClasses) {
@@ -255,6 +584,46 @@ public class BytecodeInspectorTest {
 		return found;
 	}
 
+	private class StoppingAtFirstDateConstructor extends ReferenceVisitorAdapter implements StoppableReferenceVisitor {
+		private volatile boolean stopRequested;
+		private final Set<String> classesVisitedAfterStop = new HashSet<String>();
+
+		@Override
+		public boolean isStopRequested() {
+			return stopRequested;
+		}
+
+		@Override
+		public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+			if (stopRequested) {
+				classesVisitedAfterStop.add(referrer.getJavaElement().className);
+			}
+		}
+
+		@Override
+		public void onConstructorCall(final Referrer referrer, final java.lang.reflect.Constructor<?> constructor) {
+			if (stopRequested) {
+				classesVisitedAfterStop.add(referrer.getJavaElement().className);
+			} else if (constructor.getDeclaringClass() == java.util.Date.class) {
+				foundReferrers.add(referrer);
+				stopRequested = true;
+			}
+		}
+	}
+
+	private static class SomeSelectiveReferenceVisitor extends ReferenceVisitorAdapter implements SelectiveReferenceVisitor {
+
+		@Override
+		public Set<ReferenceKind> getReferenceKinds() {
+			return EnumSet.of(ReferenceKind.CONSTRUCTOR_CALL);
+		}
+
+		@Override
+		public Collection<String> getTargetNames() {
+			return Collections.singleton(java.util.Date.class.getName());
+		}
+	}
+
 	private Referrer referer(final Class<?> clazz, final String method, final Integer lineNo) {
 		final String internalClassName = clazz.getName().replace('.', '/');
 		return new ReferrerImpl(new JavaElement(internalClassName, method, "()V"), 
@@ -0,0 +1,155 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.javagil.columbo.internal.ReferrerImpl;
+import de.javagil.columbo.testbed.deprecated.SomeClassCallingDeprecatedMethods;
+import de.javagil.columbo.testbed.deprecated.SomeClassUsingDateConstructor;
+
+/**
+ * Unit test for classes {@link CrossReferenceIndex} and {@link CrossReferenceIndexWriter}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class CrossReferenceIndexTest {
+
+	private static final String CLIENT = "de/javagil/columbo/testbed/deprecated/SomeClassUsingDateConstructor";
+	private static final JavaElement DATE_CONSTRUCTOR = new JavaElement("java/util/Date", "<init>", "()V");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File indexFile;
+	private CrossReferenceIndex index;
+
+	@Before
+	public final void writeIndex() throws IOException {
+		final CrossReferenceIndexWriter writer = new CrossReferenceIndexWriter();
+		new BytecodeInspector(SomeClassUsingDateConstructor.class.getName(),
+				SomeClassCallingDeprecatedMethods.class.getName()).inspect(writer);
+		indexFile = temporaryFolder.newFile();
+		writer.write(indexFile);
+		index = CrossReferenceIndex.open(indexFile);
+	}
+
+	@Test
+	public final void findReferrersOfConstructor() {
+		assertEquals(Arrays.asList(
+						new JavaElement(CLIENT, "<clinit>", "()V"),
+						new JavaElement(CLIENT, "methodUsingDateConstructor", "()V")),
+				index.findReferrersOf(DATE_CONSTRUCTOR));
+	}
+
+	@Test
+	public final void findReferrersOfClass() {
+		assertTrue(index.findReferrersOf(new JavaElement("java/util/Date", null, null))
+				.contains(new JavaElement(CLIENT, "methodUsingDateConstructor", "()V")));
+	}
+
+	@Test
+	public final void findReferrersOfField() {
+		assertEquals(Collections.singletonList(new JavaElement(CLIENT, "<clinit>", "()V")),
+				index.findReferrersOf(new JavaElement(CLIENT, "date0", "Ljava/util/Date;")));
+	}
+
+	@Test
+	public final void findReferencesFromMethod() {
+		assertEquals(Arrays.asList(new JavaElement("java/util/Date", null, null), DATE_CONSTRUCTOR),
+				index.findReferencesFrom(new JavaElement(CLIENT, "methodUsingDateConstructor", "()V")));
+	}
+
+	@Test
+	public final void unknownElementHasNoReferences() {
+		final JavaElement unknown = new JavaElement("does/not/Exist", "someMethod", "()V");
+
+		assertTrue(index.findReferrersOf(unknown).isEmpty());
+		assertTrue(index.findReferencesFrom(unknown).isEmpty());
+	}
+
+	@Test
+	public final void everyElementIsFoundByBinarySearch() {
+		final CrossReferenceIndexWriter writer = new CrossReferenceIndexWriter();
+		new BytecodeInspector(CrossReferenceIndex.class.getName(), CrossReferenceIndexWriter.class.getName()).inspect(writer);
+		writer.write(indexFile);
+		index = CrossReferenceIndex.open(indexFile);
+
+		for (JavaElement referenced: index.findReferencesFrom(
+				new JavaElement("de/javagil/columbo/api/CrossReferenceIndex", "readString", "(I)Ljava/lang/String;"))) {
+			assertTrue(referenced.toContentString(), 
+					index.findReferrersOf(referenced).contains(new JavaElement(
+							"de/javagil/columbo/api/CrossReferenceIndex", "readString", "(I)Ljava/lang/String;")));
+		}
+	}
+
+	@Test
+	public final void emptyIndex() {
+		new CrossReferenceIndexWriter().write(indexFile);
+		index = CrossReferenceIndex.open(indexFile);
+
+		assertEquals(0, index.size());
+		assertTrue(index.findReferrersOf(DATE_CONSTRUCTOR).isEmpty());
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void openOtherFileFails() throws IOException {
+		final FileOutputStream out = new FileOutputStream(indexFile);
+		try {
+			out.write("not a cross reference index".getBytes());
+		} finally {
+			out.close();
+		}
+
+		CrossReferenceIndex.open(indexFile);
+	}
+
+	@Test
+	public final void referencesAreStoredOnce() {
+		final CrossReferenceIndexWriter writer = new CrossReferenceIndexWriter();
+		final ReferrerImpl referrer = new ReferrerImpl(new JavaElement(CLIENT, "someMethod", "()V"), null, null, null);
+
+		writer.onClassReference(referrer, Date.class);
+		writer.onClassReference(referrer, Date[].class);
+		writer.onClassReference(referrer, int.class);
+
+		assertEquals(1, writer.getReferenceCount());
+	}
+}
@@ -0,0 +1,142 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static de.javagil.columbo.testutil.Strings.toStrings;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.testbed.deprecated.SomeClassCallingDeprecatedMethods;
+import de.javagil.columbo.testbed.deprecated.SomeClassUsingDeprecatedClass;
+import de.javagil.columbo.testbed.deprecated.SomeClassUsingDeprecatedClassWithRemovalRelease;
+import de.javagil.columbo.testbed.deprecated.SomeClassWithDeprecatedMethods;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link DeprecationChecker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class DeprecationCheckerTest {
+
+	private DeprecationChecker checker = new DeprecationChecker();
+
+	@After
+	public final void closeChecker() throws Exception {
+		checker.close();
+	}
+
+	@Test
+	public final void nothingFound() {
+		new BytecodeInspector(SomeCleanClass.class.getName()).inspect(checker);
+
+		assertThat(checker.getViolations()).isEmpty();
+	}
+
+	@Test
+	public final void usesOfDeprecatedMethodsAreReported() {
+		new BytecodeInspector(SomeClassCallingDeprecatedMethods.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).containsOnly(
+				"WARNING: SomeClassCallingDeprecatedMethods.java:43"
+						+ " SomeClassCallingDeprecatedMethods#methodUsingADeprecatedInstanceMethod"
+						+ " uses @Deprecated method SomeClassWithDeprecatedMethods#someDeprecatedInstanceMethod",
+				"WARNING: SomeClassCallingDeprecatedMethods.java:47"
+						+ " SomeClassCallingDeprecatedMethods#methodUsingADeprecatedStaticMethod"
+						+ " uses @Deprecated method SomeClassWithDeprecatedMethods#someDeprecatedStaticMethod");
+	}
+
+	@Test
+	public final void usesOfDeprecatedClassesAreReported() {
+		new BytecodeInspector(SomeClassUsingDeprecatedClass.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).contains(
+				"WARNING: SomeClassUsingDeprecatedClass.java:43"
+						+ " SomeClassUsingDeprecatedClass#callingMethodOfDeprecatedClass"
+						+ " uses @Deprecated class SomeDeprecatedClass",
+				"WARNING: SomeClassUsingDeprecatedClass.java:56"
+						+ " SomeClassUsingDeprecatedClass#methodUsingDeprecatedInterfaceWithInstanceof"
+						+ " uses @Deprecated class SomeDeprecatedInterface");
+	}
+
+	@Test
+	public final void usesWithinDeclaringClassAreNotReported() {
+		new BytecodeInspector(SomeClassWithDeprecatedMethods.class.getName()).inspect(checker);
+
+		assertThat(checker.getViolations()).isEmpty();
+	}
+
+	@Test
+	public final void removalReleaseIsReported() {
+		checker.withReleaseAnnotation("de.javagil.columbo.testbed.deprecated.SomeRemovalRelease", "hard");
+
+		new BytecodeInspector(SomeClassUsingDeprecatedClassWithRemovalRelease.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).contains(
+				"WARNING: SomeClassUsingDeprecatedClassWithRemovalRelease.java:42"
+						+ " SomeClassUsingDeprecatedClassWithRemovalRelease#callingMethodsOfDeprecatedClass"
+						+ " uses @Deprecated method SomeDeprecatedClassWithRemovalRelease#someDeprecatedMethod"
+						+ " which will be removed with release 3.0",
+				"WARNING: SomeClassUsingDeprecatedClassWithRemovalRelease.java:43"
+						+ " SomeClassUsingDeprecatedClassWithRemovalRelease#callingMethodsOfDeprecatedClass"
+						+ " uses @Deprecated method SomeDeprecatedClassWithRemovalRelease#someDeprecatedMethodWithEarlierRemoval"
+						+ " which will be removed with release 2.10");
+	}
+
+	@Test
+	public final void usesOfElementsRemovedUpToReleaseAreErrors() {
+		checker.withReleaseAnnotation("de.javagil.columbo.testbed.deprecated.SomeRemovalRelease", "hard")
+			.reportAsErrorUpToRelease("2.10");
+
+		new BytecodeInspector(SomeClassUsingDeprecatedClassWithRemovalRelease.class.getName()).inspectInParallel(checker);
+
+		List<String> errors = new ArrayList<String>();
+		for (Violation violation: checker.getViolations()) {
+			if (violation.getSeverity() == Violation.Severity.ERROR) {
+				errors.add(violation.getDescription());
+			}
+		}
+		assertThat(errors).containsOnly("uses @Deprecated method"
+				+ " SomeDeprecatedClassWithRemovalRelease#someDeprecatedMethodWithEarlierRemoval"
+				+ " which will be removed with release 2.10");
+	}
+
+	@Test
+	public final void compareReleasesTest() {
+		assertTrue(DeprecationChecker.compareReleases("2.9", "2.10") < 0);
+		assertTrue(DeprecationChecker.compareReleases("3.0", "2.10") > 0);
+		assertEquals(0, DeprecationChecker.compareReleases("3", "3.0"));
+		assertTrue(DeprecationChecker.compareReleases("3.0-RC1", "3.0-RC2") < 0);
+	}
+}
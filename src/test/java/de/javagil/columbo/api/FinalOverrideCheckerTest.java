@@ -0,0 +1,78 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static de.javagil.columbo.testutil.Strings.toStrings;
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.testbed.finaloverride.SomeClassOverridingFinalMethod;
+import de.javagil.columbo.testbed.finaloverride.SomeClassOverridingFinalMethodOfGrandparent;
+import de.javagil.columbo.testbed.finaloverride.SomeClassWithFinalMethod;
+
+/**
+ * Unit test for class {@link FinalOverrideChecker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class FinalOverrideCheckerTest {
+
+	private final FinalOverrideChecker checker = new FinalOverrideChecker();
+
+	@After
+	public final void closeChecker() throws Exception {
+		checker.close();
+	}
+
+	@Test
+	public final void overrideOfFinalMethodIsReported() {
+		new BytecodeInspector(SomeClassOverridingFinalMethod.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).containsOnly(
+				"ERROR: SomeClassOverridingFinalMethod.java SomeClassOverridingFinalMethod#someFinalMethod"
+						+ " overrides @Final method SomeClassWithFinalMethod#someFinalMethod");
+	}
+
+	@Test
+	public final void overrideOfFinalMethodOfGrandparentIsReported() {
+		new BytecodeInspector(SomeClassOverridingFinalMethodOfGrandparent.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).containsOnly(
+				"ERROR: SomeClassOverridingFinalMethodOfGrandparent.java"
+						+ " SomeClassOverridingFinalMethodOfGrandparent#someFinalMethod"
+						+ " overrides @Final method SomeClassWithFinalMethod#someFinalMethod");
+	}
+
+	@Test
+	public final void declaringFinalMethodIsNoViolation() {
+		new BytecodeInspector(SomeClassWithFinalMethod.class.getName()).inspectInParallel(checker);
+
+		assertThat(checker.getViolations()).isEmpty();
+	}
+}
@@ -64,6 +64,17 @@ public class InspectionExceptionTest {
 		assertEquals("java.io.IOException: some io exception", exc.getMessage());
 	}
 
+	@Test
+	public final void constructorWithoutStackTrace() {
+		Exception originalExc = new ClassNotFoundException("does.NotExist");
+		InspectionException exc = new InspectionException("my message", originalExc, false);
+		exc.addSuppressed(new IOException());
+		assertEquals("my message", exc.getMessage());
+		assertSame(originalExc, exc.getCause());
+		assertEquals(0, exc.getStackTrace().length);
+		assertEquals(0, exc.getSuppressed().length);
+	}
+
 	@Test
 	public final void asRuntimeExceptionWithRuntimeExceptionReturnsSame() {
 		RuntimeException origExc = new RuntimeException();
@@ -0,0 +1,84 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static de.javagil.columbo.testutil.Strings.toStrings;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.api.Violation.Severity;
+import de.javagil.columbo.testbed.internalusage.client.SomeClientUsingInternals;
+import de.javagil.columbo.testbed.internalusage.service.SomeServiceUsingOwnInternals;
+
+/**
+ * Unit test for class {@link InternalUsageChecker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class InternalUsageCheckerTest {
+
+	private final InternalUsageChecker checker = new InternalUsageChecker();
+
+	@After
+	public final void closeChecker() throws Exception {
+		checker.close();
+	}
+
+	@Test
+	public final void usesFromOtherPackageAreReported() {
+		new BytecodeInspector(SomeClientUsingInternals.class.getName()).inspect(checker);
+
+		assertThat(toStrings(checker.getViolations())).containsOnly(
+				"ERROR: SomeClientUsingInternals.java:46 SomeClientUsingInternals#methodUsingInternalMethod"
+						+ " uses @Internal method SomeServiceWithInternals#someInternalMethod",
+				"ERROR: SomeClientUsingInternals.java:54 SomeClientUsingInternals#methodUsingInternalField"
+						+ " uses @Internal field SomeServiceWithInternals#someInternalField",
+				"ERROR: SomeClientUsingInternals.java:58 SomeClientUsingInternals#methodUsingInternalConstructor"
+						+ " uses @Internal constructor SomeServiceWithInternals",
+				"ERROR: SomeClientUsingInternals.java:62 SomeClientUsingInternals#methodUsingInternalClass"
+						+ " uses @Internal class SomeInternalClass");
+		assertEquals(Severity.ERROR, checker.getViolations().get(0).getSeverity());
+	}
+
+	@Test
+	public final void usesFromSamePackageAreNotReported() {
+		new BytecodeInspector(SomeServiceUsingOwnInternals.class.getName()).inspect(checker);
+
+		assertThat(checker.getViolations()).isEmpty();
+	}
+
+	@Test
+	public final void usesInParallelInspectionAreReported() {
+		new BytecodeInspector(SomeClientUsingInternals.class.getName(), SomeServiceUsingOwnInternals.class.getName())
+			.inspectInParallel(checker);
+
+		assertEquals(4, checker.getViolations().size());
+	}
+}
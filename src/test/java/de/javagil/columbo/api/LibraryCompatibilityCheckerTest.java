@@ -0,0 +1,135 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static de.javagil.columbo.testutil.Strings.toStrings;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.javagil.columbo.testutil.LibraryCompiler;
+
+/**
+ * Unit test for class {@link LibraryCompatibilityChecker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class LibraryCompatibilityCheckerTest {
+
+	private static final String[] OLD_RELEASE = {
+		"package lib; public class Base { }",
+		"package lib; public interface Api { }",
+		"package lib; public class Removed { }",
+		"package lib; class PackagePrivateRemoved { }",
+		"package lib; public class BecomesFinal { }",
+		"package lib; public final class FinalClass { public void becomesFinal() { } }",
+		"package lib; public class Service extends Base implements Api {\n"
+			+ "  public int counter; public String label; public static final String NAME = \"name\";\n"
+			+ "  public Service() { } public Service(int value) { }\n"
+			+ "  public void kept() { } public void removed() { } public void becomesStatic() { }\n"
+			+ "  public void becomesProtected() { } protected void protectedKept() { } public void movedUp() { }\n"
+			+ "  void packagePrivateRemoved() { } public void becomesFinal() { } public static void staticBecomesFinal() { }\n"
+			+ "}"
+	};
+
+	private static final String[] NEW_RELEASE = {
+		"package lib; public class Base { public void movedUp() { } }",
+		"package lib; public interface Api { }",
+		"package lib; public final class BecomesFinal { }",
+		"package lib; public final class FinalClass { public final void becomesFinal() { } }",
+		"package lib; public class Service extends Base {\n"
+			+ "  public long counter; public final String label = null; public static final String NAME = \"name\";\n"
+			+ "  public Service() { }\n"
+			+ "  public void kept() { } public static void becomesStatic() { }\n"
+			+ "  protected void becomesProtected() { } protected void protectedKept() { }\n"
+			+ "  public final void becomesFinal() { } public static final void staticBecomesFinal() { }\n"
+			+ "  public void added() { }\n"
+			+ "}"
+	};
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public final void incompatibleChangesAreReported() throws IOException {
+		File oldRelease = LibraryCompiler.compile(temporaryFolder.newFolder("old"), OLD_RELEASE);
+		File newRelease = LibraryCompiler.compile(temporaryFolder.newFolder("new"), NEW_RELEASE);
+
+		List<Incompatibility> incompatibilities = new LibraryCompatibilityChecker(oldRelease, newRelease).check();
+
+		assertThat(toStrings(incompatibilities)).containsOnly(
+				"CHANGED: lib.BecomesFinal became final",
+				"REMOVED: lib.Removed",
+				"CHANGED: lib.Service is no longer a subtype of lib.Api",
+				"REMOVED: lib.Service#<init>(I)V",
+				"CHANGED: lib.Service#becomesFinal()V became final",
+				"CHANGED: lib.Service#becomesProtected()V is no longer public",
+				"CHANGED: lib.Service#becomesStatic()V became static",
+				"CHANGED: lib.Service#counter changed its type from I to J",
+				"CHANGED: lib.Service#label became final",
+				"REMOVED: lib.Service#removed()V");
+	}
+
+	@Test
+	public final void finalIsJustReportedForOverridableMethods() throws IOException {
+		File oldRelease = LibraryCompiler.compile(temporaryFolder.newFolder("old"), OLD_RELEASE);
+		File newRelease = LibraryCompiler.compile(temporaryFolder.newFolder("new"), NEW_RELEASE);
+
+		List<Incompatibility> incompatibilities = new LibraryCompatibilityChecker(oldRelease, newRelease).check();
+
+		// static methods and methods of final classes can't be overridden, thus making them final is compatible
+		assertThat(toStrings(incompatibilities)).excludes(
+				"CHANGED: lib.FinalClass#becomesFinal()V became final",
+				"CHANGED: lib.Service#staticBecomesFinal()V became final");
+	}
+
+	@Test
+	public final void sameReleaseIsCompatible() throws IOException {
+		File oldRelease = LibraryCompiler.compile(temporaryFolder.newFolder("old"), OLD_RELEASE);
+		File newRelease = LibraryCompiler.compile(temporaryFolder.newFolder("new"), OLD_RELEASE);
+
+		assertThat(new LibraryCompatibilityChecker(oldRelease, newRelease).check()).isEmpty();
+	}
+
+	@Test
+	public final void releasesAreReadFromJarFiles() throws IOException {
+		File oldRelease = LibraryCompiler.jar(temporaryFolder.newFile("old.jar"),
+				LibraryCompiler.compile(temporaryFolder.newFolder("old"), OLD_RELEASE));
+		File newRelease = LibraryCompiler.jar(temporaryFolder.newFile("new.jar"),
+				LibraryCompiler.compile(temporaryFolder.newFolder("new"), NEW_RELEASE));
+
+		List<Incompatibility> incompatibilities = new LibraryCompatibilityChecker(oldRelease, newRelease).check();
+
+		assertThat(toStrings(incompatibilities)).contains("REMOVED: lib.Removed", "REMOVED: lib.Service#removed()V");
+	}
+}
@@ -0,0 +1,170 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static de.javagil.columbo.testutil.Strings.toStrings;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.javagil.columbo.testutil.LibraryCompiler;
+
+/**
+ * Unit test for class {@link LinkageChecker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class LinkageCheckerTest {
+
+	private static final String[] OLD_RELEASE = {
+		"package lib; public class Service {\n"
+			+ "  public int counter; public Service() { } public Service(int value) { }\n"
+			+ "  public void kept() { } public void removed() { } protected void protectedKept() { }\n"
+			+ "  public void becomesPrivate() { } public void becomesPackagePrivate() { }\n"
+			+ "  public void becomesStatic() { } public static void becomesInstance() { }\n"
+			+ "}",
+		"package lib; public class Removed { }",
+		"package lib; public class BecomesHidden { }",
+		"package lib; public interface BecomesClass { void run(); }"
+	};
+
+	private static final String[] NEW_RELEASE = {
+		"package lib; public class Service {\n"
+			+ "  public long counter; public Service() { }\n"
+			+ "  public void kept() { } protected void protectedKept() { }\n"
+			+ "  private void becomesPrivate() { } void becomesPackagePrivate() { }\n"
+			+ "  public static void becomesStatic() { } public void becomesInstance() { }\n"
+			+ "}",
+		"package lib; class BecomesHidden { }",
+		"package lib; public abstract class BecomesClass { public abstract void run(); }"
+	};
+
+	private static final String BROKEN_CLIENT =
+			"package client; public class BrokenClient {\n"
+			+ "  public void run(final lib.Service service) {\n"
+			+ "    service.kept(); service.removed(); service.counter++;\n"
+			+ "    new lib.Service(42); new lib.Removed();\n"
+			+ "    service.becomesPrivate(); service.becomesPackagePrivate();\n"
+			+ "    service.becomesStatic(); lib.Service.becomesInstance();\n"
+			+ "  }\n"
+			+ "  public Object use(final lib.BecomesClass becomesClass) {\n"
+			+ "    becomesClass.run(); return lib.BecomesHidden.class;\n"
+			+ "  }\n"
+			+ "}";
+
+	private static final String CLEAN_CLIENT =
+			"package client; public class CleanClient {\n"
+			+ "  public void run(final lib.Service service) {\n"
+			+ "    service.kept(); new lib.Service().toString(); new CleanClient().hashCode();\n"
+			+ "    java.util.Collections.emptyList().toArray(new String[0]);\n"
+			+ "    final Runnable helper = () -> helper(); helper.run();\n"
+			+ "  }\n"
+			+ "  private static void helper() { }\n"
+			+ "}";
+
+	private static final String SUBCLASS_CLIENT =
+			"package client; public class SubclassClient extends lib.Service {\n"
+			+ "  public void run() { protectedKept(); }\n"
+			+ "}";
+
+	private static final String DEPENDENCY = "package dep; public class Helper { public static void help() { } }";
+
+	private static final String DEPENDENT_CLIENT =
+			"package client; public class DependentClient { public void run() { dep.Helper.help(); } }";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File oldRelease;
+	private File newRelease;
+
+	@Before
+	public final void compileReleases() throws IOException {
+		oldRelease = LibraryCompiler.compile(temporaryFolder.newFolder("old"), OLD_RELEASE);
+		newRelease = LibraryCompiler.compile(temporaryFolder.newFolder("new"), NEW_RELEASE);
+	}
+
+	@Test
+	public final void brokenReferencesAreReported() throws IOException {
+		File brokenClient = LibraryCompiler.jar(temporaryFolder.newFile("broken.jar"),
+				LibraryCompiler.compile(temporaryFolder.newFolder("broken"), oldRelease, BROKEN_CLIENT));
+		File cleanClient = LibraryCompiler.compile(temporaryFolder.newFolder("clean"), oldRelease,
+				CLEAN_CLIENT, SUBCLASS_CLIENT);
+
+		List<LinkageProblem> problems = new LinkageChecker(newRelease).check(Arrays.asList(brokenClient, cleanClient));
+
+		assertThat(toStrings(problems)).containsOnly(
+				"CLASS_NOT_FOUND: broken.jar client.BrokenClient -> lib.Removed",
+				"CONSTRUCTOR_NOT_FOUND: broken.jar client.BrokenClient -> lib.Service#<init>(I)V",
+				"FIELD_NOT_FOUND: broken.jar client.BrokenClient -> lib.Service#counter",
+				"METHOD_NOT_FOUND: broken.jar client.BrokenClient -> lib.Service#removed()V",
+				"ILLEGAL_ACCESS: broken.jar client.BrokenClient -> lib.BecomesHidden",
+				"ILLEGAL_ACCESS: broken.jar client.BrokenClient -> lib.Service#becomesPrivate()V",
+				"ILLEGAL_ACCESS: broken.jar client.BrokenClient -> lib.Service#becomesPackagePrivate()V",
+				"INCOMPATIBLE_CLASS_CHANGE: broken.jar client.BrokenClient -> lib.BecomesClass#run()V",
+				"INCOMPATIBLE_CLASS_CHANGE: broken.jar client.BrokenClient -> lib.Service#becomesInstance()V",
+				"INCOMPATIBLE_CLASS_CHANGE: broken.jar client.BrokenClient -> lib.Service#becomesStatic()V");
+	}
+
+	@Test
+	public final void dependenciesOfClientsAreFoundInClientClasspath() throws IOException {
+		File dependency = LibraryCompiler.compile(temporaryFolder.newFolder("dependency"), DEPENDENCY);
+		List<File> clients = Arrays.asList(
+				LibraryCompiler.compile(temporaryFolder.newFolder("dependent"), dependency, DEPENDENT_CLIENT));
+
+		assertThat(toStrings(new LinkageChecker(newRelease).check(clients))).containsOnly(
+				"CLASS_NOT_FOUND: dependent client.DependentClient -> dep.Helper");
+		assertThat(new LinkageChecker(newRelease, Arrays.asList(dependency)).check(clients)).isEmpty();
+	}
+
+	@Test
+	public final void clientsOfSameReleaseLink() throws IOException {
+		List<File> clients = new ArrayList<File>();
+		for (int n = 0; n < 8; ++n) {
+			clients.add(LibraryCompiler.compile(temporaryFolder.newFolder("client" + n), oldRelease,
+					BROKEN_CLIENT, CLEAN_CLIENT, SUBCLASS_CLIENT));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertThat(new LinkageChecker(oldRelease).check(clients, executor)).isEmpty();
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import de.javagil.columbo.internal.CallGraph;
+import de.javagil.columbo.internal.SymbolTable;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link MethodCallGraph}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class MethodCallGraphTest {
+
+	private static final String CLEAN_CLASS = SomeCleanClass.class.getName();
+	private static final String CLONE = "java.lang.Object#clone()Ljava/lang/Object;";
+
+	private final MethodCallGraph callGraph = new MethodCallGraph(CallGraph.build(new SymbolTable(),
+			Collections.singletonList(CLEAN_CLASS)));
+
+	@Test
+	public final void methodsAreNamedByQualifiedClassNames() {
+		assertTrue(callGraph.contains(CLEAN_CLASS + "#setBytes([B)V"));
+		assertTrue(callGraph.contains(CLONE));
+		assertEquals(Collections.singletonList(CLONE), callGraph.getCallees(CLEAN_CLASS + "#setBytes([B)V"));
+	}
+
+	@Test
+	public final void getCallersTest() {
+		assertThat(callGraph.getCallers(CLONE)).containsOnly(CLEAN_CLASS + "#setBytes([B)V",
+				CLEAN_CLASS + "#setIntegers([Ljava/lang/Integer;)V", CLEAN_CLASS + "#setInts([I)V");
+		assertThat(callGraph.getCallers("does.not.Exist#foo()V")).isEmpty();
+	}
+
+	@Test
+	public final void getReachableMethodsTest() {
+		assertThat(callGraph.getReachableMethods(Arrays.asList(CLEAN_CLASS + "#setInts([I)V", "does.not.Exist#foo()V")))
+				.containsOnly(CLEAN_CLASS + "#setInts([I)V", CLONE);
+	}
+}
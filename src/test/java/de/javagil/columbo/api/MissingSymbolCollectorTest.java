@@ -0,0 +1,110 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagil.columbo.internal.ReferrerImpl;
+
+/**
+ * Unit test for class {@link MissingSymbolCollector}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class MissingSymbolCollectorTest {
+
+	private final MissingSymbolCollector collector = new MissingSymbolCollector();
+
+	private final Referrer someReferrer = referrer("someMethod", 10);
+	private final Referrer otherReferrer = referrer("otherMethod", 20);
+
+	@Test
+	public final void collectorIsInterestedInNotFoundReferencesOnly() {
+		assertEquals("[NOT_FOUND]", collector.getReferenceKinds().toString());
+		assertEquals(null, collector.getTargetNames());
+	}
+
+	@Test
+	public final void noMissingSymbolsInitially() {
+		assertFalse(collector.hasMissingSymbols());
+		assertTrue(collector.getMissingSymbols().isEmpty());
+		assertEquals("", collector.getReport());
+	}
+
+	@Test
+	public final void missingSymbolsAreAggregatedWithDistinctReferrers() {
+		collector.onMethodNotFound(someReferrer, Integer.class, "someMethod", new Class<?>[] {int.class, String[].class});
+		collector.onMethodNotFound(otherReferrer, Integer.class, "someMethod", new Class<?>[] {int.class, String[].class});
+		collector.onMethodNotFound(someReferrer, Integer.class, "someMethod", new Class<?>[] {int.class, String[].class});
+		collector.onConstructorNotFound(someReferrer, Integer.class, new Class<?>[0]);
+		collector.onFieldNotFound(otherReferrer, Integer.class, "someField");
+
+		assertTrue(collector.hasMissingSymbols());
+		List<MissingSymbol> missingSymbols = collector.getMissingSymbols();
+		assertEquals("[METHOD: java.lang.Integer#someMethod(int, java.lang.String[]) referred 2 times, "
+				+ "CONSTRUCTOR: java.lang.Integer() referred 1 time, "
+				+ "FIELD: java.lang.Integer#someField referred 1 time]", missingSymbols.toString());
+		assertEquals(Arrays.asList(someReferrer, otherReferrer), missingSymbols.get(0).getReferrers());
+	}
+
+	@Test
+	public final void missingClassesAreNamedByTheOriginalError() {
+		collector.onClassNotFound(someReferrer, new InspectionException("could not determine class in type Ldoes/NotExist;",
+				new ClassNotFoundException("does.NotExist")));
+		collector.onClassNotFound(otherReferrer, new NoClassDefFoundError("does/NotExist"));
+
+		assertEquals("[CLASS: does.NotExist referred 2 times]", collector.getMissingSymbols().toString());
+	}
+
+	@Test
+	public final void missingClassNameOfUnknownCauseIsItsMessage() {
+		assertEquals("something else", MissingSymbolCollector.missingClassNameOf(new IllegalStateException("something else")));
+	}
+
+	@Test
+	public final void reportListsAllReferrersOfEachMissingSymbol() {
+		collector.onFieldNotFound(someReferrer, Integer.class, "someField");
+		collector.onFieldNotFound(otherReferrer, Integer.class, "someField");
+
+		assertEquals("FIELD: java.lang.Integer#someField referred 2 times\n"
+				+ "\tsome.Client#someMethod:10\n"
+				+ "\tsome.Client#otherMethod:20\n", collector.getReport());
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static Referrer referrer(final String methodName, final int line) {
+		return new ReferrerImpl(new JavaElement("some/Client", methodName, "()V"), null, "Client.java", line);
+	}
+}
@@ -0,0 +1,74 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.api;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.javagil.columbo.internal.ClassHierarchy;
+import de.javagil.columbo.internal.SymbolTable;
+
+/**
+ * Unit test for class {@link TypeHierarchy}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class TypeHierarchyTest {
+
+	private final TypeHierarchy hierarchy = new TypeHierarchy(ClassHierarchy.build(new SymbolTable(),
+			Arrays.asList("java.lang.Integer", "java.util.AbstractMap$SimpleEntry", "does.not.Exist")));
+
+	@Test
+	public final void classesAreNamedByQualifiedNames() {
+		assertThat(hierarchy.getSupertypes("java.util.AbstractMap$SimpleEntry")).containsOnly("java.lang.Object",
+				"java.util.Map$Entry", "java.io.Serializable");
+		assertThat(hierarchy.getDirectSubtypes("java.lang.Number")).containsOnly("java.lang.Integer");
+		assertThat(hierarchy.getSubtypes("java.util.Map$Entry")).containsOnly("java.util.AbstractMap$SimpleEntry");
+		assertTrue(hierarchy.isSubtypeOf("java.lang.Integer", "java.lang.Comparable"));
+	}
+
+	@Test
+	public final void accessTest() {
+		assertTrue(hierarchy.isInterface("java.util.Map$Entry"));
+		assertTrue(hierarchy.isAbstract("java.lang.Number"));
+		assertFalse(hierarchy.isInterface("java.lang.Number"));
+		assertFalse(hierarchy.isAbstract("java.lang.Integer"));
+	}
+
+	@Test
+	public final void classesNotFoundAreUnresolved() {
+		assertTrue(hierarchy.contains("does.not.Exist"));
+		assertFalse(hierarchy.isResolved("does.not.Exist"));
+		assertFalse(hierarchy.isInterface("does.not.Exist"));
+		assertFalse(hierarchy.contains("java.lang.String"));
+	}
+}
@@ -26,6 +26,7 @@
 package de.javagil.columbo.api;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
@@ -183,4 +184,60 @@ public class VisitorContextTest {
 		assertEquals("TestClass.java", referrer.getSourceFile());
 		assertEquals(new Integer(42), referrer.getLineNo());
 	}
+
+	@Test
+	public final void toReferrerIsReusedAtSameLocation() {
+		ctx.enteringClass("de/javagil/mypackage/TestClass");
+		ctx.enteringSource("TestClass.java");
+		ctx.enteringMethod("myMethod", "()");
+		ctx.inspectingLineNumber(42);
+		
+		Referrer referrer = ctx.toReferrer();
+		ctx.inspectingLineNumber(42);
+		
+		assertSame(referrer, ctx.toReferrer());
+	}
+
+	@Test
+	public final void toReferrerChangesWithLineNumber() {
+		ctx.enteringClass("de/javagil/mypackage/TestClass");
+		ctx.enteringSource("TestClass.java");
+		ctx.enteringMethod("myMethod", "()");
+		ctx.inspectingLineNumber(42);
+		Referrer referrerInLine42 = ctx.toReferrer();
+		
+		ctx.inspectingLineNumber(43);
+		Referrer referrerInLine43 = ctx.toReferrer();
+		
+		assertNotSame(referrerInLine42, referrerInLine43);
+		assertEquals(new Integer(42), referrerInLine42.getLineNo());
+		assertEquals(new Integer(43), referrerInLine43.getLineNo());
+		assertSame(referrerInLine42.getJavaElement(), referrerInLine43.getJavaElement());
+	}
+
+	@Test
+	public final void toReferrerChangesWithMethod() {
+		ctx.enteringClass("de/javagil/mypackage/TestClass");
+		ctx.enteringSource("TestClass.java");
+		ctx.enteringMethod("myMethod", "()");
+		Referrer referrerInMyMethod = ctx.toReferrer();
+		ctx.leavingMethod();
+		
+		ctx.enteringMethod("otherMethod", "()");
+		
+		assertEquals("myMethod", referrerInMyMethod.getJavaElement().methodName);
+		assertEquals("otherMethod", ctx.toReferrer().getJavaElement().methodName);
+	}
+
+	@Test
+	public final void toReferrerChangesWithClass() {
+		ctx.enteringClass("de/javagil/mypackage/TestClass");
+		Referrer referrerInTestClass = ctx.toReferrer();
+		ctx.leavingClass();
+		
+		ctx.enteringClass("de/javagil/mypackage/OtherClass");
+		
+		assertEquals("de.javagil.mypackage.TestClass", referrerInTestClass.getJavaElement().className);
+		assertEquals("de.javagil.mypackage.OtherClass", ctx.toReferrer().getJavaElement().className);
+	}
 }
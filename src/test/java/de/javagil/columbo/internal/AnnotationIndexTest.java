@@ -0,0 +1,90 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.api.Internal;
+
+/**
+ * Unit test for class {@link AnnotationIndex}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class AnnotationIndexTest {
+
+	private static final String SERVICE_CLASS = "de/javagil/columbo/testbed/internalusage/service/SomeServiceWithInternals";
+	private static final String INTERNAL_CLASS = "de/javagil/columbo/testbed/internalusage/service/SomeInternalClass";
+
+	private final SymbolTable symbolTable = new SymbolTable();
+	private final AnnotationIndex index = new AnnotationIndex(symbolTable, Internal.class);
+
+	@After
+	public final void closeSymbolTable() throws Exception {
+		symbolTable.close();
+	}
+
+	@Test
+	public final void getClassAnnotationTest() {
+		assertNotNull(index.getClassAnnotation(INTERNAL_CLASS));
+		assertNull(index.getClassAnnotation(SERVICE_CLASS));
+		assertNull(index.getClassAnnotation("java/lang/String"));
+		assertNull(index.getClassAnnotation("does/not/Exist"));
+	}
+
+	@Test
+	public final void getMethodAnnotationTest() {
+		assertNotNull(index.getMethodAnnotation(SERVICE_CLASS, "someInternalMethod", "()V"));
+		assertNull(index.getMethodAnnotation(SERVICE_CLASS, "somePublicMethod", "()V"));
+		assertNull(index.getMethodAnnotation(INTERNAL_CLASS, "someMethod", "()V"));
+	}
+
+	@Test
+	public final void getConstructorAnnotationTest() {
+		assertNotNull(index.getMethodAnnotation(SERVICE_CLASS, "<init>", "(I)V"));
+		assertNull(index.getMethodAnnotation(SERVICE_CLASS, "<init>", "()V"));
+	}
+
+	@Test
+	public final void getFieldAnnotationTest() {
+		assertNotNull(index.getFieldAnnotation(SERVICE_CLASS, "someInternalField"));
+		assertNull(index.getFieldAnnotation(SERVICE_CLASS, "someInternalMethod"));
+	}
+
+	@Test
+	public final void annotationValuesAreAvailable() {
+		assertEquals("de.javagil.columbo.testbed.internalusage",
+				index.getMethodAnnotation(SERVICE_CLASS, "someMethodInternalToHierarchy", "()V").getValue("value"));
+		assertEquals("", index.getMethodAnnotation(SERVICE_CLASS, "someInternalMethod", "()V")
+				.getStringValue("value", ""));
+	}
+}
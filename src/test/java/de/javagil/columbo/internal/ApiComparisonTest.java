@@ -0,0 +1,106 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.api.Incompatibility;
+import de.javagil.columbo.testbed.general.SomeTestClass;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link ApiComparison}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ApiComparisonTest {
+
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	@After
+	public final void closeSymbolTable() throws Exception {
+		symbolTable.close();
+	}
+
+	@Test
+	public final void unchangedClassIsCompatible() {
+		List<Incompatibility> incompatibilities = new ArrayList<Incompatibility>();
+
+		new ApiComparison(symbolTable, symbolTable, Arrays.asList(SomeTestClass.class.getName()))
+			.compareClass(SomeTestClass.class.getName(), incompatibilities);
+
+		assertThat(incompatibilities).isEmpty();
+	}
+
+	@Test
+	public final void classMissingInNewReleaseIsRemoved() {
+		List<Incompatibility> incompatibilities = new ArrayList<Incompatibility>();
+
+		new ApiComparison(symbolTable, symbolTable, Collections.<String>emptyList())
+			.compareClass(SomeTestClass.class.getName(), incompatibilities);
+
+		assertEquals(1, incompatibilities.size());
+		assertEquals("REMOVED: " + SomeTestClass.class.getName(), incompatibilities.get(0).toString());
+	}
+
+	@Test
+	public final void nonPublicClassesAreSkipped() {
+		List<Incompatibility> incompatibilities = new ArrayList<Incompatibility>();
+
+		new ApiComparison(symbolTable, symbolTable, Collections.<String>emptyList())
+			.compareClass(SymbolTableTest.class.getName() + "$SomeClassNotToBeInitialized", incompatibilities);
+
+		assertThat(incompatibilities).isEmpty();
+	}
+
+	@Test
+	public final void compareInParallelIsSorted() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<Incompatibility> incompatibilities = new ApiComparison(symbolTable, symbolTable,
+					Collections.<String>emptyList()).compare(
+							Arrays.asList(SomeTestClass.class.getName(), SomeCleanClass.class.getName()), executor);
+
+			assertEquals(2, incompatibilities.size());
+			assertEquals(SomeTestClass.class.getName(), incompatibilities.get(0).getElement());
+			assertEquals(SomeCleanClass.class.getName(), incompatibilities.get(1).getElement());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.JavaElement;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.api.ReferenceVisitorAdapter;
+import de.javagil.columbo.api.ReferenceVisitorBatchAdapter;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * Unit test for class {@link BatchingReferenceVisitor}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class BatchingReferenceVisitorTest {
+
+	private final Referrer referrer = new ReferrerImpl(new JavaElement("some/Class", "someMethod", "()V"), null, null, 42);
+
+	private final List<Object> received = new ArrayList<Object>();
+
+	private final BatchReferenceVisitor batchVisitor = new BatchReferenceVisitor() {
+		@Override
+		public void onReferences(final Reference[] references) {
+			received.add(Arrays.asList(references));
+		}
+
+		@Override
+		public void onClassNotFound(final Referrer actualReferrer, final Throwable cause) {
+			received.add(cause);
+		}
+	};
+
+	private final BatchingReferenceVisitor batchingVisitor = new BatchingReferenceVisitor(batchVisitor, 2);
+
+	@Test
+	public final void referencesAreDeliveredInBatches() {
+		batchingVisitor.onClassReference(referrer, String.class);
+		batchingVisitor.onClassReference(referrer, Long.class);
+		batchingVisitor.onClassReference(referrer, Integer.class);
+
+		assertEquals(1, received.size());
+		assertEquals(Arrays.asList(String.class, Long.class), referencedClassesOf(received.get(0)));
+
+		batchingVisitor.flush();
+
+		assertEquals(2, received.size());
+		assertEquals(Arrays.asList(Integer.class), referencedClassesOf(received.get(1)));
+	}
+
+	@Test
+	public final void flushWithoutReferencesDeliversNothing() {
+		batchingVisitor.flush();
+
+		assertEquals(0, received.size());
+	}
+
+	@Test
+	public final void classNotFoundIsDeliveredAfterPreviousReferences() {
+		final Throwable cause = new NoClassDefFoundError("some/MissingClass");
+
+		batchingVisitor.onClassReference(referrer, String.class);
+		batchingVisitor.onClassNotFound(referrer, cause);
+
+		assertEquals(2, received.size());
+		assertEquals(Arrays.asList(String.class), referencedClassesOf(received.get(0)));
+		assertEquals(cause, received.get(1));
+	}
+
+	@Test
+	public final void adapterDispatchesToReferenceVisitor() throws Exception {
+		final Constructor<?> constructor = String.class.getConstructor(String.class);
+		final Field field = Integer.class.getField("MAX_VALUE");
+		final List<String> callbacks = new ArrayList<String>();
+		final BatchingReferenceVisitor visitor = new BatchingReferenceVisitor(
+				new ReferenceVisitorBatchAdapter(new ReferenceVisitorAdapter() {
+					@Override
+					public void onConstructorCall(final Referrer actualReferrer, final Constructor<?> actualConstructor) {
+						callbacks.add("constructor " + actualConstructor.getDeclaringClass().getSimpleName());
+					}
+
+					@Override
+					public void onFieldAccess(final Referrer actualReferrer, final Field referencedField) {
+						callbacks.add("field " + referencedField.getName());
+					}
+
+					@Override
+					public void onConstructorNotFound(final Referrer actualReferrer, final Class<?> clazz,
+							final Class<?>[] paramTypes) {
+						callbacks.add("constructor not found " + Arrays.asList(paramTypes));
+					}
+
+					@Override
+					public void onFieldNotFound(final Referrer actualReferrer, final Class<?> clazz, final String name) {
+						callbacks.add("field not found " + name);
+					}
+				}), BatchingReferenceVisitor.DEFAULT_BATCH_SIZE);
+
+		visitor.onConstructorCall(referrer, constructor);
+		visitor.onFieldAccess(referrer, field);
+		visitor.onConstructorNotFound(referrer, String.class, new Class<?>[] {Test.class});
+		visitor.onFieldNotFound(referrer, String.class, "noSuchField");
+		visitor.flush();
+
+		assertEquals(Arrays.asList("constructor String", "field MAX_VALUE",
+				"constructor not found [" + Test.class + "]", "field not found noSuchField"), callbacks);
+	}
+
+	@Test
+	public final void referenceRecordDescribesTheReference() throws Exception {
+		final Reference reference = Reference.methodNotFound(referrer, String.class, "noSuchMethod", new Class<?>[] {int.class});
+
+		assertEquals(ReferenceKind.NOT_FOUND, reference.getKind());
+		assertEquals(referrer, reference.getReferrer());
+		assertEquals(String.class, reference.getReferencedClass());
+		assertEquals("noSuchMethod", reference.getMemberName());
+		assertArrayEquals(new Class<?>[] {int.class}, reference.getParameterTypes());
+		assertEquals(null, reference.getMember());
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	@SuppressWarnings("unchecked")
+	private static List<Class<?>> referencedClassesOf(final Object batch) {
+		final List<Class<?>> referencedClasses = new ArrayList<Class<?>>();
+		for (Reference reference: (List<Reference>) batch) {
+			referencedClasses.add(reference.getReferencedClass());
+		}
+		return referencedClasses;
+	}
+}
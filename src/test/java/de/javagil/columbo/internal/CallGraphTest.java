@@ -0,0 +1,181 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for class {@link CallGraph}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class CallGraphTest {
+
+	private static final String PREFIX = "de/javagil/columbo/internal/CallGraphTest$";
+
+	private static final String TOTAL_AREA = PREFIX + "SomeShapeClient#totalArea(L" + PREFIX + "SomeShape;)D";
+	private static final String SIZE_OF = PREFIX + "SomeShapeClient#sizeOf(Ljava/util/List;)I";
+	private static final String HELPER = PREFIX + "SomeShapeClient#helper()D";
+
+	private final CallGraph callGraph = CallGraph.build(new SymbolTable(), Arrays.asList(
+			SomeShape.class.getName(), SomeSquare.class.getName(), SomeCircle.class.getName(),
+			SomeSubSquare.class.getName(), SomeAbstractShape.class.getName(), SomeTriangle.class.getName(),
+			SomeShapeClient.class.getName()));
+
+	@Test
+	public final void virtualCallsAreExpandedToAllImplementations() {
+		assertThat(callGraph.getCallees(TOTAL_AREA)).containsOnly(
+				PREFIX + "SomeSquare#area()D", PREFIX + "SomeCircle#area()D", PREFIX + "SomeTriangle#area()D",
+				HELPER);
+	}
+
+	@Test
+	public final void abstractMethodsAreNoTargetsIfImplemented() {
+		assertFalse(callGraph.getCallees(TOTAL_AREA).contains(PREFIX + "SomeShape#area()D"));
+		assertThat(callGraph.getCallers(PREFIX + "SomeShape#area()D")).isEmpty();
+	}
+
+	@Test
+	public final void staticAndSpecialCallsAreNotExpanded() {
+		assertEquals(Collections.singletonList("java/lang/Math#abs(D)D"), callGraph.getCallees(HELPER));
+		assertEquals(Collections.singletonList("java/lang/Object#<init>()V"),
+				callGraph.getCallees(PREFIX + "SomeSquare#<init>()V"));
+	}
+
+	@Test
+	public final void callsWithoutImplementationAmongInspectedClassesLeadToDeclaredMethod() {
+		assertEquals(Collections.singletonList("java/util/List#size()I"), callGraph.getCallees(SIZE_OF));
+	}
+
+	@Test
+	public final void inheritedImplementationsAreNamedByDeclaringClass() {
+		assertThat(callGraph.getCallees(PREFIX + "SomeSubSquare#describe()Ljava/lang/String;"))
+				.containsOnly(PREFIX + "SomeSquare#area()D", "java/lang/String#valueOf(D)Ljava/lang/String;");
+	}
+
+	@Test
+	public final void getCallersTest() {
+		assertEquals(Collections.singletonList(TOTAL_AREA), callGraph.getCallers(PREFIX + "SomeCircle#area()D"));
+		assertThat(callGraph.getCallers("does/not/Exist#foo()V")).isEmpty();
+	}
+
+	@Test
+	public final void getReachableMethodsIsTransitive() {
+		final List<String> reachable = callGraph.getReachableMethods(Arrays.asList(TOTAL_AREA, "does/not/Exist#foo()V"));
+
+		assertThat(reachable).containsOnly(TOTAL_AREA, PREFIX + "SomeSquare#area()D", PREFIX + "SomeCircle#area()D",
+				PREFIX + "SomeTriangle#area()D", HELPER, "java/lang/Math#abs(D)D");
+	}
+
+	@Test
+	public final void countsTest() {
+		assertTrue(callGraph.contains(SIZE_OF));
+		assertFalse(callGraph.contains("does/not/Exist#foo()V"));
+		// 6 constructors calling their super constructor + 4 from totalArea + sizeOf + helper + 2 from describe
+		assertEquals(6 + 4 + 1 + 1 + 2, callGraph.getEdgeCount());
+		// 6 constructors + 3 implemented area methods + describe, totalArea, sizeOf, helper + 4 called JDK methods,
+		// the abstract SomeShape#area()D is not called as it's implemented
+		assertEquals(6 + 3 + 4 + 4, callGraph.getMethodCount());
+	}
+
+	@Test
+	public final void lambdasAreCalledViaTheirMethodHandles() {
+		final CallGraph lambdaCallGraph = CallGraph.build(new SymbolTable(),
+				Collections.singletonList(SomeLambdaClient.class.getName()));
+		final String createTask = PREFIX + "SomeLambdaClient#createTask()Ljava/lang/Runnable;";
+		final String lambda = PREFIX + "SomeLambdaClient#lambda$createTask$0()V";
+
+		assertThat(lambdaCallGraph.getCallees(createTask)).contains(lambda);
+		assertThat(lambdaCallGraph.getReachableMethods(Collections.singletonList(createTask)))
+				.contains(lambda, "java/lang/Math#abs(I)I");
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	interface SomeShape {
+		double area();
+	}
+
+	static class SomeSquare implements SomeShape {
+		@Override
+		public double area() {
+			return 1;
+		}
+	}
+
+	static class SomeSubSquare extends SomeSquare {
+		String describe() {
+			return String.valueOf(area());
+		}
+	}
+
+	static class SomeCircle implements SomeShape {
+		@Override
+		public double area() {
+			return 2;
+		}
+	}
+
+	abstract static class SomeAbstractShape implements SomeShape {
+	}
+
+	static class SomeTriangle extends SomeAbstractShape {
+		@Override
+		public double area() {
+			return 3;
+		}
+	}
+
+	static class SomeShapeClient {
+		double totalArea(final SomeShape shape) {
+			return shape.area() + shape.area() + helper();
+		}
+
+		int sizeOf(final List<?> list) {
+			return list.size();
+		}
+
+		private static double helper() {
+			return Math.abs(-1.0);
+		}
+	}
+
+	static class SomeLambdaClient {
+		Runnable createTask() {
+			return () -> Math.abs(-1);
+		}
+	}
+}
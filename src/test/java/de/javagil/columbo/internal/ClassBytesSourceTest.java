@@ -0,0 +1,154 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for class {@link ClassBytesSource}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ClassBytesSourceTest {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	/**
+	 * just to test the resource determination
+	 */
+	static class SomeInnerClass {
+
+		private static Object instOfAnon = new Object() {
+			public String toString() { return "Anon[" + super.toString() + "]"; }
+		};
+		public static Class<?> getAnonClass() {
+			return instOfAnon.getClass();
+		}
+	}
+
+	private static Object instOfAnon = new Object() {
+		public String toString() { return "Anon[" + super.toString() + "]"; }
+	};
+
+	private final ClassBytesSource classBytesSource = new ClassBytesSource();
+
+	@After
+	public final void cleanup() throws IOException {
+		classBytesSource.close();
+	}
+
+	@Test
+	public final void getResourceURLTest() {
+		assertThat(classBytesSource.getResourceURL("org.junit.Test").toExternalForm())
+			.startsWith("jar:").endsWith("!/org/junit/Test.class");
+		assertThat(classBytesSource.getResourceURL("de/javagil/columbo/internal/ClassBytesSourceTest").toExternalForm())
+			.startsWith("file:").endsWith("/de/javagil/columbo/internal/ClassBytesSourceTest.class");
+		assertNull(classBytesSource.getResourceURL("does.not.Exist"));
+	}
+
+	@Test
+	public final void getResourceURLForInnerClassTest() {
+		assertThat(urlString(SomeInnerClass.class)).
+				endsWith("/target/test-classes/de/javagil/columbo/internal/ClassBytesSourceTest$SomeInnerClass.class");
+	}
+
+	@Test
+	public final void getResourceURLForAnonymousClassTest() {
+		assertThat(urlString(instOfAnon.getClass())).
+				endsWith("/target/test-classes/de/javagil/columbo/internal/ClassBytesSourceTest$1.class");
+	}
+
+	@Test
+	public final void getResourceURLForAnonymousClassInInnerClassTest() {
+		assertThat(urlString(SomeInnerClass.getAnonClass())).
+				endsWith("/target/test-classes/de/javagil/columbo/internal/ClassBytesSourceTest$SomeInnerClass$1.class");
+	}
+
+	@Test
+	public final void getResourceURLForMethodLocalInnerClassTest() {
+		/**
+		 * An inner class within a method for testing purposes.
+		 */
+		class InnerMethodClass {
+		}
+
+		assertThat(urlString(InnerMethodClass.class)).
+				endsWith("/target/test-classes/de/javagil/columbo/internal/ClassBytesSourceTest$1InnerMethodClass.class");
+	}
+
+	@Test
+	public final void readBytesFromJar() {
+		assertEquals("org/junit/Test", ClassFileParser.parse(classBytesSource.readBytes("org.junit.Test")).getName());
+		assertEquals("org/junit/Ignore", ClassFileParser.parse(classBytesSource.readBytes("org/junit/Ignore")).getName());
+	}
+
+	@Test
+	public final void readBytesFromDirectory() {
+		byte[] bytes = classBytesSource.readBytes(getClass().getName());
+		assertEquals(MAGIC, (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF));
+	}
+
+	@Test
+	public final void readBytesFromLocationsWhichAreNoPlainLocalFilesUsesUrlHandler() throws IOException {
+		// URLs with an authority can't be converted to a File, e.g. UNC paths like "file://server/share/x.jar"
+		final URL jarResource = new URL(classBytesSource.getResourceURL("org.junit.Test").toExternalForm()
+				.replaceFirst("^jar:file:", "jar:file://localhost"));
+		final URL fileResource = new URL(classBytesSource.getResourceURL(getClass().getName()).toExternalForm()
+				.replaceFirst("^file:", "file://localhost"));
+
+		assertEquals("org/junit/Test", ClassFileParser.parse(classBytesSource.readBytes(jarResource)).getName());
+		assertEquals(getClass().getName().replace('.', '/'),
+				ClassFileParser.parse(classBytesSource.readBytes(fileResource)).getName());
+	}
+
+	@Test
+	public final void readBytesOfNonExistingClassIsNull() {
+		assertNull(classBytesSource.readBytes("does.not.Exist"));
+	}
+
+	@Test
+	public final void readBytesAfterCloseReopensJar() throws IOException {
+		classBytesSource.readBytes("org.junit.Test");
+		classBytesSource.close();
+
+		assertEquals("org/junit/Test", ClassFileParser.parse(classBytesSource.readBytes("org.junit.Test")).getName());
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private String urlString(final Class<?> clazz) {
+		return classBytesSource.getResourceURL(clazz.getName()).toExternalForm();
+	}
+}
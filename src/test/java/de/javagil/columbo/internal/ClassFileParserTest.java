@@ -0,0 +1,198 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Unit test for class {@link ClassFileParser}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ClassFileParserTest {
+
+	private static final String PREFIX = "de/javagil/columbo/internal/ClassFileParserTest$";
+	private static final String METAFACTORY_DESC = "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+			+ "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodHandle;"
+			+ "Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;";
+
+	@Test
+	public final void parseClassWithInvokeDynamicConstants() throws IOException {
+		ClassSymbol symbol = ClassFileParser.parse(bytecodeOf("java/util/Comparator"));
+
+		assertEquals("java/util/Comparator", symbol.getName());
+		assertEquals("java/lang/Object", symbol.getSuperName());
+		assertTrue(symbol.isInterface());
+		assertNotNull(symbol.getDeclaredMethod("compare", "(Ljava/lang/Object;Ljava/lang/Object;)I"));
+	}
+
+	@Test
+	public final void parseFieldsAndMethods() throws IOException {
+		ClassSymbol symbol = ClassFileParser.parse(bytecodeOf("java/lang/Integer"));
+
+		assertTrue(symbol.getDeclaredField("MAX_VALUE").isStatic());
+		assertEquals("I", symbol.getDeclaredField("MAX_VALUE").getDesc());
+		assertNotNull(symbol.getDeclaredMethod("<init>", "(I)V"));
+		assertNotNull(symbol.getDeclaredMethodByArguments("valueOf", "(Ljava/lang/String;)"));
+	}
+
+	@Test
+	public final void parseRuntimeVisibleAnnotations() throws IOException {
+		ClassSymbol symbol = ClassFileParser.parse(bytecodeOf("java/lang/Thread"));
+
+		assertNotNull(symbol.getDeclaredMethod("stop", "()V").getAnnotation("Ljava/lang/Deprecated;"));
+		assertNull(symbol.getDeclaredMethod("start", "()V").getAnnotation("Ljava/lang/Deprecated;"));
+		assertNull(symbol.getAnnotation("Ljava/lang/Deprecated;"));
+	}
+
+	@Test
+	public final void parseAnnotationElementValues() throws IOException {
+		ClassSymbol symbol = ClassFileParser.parse(bytecodeOf("java/lang/FunctionalInterface"));
+
+		AnnotationSymbol retention = symbol.getAnnotation("Ljava/lang/annotation/Retention;");
+		assertEquals("RUNTIME", retention.getValue("value"));
+		AnnotationSymbol target = symbol.getAnnotation("Ljava/lang/annotation/Target;");
+		assertEquals("TYPE", ((Object[]) target.getValue("value"))[0]);
+	}
+
+	@Test
+	public final void readConstantsTest() throws IOException {
+		List<String> classNames = new ArrayList<String>();
+		List<String> utf8Constants = new ArrayList<String>();
+
+		ClassFileParser.readConstants(bytecodeOf("java/lang/Integer"), classNames, utf8Constants);
+
+		assertThat(classNames).contains("java/lang/Integer", "java/lang/Number", "java/lang/String");
+		assertThat(utf8Constants).contains("MAX_VALUE", "(Ljava/lang/String;)Ljava/lang/Integer;");
+	}
+
+	@Test
+	public final void readReferencesTest() throws IOException {
+		List<String> classNames = new ArrayList<String>();
+		List<SymbolicReference> memberReferences = new ArrayList<SymbolicReference>();
+
+		ClassFileParser.readReferences(bytecodeOf("java/lang/Integer"), classNames, memberReferences);
+
+		assertThat(classNames).contains("java/lang/Integer", "java/lang/Number");
+		List<String> members = new ArrayList<String>();
+		for (SymbolicReference reference: memberReferences) {
+			members.add(reference.toString());
+		}
+		assertThat(members).contains("java/lang/Integer#valueI", "java/lang/Number#<init>()V");
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void parseNonClassFileThrowsInspectionException() {
+		ClassFileParser.parse(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void parseTruncatedClassFileThrowsInspectionException() throws IOException {
+		byte[] bytes = bytecodeOf("java/lang/String");
+		byte[] truncated = new byte[bytes.length / 2];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+		ClassFileParser.parse(truncated);
+	}
+
+	@Test
+	public final void readCodeTest() throws IOException {
+		final List<String> visited = new ArrayList<String>();
+
+		ClassFileParser.readCode(bytecodeOf(PREFIX + "SomeCodeClass"), new CodeReferenceVisitor() {
+			@Override
+			public void visitMethod(final String className, final String name, final String desc) {
+				visited.add(className.substring(PREFIX.length()) + "#" + name + desc);
+			}
+
+			@Override
+			public void visitMemberInsn(final int opcode, final SymbolicReference reference) {
+				visited.add(opcode + " " + reference);
+			}
+		});
+
+		// the references following the switch instructions are only found if their lengths are right,
+		// invokedynamic leads to the bootstrap method and the implementation method of the lambda
+		assertEquals(Arrays.asList("SomeCodeClass#select(I)Ljava/lang/Runnable;",
+				Opcodes.GETSTATIC + " java/lang/System#outLjava/io/PrintStream;",
+				Opcodes.INVOKEVIRTUAL + " java/io/PrintStream#println()V",
+				Opcodes.INVOKESTATIC + " java/lang/Math#abs(I)I",
+				Opcodes.INVOKESTATIC + " java/lang/invoke/LambdaMetafactory#metafactory" + METAFACTORY_DESC,
+				Opcodes.INVOKESTATIC + " " + PREFIX + "SomeCodeClass#lambda$select$0(I)V"),
+				visited.subList(2, 8));
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	static class SomeCodeClass {
+		Runnable select(final int value) {
+			int result;
+			switch (value) {
+			case 1: result = 10; break;
+			case 2: result = 20; break;
+			case 3: result = 30; break;
+			default: result = 0;
+			}
+			switch (result) {
+			case 10: System.out.println(); break;
+			case 1000: result = 1; break;
+			default: result = Math.abs(result);
+			}
+			return () -> System.out.println(value);
+		}
+	}
+
+	private static byte[] bytecodeOf(final String internalClassName) throws IOException {
+		InputStream stream = ClassLoader.getSystemResourceAsStream(internalClassName + ".class");
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			for (int count = stream.read(buffer); count != -1; count = stream.read(buffer)) {
+				bytes.write(buffer, 0, count);
+			}
+			return bytes.toByteArray();
+		} finally {
+			stream.close();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Unit test for class {@link ClassHierarchy}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ClassHierarchyTest {
+
+	private static final String PREFIX = "de/javagil/columbo/internal/ClassHierarchyTest$";
+
+	private static final String CLIENT_CLASS = PREFIX + "SomeClientClass";
+	private static final String CLIENT_SUPERCLASS = PREFIX + "SomeClientSuperclass";
+	private static final String FRAMEWORK_CLASS = PREFIX + "SomeFrameworkClass";
+	private static final String CLIENT_INTERFACE = PREFIX + "SomeClientInterface";
+	private static final String FRAMEWORK_INTERFACE = PREFIX + "SomeFrameworkInterface";
+
+	private final ClassHierarchy hierarchy = ClassHierarchy.build(new SymbolTable(),
+			Arrays.asList(SomeClientClass.class.getName(), "java.lang.Integer", "java/lang/Long", "does/not/Exist"));
+
+	@Test
+	public final void containsGivenClassesAndAllTheirSupertypes() {
+		assertTrue(hierarchy.contains(CLIENT_CLASS));
+		assertTrue(hierarchy.contains(FRAMEWORK_INTERFACE));
+		assertTrue(hierarchy.contains("java/lang/Number"));
+		assertTrue(hierarchy.contains("java/lang/Object"));
+		assertFalse(hierarchy.contains("java/lang/String"));
+	}
+
+	@Test
+	public final void classesNotFoundAreUnresolvedLeafs() {
+		assertTrue(hierarchy.contains("does/not/Exist"));
+		assertFalse(hierarchy.isResolved("does/not/Exist"));
+		assertTrue(hierarchy.isResolved("java/lang/Long"));
+		assertThat(hierarchy.getSupertypes("does/not/Exist")).isEmpty();
+	}
+
+	@Test
+	public final void getSupertypesIsTransitive() {
+		assertThat(hierarchy.getSupertypes(CLIENT_CLASS)).containsOnly(CLIENT_SUPERCLASS, FRAMEWORK_CLASS,
+				CLIENT_INTERFACE, FRAMEWORK_INTERFACE, "java/lang/Object");
+		assertThat(hierarchy.getSupertypes("java/lang/Object")).isEmpty();
+		assertThat(hierarchy.getSupertypes("not/in/Hierarchy")).isEmpty();
+	}
+
+	@Test
+	public final void isSubtypeOfTest() {
+		assertTrue(hierarchy.isSubtypeOf(CLIENT_CLASS, FRAMEWORK_INTERFACE));
+		assertTrue(hierarchy.isSubtypeOf(CLIENT_CLASS, CLIENT_CLASS));
+		assertTrue(hierarchy.isSubtypeOf("java/lang/Integer", "java/lang/Comparable"));
+		assertFalse(hierarchy.isSubtypeOf(FRAMEWORK_CLASS, CLIENT_INTERFACE));
+		assertFalse(hierarchy.isSubtypeOf("java/lang/Number", "java/lang/Integer"));
+		assertFalse(hierarchy.isSubtypeOf("not/in/Hierarchy", "java/lang/Object"));
+	}
+
+	@Test
+	public final void getSubtypesIsTransitiveWithinHierarchy() {
+		assertThat(hierarchy.getDirectSubtypes(FRAMEWORK_CLASS)).containsOnly(CLIENT_SUPERCLASS);
+		assertThat(hierarchy.getSubtypes(FRAMEWORK_INTERFACE)).containsOnly(FRAMEWORK_CLASS, CLIENT_SUPERCLASS,
+				CLIENT_CLASS);
+		assertThat(hierarchy.getSubtypes("java/lang/Number")).containsOnly("java/lang/Integer", "java/lang/Long");
+		assertThat(hierarchy.getSubtypes(CLIENT_CLASS)).isEmpty();
+	}
+
+	@Test
+	public final void getSubtypesReportsSubtypesReachedTwiceOnlyOnce() {
+		// Integer is reached via Number as well as via Comparable, as interfaces extend Object in bytecode
+		assertEquals(1, countOf(hierarchy.getSubtypes("java/lang/Object"), "java/lang/Integer"));
+	}
+
+	@Test
+	public final void getAccessTest() {
+		assertTrue((hierarchy.getAccess(FRAMEWORK_INTERFACE) & Opcodes.ACC_INTERFACE) != 0);
+		assertTrue(hierarchy.isAbstract(hierarchy.idOf(CLIENT_SUPERCLASS)));
+		assertFalse(hierarchy.isInterface(hierarchy.idOf(CLIENT_SUPERCLASS)));
+		assertEquals(0, hierarchy.getAccess("does/not/Exist"));
+	}
+
+	@Test
+	public final void superIdsListSuperclassFirst() {
+		int[] superIds = hierarchy.superIdsOf(hierarchy.idOf(CLIENT_CLASS));
+		assertEquals(CLIENT_SUPERCLASS, hierarchy.nameOf(superIds[0]));
+		assertEquals(CLIENT_INTERFACE, hierarchy.nameOf(superIds[1]));
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static int countOf(final Iterable<String> names, final String name) {
+		int count = 0;
+		for (String each: names) {
+			count += each.equals(name) ? 1 : 0;
+		}
+		return count;
+	}
+
+	interface SomeFrameworkInterface {
+	}
+
+	static class SomeFrameworkClass implements SomeFrameworkInterface {
+	}
+
+	interface SomeClientInterface {
+	}
+
+	abstract static class SomeClientSuperclass extends SomeFrameworkClass {
+	}
+
+	static class SomeClientClass extends SomeClientSuperclass implements SomeClientInterface {
+	}
+}
@@ -29,25 +29,32 @@ package de.javagil.columbo.internal;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.io.File;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.fest.assertions.Assertions;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.MissingSymbolCollector;
 import de.javagil.columbo.api.ReferenceVisitor;
 import de.javagil.columbo.api.ReferenceVisitorAdapter;
 import de.javagil.columbo.api.Referrer;
 import de.javagil.columbo.api.VisitorContext;
+import de.javagil.columbo.testutil.LibraryCompiler;
 
 
 /**
@@ -60,6 +67,23 @@ public class ClassVisitorTest {
 	
 	private static final int MIN_EXPECTED_NUMBER_OF_METHOD_OVERRIDES = 10;
 
+	private static final String[] MISSING_TYPES = {
+		"package missing; public interface SomeMissingInterface {}",
+		"package missing; public class SomeMissingParameter {}",
+		"package missing; public class SomeMissingReturnType {}",
+		"package missing; public class SomeMissingCheckedType {}",
+	};
+
+	private static final String CLIENT_OF_MISSING_TYPES = "package client;\n"
+		+ "public class SomeClientOfMissingTypes implements missing.SomeMissingInterface {\n"
+		+ "  public missing.SomeMissingReturnType someMethod(missing.SomeMissingParameter param, Object value) {\n"
+		+ "    return value instanceof missing.SomeMissingCheckedType ? null : null;\n"
+		+ "  }\n"
+		+ "}\n";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private VisitorContext ctx = new VisitorContext();
 	
 	@Mock
@@ -178,6 +202,25 @@ public class ClassVisitorTest {
 		onClassNotFoundCalled("Ldoes.NotExist;");
 	}
 	
+	@Test
+	public final void missingSupertypesAndSignatureTypesAreReportedWithoutAborting() throws Exception {
+		File missingTypes = LibraryCompiler.compile(temporaryFolder.newFolder("missing"), MISSING_TYPES);
+		File client = LibraryCompiler.compile(temporaryFolder.newFolder("client"), missingTypes, CLIENT_OF_MISSING_TYPES);
+		MissingSymbolCollector collector = new MissingSymbolCollector();
+
+		new ClassVisitor(new VisitorContext(), collector, new SymbolTable(new URLClassLoader(new URL[] {client.toURI().toURL()})))
+				.inspect(Collections.singleton("client.SomeClientOfMissingTypes"));
+
+		assertEquals("CLASS: missing.SomeMissingCheckedType referred 1 time\n"
+				+ "\tclient.SomeClientOfMissingTypes#someMethod:4\n"
+				+ "CLASS: missing.SomeMissingInterface referred 1 time\n"
+				+ "\tclient.SomeClientOfMissingTypes\n"
+				+ "CLASS: missing.SomeMissingParameter referred 1 time\n"
+				+ "\tclient.SomeClientOfMissingTypes#someMethod\n"
+				+ "CLASS: missing.SomeMissingReturnType referred 1 time\n"
+				+ "\tclient.SomeClientOfMissingTypes#someMethod\n", collector.getReport());
+	}
+
 	// --- end of test cases, just fixture code below ---
 
 	private void whenVisiting(Class<?> clazz, String methodName, String methodDesc) {
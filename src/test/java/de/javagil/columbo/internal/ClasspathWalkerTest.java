@@ -0,0 +1,121 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.javagil.columbo.testbed.general.SomeTestClass;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link ClasspathWalker}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ClasspathWalkerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public final void findClassNamesInDirectory() {
+		assertThat(new ClasspathWalker().findClassNames(SomeCleanClass.class.getPackage().getName()))
+			.containsOnly(SomeCleanClass.class.getName());
+	}
+
+	@Test
+	public final void findClassNamesIncludesSubpackages() {
+		assertThat(new ClasspathWalker().findClassNames(SomeTestClass.class.getPackage().getName()))
+			.contains(SomeTestClass.class.getName(), SomeCleanClass.class.getName());
+	}
+
+	@Test
+	public final void findClassNamesInJar() throws IOException {
+		File jar = createJar("some/pkg/", "some/pkg/SomeClass.class", "some/pkg/SomeClass$Nested.class",
+				"some/pkg/package-info.class", "some/pkg/sub/", "some/pkg/sub/OtherClass.class",
+				"some/pkg/readme.txt", "some/other/", "some/other/UnrelatedClass.class");
+		URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+		try {
+			assertThat(new ClasspathWalker(classLoader).findClassNames("some.pkg")).containsOnly(
+					"some.pkg.SomeClass", "some.pkg.SomeClass$Nested", "some.pkg.sub.OtherClass");
+		} finally {
+			classLoader.close();
+		}
+	}
+
+	@Test
+	public final void findClassNamesOfWholeJar() throws IOException {
+		File jar = createJar("some/pkg/SomeClass.class", "some/other/UnrelatedClass.class", "TopLevelClass.class",
+				"some/pkg/readme.txt");
+
+		assertThat(ClasspathWalker.findClassNames(jar)).containsOnly(
+				"some.pkg.SomeClass", "some.other.UnrelatedClass", "TopLevelClass");
+	}
+
+	@Test
+	public final void findClassNamesOfWholeDirectory() throws IOException {
+		temporaryFolder.newFolder("some", "pkg");
+		temporaryFolder.newFile("some/pkg/SomeClass.class");
+		temporaryFolder.newFile("TopLevelClass.class");
+
+		assertThat(ClasspathWalker.findClassNames(temporaryFolder.getRoot())).containsOnly(
+				"some.pkg.SomeClass", "TopLevelClass");
+	}
+
+	@Test
+	public final void findClassNamesOfUnknownPackageIsEmpty() {
+		assertThat(new ClasspathWalker().findClassNames("does.not.exist")).isEmpty();
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private File createJar(final String... entryNames) throws IOException {
+		File jar = temporaryFolder.newFile("test.jar");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+		try {
+			for (String entryName: entryNames) {
+				out.putNextEntry(new ZipEntry(entryName));
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+		return jar;
+	}
+}
@@ -0,0 +1,107 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.testbed.deprecated.SomeClassCallingDeprecatedMethods;
+import de.javagil.columbo.testbed.deprecated.SomeClassUsingDateConstructor;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link ConstantPoolFilter}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ConstantPoolFilterTest {
+
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	@After
+	public final void cleanup() {
+		Util.close(symbolTable);
+	}
+
+	@Test
+	public final void classReferencingTargetClassIsAccepted() {
+		assertTrue(filterFor("java.util.Date").mayReferenceTarget(bytecodeOf(SomeClassUsingDateConstructor.class)));
+	}
+
+	@Test
+	public final void classNotReferencingTargetClassIsRejected() {
+		assertFalse(filterFor("java.util.Date").mayReferenceTarget(bytecodeOf(SomeClassCallingDeprecatedMethods.class)));
+		assertFalse(filterFor("java.util.Date").mayReferenceTarget(bytecodeOf(SomeCleanClass.class)));
+	}
+
+	@Test
+	public final void classReferencingTargetPackageIsAccepted() {
+		assertTrue(filterFor("java.util").mayReferenceTarget(bytecodeOf(SomeClassUsingDateConstructor.class)));
+		assertFalse(filterFor("java.util.concurrent").mayReferenceTarget(bytecodeOf(SomeClassUsingDateConstructor.class)));
+	}
+
+	@Test
+	public final void subclassOfTargetIsAccepted() {
+		// every class extends java.lang.Object, members like wait() might be inherited from there
+		assertTrue(filterFor("java.lang.Object").mayReferenceTarget(bytecodeOf(SomeCleanClass.class)));
+	}
+
+	@Test
+	public final void classReferencingSubclassOfTargetIsAccepted() {
+		// ArrayList inherits e.g. containsAll() from AbstractCollection
+		assertTrue(filterFor("java.util.AbstractCollection").mayReferenceTarget(bytecodeOf(SomeClientOfArrayList.class)));
+	}
+
+	@Test
+	public final void targetPrefixMatchesOnlyWholeNames() {
+		assertFalse(filterFor("java.util.Dat").mayReferenceTarget(bytecodeOf(SomeClassCallingDeprecatedMethods.class)));
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private ConstantPoolFilter filterFor(final String... targetNames) {
+		return new ConstantPoolFilter(Arrays.asList(targetNames), symbolTable);
+	}
+
+	private byte[] bytecodeOf(final Class<?> clazz) {
+		return symbolTable.getClassBytesSource().readBytes(clazz.getName());
+	}
+
+	/**
+	 * Refers to ArrayList only.
+	 */
+	static class SomeClientOfArrayList {
+		Object someMethod() {
+			return new java.util.ArrayList<String>();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+
+import de.javagil.columbo.api.InspectionException;
+
+/**
+ * Unit test for class {@link DescriptorCache}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class DescriptorCacheTest {
+
+	private final DescriptorCache cache = new DescriptorCache(2);
+
+	@Test
+	public final void getParameterTypesTest() {
+		assertArrayEquals(new Class<?>[] { int[].class, String.class, boolean.class },
+				cache.getParameterTypes("([ILjava/lang/String;Z)V"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public final void getParameterTypesReturnsCopies() {
+		Class<?>[] first = cache.getParameterTypes("(I)V");
+		first[0] = String.class;
+
+		Class<?>[] second = cache.getParameterTypes("(I)V");
+		assertNotSame(first, second);
+		assertArrayEquals(new Class<?>[] { int.class }, second);
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public final void cacheIsBounded() {
+		cache.getParameterTypes("(I)V");
+		cache.getParameterTypes("(J)V");
+		cache.getParameterTypes("(Z)V");
+
+		assertEquals(1, cache.size());
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void getParameterTypesWithUnknownClassThrowsInspectionException() {
+		cache.getParameterTypes("(Ldoes/not/Exist;)V");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void maxSizeMustBePositive() {
+		new DescriptorCache(0);
+	}
+}
@@ -0,0 +1,89 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.api.Final;
+
+/**
+ * Unit test for class {@link InheritedAnnotationIndex}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class InheritedAnnotationIndexTest {
+
+	private static final String PACKAGE = "de/javagil/columbo/testbed/finaloverride/";
+
+	private final SymbolTable symbolTable = new SymbolTable();
+	private final InheritedAnnotationIndex index = new InheritedAnnotationIndex(symbolTable, Final.class);
+
+	@After
+	public final void closeSymbolTable() throws Exception {
+		symbolTable.close();
+	}
+
+	@Test
+	public final void findOverriddenAnnotatedMethodOfParent() {
+		List<MemberSymbol> found = index.findOverriddenAnnotatedMethods(
+				PACKAGE + "SomeClassOverridingFinalMethod", "someFinalMethod", "()V");
+
+		assertEquals(1, found.size());
+		assertEquals(PACKAGE + "SomeClassWithFinalMethod", found.get(0).getOwner().getName());
+	}
+
+	@Test
+	public final void findOverriddenAnnotatedMethodOfGrandparent() {
+		List<MemberSymbol> found = index.findOverriddenAnnotatedMethods(
+				PACKAGE + "SomeClassOverridingFinalMethodOfGrandparent", "someFinalMethod", "()V");
+
+		assertEquals(1, found.size());
+		assertEquals(PACKAGE + "SomeClassWithFinalMethod", found.get(0).getOwner().getName());
+	}
+
+	@Test
+	public final void returnTypeIsIgnored() {
+		assertEquals(1, index.findOverriddenAnnotatedMethods(
+				PACKAGE + "SomeClassOverridingFinalMethod", "someFinalMethod", "()Ljava/lang/Object;").size());
+	}
+
+	@Test
+	public final void notAnnotatedMethodsAreNotFound() {
+		assertThat(index.findOverriddenAnnotatedMethods(
+				PACKAGE + "SomeClassOverridingFinalMethod", "someOpenMethod", "()V")).isEmpty();
+		assertThat(index.findOverriddenAnnotatedMethods(
+				PACKAGE + "SomeClassWithFinalMethod", "someFinalMethod", "()V")).isEmpty();
+		assertThat(index.findOverriddenAnnotatedMethods("java/lang/String", "length", "()I")).isEmpty();
+		assertThat(index.findOverriddenAnnotatedMethods("does/not/Exist", "someMethod", "()V")).isEmpty();
+	}
+}
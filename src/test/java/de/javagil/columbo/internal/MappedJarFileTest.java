@@ -0,0 +1,145 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for class {@link MappedJarFile}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class MappedJarFileTest {
+
+	private static final byte[] STORED_CONTENT = "some stored content".getBytes();
+	private static final byte[] DEFLATED_CONTENT = repeat("some deflated content, ", 1000).getBytes();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private MappedJarFile jarFile;
+
+	@After
+	public final void cleanup() throws IOException {
+		if (jarFile != null) {
+			jarFile.close();
+		}
+	}
+
+	@Test
+	public final void readStoredEntry() throws IOException {
+		jarFile = MappedJarFile.open(createJar());
+
+		assertArrayEquals(STORED_CONTENT, jarFile.readEntry("some/Stored.class"));
+	}
+
+	@Test
+	public final void getStoredEntryIsReadOnlySliceOfMappedFile() throws IOException {
+		jarFile = MappedJarFile.open(createJar());
+
+		ByteBuffer entry = jarFile.getEntry("some/Stored.class");
+		assertTrue(entry.isReadOnly());
+		assertTrue(entry.isDirect());
+	}
+
+	@Test
+	public final void readDeflatedEntry() throws IOException {
+		jarFile = MappedJarFile.open(createJar());
+
+		assertArrayEquals(DEFLATED_CONTENT, jarFile.readEntry("some/other/Deflated.class"));
+	}
+
+	@Test
+	public final void readNonExistingEntryIsNull() throws IOException {
+		jarFile = MappedJarFile.open(createJar());
+
+		assertFalse(jarFile.hasEntry("does/not/Exist.class"));
+		assertNull(jarFile.readEntry("does/not/Exist.class"));
+	}
+
+	@Test(expected = IOException.class)
+	public final void openNonJarFileThrowsIOException() throws IOException {
+		File file = temporaryFolder.newFile("no.jar");
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(DEFLATED_CONTENT);
+		} finally {
+			out.close();
+		}
+
+		MappedJarFile.open(file);
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private File createJar() throws IOException {
+		File jar = temporaryFolder.newFile("test.jar");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+		try {
+			ZipEntry storedEntry = new ZipEntry("some/Stored.class");
+			storedEntry.setMethod(ZipEntry.STORED);
+			storedEntry.setSize(STORED_CONTENT.length);
+			CRC32 crc = new CRC32();
+			crc.update(STORED_CONTENT);
+			storedEntry.setCrc(crc.getValue());
+			out.putNextEntry(storedEntry);
+			out.write(STORED_CONTENT);
+			out.closeEntry();
+
+			out.putNextEntry(new ZipEntry("some/other/Deflated.class"));
+			out.write(DEFLATED_CONTENT);
+			out.closeEntry();
+		} finally {
+			out.close();
+		}
+		return jar;
+	}
+
+	private static String repeat(final String string, final int times) {
+		StringBuilder builder = new StringBuilder();
+		for (int n = 0; n < times; ++n) {
+			builder.append(string);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,97 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * Unit test for class {@link MemberLookupCache}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class MemberLookupCacheTest {
+
+	private final MemberLookupCache cache = new MemberLookupCache();
+
+	@Test
+	public final void findMethodIsCached() {
+		Method method = cache.findMethod(StringBuilder.class, "append", new Class<?>[] { String.class });
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		assertSame(method, cache.findMethod(StringBuilder.class, "append", new Class<?>[] { String.class }));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public final void findMethodDistinguishesParameterTypes() {
+		Method appendString = cache.findMethod(StringBuilder.class, "append", new Class<?>[] { String.class });
+		Method appendInt = cache.findMethod(StringBuilder.class, "append", new Class<?>[] { int.class });
+
+		assertEquals(int.class, appendInt.getParameterTypes()[0]);
+		assertEquals(String.class, appendString.getParameterTypes()[0]);
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public final void findMethodCachesNegativeResults() {
+		assertNull(cache.findMethod(String.class, "doesNotExist", new Class<?>[0]));
+		assertNull(cache.findMethod(String.class, "doesNotExist", new Class<?>[0]));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public final void findConstructorIsCached() {
+		Constructor<?> ctor = cache.findConstructor(String.class, new Class<?>[] { char[].class, int.class, int.class });
+		assertSame(ctor, cache.findConstructor(String.class, new Class<?>[] { char[].class, int.class, int.class }));
+		assertNull(cache.findConstructor(String.class, new Class<?>[] { Test.class }));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public final void findFieldIsCachedSeparatelyFromMethods() {
+		Field field = cache.findField(Integer.class, "MAX_VALUE");
+		assertSame(field, cache.findField(Integer.class, "MAX_VALUE"));
+		assertNull(cache.findMethod(Integer.class, "MAX_VALUE", new Class<?>[0]));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+}
@@ -48,6 +48,7 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
 
 import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.MissingSymbolCollector;
 import de.javagil.columbo.api.ReferenceVisitorAdapter;
 import de.javagil.columbo.api.Referrer;
 import de.javagil.columbo.api.VisitorContext;
@@ -218,6 +219,25 @@ public class MethodVisitorTest {
 		methodVisitor.visitTypeInsn(Opcode.INSTANCEOF, "java/lang/NonExistingClass");
 	}
 	
+	@Test
+	public final void visitInsnReportsMissingSymbolsOncePerReferrerWithoutAborting() {
+		MissingSymbolCollector collector = new MissingSymbolCollector();
+		MethodVisitor collectingVisitor = new MethodVisitor(context, collector);
+		givenWeAreInspectingMethod("someMethod", "()V;");
+
+		context.inspectingLineNumber(10);
+		collectingVisitor.visitMethodInsn(Opcode.INVOKEVIRTUAL, "java/lang/NonExistingClass", "toString", "()Ljava/lang/String;");
+		context.inspectingLineNumber(11);
+		collectingVisitor.visitFieldInsn(Opcode.GETFIELD, "java/lang/NonExistingClass", "someField", "I");
+		collectingVisitor.visitMethodInsn(Opcode.INVOKEVIRTUAL, "java/lang/Integer", "toString", 
+				"(Ljava/lang/NonExistingClass;)Ljava/lang/String;");
+		collectingVisitor.visitMethodInsn(Opcode.INVOKEVIRTUAL, "java/lang/Integer", "nonExistantMethod", "()Ljava/lang/String;");
+		
+		assertEquals("[CLASS: java.lang.NonExistingClass referred 2 times, " 
+				+ "METHOD: java.lang.Integer#nonExistantMethod() referred 1 time]", 
+				collector.getMissingSymbols().toString());
+	}
+	
 	// ----- end of test cases ----- test fixture below ------------------------------------------
 	
 	private Class<?>[] array(final Class<?>... classes) {
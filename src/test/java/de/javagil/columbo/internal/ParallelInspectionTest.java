@@ -0,0 +1,151 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.javagil.columbo.api.BatchReferenceVisitor;
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.ReferenceVisitorAdapter;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.api.ThreadSafeReferenceVisitor;
+import de.javagil.columbo.testbed.general.SomeTestClass;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link ParallelInspection}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ParallelInspectionTest {
+
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@After
+	public final void cleanup() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public final void partitionKeepsPackagesTogether() {
+		List<List<String>> partitions = ParallelInspection.partition(Arrays.asList(
+				"a.A1", "a.A2", "a.A3", "b.B1", "b.B2", "b.B3", "c.C1"), 3);
+
+		assertEquals(3, partitions.size());
+		assertThat(partitions.get(0)).containsOnly("a.A1", "a.A2", "a.A3");
+		assertThat(partitions.get(1)).containsOnly("b.B1", "b.B2", "b.B3");
+		assertThat(partitions.get(2)).containsOnly("c.C1");
+	}
+
+	@Test
+	public final void partitionSplitsHugePackages() {
+		List<List<String>> partitions = ParallelInspection.partition(Arrays.asList(
+				"a.A1", "a.A2", "a.A3", "a.A4", "a.A5", "a.A6"), 6);
+
+		assertEquals(3, partitions.size());
+		for (List<String> partition: partitions) {
+			assertEquals(2, partition.size());
+		}
+	}
+
+	@Test
+	public final void partitionOfNothingIsEmpty() {
+		assertThat(ParallelInspection.partition(Collections.<String>emptyList(), 8)).isEmpty();
+	}
+
+	@Test
+	public final void inspectVisitsAllClasses() {
+		final Set<String> refererClasses = Collections.synchronizedSet(new HashSet<String>());
+
+		new ParallelInspection(new ThreadSafeReferenceVisitorAdapter() {
+			@Override
+			public void onClassReference(final Referrer referrer, final Class<?> referencedClass) {
+				refererClasses.add(referrer.getJavaElement().className);
+			}
+		}, executor).inspect(Arrays.asList(SomeTestClass.class.getName(), SomeCleanClass.class.getName(), 
+				Test.class.getName()));
+
+		assertThat(refererClasses).contains(SomeTestClass.class.getName(), SomeCleanClass.class.getName(), 
+				Test.class.getName());
+	}
+
+	@Test
+	public final void inspectDeliversBatchesOfEachWorker() {
+		final Set<String> refererClasses = new HashSet<String>();
+
+		new ParallelInspection(new BatchReferenceVisitor() {
+			@Override
+			public void onReferences(final Reference[] references) {
+				assertThat(references.length).isGreaterThan(0).isLessThanOrEqualTo(16);
+				for (Reference reference: references) {
+					refererClasses.add(reference.getReferrer().getJavaElement().className);
+				}
+			}
+
+			@Override
+			public void onClassNotFound(final Referrer referrer, final Throwable cause) {
+			}
+		}, 16, executor).inspect(Arrays.asList(SomeTestClass.class.getName(), SomeCleanClass.class.getName(), 
+				Test.class.getName()));
+
+		assertThat(refererClasses).contains(SomeTestClass.class.getName(), SomeCleanClass.class.getName(), 
+				Test.class.getName());
+	}
+
+	@Test
+	public final void inspectPropagatesExceptionFromWorker() {
+		expectedException.expect(InspectionException.class);
+		expectedException.expectMessage("java.lang.ClassNotFoundException: does.not.Exist");
+
+		new ParallelInspection(new ReferenceVisitorAdapter(), executor).inspect(
+				Arrays.asList(SomeTestClass.class.getName(), "does.not.Exist"));
+	}
+
+	/**
+	 * Makes a {@link ReferenceVisitorAdapter} a {@link ThreadSafeReferenceVisitor} for the test.
+	 */
+	static class ThreadSafeReferenceVisitorAdapter extends ReferenceVisitorAdapter implements ThreadSafeReferenceVisitor {
+	}
+}
@@ -0,0 +1,232 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.JavaElement;
+import de.javagil.columbo.api.ReferenceVisitorAdapter;
+import de.javagil.columbo.api.Referrer;
+import de.javagil.columbo.internal.RecordedReference.Kind;
+import de.javagil.columbo.testbed.general.SomeTestClass;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+import de.javagil.columbo.testutil.LibraryCompiler;
+
+/**
+ * Unit test for class {@link ReferenceIndex}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ReferenceIndexTest {
+
+	private static final String CLASS_NAME = "some.package.SomeClass";
+	private static final long FINGERPRINT = 0x1234567800000042L;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final Referrer referrer = new ReferrerImpl(
+			new JavaElement("some/package/SomeClass", "someMethod", "()V"), null, "SomeClass.java", 42);
+
+	@Test
+	public final void loadNonExistingFileGivesEmptyIndex() {
+		assertEquals(0, ReferenceIndex.load(new File(temporaryFolder.getRoot(), "does-not-exist")).size());
+	}
+
+	@Test
+	public final void loadFileOfOtherFormatGivesEmptyIndex() throws IOException {
+		final File file = temporaryFolder.newFile();
+		final FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write("no reference index".getBytes());
+		} finally {
+			out.close();
+		}
+
+		assertEquals(0, ReferenceIndex.load(file).size());
+	}
+
+	@Test
+	public final void savedReferencesCanBeLoadedAndReplayed() throws Exception {
+		final Method method = String.class.getMethod("substring", int.class, int.class);
+		final ReferenceIndex index = new ReferenceIndex();
+		index.put(CLASS_NAME, FINGERPRINT, Arrays.asList(
+				RecordedReference.of(Kind.CLASS_REFERENCE, referrer, String[].class, null, null),
+				RecordedReference.of(Kind.METHOD_CALL, referrer, method, method.getParameterTypes())));
+		final File file = new File(temporaryFolder.getRoot(), "index");
+
+		index.save(file);
+		final List<RecordedReference> loaded = ReferenceIndex.load(file).get(CLASS_NAME, FINGERPRINT);
+
+		assertNotNull(loaded);
+		final List<Object> replayed = new ArrayList<Object>();
+		for (RecordedReference reference: loaded) {
+			reference.resolve(null).replay(new ReferenceVisitorAdapter() {
+				@Override
+				public void onClassReference(final Referrer actualReferrer, final Class<?> referencedClass) {
+					assertEquals(referrer, actualReferrer);
+					replayed.add(referencedClass);
+				}
+
+				@Override
+				public void onMethodCall(final Referrer actualReferrer, final Method referencedMethod) {
+					assertEquals(referrer, actualReferrer);
+					replayed.add(referencedMethod);
+				}
+			});
+		}
+		assertEquals(Arrays.<Object>asList(String[].class, method), replayed);
+	}
+
+	@Test
+	public final void changedFingerprintInvalidatesEntry() {
+		final ReferenceIndex index = new ReferenceIndex();
+		index.put(CLASS_NAME, FINGERPRINT, Collections.<RecordedReference>emptyList());
+
+		assertNotNull(index.get(CLASS_NAME, FINGERPRINT));
+		assertNull(index.get(CLASS_NAME, FINGERPRINT + 1));
+	}
+
+	@Test
+	public final void fingerprintDependsOnContent() throws IOException {
+		final SymbolTable symbolTable = new SymbolTable();
+		try {
+			final byte[] bytecode = symbolTable.getClassBytesSource().readBytes(SomeCleanClass.class.getName());
+			final byte[] otherBytecode = symbolTable.getClassBytesSource().readBytes(SomeTestClass.class.getName());
+
+			assertEquals(ReferenceIndex.fingerprint(bytecode, symbolTable),
+					ReferenceIndex.fingerprint(bytecode.clone(), symbolTable));
+			assertTrue(ReferenceIndex.fingerprint(bytecode, symbolTable)
+					!= ReferenceIndex.fingerprint(otherBytecode, symbolTable));
+		} finally {
+			symbolTable.close();
+		}
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void loadFileWithUnknownKindOfReferenceFails() throws IOException {
+		final ReferenceIndex index = new ReferenceIndex();
+		index.put(CLASS_NAME, FINGERPRINT, Collections.singletonList(
+				RecordedReference.of(Kind.CLASS_REFERENCE, referrer, String.class, null, null)));
+		final File file = new File(temporaryFolder.getRoot(), "index");
+		index.save(file);
+
+		// magic, version, entry count, class name, fingerprint, reference count and then the kind
+		final RandomAccessFile corrupted = new RandomAccessFile(file, "rw");
+		try {
+			corrupted.seek(4 + 4 + 4 + 2 + CLASS_NAME.length() + 8 + 4);
+			corrupted.writeByte(99);
+		} finally {
+			corrupted.close();
+		}
+
+		ReferenceIndex.load(file);
+	}
+
+	@Test
+	public final void fingerprintChangesWithReferencedClassesAndTheirSupertypes() throws IOException {
+		final File oldRelease = LibraryCompiler.compile(temporaryFolder.newFolder("old"),
+				"package lib; public class Base { }",
+				"package lib; public class Service extends Base { public void run() { } }");
+		final File newRelease = LibraryCompiler.compile(temporaryFolder.newFolder("new"),
+				"package lib; public class Base { public void run() { } }",
+				"package lib; public class Service extends Base { }");
+		final File client = LibraryCompiler.compile(temporaryFolder.newFolder("client"), oldRelease,
+				"package client; public class Client { void call() { new lib.Service().run(); } }");
+		final byte[] clientBytecode = Files.readAllBytes(new File(client, "client/Client.class").toPath());
+
+		final long oldFingerprint = fingerprintOf(clientBytecode, client, oldRelease);
+		
+		assertEquals(oldFingerprint, fingerprintOf(clientBytecode, client, oldRelease));
+		assertTrue(oldFingerprint != fingerprintOf(clientBytecode, client, newRelease));
+	}
+
+	@Test
+	public final void missingMemberIsReplayedAsNotFound() {
+		final ReferenceIndex index = new ReferenceIndex();
+		index.put(CLASS_NAME, FINGERPRINT, Collections.singletonList(
+				RecordedReference.of(Kind.FIELD_ACCESS, referrer, String.class, "noSuchField", null)));
+		final List<String> notFound = new ArrayList<String>();
+
+		index.get(CLASS_NAME, FINGERPRINT).get(0).resolve(null).replay(new ReferenceVisitorAdapter() {
+			@Override
+			public void onFieldNotFound(final Referrer actualReferrer, final Class<?> clazz, final String referencedField) {
+				notFound.add(referencedField);
+			}
+		});
+
+		assertEquals(Collections.singletonList("noSuchField"), notFound);
+	}
+
+	@Test
+	public final void retainAllRemovesOtherClasses() {
+		final ReferenceIndex index = new ReferenceIndex();
+		index.put(CLASS_NAME, FINGERPRINT, Collections.<RecordedReference>emptyList());
+		index.put("some.package.RemovedClass", FINGERPRINT, Collections.<RecordedReference>emptyList());
+
+		index.retainAll(Collections.singleton(CLASS_NAME));
+
+		assertEquals(1, index.size());
+		assertNotNull(index.get(CLASS_NAME, FINGERPRINT));
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static long fingerprintOf(final byte[] bytecode, final File... classpath) throws IOException {
+		final URL[] urls = new URL[classpath.length];
+		for (int n = 0; n < classpath.length; ++n) {
+			urls[n] = classpath[n].toURI().toURL();
+		}
+		final SymbolTable symbolTable = new SymbolTable(new URLClassLoader(urls, null));
+		try {
+			return ReferenceIndex.fingerprint(bytecode, symbolTable);
+		} finally {
+			symbolTable.close();
+		}
+	}
+}
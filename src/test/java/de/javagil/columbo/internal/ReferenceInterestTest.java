@@ -0,0 +1,129 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.api.ReferenceVisitorAdapter;
+import de.javagil.columbo.api.SelectiveReferenceVisitor;
+
+/**
+ * Unit test for class {@link ReferenceInterest}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ReferenceInterestTest {
+
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	@Test
+	public final void nonSelectiveVisitorIsInterestedInAll() {
+		assertSame(ReferenceInterest.ALL, ReferenceInterest.of(new ReferenceVisitorAdapter(), symbolTable));
+		assertTrue(ReferenceInterest.ALL.accepts(ReferenceKind.FIELD_ACCESS, "any/Class"));
+		assertTrue(ReferenceInterest.ALL.acceptsAnyClassIn("(I)V"));
+	}
+
+	@Test
+	public final void onlyDeclaredKindsAreAccepted() {
+		final ReferenceInterest interest = interestOf(EnumSet.of(ReferenceKind.FIELD_ACCESS), null);
+
+		assertFalse(interest.isAll());
+		assertTrue(interest.accepts(ReferenceKind.FIELD_ACCESS, "java/lang/String"));
+		assertFalse(interest.accepts(ReferenceKind.CLASS_REFERENCE, "java/lang/String"));
+		assertFalse(interest.acceptsAnyClassIn("(Ljava/lang/String;)V"));
+		assertFalse(interest.acceptsAnyOf(ReferenceKind.METHOD_CALL, ReferenceKind.NOT_FOUND));
+	}
+
+	@Test
+	public final void onlyDeclaredTargetsAreAccepted() {
+		final ReferenceInterest interest = interestOf(EnumSet.allOf(ReferenceKind.class), Arrays.asList("java.util"));
+
+		assertFalse(interest.isAll());
+		assertTrue(interest.accepts(ReferenceKind.CLASS_REFERENCE, "java/util/Date"));
+		assertTrue(interest.accepts(ReferenceKind.CLASS_REFERENCE, "[[Ljava/util/Date;"));
+		assertTrue(interest.accepts(ReferenceKind.CLASS_REFERENCE, java.util.Map.Entry[].class));
+		assertFalse(interest.accepts(ReferenceKind.CLASS_REFERENCE, "java/lang/String"));
+		assertFalse(interest.accepts(ReferenceKind.CLASS_REFERENCE, "[I"));
+		assertFalse(interest.accepts(ReferenceKind.CLASS_REFERENCE, int.class));
+	}
+
+	@Test
+	public final void membersMightBeDeclaredInSupertypeOfOwner() {
+		final ReferenceInterest interest = interestOf(EnumSet.of(ReferenceKind.METHOD_CALL), Arrays.asList("java.util.AbstractList"));
+
+		assertTrue(interest.mayAcceptMemberOf(ReferenceKind.METHOD_CALL, "java/util/ArrayList"));
+		assertFalse(interest.mayAcceptMemberOf(ReferenceKind.METHOD_CALL, "java/lang/String"));
+		assertFalse(interest.mayAcceptMemberOf(ReferenceKind.FIELD_ACCESS, "java/util/ArrayList"));
+	}
+
+	@Test
+	public final void typesInDescriptorsAreChecked() {
+		final ReferenceInterest interest = interestOf(EnumSet.of(ReferenceKind.CLASS_REFERENCE), Arrays.asList("java.util.Date"));
+
+		assertTrue(interest.acceptsAnyClassIn("(ILjava/util/Date;)V"));
+		assertTrue(interest.acceptsAnyClassIn("()[Ljava/util/Date;"));
+		assertTrue(interest.acceptsAnyClassIn("Ljava/util/Date;"));
+		assertFalse(interest.acceptsAnyClassIn("(ILjava/util/DateFormat;)V"));
+		assertFalse(interest.acceptsAnyClassIn("J"));
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private ReferenceInterest interestOf(final Set<ReferenceKind> kinds, final Collection<String> targetNames) {
+		return ReferenceInterest.of(new SomeSelectiveVisitor(kinds, targetNames), symbolTable);
+	}
+
+	private static class SomeSelectiveVisitor extends ReferenceVisitorAdapter implements SelectiveReferenceVisitor {
+		private final Set<ReferenceKind> kinds;
+		private final Collection<String> targetNames;
+
+		SomeSelectiveVisitor(final Set<ReferenceKind> kinds, final Collection<String> targetNames) {
+			this.kinds = kinds;
+			this.targetNames = targetNames;
+		}
+
+		@Override
+		public Set<ReferenceKind> getReferenceKinds() {
+			return kinds;
+		}
+
+		@Override
+		public Collection<String> getTargetNames() {
+			return targetNames;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.Reference;
+import de.javagil.columbo.api.ReferenceKind;
+import de.javagil.columbo.testbed.deprecated.SomeClassUsingDateConstructor;
+import de.javagil.columbo.testbed.general.SomeTestClass;
+import de.javagil.columbo.testbed.general.good.SomeCleanClass;
+
+/**
+ * Unit test for class {@link ReferenceSpliterator}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class ReferenceSpliteratorTest {
+
+	private static final List<String> CLASS_NAMES = Arrays.asList(SomeTestClass.class.getName(),
+			SomeCleanClass.class.getName(), SomeClassUsingDateConstructor.class.getName(), Test.class.getName());
+
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	@After
+	public final void cleanup() throws IOException {
+		symbolTable.close();
+	}
+
+	@Test
+	public final void allClassesAreInspected() {
+		assertThat(referrerClassesOf(new ReferenceSpliterator(CLASS_NAMES, symbolTable, null))).contains(CLASS_NAMES.toArray());
+	}
+
+	@Test
+	public final void splitPartsInspectAllClassesTogether() {
+		final ReferenceSpliterator suffix = new ReferenceSpliterator(CLASS_NAMES, symbolTable, null);
+		final Spliterator<Reference> prefix = suffix.trySplit();
+
+		final Set<String> prefixClasses = referrerClassesOf(prefix);
+		final Set<String> suffixClasses = referrerClassesOf(suffix);
+
+		assertThat(prefixClasses).contains(SomeTestClass.class.getName(), SomeCleanClass.class.getName())
+				.excludes(SomeClassUsingDateConstructor.class.getName(), Test.class.getName());
+		assertThat(suffixClasses).contains(SomeClassUsingDateConstructor.class.getName(), Test.class.getName())
+				.excludes(SomeTestClass.class.getName(), SomeCleanClass.class.getName());
+	}
+
+	@Test
+	public final void singleClassIsNotSplit() {
+		assertNull(new ReferenceSpliterator(CLASS_NAMES.subList(0, 1), symbolTable, null).trySplit());
+	}
+
+	@Test
+	public final void shortCircuitingStopsTheInspection() {
+		final ReferenceSpliterator spliterator = new ReferenceSpliterator(
+				Arrays.asList(SomeTestClass.class.getName(), "does.not.Exist"), symbolTable, null);
+
+		// the second class would throw an exception if it got inspected 
+		assertTrue(StreamSupport.stream(spliterator, false)
+				.anyMatch(new Predicate<Reference>() {
+					@Override
+					public boolean test(final Reference reference) {
+						return reference.getKind() == ReferenceKind.METHOD_CALL;
+					}
+				}));
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void missingClassFailsWhileConsuming() {
+		StreamSupport.stream(new ReferenceSpliterator(Arrays.asList("does.not.Exist"), symbolTable, null), false).count();
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static Set<String> referrerClassesOf(final Spliterator<Reference> spliterator) {
+		return StreamSupport.stream(spliterator, false)
+				.map(new Function<Reference, String>() {
+					@Override
+					public String apply(final Reference reference) {
+						return reference.getReferrer().getJavaElement().className;
+					}
+				})
+				.collect(Collectors.toSet());
+	}
+}
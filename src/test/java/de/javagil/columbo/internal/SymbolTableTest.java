@@ -0,0 +1,224 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for class {@link SymbolTable}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class SymbolTableTest {
+
+	private static final String INITIALIZED_PROPERTY = SymbolTableTest.class.getName() + ".initialized";
+	private static final String PREFIX = "de/javagil/columbo/internal/SymbolTableTest$";
+
+	private final SymbolTable symbolTable = new SymbolTable();
+
+	@Test
+	public final void getClassSymbolTest() {
+		ClassSymbol symbol = symbolTable.getClassSymbol("java/lang/String");
+
+		assertEquals("java/lang/String", symbol.getName());
+		assertEquals("java/lang/Object", symbol.getSuperName());
+		assertThat(symbol.getInterfaces()).contains("java/lang/CharSequence", "java/lang/Comparable");
+		assertFalse(symbol.isInterface());
+		assertTrue(symbolTable.getClassSymbol("java/lang/CharSequence").isInterface());
+	}
+
+	@Test
+	public final void getClassSymbolIsCached() {
+		assertSame(symbolTable.getClassSymbol("java/lang/String"), symbolTable.getClassSymbol("java/lang/String"));
+	}
+
+	@Test
+	public final void getClassSymbolOfArrayIsObject() {
+		assertEquals("java/lang/Object", symbolTable.getClassSymbol("[Ljava/lang/String;").getName());
+	}
+
+	@Test
+	public final void getClassSymbolOfNonExistingClassIsNull() {
+		assertNull(symbolTable.getClassSymbol("does/not/Exist"));
+		assertNull(symbolTable.getClassSymbol("does/not/Exist"));
+	}
+
+	@Test
+	public final void getClassSymbolDoesNotInitializeClass() {
+		ClassSymbol symbol = symbolTable.getClassSymbol(internalName(SomeClassNotToBeInitialized.class));
+
+		assertEquals("java/lang/Object", symbol.getSuperName());
+		assertNull(System.getProperty(INITIALIZED_PROPERTY));
+	}
+
+	@Test
+	public final void getClassSymbolAsksParentFirst() throws Exception {
+		SymbolTable child = new SymbolTable(new ClassBytesSource(), symbolTable);
+		try {
+			assertSame(symbolTable.getClassSymbol("java/lang/String"), child.getClassSymbol("java/lang/String"));
+			assertNull(child.getClassSymbol("does/not/Exist"));
+		} finally {
+			child.close();
+		}
+		assertEquals("java/lang/String", symbolTable.getClassSymbol("java/lang/String").getName());
+	}
+
+	@Test
+	public final void findMethodDeclaredInClass() {
+		MemberSymbol method = symbolTable.findMethod("java/lang/String", "length", "()I");
+		assertEquals("java/lang/String", method.getOwner().getName());
+		assertFalse(method.isStatic());
+	}
+
+	@Test
+	public final void findMethodDeclaredInSuperclass() {
+		MemberSymbol method = symbolTable.findMethod("java/lang/Long", "wait", "()V");
+		assertEquals("java/lang/Object", method.getOwner().getName());
+	}
+
+	@Test
+	public final void findMethodDeclaredInInterface() {
+		MemberSymbol method = symbolTable.findMethod(internalName(SomeClientClass.class), "someMethodFromIndirectInterface",
+				"(ILjava/lang/String;)I");
+		assertEquals(PREFIX + "SomeClientClass", method.getOwner().getName());
+
+		method = symbolTable.findMethod(internalName(SomeClientSuperclass.class), "someMethodFromIndirectInterface",
+				"(ILjava/lang/String;)I");
+		assertEquals(PREFIX + "SomeFrameworkInterface", method.getOwner().getName());
+	}
+
+	@Test
+	public final void findMethodRespectsReturnType() {
+		assertNull(symbolTable.findMethod("java/lang/String", "length", "()J"));
+	}
+
+	@Test
+	public final void findConstructorTest() {
+		assertEquals("<init>", symbolTable.findConstructor("java/lang/String", "([CII)V").getName());
+		assertNull(symbolTable.findConstructor("java/lang/String", "(Lorg/junit/Test;)V"));
+		assertNull(symbolTable.findConstructor("java/lang/Long", "()V"));
+	}
+
+	@Test
+	public final void findFieldTest() {
+		assertEquals("java/lang/Integer", symbolTable.findField("java/lang/Integer", "MAX_VALUE").getOwner().getName());
+		assertTrue(symbolTable.findField("java/lang/Integer", "MAX_VALUE").isStatic());
+		assertNull(symbolTable.findField("java/lang/Integer", "nonExistingField"));
+		assertNull(symbolTable.findField("does/not/Exist", "someField"));
+	}
+
+	@Test
+	public final void findOverriddenMethodsInSuperclassAndInterface() {
+		List<MemberSymbol> overridden = symbolTable.findOverriddenMethods(internalName(SomeClientClass.class),
+				"someMethodFromDirectInterface", "(ILjava/lang/String;)I");
+
+		assertThat(ownersOf(overridden)).containsOnly(
+				PREFIX + "SomeClientSuperclass",
+				PREFIX + "SomeClientInterface");
+	}
+
+	@Test
+	public final void findOverriddenMethodsIgnoresPrivateMethods() {
+		assertThat(symbolTable.findOverriddenMethods(internalName(SomeClientClass.class),
+				"someMethodWhichIsPrivateInSuper", "(ILjava/lang/String;)I")).isEmpty();
+	}
+
+	@Test
+	public final void findOverriddenMethodsIgnoresConstructors() {
+		assertThat(symbolTable.findOverriddenMethods(internalName(SomeClientClass.class), "<init>", "()V")).isEmpty();
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static String internalName(final Class<?> clazz) {
+		return clazz.getName().replace('.', '/');
+	}
+
+	private static List<String> ownersOf(final List<MemberSymbol> members) {
+		List<String> owners = new ArrayList<String>();
+		for (MemberSymbol member: members) {
+			owners.add(member.getOwner().getName());
+		}
+		return owners;
+	}
+
+	/**
+	 * Would leave a trace if it ever got initialized.
+	 */
+	static class SomeClassNotToBeInitialized {
+		static {
+			System.setProperty(INITIALIZED_PROPERTY, "true");
+		}
+	}
+
+	static class SomeClientClass extends SomeClientSuperclass implements SomeClientInterface {
+		int someMethodWhichIsPrivateInSuper(final int count, final String name) {
+			return 0;
+		}
+
+		@Override
+		public int someMethodFromIndirectInterface(final int count, final String name) {
+			return 0;
+		}
+
+		@Override
+		public int someMethodFromDirectInterface(final int count, final String name) {
+			return 0;
+		}
+	}
+
+	abstract static class SomeClientSuperclass extends SomeFrameworkClass {
+		public int someMethodFromDirectInterface(final int count, final String name) {
+			return 0;
+		}
+	}
+
+	abstract static class SomeFrameworkClass implements SomeFrameworkInterface {
+		@SuppressWarnings("unused") // just by bytecode
+		private int someMethodWhichIsPrivateInSuper(final int count, final String name) {
+			return 0;
+		}
+	}
+
+	interface SomeClientInterface {
+		int someMethodFromDirectInterface(final int count, final String name);
+	}
+
+	interface SomeFrameworkInterface {
+		int someMethodFromIndirectInterface(final int count, final String name);
+	}
+}
@@ -0,0 +1,116 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import de.javagil.columbo.api.InspectionException;
+import de.javagil.columbo.api.ReferenceVisitor;
+import de.javagil.columbo.api.Referrer;
+
+/**
+ * Unit test for class {@link TypeResolver}.
+ *
+ * @author michael.hoennig@javagil.de
+ */
+public class TypeResolverTest {
+
+	private static final String MISSING_TYPE = "does/not/Exist";
+
+	private final TypeResolver typeResolver = new TypeResolver();
+
+	@Test
+	public final void toClassTest() {
+		assertSame(String.class, typeResolver.toClass("java/lang/String"));
+		assertSame(String[].class, typeResolver.toClass("[Ljava/lang/String;"));
+		assertNull(typeResolver.getFailure("java/lang/String"));
+	}
+
+	@Test
+	public final void unresolvableTypesAreKnownAfterFirstAttempt() {
+		assertNull(typeResolver.getFailure(MISSING_TYPE));
+
+		final InspectionException firstFailure = failureOfToClass(MISSING_TYPE);
+
+		assertSame(firstFailure, typeResolver.getFailure(MISSING_TYPE));
+		assertEquals("could not determine class in type " + MISSING_TYPE, firstFailure.getMessage());
+		assertTrue(firstFailure.getCause() instanceof ClassNotFoundException);
+	}
+
+	@Test
+	public final void allReferencesShareOneFailureWithoutStackTrace() {
+		final InspectionException firstFailure = failureOfToClass(MISSING_TYPE);
+
+		assertSame(firstFailure, failureOfToClass(MISSING_TYPE));
+		assertEquals(0, firstFailure.getStackTrace().length);
+	}
+
+	@Test
+	public final void resolveReportsUnresolvableTypesWithoutThrowing() {
+		final ReferenceVisitor visitor = Mockito.mock(ReferenceVisitor.class);
+		final Referrer referrer = Mockito.mock(Referrer.class);
+
+		assertSame(String.class, typeResolver.resolve(visitor, referrer, "java/lang/String"));
+		assertNull(typeResolver.resolve(visitor, referrer, MISSING_TYPE));
+		assertNull(typeResolver.resolve(visitor, referrer, MISSING_TYPE));
+		assertNull(typeResolver.resolveParameterTypes(visitor, referrer, "(L" + MISSING_TYPE + ";)V"));
+
+		Mockito.verify(visitor, Mockito.times(2)).onClassNotFound(referrer, typeResolver.getFailure(MISSING_TYPE));
+		Mockito.verify(visitor).onClassNotFound(referrer, typeResolver.getFailure("(L" + MISSING_TYPE + ";)V"));
+	}
+
+	@Test
+	public final void unresolvableParameterTypesAreKnownAfterFirstAttempt() {
+		final String desc = "(IL" + MISSING_TYPE + ";)V";
+		try {
+			typeResolver.toParameterTypes(desc);
+			fail("InspectionException expected");
+		} catch (InspectionException exc) {
+			assertSame(exc, typeResolver.getFailure(desc));
+		}
+		assertEquals(2, typeResolver.toParameterTypes("(ILjava/lang/String;)V").length);
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private InspectionException failureOfToClass(final String taggedTypeName) {
+		try {
+			typeResolver.toClass(taggedTypeName);
+		} catch (InspectionException exc) {
+			return exc;
+		}
+		fail("InspectionException expected");
+		return null;
+	}
+}
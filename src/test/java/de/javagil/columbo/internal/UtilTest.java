@@ -30,12 +30,21 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 
+import de.javagil.columbo.api.InspectionException;
 import de.javagil.columbo.internal.Util;
 
 /**
@@ -82,4 +91,89 @@ public class UtilTest {
 		assertEquals("default", Util.withDefault("", "default"));
 		assertEquals("default", Util.withDefault(null, "default"));
 	}
+
+	@Test
+	public final void closeIgnoresNull() {
+		Util.close(null);
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void closeConvertsIOException() {
+		Util.close(new Closeable() {
+			@Override
+			public void close() throws IOException {
+				throw new IOException("some failure");
+			}
+		});
+	}
+
+	@Test
+	public final void parallelismOfIsDerivedFromExecutor() {
+		final int availableProcessors = Runtime.getRuntime().availableProcessors();
+		final ExecutorService fixedPool = Executors.newFixedThreadPool(2);
+		final ExecutorService cachedPool = Executors.newCachedThreadPool();
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(3);
+		try {
+			assertEquals(2, Util.parallelismOf(fixedPool));
+			assertEquals(availableProcessors, Util.parallelismOf(cachedPool));
+			assertEquals(3, Util.parallelismOf(forkJoinPool));
+		} finally {
+			fixedPool.shutdownNow();
+			cachedPool.shutdownNow();
+			forkJoinPool.shutdownNow();
+		}
+	}
+
+	@Test
+	public final void runAllReturnsResultsInOrderOfTasks() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			assertEquals(Arrays.asList("first", "second"), 
+					Util.runAll(executor, Arrays.asList(resultOf("first"), resultOf("second"))));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public final void runAllRethrowsRuntimeExceptionOfTask() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final List<Callable<String>> tasks = Arrays.asList(resultOf("first"), new Callable<String>() {
+				@Override
+				public String call() {
+					throw new IllegalStateException("some failure");
+				}
+			});
+			Util.runAll(executor, tasks);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(expected = InspectionException.class)
+	public final void runAllConvertsCheckedExceptionOfTask() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Util.runAll(executor, Arrays.asList(new Callable<String>() {
+				@Override
+				public String call() throws IOException {
+					throw new IOException("some failure");
+				}
+			}));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// --- end of test cases, just fixture code below ---
+
+	private static Callable<String> resultOf(final String result) {
+		return new Callable<String>() {
+			@Override
+			public String call() {
+				return result;
+			}
+		};
+	}
 }
@@ -0,0 +1,143 @@
+/** License based on "The MIT License (MIT)":
+
+	Copyright (c) 2014, "Michael Hönnig" <michael.hoennig@javagil.de>
+	
+	Permission is hereby granted, free of charge, to any person obtaining a copy
+	of this software and associated documentation files (the "Software"), to deal
+	in the Software without restriction, including without limitation the rights
+	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+	copies of the Software, and to permit persons to whom the Software is
+	furnished to do so, subject to the following conditions:
+	
+	The above copyright notice and this permission notice shall be included in all
+	copies or substantial portions of the Software.
+	
+	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+	SOFTWARE.
+	
+	This license becomes void immediately in case of the licensee opening any 
+	law suit against the licensor concerning patent infringement issues. 
+*/
+
+package de.javagil.columbo.testutil;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles Java sources into a class directory or jar file, e.g. to create different releases of a library.
+ * 
+ * @author michael.hoennig@javagil.de
+ */
+public final class LibraryCompiler {
+
+	private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+)\\s*;");
+	private static final Pattern TYPE = Pattern.compile("(?:class|interface|enum)\\s+(\\w+)");
+
+	private LibraryCompiler() {
+	}
+
+	/**
+	 * @param classDirectory receives the class files, the sources are written to a sibling directory
+	 * @param sources complete compilation units, each with a package declaration
+	 * @return the class directory
+	 */
+	public static File compile(final File classDirectory, final String... sources) throws IOException {
+		return compile(classDirectory, null, sources);
+	}
+
+	/**
+	 * @param classDirectory receives the class files, the sources are written to a sibling directory
+	 * @param classpath jar file or class directory to compile against, e.g. a library, null for none
+	 * @param sources complete compilation units, each with a package declaration
+	 * @return the class directory
+	 */
+	public static File compile(final File classDirectory, final File classpath, final String... sources)
+			throws IOException {
+		final File sourceDirectory = new File(classDirectory.getParentFile(), classDirectory.getName() + "-src");
+		final List<String> arguments = new ArrayList<String>();
+		arguments.add("-nowarn");
+		arguments.add("-d");
+		arguments.add(classDirectory.getPath());
+		if (classpath != null) {
+			arguments.add("-classpath");
+			arguments.add(classpath.getPath());
+		}
+		for (String source: sources) {
+			arguments.add(writeSource(sourceDirectory, source).getPath());
+		}
+		classDirectory.mkdirs();
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertTrue("compilation failed", compiler.run(null, null, null, arguments.toArray(new String[0])) == 0);
+		return classDirectory;
+	}
+
+	/**
+	 * @param jarFile receives all files of the class directory
+	 * @param classDirectory as created by {@link #compile(File, String...)}
+	 * @return the jar file
+	 */
+	public static File jar(final File jarFile, final File classDirectory) throws IOException {
+		final JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile));
+		try {
+			addToJar(out, classDirectory, "");
+		} finally {
+			out.close();
+		}
+		return jarFile;
+	}
+
+	private static void addToJar(final JarOutputStream out, final File directory, final String prefix)
+			throws IOException {
+		for (File file: directory.listFiles()) {
+			if (file.isDirectory()) {
+				out.putNextEntry(new ZipEntry(prefix + file.getName() + "/"));
+				out.closeEntry();
+				addToJar(out, file, prefix + file.getName() + "/");
+			} else {
+				out.putNextEntry(new ZipEntry(prefix + file.getName()));
+				out.write(Files.readAllBytes(file.toPath()));
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static File writeSource(final File sourceDirectory, final String source) throws IOException {
+		final Matcher packageMatcher = PACKAGE.matcher(source);
+		final Matcher typeMatcher = TYPE.matcher(source);
+		assertTrue("no package declaration", packageMatcher.find());
+		assertTrue("no type declaration", typeMatcher.find());
+
+		final File file = new File(sourceDirectory,
+				packageMatcher.group(1).replace('.', '/') + "/" + typeMatcher.group(1) + ".java");
+		file.getParentFile().mkdirs();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writer.write(source);
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+}